@@ -0,0 +1,119 @@
+package uz.dckroff.statisfy.scraper;
+
+import org.jsoup.parser.StreamParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uz.dckroff.statisfy.config.ScraperConfig;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction cost of the scraper on saved pages: listing, article and date parsing with the site
+ * definitions from application.yml. Run with ./gradlew jmh
+ * <p>
+ * The page benchmarks carry a corpus parameter, shown as a column of the results. "synthetic" parses the reduced
+ * test fixtures, which are far smaller than the real pages; "recorded" parses the pages saved with
+ * ./gradlew recordScraperFixtures, so early exit and the body size limit are measured on full pages, and fails
+ * until they are recorded. Pages are parsed from bytes, as HostFetchScheduler does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScraperExtractBenchmark {
+
+    private static final String KUN_UZ_ARTICLE_URL = "https://kun.uz/en/news/2024/06/15/tashkent-metro";
+
+    private SiteExtractor extractor;
+    private ScraperConfig.Site kunUz;
+    private ScraperConfig.Site gazetaUz;
+    private int calls;
+
+    /**
+     * Pages of the page benchmarks, cut to scraping.max-body-size
+     */
+    @State(Scope.Benchmark)
+    public static class Pages {
+
+        private static final String RECORDED = "recorded";
+
+        @Param({"synthetic", RECORDED})
+        public String corpus;
+
+        private byte[] kunUzList;
+        private byte[] kunUzArticle;
+        private byte[] gazetaUzList;
+
+        @Setup
+        public void setUp() {
+            int maxBodySize = ScraperFixtures.config().getMaxBodySize();
+            kunUzList = ScraperFixtures.limit(page("kun.uz", ScraperFixtures.LIST_PAGE, ScraperFixtures.KUN_UZ_LIST),
+                    maxBodySize);
+            kunUzArticle = ScraperFixtures.limit(page("kun.uz", ScraperFixtures.ARTICLE_PAGE,
+                    ScraperFixtures.KUN_UZ_ARTICLE), maxBodySize);
+            gazetaUzList = ScraperFixtures.limit(page("gazeta.uz", ScraperFixtures.LIST_PAGE,
+                    ScraperFixtures.GAZETA_UZ_INDEX), maxBodySize);
+        }
+
+        private byte[] page(String site, String page, String reduced) {
+            return RECORDED.equals(corpus) ? ScraperFixtures.recorded(site, page) : ScraperFixtures.reduced(reduced);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ScraperConfig config = ScraperFixtures.config();
+        extractor = new SiteExtractor();
+        kunUz = config.getSite("kun.uz");
+        gazetaUz = config.getSite("gazeta.uz");
+    }
+
+    @Benchmark
+    public SiteExtractor.ListingPage kunUzListing(Pages pages) throws IOException {
+        try (StreamParser parser = ScraperFixtures.parser(pages.kunUzList, kunUz.getUrl())) {
+            return extractor.readListing(kunUz, parser, 30);
+        }
+    }
+
+    @Benchmark
+    public SiteExtractor.ArticleFields kunUzArticle(Pages pages) throws IOException {
+        try (StreamParser parser = ScraperFixtures.parser(pages.kunUzArticle, KUN_UZ_ARTICLE_URL)) {
+            return extractor.readArticle(kunUz, parser);
+        }
+    }
+
+    @Benchmark
+    public SiteExtractor.ListingPage gazetaUzListing(Pages pages) throws IOException {
+        try (StreamParser parser = ScraperFixtures.parser(pages.gazetaUzList, gazetaUz.getUrl())) {
+            return extractor.readListing(gazetaUz, parser, 30);
+        }
+    }
+
+    /**
+     * First pattern of the site
+     */
+    @Benchmark
+    public LocalDateTime kunUzDate() {
+        return extractor.parseDate(kunUz, "18:00 / 15.06.2024");
+    }
+
+    /**
+     * Alternates the first and the fourth pattern of the site, so every call starts with patterns that fail
+     */
+    @Benchmark
+    public LocalDateTime kunUzDateMixed() {
+        return extractor.parseDate(kunUz, (++calls & 1) == 0 ? "18:00 / 15.06.2024" : "2024-06-15 18:00:00");
+    }
+
+    @Benchmark
+    public LocalDateTime gazetaUzDate() {
+        return extractor.parseDate(gazetaUz, "15 июня 2024, 18:00");
+    }
+}
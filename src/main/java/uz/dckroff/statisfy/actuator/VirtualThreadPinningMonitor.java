@@ -0,0 +1,110 @@
+package uz.dckroff.statisfy.actuator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Отслеживание закрепления виртуальных потоков (pinning) в режиме spring.threads.virtual.enabled.
+ * <p>
+ * Виртуальный поток, заблокированный внутри synchronized или нативного вызова, не освобождает несущий поток;
+ * при нескольких таких блокировках одновременно запросы ждут свободного несущего потока. Монитор слушает
+ * событие JFR jdk.VirtualThreadPinned в самом приложении: закрепления дольше порога пишутся в лог
+ * с верхними кадрами стека и учитываются в метрике jvm.threads.virtual.pinned.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${virtual-threads.pinning-monitor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${virtual-threads.pinning-monitor.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Отслеживание закрепления виртуальных потоков включено, порог {} мс", threshold.toMillis());
+        } catch (Exception e) {
+            log.warn("Не удалось включить отслеживание закрепления виртуальных потоков: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedFrame top = topApplicationFrame(event.getStackTrace());
+        String location = top != null
+                ? top.getMethod().getType().getName() + "." + top.getMethod().getName()
+                : "unknown";
+        meterRegistry.counter("jvm.threads.virtual.pinned", "location", location).increment();
+        log.warn("Виртуальный поток {} закреплен на {} мс в {}:\n{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                event.getDuration().toMillis(), location, formatStack(event.getStackTrace()));
+    }
+
+    /**
+     * Первый кадр кода приложения - по нему видно, чей synchronized вызвал закрепление
+     */
+    private static RecordedFrame topApplicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> frame.getMethod().getType().getName().startsWith("uz.dckroff."))
+                .findFirst()
+                .orElse(frames.isEmpty() ? null : frames.get(0));
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "    (стек недоступен)";
+        }
+        return stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,134 @@
+package uz.dckroff.statisfy.collector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig.StatisticsSource;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+import uz.dckroff.statisfy.interceptor.ConditionalGetInterceptor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Парсер курсов валют Open Exchange Rates: одна запись на валюту
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRatesSourceHandler implements StatisticsSourceHandler {
+
+    public static final String TYPE = "openexchangerates";
+
+    private final RestTemplate restTemplate;
+    private final StatisticsCollectorConfig config;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void validate(StatisticsSource source) {
+        if (source.getApiKey() == null || source.getApiKey().isBlank()) {
+            throw new IllegalStateException("Не задан API-ключ источника " + source.getName()
+                    + ": укажите OPEN_EXCHANGE_RATES_API_KEY или отключите источник");
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void fetch(StatisticsSource source, Long categoryId, Consumer<List<StatisticRequest>> batches) {
+        // Ключ передается заголовком, а не параметром app_id: так он не попадает в тег uri метрик и в логи
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, "Token " + source.getApiKey());
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        headers.set("User-Agent", config.getUserAgent());
+        headers.set(ConditionalGetInterceptor.CACHE_GROUP_HEADER, cacheGroup(source));
+
+        ResponseEntity<Map> response = restTemplate.exchange(source.getUrl() + "/latest.json", HttpMethod.GET,
+                new HttpEntity<>(headers), Map.class);
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            log.info("Курсы валют источника {} не изменились с прошлой загрузки", source.getName());
+            return;
+        }
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            log.warn("API вернул статус: {}", response.getStatusCode());
+            return;
+        }
+
+        Map<String, Object> data = response.getBody();
+        if (!(data.get("rates") instanceof Map)) {
+            log.warn("Ответ API не содержит ключ 'rates': {}", data);
+            return;
+        }
+
+        Map<String, Object> rates = (Map<String, Object>) data.get("rates");
+        String baseCurrency = (String) data.getOrDefault("base", "USD");
+        LocalDate rateDate = parseRatesDate(data.get("timestamp"));
+
+        List<StatisticRequest> requests = new ArrayList<>(rates.size());
+        for (Map.Entry<String, Object> entry : rates.entrySet()) {
+            try {
+                String currency = entry.getKey();
+                double rate = Double.parseDouble(entry.getValue().toString());
+
+                requests.add(StatisticRequest.builder()
+                        .title(source.getTitle()
+                                .replace("{currency}", currency)
+                                .replace("{base}", baseCurrency))
+                        .value(rate)
+                        .unit(currency)
+                        .categoryId(categoryId)
+                        .source("Open Exchange Rates")
+                        .date(rateDate)
+                        .build());
+            } catch (Exception e) {
+                log.error("Ошибка при обработке валюты: {}", entry.getKey(), e);
+            }
+        }
+        if (!requests.isEmpty()) {
+            batches.accept(requests);
+        }
+    }
+
+    @Override
+    public void confirm(StatisticsSource source) {
+        conditionalGetInterceptor.confirm(cacheGroup(source));
+    }
+
+    @Override
+    public void invalidate(StatisticsSource source) {
+        conditionalGetInterceptor.evict(cacheGroup(source));
+    }
+
+    private String cacheGroup(StatisticsSource source) {
+        return TYPE + ":" + source.getName();
+    }
+
+    /**
+     * Дата курсов берется из timestamp ответа (секунды с эпохи, UTC)
+     */
+    private LocalDate parseRatesDate(Object timestamp) {
+        if (timestamp instanceof Number) {
+            return LocalDate.ofInstant(Instant.ofEpochSecond(((Number) timestamp).longValue()), ZoneOffset.UTC);
+        }
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
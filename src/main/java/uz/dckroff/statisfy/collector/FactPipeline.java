@@ -0,0 +1,328 @@
+package uz.dckroff.statisfy.collector;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.config.FactCollectorConfig;
+import uz.dckroff.statisfy.dedup.ContentFingerprint;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dto.fact.FactRequest;
+import uz.dckroff.statisfy.service.FactService;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Конвейер сборщика фактов: загрузка -> разбор -> отсев повторов -> пакетная запись.
+ * <p>
+ * Загрузку выполняет вызывающий поток, остальные стадии - отдельные потоки пула factPipelineExecutor.
+ * Стадии связаны ограниченными очередями (fact-collector.pipeline.queue-capacity): если запись отстает,
+ * очереди заполняются и загрузка ждет, а медленный источник не держит соединение с базой.
+ * <p>
+ * Единица загрузки (страница, диапазон, пакет статей) может передать обработчик onWritten: стадия записи
+ * сохраняет накопленные факты и вызывает его с общим числом сохраненных фактов - так сборщики сдвигают
+ * отметки только после записи данных.
+ * <p>
+ * Метрики с тегом collector: fact.pipeline.items{stage} - элементы на выходе стадии,
+ * fact.pipeline.stage.time{stage} - время работы стадии без ожидания очередей,
+ * fact.pipeline.queue.depth{queue} - заполненность очереди перед стадией.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FactPipeline {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final FactService factService;
+    private final DuplicateDetector duplicateDetector;
+    private final FactCollectorConfig config;
+    private final MeterRegistry meterRegistry;
+    @Qualifier("factPipelineExecutor")
+    private final AsyncTaskExecutor pipelineExecutor;
+
+    private final Map<List<String>, AtomicInteger> queueDepths = new ConcurrentHashMap<>();
+
+    /**
+     * Загрузка единиц данных; выполняется в вызывающем потоке
+     */
+    @FunctionalInterface
+    public interface Fetcher<R> {
+        void fetch(Sink<R> sink) throws Exception;
+    }
+
+    /**
+     * Передача загруженных единиц в конвейер. Блокируется, пока очередь разбора заполнена.
+     */
+    public interface Sink<R> {
+        void emit(R payload) throws InterruptedException;
+
+        /**
+         * @param onWritten вызывается стадией записи после сохранения фактов этой единицы с общим числом сохраненных фактов
+         */
+        void emit(R payload, IntConsumer onWritten) throws InterruptedException;
+    }
+
+    /**
+     * Выполняет сбор через конвейер
+     * @param collector название сборщика (тег метрик)
+     * @param limit максимальное количество фактов, прошедших отсев повторов
+     * @param fetcher загрузка данных
+     * @param parser разбор единицы данных в факты
+     * @return количество сохраненных фактов
+     * @throws Exception первая ошибка любой стадии; остальные стадии при этом останавливаются
+     */
+    public <R> int run(String collector, int limit, Fetcher<R> fetcher,
+                       Function<R, List<FactRequest>> parser) throws Exception {
+        return new Execution<>(collector, limit, parser).execute(fetcher);
+    }
+
+    private record Envelope<T>(T payload, IntConsumer onWritten, boolean end) {
+    }
+
+    private class Execution<R> {
+        private final String collector;
+        private final int limit;
+        private final Function<R, List<FactRequest>> parser;
+
+        private final BlockingQueue<Envelope<R>> parseQueue;
+        private final BlockingQueue<Envelope<List<FactRequest>>> dedupQueue;
+        private final BlockingQueue<Envelope<List<FactRequest>>> writeQueue;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicInteger written = new AtomicInteger();
+
+        Execution(String collector, int limit, Function<R, List<FactRequest>> parser) {
+            this.collector = collector;
+            this.limit = limit;
+            this.parser = parser;
+            int capacity = Math.max(1, config.getPipeline().getQueueCapacity());
+            this.parseQueue = new ArrayBlockingQueue<>(capacity);
+            this.dedupQueue = new ArrayBlockingQueue<>(capacity);
+            this.writeQueue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        int execute(Fetcher<R> fetcher) throws Exception {
+            List<Future<?>> stages = new ArrayList<>(3);
+            try {
+                stages.add(pipelineExecutor.submit(() -> runStage("parse", this::parseStage)));
+                stages.add(pipelineExecutor.submit(() -> runStage("dedup", this::dedupStage)));
+                stages.add(pipelineExecutor.submit(() -> runStage("write", this::writeStage)));
+            } catch (RuntimeException e) {
+                // Пул стадий исчерпан: уже запущенные стадии без остальных ждали бы вечно, поэтому они останавливаются
+                log.warn("Конвейер {} не запущен: нет свободных потоков стадий", collector);
+                fail(e);
+                stages.forEach(stage -> stage.cancel(true));
+                throw e;
+            }
+
+            try {
+                fetcher.fetch(new FetchSink());
+                put(parseQueue, "parse", new Envelope<>(null, null, true));
+            } catch (Throwable e) {
+                fail(e);
+            }
+
+            try {
+                for (Future<?> stage : stages) {
+                    stage.get();
+                }
+            } catch (InterruptedException e) {
+                fail(e);
+                stages.forEach(stage -> stage.cancel(true));
+                throw e;
+            } catch (ExecutionException e) {
+                fail(e.getCause());
+            }
+
+            Throwable error = failure.get();
+            if (error instanceof Exception exception) {
+                throw exception;
+            }
+            if (error != null) {
+                throw new IllegalStateException("Ошибка конвейера " + collector, error);
+            }
+            return written.get();
+        }
+
+        private void parseStage() throws InterruptedException {
+            while (true) {
+                Envelope<R> envelope = take(parseQueue, "parse");
+                if (envelope.end()) {
+                    put(dedupQueue, "dedup", new Envelope<>(null, null, true));
+                    return;
+                }
+                long start = System.nanoTime();
+                List<FactRequest> facts = new ArrayList<>();
+                for (FactRequest fact : parser.apply(envelope.payload())) {
+                    if (fact.getTitle() != null && !fact.getTitle().isBlank()
+                            && fact.getContent() != null && !fact.getContent().isBlank()) {
+                        facts.add(fact);
+                    }
+                }
+                record("parse", start, facts.size());
+                put(dedupQueue, "dedup", new Envelope<>(facts, envelope.onWritten(), false));
+            }
+        }
+
+        /**
+         * Отсеивает повторы уже сохраненных фактов и повторы внутри запуска, ограничивает количество фактов
+         */
+        private void dedupStage() throws InterruptedException {
+            Set<String> seen = new HashSet<>();
+            int accepted = 0;
+            while (true) {
+                Envelope<List<FactRequest>> envelope = take(dedupQueue, "dedup");
+                if (envelope.end()) {
+                    put(writeQueue, "write", envelope);
+                    return;
+                }
+                long start = System.nanoTime();
+                List<FactRequest> unique = new ArrayList<>(envelope.payload().size());
+                for (FactRequest fact : envelope.payload()) {
+                    if (accepted >= limit) {
+                        break;
+                    }
+                    ContentFingerprint fingerprint = ContentFingerprint.of(DuplicateDetector.factText(fact.getContent()));
+                    if (seen.add(fingerprint.hash())
+                            && duplicateDetector.findDuplicate(DuplicateDetector.FACTS, fingerprint) == null) {
+                        unique.add(fact);
+                        accepted++;
+                    }
+                }
+                record("dedup", start, unique.size());
+                put(writeQueue, "write", new Envelope<>(unique, envelope.onWritten(), false));
+            }
+        }
+
+        /**
+         * Накопление и пакетная запись. Пакет сохраняется при достижении write-batch-size,
+         * в конце единицы с обработчиком onWritten и в конце загрузки.
+         */
+        private void writeStage() throws InterruptedException {
+            int batchSize = Math.max(1, config.getPipeline().getWriteBatchSize());
+            List<FactRequest> buffer = new ArrayList<>(batchSize);
+            while (true) {
+                Envelope<List<FactRequest>> envelope = take(writeQueue, "write");
+                if (envelope.end()) {
+                    flush(buffer);
+                    return;
+                }
+                buffer.addAll(envelope.payload());
+                if (buffer.size() >= batchSize || envelope.onWritten() != null) {
+                    flush(buffer);
+                }
+                if (envelope.onWritten() != null) {
+                    envelope.onWritten().accept(written.get());
+                }
+            }
+        }
+
+        private void flush(List<FactRequest> buffer) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            int saved = factService.createFacts(buffer);
+            written.addAndGet(saved);
+            record("write", start, saved);
+            buffer.clear();
+        }
+
+        private void runStage(String stage, StageBody body) {
+            try {
+                body.run();
+            } catch (Throwable e) {
+                boolean stopped = e instanceof CancellationException || e instanceof InterruptedException;
+                if (!(stopped && failure.get() != null)) {
+                    log.error("Ошибка стадии {} конвейера {}", stage, collector, e);
+                }
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable error) {
+            failure.compareAndSet(null, error);
+        }
+
+        /**
+         * Кладет элемент в очередь, ожидая места; прекращает ожидание, если другая стадия завершилась ошибкой
+         */
+        private <T> void put(BlockingQueue<T> queue, String queueName, T item) throws InterruptedException {
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                abortIfFailed();
+            }
+            queueDepth(queueName).set(queue.size());
+        }
+
+        private <T> T take(BlockingQueue<T> queue, String queueName) throws InterruptedException {
+            T item;
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                abortIfFailed();
+            }
+            queueDepth(queueName).set(queue.size());
+            return item;
+        }
+
+        private void abortIfFailed() {
+            if (failure.get() != null) {
+                throw new CancellationException("Конвейер " + collector + " остановлен");
+            }
+        }
+
+        private void record(String stage, long startNanos, int items) {
+            Tags tags = Tags.of("collector", collector, "stage", stage);
+            Timer.builder("fact.pipeline.stage.time")
+                    .description("Time spent in a fact pipeline stage, excluding queue waits")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            meterRegistry.counter("fact.pipeline.items", tags).increment(items);
+        }
+
+        private AtomicInteger queueDepth(String queue) {
+            return queueDepths.computeIfAbsent(List.of(collector, queue), key -> meterRegistry.gauge(
+                    "fact.pipeline.queue.depth", Tags.of("collector", collector, "queue", queue), new AtomicInteger()));
+        }
+
+        private class FetchSink implements Sink<R> {
+            private long lastEmit = System.nanoTime();
+
+            @Override
+            public void emit(R payload) throws InterruptedException {
+                emit(payload, null);
+            }
+
+            @Override
+            public void emit(R payload, IntConsumer onWritten) throws InterruptedException {
+                abortIfFailed();
+                record("fetch", lastEmit, 1);
+                put(parseQueue, "parse", new Envelope<>(payload, onWritten, false));
+                lastEmit = System.nanoTime();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageBody {
+        void run() throws Exception;
+    }
+}
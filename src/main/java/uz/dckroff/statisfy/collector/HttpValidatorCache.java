@@ -0,0 +1,112 @@
+package uz.dckroff.statisfy.collector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.interceptor.ConditionalGetInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Валидаторы последних ответов внешних источников в Redis: ETag, Last-Modified и SHA-256 тела.
+ * <p>
+ * Валидаторы хранятся по группам (hash http-cache:группа, поле - хэш URL), чтобы группу можно было
+ * сбросить целиком. Используется условными GET-запросами RestTemplate ({@link ConditionalGetInterceptor})
+ * и скрапера. Если Redis недоступен, запросы выполняются как обычные.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HttpValidatorCache {
+
+    private static final String KEY_PREFIX = "http-cache:";
+    private static final String FIELD_SEPARATOR = "\n";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${http-cache.ttl-days:30}")
+    private long ttlDays;
+
+    /**
+     * @return сохраненные валидаторы URL или null
+     */
+    public Validators read(String group, String url) {
+        try {
+            Object value = redisTemplate.opsForHash().get(KEY_PREFIX + group, field(url));
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.toString().split(FIELD_SEPARATOR, -1);
+            return parts.length == 3 ? new Validators(parts[0], parts[1], parts[2]) : null;
+        } catch (Exception e) {
+            // Без Redis запрос выполняется как обычный
+            log.warn("HTTP-кэш недоступен: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public void write(String group, String url, Validators validators) {
+        String key = KEY_PREFIX + group;
+        try {
+            redisTemplate.opsForHash().put(key, field(url),
+                    String.join(FIELD_SEPARATOR, validators.etag(), validators.lastModified(), validators.digest()));
+            redisTemplate.expire(key, Duration.ofDays(ttlDays));
+        } catch (Exception e) {
+            log.warn("Не удалось сохранить валидаторы HTTP-кэша: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Сбрасывает валидаторы одного URL группы
+     */
+    public void evict(String group, String url) {
+        try {
+            redisTemplate.opsForHash().delete(KEY_PREFIX + group, field(url));
+        } catch (Exception e) {
+            log.warn("Не удалось сбросить HTTP-кэш {}: {}", url, e.getMessage());
+        }
+    }
+
+    /**
+     * Сбрасывает валидаторы всей группы
+     */
+    public void evict(String group) {
+        try {
+            redisTemplate.delete(KEY_PREFIX + group);
+        } catch (Exception e) {
+            log.warn("Не удалось сбросить HTTP-кэш группы {}: {}", group, e.getMessage());
+        }
+    }
+
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+
+    private static String field(String url) {
+        return sha256(url.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Валидаторы ответа; отсутствующие заголовки - пустые строки
+     */
+    public record Validators(String etag, String lastModified, String digest) {
+
+        public static Validators of(String etag, String lastModified, String digest) {
+            return new Validators(clean(etag), clean(lastModified), digest);
+        }
+
+        private static String clean(String value) {
+            return value != null ? value.replace(FIELD_SEPARATOR, "") : "";
+        }
+    }
+}
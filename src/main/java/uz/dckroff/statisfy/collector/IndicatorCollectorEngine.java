@@ -0,0 +1,192 @@
+package uz.dckroff.statisfy.collector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig.StatisticsSource;
+import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.service.CollectorJournalService;
+import uz.dckroff.statisfy.service.StatisticService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Движок сбора индикаторов, описанных в statistics-collector.sources.
+ * Источник выбирает парсер по типу, категория создается один раз и кэшируется,
+ * записи сохраняются пакетными операциями upsert по мере загрузки. Каждый сбор записывается в журнал запусков.
+ * <p>
+ * Отметки и продолжения с места сбоя у источников статистики нет: загрузка идемпотентна (upsert по естественному
+ * ключу), а HTTP-валидаторы подтверждаются только после записи всех пачек, поэтому запуск после сбоя
+ * загружает источник заново целиком. Контрольная точка запуска лишь показывает в журнале, сколько записей получено.
+ */
+@Component
+@Slf4j
+public class IndicatorCollectorEngine {
+
+    private static final String JOURNAL_COLLECTOR = "statistics";
+
+    private final StatisticsCollectorConfig config;
+    private final StatisticService statisticService;
+    private final CategoryRepository categoryRepository;
+    private final CollectorJournalService journalService;
+    private final Map<String, StatisticsSourceHandler> handlers;
+    private final Map<String, Semaphore> typeLimits = new ConcurrentHashMap<>();
+    private final Map<String, Long> categoryIds = new ConcurrentHashMap<>();
+    // Включенные источники с неверными настройками: они не собираются, но и не мешают запуску приложения
+    private final Set<String> misconfigured = ConcurrentHashMap.newKeySet();
+
+    public IndicatorCollectorEngine(StatisticsCollectorConfig config,
+                                    StatisticService statisticService,
+                                    CategoryRepository categoryRepository,
+                                    CollectorJournalService journalService,
+                                    List<StatisticsSourceHandler> handlers) {
+        this.config = config;
+        this.statisticService = statisticService;
+        this.categoryRepository = categoryRepository;
+        this.journalService = journalService;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toUnmodifiableMap(StatisticsSourceHandler::getType, Function.identity()));
+        getEnabledSources().forEach(source -> {
+            StatisticsSourceHandler handler = this.handlers.get(source.getType());
+            if (handler == null) {
+                return;
+            }
+            try {
+                handler.validate(source);
+            } catch (IllegalStateException e) {
+                log.warn("Источник {} пропущен: {}", source.getName(), e.getMessage());
+                misconfigured.add(source.getName());
+            }
+        });
+        config.getConcurrency().getPerType().forEach((type, limit) ->
+                typeLimits.put(type, new Semaphore(Math.max(1, limit), true)));
+    }
+
+    /**
+     * @return включенные источники в порядке их объявления в настройках, кроме не прошедших проверку при запуске
+     */
+    public List<StatisticsSource> getEnabledSources() {
+        return config.getSources().stream()
+                .filter(StatisticsSource::isEnabled)
+                .filter(source -> !misconfigured.contains(source.getName()))
+                .toList();
+    }
+
+    /**
+     * Поиск источника по названию; источник, не прошедший проверку при запуске, не находится
+     */
+    public Optional<StatisticsSource> findSource(String name) {
+        return config.getSources().stream()
+                .filter(source -> name.equals(source.getName()))
+                .filter(source -> !misconfigured.contains(source.getName()))
+                .findFirst();
+    }
+
+    /**
+     * Собирает и сохраняет данные одного источника.
+     * Ошибки не перехватываются, чтобы вызывающий код мог отразить их в отчете.
+     *
+     * @return количество вставленных или обновленных записей
+     */
+    public int collect(StatisticsSource source) {
+        StatisticsSourceHandler handler = handlers.get(source.getType());
+        if (handler == null) {
+            throw new IllegalStateException("Неизвестный тип источника '" + source.getType() + "' у " + source.getName());
+        }
+
+        Semaphore limit = typeLimits.get(source.getType());
+        if (limit == null) {
+            return journaled(handler, source);
+        }
+
+        try {
+            limit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Сбор источника " + source.getName() + " прерван", e);
+        }
+        try {
+            return journaled(handler, source);
+        } finally {
+            limit.release();
+        }
+    }
+
+    private int journaled(StatisticsSourceHandler handler, StatisticsSource source) {
+        CollectorRun run = journalService.startRun(JOURNAL_COLLECTOR, source.getName());
+        try {
+            int count = fetchAndStore(handler, source, run);
+            journalService.completeRun(run, count);
+            return count;
+        } catch (RuntimeException e) {
+            journalService.failRun(run, e);
+            throw e;
+        }
+    }
+
+    private int fetchAndStore(StatisticsSourceHandler handler, StatisticsSource source, CollectorRun run) {
+        Long categoryId = resolveCategoryId(source);
+        try {
+            // Пачки сохраняются по мере загрузки: весь источник целиком в памяти не держится
+            int[] received = new int[1];
+            int[] saved = new int[1];
+            handler.fetch(source, categoryId, batch -> {
+                received[0] += batch.size();
+                saved[0] += statisticService.upsertStatistics(batch);
+                journalService.checkpoint(run, "records:" + received[0], saved[0]);
+            });
+            handler.confirm(source);
+            if (received[0] == 0) {
+                log.info("Источник {} ({}): новых данных нет", source.getName(), source.getType());
+                return 0;
+            }
+            log.info("Источник {} ({}): получено {} записей, сохранено {}",
+                    source.getName(), source.getType(), received[0], saved[0]);
+            return saved[0];
+        } catch (RuntimeException e) {
+            // Данные не сохранены: следующий запуск должен загрузить их заново, а не счесть неизменившимися.
+            // Категория могла быть удалена после кэширования, поэтому ее ID тоже перечитывается
+            handler.invalidate(source);
+            categoryIds.remove(source.getCategory());
+            throw e;
+        }
+    }
+
+    /**
+     * Категория источника: ищется по названию и создается при отсутствии, ID кэшируется.
+     * Запросы к базе выполняются вне computeIfAbsent, чтобы не держать блокировку сегмента карты на время I/O
+     */
+    private Long resolveCategoryId(StatisticsSource source) {
+        String name = source.getCategory();
+        Long cached = categoryIds.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Long id = categoryRepository.findByName(name)
+                .orElseGet(() -> {
+                    try {
+                        return categoryRepository.save(Category.builder()
+                                .name(name)
+                                .description(source.getCategoryDescription())
+                                .build());
+                    } catch (DataIntegrityViolationException e) {
+                        // Категорию одновременно создал другой источник или экземпляр приложения
+                        log.debug("Категория {} уже создана: {}", name, e.getMessage());
+                        return categoryRepository.findByName(name).orElseThrow(() -> e);
+                    }
+                })
+                .getId();
+        Long previous = categoryIds.putIfAbsent(name, id);
+        return previous != null ? previous : id;
+    }
+}
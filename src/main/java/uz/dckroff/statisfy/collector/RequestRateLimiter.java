@@ -0,0 +1,41 @@
+package uz.dckroff.statisfy.collector;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Общий ограничитель частоты запросов к внешним источникам.
+ * Для каждого ключа (источника или хоста) запросы равномерно распределяются во времени:
+ * поток резервирует ближайший свободный слот и ждет только до него, поэтому параллельные
+ * запросы не превышают лимит, а одиночные не ждут зря, как при фиксированной паузе.
+ */
+@Component
+public class RequestRateLimiter {
+
+    private final Map<String, AtomicLong> nextSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Блокирует поток до момента, когда запрос к источнику укладывается в лимит
+     * @param key ключ источника
+     * @param permitsPerSecond допустимое количество запросов в секунду; 0 и меньше - без ограничения
+     * @throws InterruptedException если поток прерван во время ожидания
+     */
+    public void acquire(String key, double permitsPerSecond) throws InterruptedException {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        AtomicLong nextSlot = nextSlots.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+
+        long now = System.nanoTime();
+        long slot = nextSlot.getAndAccumulate(now, (next, current) -> Math.max(next, current) + intervalNanos);
+        long waitNanos = Math.max(slot, now) - now;
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package uz.dckroff.statisfy.collector;
+
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig.StatisticsSource;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Парсер источника статистики определенного типа (worldbank, openexchangerates, ...).
+ * Реализации не хранят состояния между вызовами и переиспользуются для всех источников своего типа.
+ */
+public interface StatisticsSourceHandler {
+
+    /**
+     * @return тип источника, который обрабатывает этот парсер (значение поля type в настройках)
+     */
+    String getType();
+
+    /**
+     * Проверяет настройки включенного источника при запуске приложения; источник с неверными настройками
+     * пропускается с предупреждением, запуск приложения продолжается
+     * @param source настройки источника
+     * @throws IllegalStateException если источник не может работать с такими настройками
+     */
+    default void validate(StatisticsSource source) {
+    }
+
+    /**
+     * Загружает и разбирает данные источника, передавая записи пачками по мере разбора.
+     * Если данные не изменились, обработчик пачек не вызывается
+     * @param source настройки источника
+     * @param categoryId ID категории, в которую попадут записи
+     * @param batches обработчик пачки записей, готовых к сохранению
+     */
+    void fetch(StatisticsSource source, Long categoryId, Consumer<List<StatisticRequest>> batches);
+
+    /**
+     * Сохраняет HTTP-валидаторы загруженных данных после того, как все их пачки записаны,
+     * чтобы следующий запуск мог пропустить неизменившиеся данные
+     * @param source настройки источника
+     */
+    default void confirm(StatisticsSource source) {
+    }
+
+    /**
+     * Сбрасывает сохраненные HTTP-валидаторы источника после неудачного сохранения,
+     * чтобы следующий запуск не пропустил данные как неизменившиеся
+     * @param source настройки источника
+     */
+    default void invalidate(StatisticsSource source) {
+    }
+}
@@ -0,0 +1,106 @@
+package uz.dckroff.statisfy.collector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig.StatisticsSource;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+import uz.dckroff.statisfy.dto.worldbank.WorldBankObservation;
+import uz.dckroff.statisfy.service.WorldBankApiService;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Парсер индикаторов World Bank: одна запись на страну с непустым значением, пачка на страницу API
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorldBankSourceHandler implements StatisticsSourceHandler {
+
+    public static final String TYPE = "worldbank";
+
+    private final WorldBankApiService worldBankApiService;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void fetch(StatisticsSource source, Long categoryId, Consumer<List<StatisticRequest>> batches) {
+        boolean changed = worldBankApiService.fetchIndicatorIfChanged(source.getIndicator(), source.getDate(),
+                observations -> {
+                    List<StatisticRequest> requests = toRequests(source, categoryId, observations);
+                    log.debug("Индикатор {}: получено {} наблюдений, из них со значением {}",
+                            source.getIndicator(), observations.size(), requests.size());
+                    if (!requests.isEmpty()) {
+                        batches.accept(requests);
+                    }
+                });
+        if (!changed) {
+            log.debug("Индикатор {} не изменился", source.getIndicator());
+        }
+    }
+
+    @Override
+    public void confirm(StatisticsSource source) {
+        worldBankApiService.confirmIndicator(source.getIndicator(), source.getDate());
+    }
+
+    @Override
+    public void invalidate(StatisticsSource source) {
+        worldBankApiService.invalidateIndicator(source.getIndicator(), source.getDate());
+    }
+
+    /**
+     * Записи одной страницы: по одной на страну с непустым значением
+     */
+    private List<StatisticRequest> toRequests(StatisticsSource source, Long categoryId,
+                                              List<WorldBankObservation> observations) {
+        List<StatisticRequest> requests = new ArrayList<>(observations.size());
+        for (WorldBankObservation observation : observations) {
+            if (observation.getValue() == null || observation.getCountryName() == null) {
+                continue;
+            }
+            requests.add(StatisticRequest.builder()
+                    .title(source.getTitle().replace("{country}", observation.getCountryName()))
+                    .value(observation.getValue())
+                    .unit(source.getUnit())
+                    .categoryId(categoryId)
+                    .source("World Bank")
+                    .date(parseObservationDate(observation.getDate()))
+                    .indicator(source.getIndicator())
+                    .countryCode(blankToNull(observation.getCountryIso3()))
+                    .countryName(observation.getCountryName())
+                    .build());
+        }
+        return requests;
+    }
+
+    /**
+     * У части агрегатов World Bank countryiso3code пустой - такие записи не попадают во временные ряды
+     */
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    /**
+     * Дата наблюдения World Bank: поле date содержит год ("2022"), берется 1 января этого года.
+     * Так повторные запуски обновляют ту же запись, а не создают новую.
+     */
+    private LocalDate parseObservationDate(String dateValue) {
+        if (dateValue != null) {
+            try {
+                return LocalDate.of(Integer.parseInt(dateValue.trim()), 1, 1);
+            } catch (NumberFormatException | DateTimeException e) {
+                log.debug("Не удалось разобрать дату наблюдения: {}", dateValue);
+            }
+        }
+        return LocalDate.now();
+    }
+}
@@ -1,21 +1,38 @@
 package uz.dckroff.statisfy.config;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 
+/**
+ * Пулы потоков для асинхронных задач и параллельных запросов сборщиков.
+ * <p>
+ * При spring.threads.virtual.enabled=true на Java 21 каждый пул заменяется исполнителем на виртуальных потоках:
+ * поток создается на задачу, а размер пула сохраняется как лимит одновременных задач, поэтому нагрузка
+ * на внешние источники не растет. Запросы Tomcat и задачи @Scheduled в этом режиме переводит на виртуальные
+ * потоки сам Spring Boot. На Java 17 свойство игнорируется и используются обычные пулы.
+ */
 @Configuration
 @EnableAsync
+@RequiredArgsConstructor
 @Slf4j
 public class AsyncConfig implements AsyncConfigurer {
 
+    private final Environment environment;
+
     @Value("${spring.task.execution.pool.core-size:8}")
     private int corePoolSize;
     
@@ -30,6 +47,9 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
+        if (isVirtual()) {
+            return virtualExecutor(threadNamePrefix, 0, 60_000);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
@@ -41,6 +61,145 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Ограниченный пул для параллельного запуска сборщиков статистики.
+     * Источники сверх лимита потоков ждут в очереди, а не отклоняются.
+     */
+    @Bean(name = "statisticsCollectorExecutor")
+    public AsyncTaskExecutor statisticsCollectorExecutor(StatisticsCollectorConfig collectorConfig) {
+        int threads = Math.max(1, collectorConfig.getConcurrency().getMaxThreads());
+        if (isVirtual()) {
+            return virtualExecutor("statisfy-stats-collector-", threads, 0);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("statisfy-stats-collector-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Пул для параллельной загрузки страниц World Bank API.
+     * Отделен от пула сборщиков, чтобы задачи сборщиков не ждали собственных подзадач в общей очереди.
+     */
+    @Bean(name = "worldBankPageExecutor")
+    public AsyncTaskExecutor worldBankPageExecutor(StatisticsCollectorConfig collectorConfig) {
+        int threads = Math.max(1, collectorConfig.getWorldBank().getMaxConcurrentPages());
+        if (isVirtual()) {
+            return virtualExecutor("statisfy-worldbank-", threads, 0);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("statisfy-worldbank-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Пул для параллельных запросов сборщиков фактов; частота запросов к каждому источнику
+     * дополнительно ограничивается RequestRateLimiter
+     */
+    @Bean(name = "factCollectorExecutor")
+    public AsyncTaskExecutor factCollectorExecutor(FactCollectorConfig factCollectorConfig) {
+        int threads = Math.max(1, factCollectorConfig.getMaxConcurrentRequests());
+        if (isVirtual()) {
+            return virtualExecutor("statisfy-fact-collector-", threads, 0);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("statisfy-fact-collector-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Потоки стадий конвейера сборщиков фактов (разбор, отсев повторов, запись) - по три на запуск сборщика.
+     * Очереди нет: стадии стартуют сразу, иначе загрузка ждала бы стадию, которая еще не запущена.
+     * Если потоков не хватает, FactPipeline останавливает уже запущенные стадии и завершает запуск ошибкой.
+     */
+    @Bean(name = "factPipelineExecutor")
+    public AsyncTaskExecutor factPipelineExecutor() {
+        if (isVirtual()) {
+            return virtualExecutor("statisfy-fact-pipeline-", 0, 0);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(3);
+        executor.setMaxPoolSize(24);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("statisfy-fact-pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Пул загрузки страниц веб-скрапера; лимиты на отдельный хост соблюдает HostFetchScheduler
+     * еще до передачи страницы в пул, поэтому потоки пула не простаивают в ожидании хоста
+     */
+    @Bean(name = "scraperExecutor")
+    public AsyncTaskExecutor scraperExecutor(ScraperConfig scraperConfig) {
+        int threads = Math.max(1, scraperConfig.getFetch().getMaxConcurrency());
+        if (isVirtual()) {
+            return virtualExecutor("statisfy-scraper-", threads, 0);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("statisfy-scraper-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * @return true, если включен spring.threads.virtual.enabled и приложение запущено на Java 21+
+     */
+    private boolean isVirtual() {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Исполнитель на виртуальных потоках. Лимит соблюдается семафором внутри задачи: отправка не блокируется,
+     * а задачи сверх лимита ждут разрешения так же, как ждали бы в очереди пула.
+     * @param concurrencyLimit лимит одновременных задач, 0 - без лимита
+     * @param terminationTimeoutMillis ожидание незавершенных задач при остановке, 0 - не ждать
+     */
+    private AsyncTaskExecutor virtualExecutor(String threadNamePrefix, int concurrencyLimit, long terminationTimeoutMillis) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        if (concurrencyLimit > 0) {
+            Semaphore permits = new Semaphore(concurrencyLimit);
+            executor.setTaskDecorator(task -> () -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Задача отменена, пока ждала разрешения
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        if (terminationTimeoutMillis > 0) {
+            executor.setTaskTerminationTimeout(terminationTimeoutMillis);
+        }
+        return executor;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
         return taskExecutor();
@@ -5,7 +5,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Конфигурация для сервиса сбора фактов
@@ -35,11 +37,58 @@ public class FactCollectorConfig {
      */
     private int maxFactsPerRun = 50;
     
+    /**
+     * Количество фактов Wikipedia за один запуск (загружаются пакетами по 20 через MediaWiki API)
+     */
+    private int wikipediaFactsPerRun = 100;
+    
+    /**
+     * Количество чисел, для которых запрашиваются факты за один запуск (по 100 чисел в запросе к Numbers API)
+     */
+    private int numbersFactsPerRun = 100;
+    
+    /**
+     * Наибольшее число, для которого собираются факты; после покрытия всех чисел сборщик новых запросов не делает
+     */
+    private long numbersMaxNumber = 1000;
+    
+    /**
+     * Максимальное количество одновременных запросов к источникам фактов
+     */
+    private int maxConcurrentRequests = 4;
+    
+    /**
+     * Лимит запросов в секунду для источника (ключ - название источника, например wikipedia)
+     */
+    private Map<String, Double> rateLimits = new HashMap<>();
+    
+    /**
+     * Лимит запросов в секунду для источников без отдельной настройки
+     */
+    private double defaultRateLimit = 5;
+    
     /**
      * Конфигурация для источников фактов
      */
     private List<FactSource> sources = new ArrayList<>();
     
+    /**
+     * Настройки локального хранилища событий "в этот день"
+     */
+    private OnThisDay onThisDay = new OnThisDay();
+    
+    /**
+     * Настройки конвейера загрузка -> разбор -> отсев повторов -> запись
+     */
+    private Pipeline pipeline = new Pipeline();
+    
+    /**
+     * @return лимит запросов в секунду для источника
+     */
+    public double getRateLimit(String source) {
+        return rateLimits.getOrDefault(source, defaultRateLimit);
+    }
+    
     /**
      * Конфигурация для конкретного источника фактов
      */
@@ -70,4 +119,36 @@ public class FactCollectorConfig {
          */
         private boolean enabled = true;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Настройки хранилища событий "в этот день"
+     */
+    @Data
+    public static class OnThisDay {
+        /**
+         * Загружать ли события всех дней в локальное хранилище
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Через сколько дней загруженный день считается устаревшим и загружается заново
+         */
+        private int refreshDays = 90;
+    }
+    
+    /**
+     * Настройки конвейера сборщиков фактов
+     */
+    @Data
+    public static class Pipeline {
+        /**
+         * Емкость очереди между стадиями (в единицах загрузки: страницах, диапазонах, пакетах)
+         */
+        private int queueCapacity = 16;
+        
+        /**
+         * Максимальный размер пакета записи фактов
+         */
+        private int writeBatchSize = 100;
+    }
+}
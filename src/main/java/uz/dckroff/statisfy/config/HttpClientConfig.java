@@ -0,0 +1,67 @@
+package uz.dckroff.statisfy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Настройки исходящего HTTP-клиента, общего для RestTemplate и веб-скрапера
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http-client")
+@Data
+public class HttpClientConfig {
+
+    /**
+     * Использовать пул соединений Apache HttpClient (иначе SimpleClientHttpRequestFactory без пула)
+     */
+    private boolean pooled = true;
+
+    /**
+     * Таймаут установки соединения в миллисекундах
+     */
+    private int connectTimeout = 5000;
+
+    /**
+     * Таймаут ожидания ответа в миллисекундах
+     */
+    private int readTimeout = 10000;
+
+    /**
+     * Максимальное время ожидания свободного соединения из пула в миллисекундах
+     */
+    private int connectionRequestTimeout = 5000;
+
+    /**
+     * Максимальное количество соединений в пуле
+     */
+    private int maxTotal = 100;
+
+    /**
+     * Максимальное количество соединений к одному хосту по умолчанию
+     */
+    private int maxPerHost = 10;
+
+    /**
+     * Лимиты соединений для отдельных хостов, например https://api.worldbank.org: 8
+     */
+    private Map<String, Integer> perHost = new HashMap<>();
+
+    /**
+     * Через сколько секунд простоя соединение закрывается
+     */
+    private long idleEvictSeconds = 30;
+
+    /**
+     * Максимальное время жизни соединения в секундах
+     */
+    private long timeToLiveSeconds = 300;
+
+    /**
+     * Запрашивать сжатые ответы (gzip, deflate, br при наличии org.brotli:dec) и распаковывать их
+     */
+    private boolean compression = true;
+}
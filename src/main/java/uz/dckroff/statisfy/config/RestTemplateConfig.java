@@ -1,38 +1,164 @@
 package uz.dckroff.statisfy.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import uz.dckroff.statisfy.interceptor.ConditionalGetInterceptor;
 
-import java.time.Duration;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
 
 /**
- * Конфигурация RestTemplate для выполнения HTTP запросов к внешним API
+ * Конфигурация RestTemplate для выполнения HTTP запросов к внешним API.
+ * <p>
+ * По умолчанию запросы идут через пул соединений Apache HttpClient: keep-alive между запросами,
+ * лимиты соединений на хост, закрытие простаивающих соединений и сжатие ответов.
+ * RestTemplate собирается через RestTemplateBuilder, поэтому Spring Boot публикует метрики
+ * http.client.requests (задержка и ошибки с тегом хоста); состояние пула публикуется отдельно.
+ * Тег uri метрик - шаблон URI вызова, поэтому вызывающий код передает шаблон с переменными
+ * ("/top-headlines?country={country}"), а не собранную строку: иначе в теги попадают ключи API,
+ * поисковые запросы и неограниченное число значений. Переменные кодируются строго.
+ * Классический API HttpClient работает по HTTP/1.1: HTTP/2 доступен только в асинхронном клиенте,
+ * который RestTemplate не использует.
  */
 @Configuration
 public class RestTemplateConfig {
 
     /**
      * Создает настроенный экземпляр RestTemplate с таймаутами и обработкой ошибок
+     * @param builder билдер Spring Boot с метриками запросов
+     * @param requestFactory фабрика HTTP запросов
+     * @param conditionalGetInterceptor условные GET-запросы для источников, передавших группу кэша
      * @return настроенный RestTemplate
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(clientHttpRequestFactory());
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     ClientHttpRequestFactory requestFactory,
+                                     ConditionalGetInterceptor conditionalGetInterceptor) {
+        DefaultUriBuilderFactory uriTemplateHandler = new DefaultUriBuilderFactory();
+        uriTemplateHandler.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.TEMPLATE_AND_VALUES);
+        return builder
+                .uriTemplateHandler(uriTemplateHandler)
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(conditionalGetInterceptor)
+                .build();
     }
 
-
     /**
      * Создает фабрику HTTP запросов с настроенными параметрами
-     * @return настроенная фабрика HTTP запросов
+     * @return фабрика на пуле соединений или простая фабрика, если пул отключен
+     */
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(HttpClientConfig config, CloseableHttpClient httpClient) {
+        if (!config.isPooled()) {
+            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+            factory.setConnectTimeout(config.getConnectTimeout());
+            factory.setReadTimeout(config.getReadTimeout());
+            return factory;
+        }
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Пул соединений с общим и похостовыми лимитами
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(HttpClientConfig config) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxTotal())
+                .setMaxConnPerRoute(config.getMaxPerHost())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(config.getReadTimeout()))
+                        .setTimeToLive(TimeValue.ofSeconds(config.getTimeToLiveSeconds()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        hostRoutes(config).forEach((route, limit) -> connectionManager.setMaxPerRoute(route, limit));
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient pooledHttpClient(HttpClientConfig config,
+                                                PoolingHttpClientConnectionManager connectionManager) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(config.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(config.getIdleEvictSeconds()));
+        if (!config.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Метрики пула: общая загрузка (httpcomponents.httpclient.pool.*) и занятые, свободные
+     * и ожидающие соединения для хостов с отдельным лимитом (http.client.pool.*{host=...})
+     */
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(HttpClientConfig config,
+                                                 PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "rest-template").bindTo(registry);
+            hostRoutes(config).keySet().forEach(route -> {
+                String host = route.getTargetHost().getHostName();
+                registerRouteGauge(registry, connectionManager, route, host, "leased", PoolStats::getLeased);
+                registerRouteGauge(registry, connectionManager, route, host, "available", PoolStats::getAvailable);
+                registerRouteGauge(registry, connectionManager, route, host, "pending", PoolStats::getPending);
+            });
+        };
+    }
+
+    private void registerRouteGauge(MeterRegistry registry, PoolingHttpClientConnectionManager connectionManager,
+                                    HttpRoute route, String host, String state, ToIntFunction<PoolStats> value) {
+        Gauge.builder("http.client.pool.connections", connectionManager, cm -> value.applyAsInt(cm.getStats(route)))
+                .description("Connections to the host in the outbound HTTP pool")
+                .tag("host", host)
+                .tag("state", state)
+                .register(registry);
+    }
+
+    /**
+     * Маршруты пула для хостов из http-client.per-host. Порт по умолчанию указывается явно,
+     * так как HttpClient нормализует маршрут перед поиском лимита.
      */
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(10000);
-        return factory;
+    private Map<HttpRoute, Integer> hostRoutes(HttpClientConfig config) {
+        Map<HttpRoute, Integer> routes = new HashMap<>();
+        config.getPerHost().forEach((url, limit) -> {
+            URI uri = URI.create(url.contains("://") ? url : "https://" + url);
+            boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+            HttpHost host = new HttpHost(uri.getScheme(), uri.getHost(), port);
+            routes.put(new HttpRoute(host, null, secure), limit);
+        });
+        return routes;
     }
-} 
\ No newline at end of file
+}
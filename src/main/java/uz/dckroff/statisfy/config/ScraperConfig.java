@@ -0,0 +1,280 @@
+package uz.dckroff.statisfy.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Конфигурация веб-скрапера новостных сайтов
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping")
+@Data
+public class ScraperConfig {
+
+    /**
+     * Включен ли скрапинг
+     */
+    private boolean enabled = true;
+
+    /**
+     * Пользовательский агент для запросов к сайтам
+     */
+    private String userAgent = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
+
+    /**
+     * Таймаут загрузки страницы в миллисекундах
+     */
+    private int timeout = 10000;
+
+    /**
+     * Максимальное количество статей одного источника за запуск
+     */
+    private int maxArticlesPerSource = 30;
+
+    /**
+     * Просматривать листинг только до последней статьи, найденной предыдущим запуском
+     */
+    private boolean incremental = true;
+
+    /**
+     * Максимальный размер загружаемой страницы в байтах; остаток страницы не читается
+     */
+    private int maxBodySize = 2 * 1024 * 1024;
+
+    /**
+     * Условная загрузка листингов (ETag/Last-Modified, хэш тела): неизменившийся листинг не разбирается
+     */
+    private boolean conditionalGet = true;
+
+    /**
+     * Настройки параллельной загрузки страниц
+     */
+    private Fetch fetch = new Fetch();
+
+    /**
+     * Настройки очереди обхода
+     */
+    private Frontier frontier = new Frontier();
+
+    /**
+     * Описания сайтов: адрес листинга и селекторы полей. Новый сайт добавляется только настройкой.
+     */
+    private List<Site> sites = new ArrayList<>();
+
+    /**
+     * @return описание сайта по названию или null
+     */
+    public Site getSite(String name) {
+        return sites.stream().filter(site -> site.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    /**
+     * @return сколько страниц хоста можно загрузить за один запуск
+     */
+    public int getBudget(String host) {
+        Host settings = fetch.getHosts().get(host);
+        return settings != null && settings.getBudget() != null ? settings.getBudget() : frontier.getHostBudget();
+    }
+
+    /**
+     * Описание новостного сайта.
+     * <p>
+     * Селектор поля - CSS-селектор с необязательным атрибутом после @: "h1" берет текст элемента,
+     * "meta[name=description]@content" - значение атрибута, "@abs:href" - атрибут самого элемента листинга.
+     * Для полей статьи задается список селекторов по убыванию приоритета.
+     */
+    @Data
+    public static class Site {
+        /**
+         * Название сайта; используется как источник новостей
+         */
+        private String name;
+
+        private boolean enabled = true;
+
+        /**
+         * Адрес листинга (новые статьи первыми)
+         */
+        private String url;
+
+        /**
+         * Как часто перечитывать первую страницу листинга
+         */
+        private Duration revisitInterval = Duration.ofMinutes(15);
+
+        /**
+         * Язык дат на сайте (например ru для "15 июня 2023")
+         */
+        private String locale = "en";
+
+        /**
+         * Форматы дат DateTimeFormatter; форматы без времени дают начало дня
+         */
+        private List<String> dateFormats = new ArrayList<>();
+
+        /**
+         * Максимальная длина описания
+         */
+        private int summaryMaxLength = 300;
+
+        /**
+         * Категория новостей по умолчанию
+         */
+        private String category = "General";
+
+        private String categoryDescription;
+
+        /**
+         * Категория по сегменту пути URL статьи (ключ - сегмент, например society)
+         */
+        private Map<String, String> categories = new LinkedHashMap<>();
+
+        private Listing listing = new Listing();
+
+        /**
+         * Селекторы страницы статьи; если не заданы, статьи не загружаются и поля берутся из листинга
+         */
+        private Article article;
+    }
+
+    /**
+     * Селекторы листинга
+     */
+    @Data
+    public static class Listing {
+        /**
+         * Элемент листинга, соответствующий одной статье
+         */
+        private String item;
+
+        /**
+         * Ссылка на статью (по умолчанию href самого элемента)
+         */
+        private String link = "@abs:href";
+
+        /**
+         * Заголовок (по умолчанию текст самого элемента)
+         */
+        private String title = "";
+
+        private String summary;
+
+        private String date;
+
+        /**
+         * Ссылка на следующую страницу листинга (например a.pager__next@abs:href); если не задана, читается только первая
+         */
+        private String nextPage;
+
+        /**
+         * Регулярное выражение, которому должна соответствовать ссылка на статью
+         */
+        private String linkPattern;
+
+        /**
+         * Элементы с более коротким заголовком пропускаются (навигация, рубрики)
+         */
+        private int minTitleLength;
+    }
+
+    /**
+     * Селекторы страницы статьи по убыванию приоритета; найденные поля заменяют поля листинга
+     */
+    @Data
+    public static class Article {
+        private List<String> title = new ArrayList<>();
+        private List<String> summary = new ArrayList<>();
+        private List<String> date = new ArrayList<>();
+    }
+
+    /**
+     * Настройки очереди обхода: листинг листается, пока не встретится уже известная статья
+     */
+    @Data
+    public static class Frontier {
+        /**
+         * Максимальная глубина листания (номер страницы листинга, начиная с 0)
+         */
+        private int maxDepth = 5;
+
+        /**
+         * Страниц одного хоста за запуск (листинги и статьи); остаток очереди ждет следующего запуска
+         */
+        private int hostBudget = 60;
+
+        /**
+         * Сколько статей загружается параллельно одной пачкой
+         */
+        private int batchSize = 20;
+
+        /**
+         * Пауза перед повтором неудачной загрузки; растет с каждой попыткой
+         */
+        private Duration retryDelay = Duration.ofMinutes(30);
+
+        /**
+         * После стольких неудачных попыток статья удаляется из очереди
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * На сколько взятые в обработку элементы скрываются от других запусков; если запуск прервался,
+         * элементы снова становятся доступны по истечении этого времени
+         */
+        private Duration lease = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Настройки загрузки страниц
+     */
+    @Data
+    public static class Fetch {
+        /**
+         * Общее количество одновременных загрузок по всем сайтам
+         */
+        private int maxConcurrency = 8;
+
+        /**
+         * Одновременных загрузок с одного хоста
+         */
+        private int perHostConcurrency = 2;
+
+        /**
+         * Минимальный интервал между началом запросов к одному хосту в миллисекундах
+         */
+        private long perHostDelay = 250;
+
+        /**
+         * Отдельные настройки хостов (ключ - хост, например kun.uz)
+         */
+        private Map<String, Host> hosts = new HashMap<>();
+
+        public int getConcurrency(String host) {
+            Host settings = hosts.get(host);
+            return settings != null && settings.getConcurrency() != null ? settings.getConcurrency() : perHostConcurrency;
+        }
+
+        public long getDelay(String host) {
+            Host settings = hosts.get(host);
+            return settings != null && settings.getDelay() != null ? settings.getDelay() : perHostDelay;
+        }
+    }
+
+    /**
+     * Настройки отдельного хоста; незаданные значения берутся из общих
+     */
+    @Data
+    public static class Host {
+        private Integer concurrency;
+        private Long delay;
+        private Integer budget;
+    }
+}
@@ -5,7 +5,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Конфигурация для сервиса сбора статистики
@@ -36,15 +38,31 @@ public class StatisticsCollectorConfig {
     private List<StatisticsSource> sources = new ArrayList<>();
     
     /**
-     * Конфигурация для конкретного источника статистики
+     * Настройки параллельного запуска сборщиков
+     */
+    private Concurrency concurrency = new Concurrency();
+    
+    /**
+     * Настройки клиента World Bank API
+     */
+    private WorldBank worldBank = new WorldBank();
+    
+    /**
+     * Конфигурация для конкретного источника статистики.
+     * Каждый источник описывает один индикатор; новый индикатор добавляется только настройкой.
      */
     @Data
     public static class StatisticsSource {
         /**
-         * Название источника
+         * Название источника (уникальный ключ, например population)
          */
         private String name;
         
+        /**
+         * Тип источника, определяющий парсер: worldbank или openexchangerates
+         */
+        private String type;
+        
         /**
          * URL API источника
          */
@@ -55,14 +73,87 @@ public class StatisticsCollectorConfig {
          */
         private String apiKey;
         
+        /**
+         * Код индикатора (для World Bank, например SP.POP.TOTL)
+         */
+        private String indicator;
+        
+        /**
+         * Период данных (для World Bank: год или диапазон "2015:2022")
+         */
+        private String date = "2022";
+        
+        /**
+         * Шаблон заголовка записи, например "Population of {country}"
+         */
+        private String title;
+        
+        /**
+         * Единица измерения
+         */
+        private String unit;
+        
         /**
          * Категория статистики
          */
         private String category;
         
+        /**
+         * Описание категории (используется при ее создании)
+         */
+        private String categoryDescription;
+        
         /**
          * Включен ли этот источник
          */
         private boolean enabled = true;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Настройки параллельного запуска сборщиков в collectAllStatistics
+     */
+    @Data
+    public static class Concurrency {
+        /**
+         * Запускать ли источники параллельно (иначе последовательно)
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Максимальное количество одновременно работающих сборщиков
+         */
+        private int maxThreads = 5;
+        
+        /**
+         * Таймаут на один источник в миллисекундах, по истечении которого сбор отменяется
+         */
+        private long sourceTimeout = 300000;
+        
+        /**
+         * Лимит одновременно работающих источников одного типа (например, worldbank: 3).
+         * Типы без лимита ограничены только размером пула.
+         */
+        private Map<String, Integer> perType = new HashMap<>();
+    }
+    
+    /**
+     * Настройки клиента World Bank Indicators API
+     */
+    @Data
+    public static class WorldBank {
+        /**
+         * Базовый URL API
+         */
+        private String baseUrl = "https://api.worldbank.org/v2";
+        
+        /**
+         * Размер страницы (параметр per_page)
+         */
+        private int perPage = 500;
+        
+        /**
+         * Максимальное количество одновременно загружаемых страниц
+         */
+        private int maxConcurrentPages = 4;
+    }
+}
@@ -8,10 +8,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import uz.dckroff.statisfy.dto.fact.FactResponse;
+import uz.dckroff.statisfy.model.CollectorRun;
 import uz.dckroff.statisfy.model.Fact;
 import uz.dckroff.statisfy.repository.FactRepository;
+import uz.dckroff.statisfy.service.CollectorJournalService;
 import uz.dckroff.statisfy.service.FactService;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
 @PreAuthorize("hasRole('ADMIN')")
@@ -20,6 +24,7 @@ public class AdminController {
 
     private final FactRepository factRepository;
     private final FactService factService;
+    private final CollectorJournalService collectorJournalService;
 
     @GetMapping("/facts")
     public ResponseEntity<Page<FactResponse>> getAllFacts(
@@ -54,4 +59,12 @@ public class AdminController {
         factRepository.save(fact);
         return ResponseEntity.ok(factService.getFactById(id));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/collector-runs")
+    public ResponseEntity<List<CollectorRun>> getCollectorRuns(
+            @RequestParam(required = false) String source,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(collectorJournalService.getRecentRuns(source, limit));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import uz.dckroff.statisfy.dto.CursorPage;
 import uz.dckroff.statisfy.dto.analytics.ActivityCountDTO;
 import uz.dckroff.statisfy.dto.analytics.DashboardStatsDTO;
 import uz.dckroff.statisfy.dto.analytics.UserActivityDTO;
@@ -34,6 +35,16 @@ public class AnalyticsController {
         
         return ResponseEntity.ok(activities);
     }
+
+    @GetMapping("/user-stats/feed")
+    public ResponseEntity<CursorPage<UserActivityDTO>> getUserStatsFeed(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        
+        return ResponseEntity.ok(analyticsService.getUserActivitiesFeed(user, cursor, size, withTotal));
+    }
     
     @GetMapping("/popular-content")
     public ResponseEntity<List<ActivityCountDTO>> getPopularContent(
@@ -57,6 +68,16 @@ public class AnalyticsController {
         
         return ResponseEntity.ok(activities);
     }
+
+    @GetMapping("/activities/feed")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserActivityDTO>> getActivitiesFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        
+        return ResponseEntity.ok(analyticsService.getActivitiesFeed(cursor, size, withTotal));
+    }
     
     @GetMapping("/activities/type/{activityType}")
     @PreAuthorize("hasRole('ADMIN')")
@@ -6,6 +6,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import uz.dckroff.statisfy.dto.fact.FactCollectorResponse;
 import uz.dckroff.statisfy.service.FactCollectorService;
+import uz.dckroff.statisfy.service.OnThisDayService;
 
 /**
  * Контроллер для управления сбором фактов из внешних источников
@@ -17,6 +18,7 @@ import uz.dckroff.statisfy.service.FactCollectorService;
 public class FactCollectorController {
 
     private final FactCollectorService factCollectorService;
+    private final OnThisDayService onThisDayService;
 
     /**
      * Запускает сбор всех видов фактов
@@ -147,4 +149,31 @@ public class FactCollectorController {
                     .build());
         }
     }
+    
+    /**
+     * Загружает в хранилище "в этот день" отсутствующие и устаревшие дни
+     * @param force загрузить заново все 366 дней
+     * @return Результат операции; factsCollected - количество загруженных дней
+     */
+    @PostMapping("/on-this-day")
+    public ResponseEntity<FactCollectorResponse> refreshOnThisDay(@RequestParam(defaultValue = "false") boolean force) {
+        try {
+            int days = onThisDayService.refresh(force);
+            return ResponseEntity.ok(FactCollectorResponse.builder()
+                    .factsCollected(days)
+                    .source("History API")
+                    .category("История")
+                    .success(true)
+                    .message("Загружено " + days + " дней в хранилище \"в этот день\"")
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.ok(FactCollectorResponse.builder()
+                    .factsCollected(0)
+                    .source("History API")
+                    .category("История")
+                    .success(false)
+                    .message("Ошибка при загрузке событий \"в этот день\": " + e.getMessage())
+                    .build());
+        }
+    }
 } 
\ No newline at end of file
@@ -15,10 +15,17 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import uz.dckroff.statisfy.dto.CursorPage;
 import uz.dckroff.statisfy.dto.fact.FactRequest;
 import uz.dckroff.statisfy.dto.fact.FactResponse;
+import uz.dckroff.statisfy.dto.fact.OnThisDayResponse;
+import uz.dckroff.statisfy.dto.fact.OnThisDayType;
+import uz.dckroff.statisfy.exception.BadRequestException;
 import uz.dckroff.statisfy.service.FactService;
+import uz.dckroff.statisfy.service.OnThisDayService;
 
+import java.time.DateTimeException;
+import java.time.MonthDay;
 import java.util.List;
 
 @RestController
@@ -28,6 +35,7 @@ import java.util.List;
 public class FactController {
 
     private final FactService factService;
+    private final OnThisDayService onThisDayService;
 
     @Operation(summary = "Получить все факты", description = "Возвращает страницу фактов с пагинацией")
     @ApiResponses(value = {
@@ -41,6 +49,22 @@ public class FactController {
         return ResponseEntity.ok(factService.getAllFacts(pageable));
     }
 
+    @Operation(summary = "Лента фактов", description = "Возвращает опубликованные факты от новых к старым с пагинацией по курсору; " +
+            "стоимость страницы не зависит от ее глубины")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Успешное получение фактов"),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Не авторизован", content = @Content)
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<FactResponse>> getFactsFeed(
+            @Parameter(description = "nextCursor предыдущей страницы; без него - первая страница") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (до 100)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Посчитать общее количество фактов") @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(factService.getFactsFeed(cursor, size, withTotal));
+    }
+
     @Operation(summary = "Получить факты по категории", description = "Возвращает страницу фактов определенной категории")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Успешное получение фактов по категории"),
@@ -78,6 +102,35 @@ public class FactController {
         return ResponseEntity.ok(factService.getRecentFacts());
     }
 
+    @Operation(summary = "Получить события \"в этот день\"",
+            description = "Возвращает исторические события, рождения и смерти календарного дня из локального хранилища; по умолчанию - сегодняшний день")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Успешное получение событий"),
+            @ApiResponse(responseCode = "400", description = "Некорректная дата", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Не авторизован", content = @Content)
+    })
+    @GetMapping("/on-this-day")
+    public ResponseEntity<OnThisDayResponse> getOnThisDay(
+            @Parameter(description = "Месяц (1-12)") @RequestParam(required = false) Integer month,
+            @Parameter(description = "День месяца") @RequestParam(required = false) Integer day,
+            @Parameter(description = "Вид событий: EVENT, BIRTH или DEATH") @RequestParam(required = false) OnThisDayType type,
+            @Parameter(description = "Максимальное количество событий") @RequestParam(defaultValue = "20") int limit
+    ) {
+        MonthDay date;
+        if (month == null && day == null) {
+            date = MonthDay.now();
+        } else if (month == null || day == null) {
+            throw new BadRequestException("Month and day must be specified together");
+        } else {
+            try {
+                date = MonthDay.of(month, day);
+            } catch (DateTimeException e) {
+                throw new BadRequestException("Invalid date: " + month + "-" + day);
+            }
+        }
+        return ResponseEntity.ok(onThisDayService.getOnThisDay(date, type, limit));
+    }
+
     @Operation(summary = "Создать новый факт", description = "Создает новый факт (только для администраторов)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Факт успешно создан"),
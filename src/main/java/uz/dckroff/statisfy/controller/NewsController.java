@@ -7,6 +7,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import uz.dckroff.statisfy.dto.CursorPage;
 import uz.dckroff.statisfy.dto.PagedResponse;
 import uz.dckroff.statisfy.dto.news.NewsResponse;
 import uz.dckroff.statisfy.service.NewsService;
@@ -25,6 +26,15 @@ public class NewsController {
         return newsService.getAllNews(pageable);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<NewsResponse>> getNewsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(newsService.getNewsFeed(cursor, size, withTotal));
+    }
+
 
 
     @GetMapping("/{id}")
@@ -47,6 +57,15 @@ public class NewsController {
         return ResponseEntity.ok(newsService.getRelevantNews(pageable));
     }
 
+    @GetMapping("/relevant/feed")
+    public ResponseEntity<CursorPage<NewsResponse>> getRelevantNewsFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(newsService.getRelevantNewsFeed(cursor, size, withTotal));
+    }
+
     @GetMapping("/latest")
     public ResponseEntity<List<NewsResponse>> getLatestNews() {
         return ResponseEntity.ok(newsService.getLatestNews());
@@ -3,6 +3,7 @@ package uz.dckroff.statisfy.controller;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -72,4 +73,15 @@ public class ScraperController {
                     .build());
         }
     }
+
+    @PostMapping("/sites/{name}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScraperResponse> scrapeSite(@PathVariable String name) {
+        int count = webScraperService.scrapeSite(name);
+        return ResponseEntity.ok(ScraperResponse.builder()
+                .articlesScraped(count)
+                .message("Successfully scraped " + count + " articles from " + name)
+                .success(true)
+                .build());
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package uz.dckroff.statisfy.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.dckroff.statisfy.dto.statistic.RollupDimension;
+import uz.dckroff.statisfy.dto.statistic.RollupPeriod;
+import uz.dckroff.statisfy.dto.statistic.StatisticRollupResponse;
+import uz.dckroff.statisfy.service.StatisticRollupService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/statistics/rollups")
+@RequiredArgsConstructor
+public class StatisticRollupController {
+
+    private final StatisticRollupService statisticRollupService;
+
+    @GetMapping
+    public ResponseEntity<List<StatisticRollupResponse>> getRollups(
+            @RequestParam(defaultValue = "CATEGORY") RollupDimension dimension,
+            @RequestParam(required = false) String key,
+            @RequestParam(defaultValue = "MONTH") RollupPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(statisticRollupService.getRollups(dimension, key, period, from, to));
+    }
+}
@@ -0,0 +1,31 @@
+package uz.dckroff.statisfy.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import uz.dckroff.statisfy.dto.statistic.SeriesResolution;
+import uz.dckroff.statisfy.dto.statistic.StatisticSeriesResponse;
+import uz.dckroff.statisfy.service.StatisticSeriesService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/statistics/series")
+@RequiredArgsConstructor
+public class StatisticSeriesController {
+
+    private final StatisticSeriesService statisticSeriesService;
+
+    @GetMapping
+    public ResponseEntity<List<StatisticSeriesResponse>> getSeries(
+            @RequestParam String indicator,
+            @RequestParam(required = false) List<String> country,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "YEAR") SeriesResolution resolution
+    ) {
+        return ResponseEntity.ok(statisticSeriesService.getSeries(indicator, country, from, to, resolution));
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import uz.dckroff.statisfy.dto.statistic.StatisticsCollectionReport;
 import uz.dckroff.statisfy.dto.statistic.StatisticsCollectorResponse;
 import uz.dckroff.statisfy.service.StatisticsCollectorService;
 
@@ -44,6 +45,15 @@ public class StatisticsCollectorController {
         }
     }
 
+    /**
+     * Запускает сбор всех видов статистики и возвращает подробный отчет по каждому источнику
+     * @return Отчет о запуске
+     */
+    @PostMapping("/run-all/report")
+    public ResponseEntity<StatisticsCollectionReport> collectAllStatisticsWithReport() {
+        return ResponseEntity.ok(statisticsCollectorService.collectAllStatisticsWithReport());
+    }
+
     /**
      * Запускает сбор статистики о населении
      * @return Результат операции
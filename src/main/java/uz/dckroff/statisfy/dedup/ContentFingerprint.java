@@ -0,0 +1,97 @@
+package uz.dckroff.statisfy.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Отпечаток текста для поиска повторов: SHA-256 нормализованного текста (точные повторы)
+ * и 64-битный SimHash по словам и парам слов (повторы с небольшими изменениями формулировки).
+ * <p>
+ * Нормализация приводит текст к нижнему регистру и оставляет только буквы и цифры, поэтому
+ * различия в пунктуации, регистре и пробелах не меняют ни хэш, ни SimHash.
+ *
+ * @param hash SHA-256 нормализованного текста в hex
+ * @param simhash SimHash текста
+ * @param tokens количество слов; у коротких текстов SimHash ненадежен и сравнивается только хэш
+ */
+public record ContentFingerprint(String hash, long simhash, int tokens) {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Вычисляет отпечаток текста
+     */
+    public static ContentFingerprint of(String text) {
+        List<String> tokens = tokenize(text);
+        return new ContentFingerprint(sha256(String.join(" ", tokens)), simhash(tokens), tokens.size());
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        for (String token : NON_WORD.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Каждое слово и каждая пара соседних слов голосуют за биты своего хэша;
+     * бит SimHash равен 1, если голосов "за" больше
+     */
+    private static long simhash(List<String> tokens) {
+        int[] votes = new int[64];
+        for (int i = 0; i < tokens.size(); i++) {
+            vote(votes, fnv1a(tokens.get(i)));
+            if (i + 1 < tokens.size()) {
+                vote(votes, fnv1a(tokens.get(i) + " " + tokens.get(i + 1)));
+            }
+        }
+        long result = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                result |= 1L << bit;
+            }
+        }
+        return result;
+    }
+
+    private static void vote(int[] votes, long hash) {
+        for (int bit = 0; bit < 64; bit++) {
+            votes[bit] += ((hash >>> bit) & 1) == 1 ? 1 : -1;
+        }
+    }
+
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package uz.dckroff.statisfy.dedup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.dckroff.statisfy.repository.ContentFingerprintRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Отсев повторов фактов и новостей при записи.
+ * <p>
+ * Для каждого элемента вычисляется {@link ContentFingerprint}; элемент отклоняется, если в окне последних
+ * отпечатков потока или в той же пачке есть тот же нормализованный текст либо SimHash, отличающийся
+ * не более чем в dedup.simhash-threshold битах. Проверка идет только в памяти, без запросов к базе.
+ * Отпечатки принятых элементов попадают в окно после коммита транзакции, чтобы откаченная запись
+ * не блокировала повторную попытку; так же после коммита из окна убираются отпечатки удаленных
+ * и измененных записей. При старте окно заполняется последними записями таблиц.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateDetector {
+
+    public static final String FACTS = "facts";
+    public static final String NEWS = "news";
+
+    private final ContentFingerprintRepository fingerprintRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dedup.window:50000}")
+    private int window;
+
+    @Value("${dedup.simhash-threshold:6}")
+    private int threshold;
+
+    @Value("${dedup.min-tokens:8}")
+    private int minTokens;
+
+    private final Map<String, FingerprintIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Текст факта, по которому строится отпечаток. Заголовки фактов шаблонные, поэтому учитывается только содержание.
+     */
+    public static String factText(String content) {
+        return content != null ? content : "";
+    }
+
+    /**
+     * Текст новости, по которому строится отпечаток
+     */
+    public static String newsText(String title, String summary) {
+        return (title != null ? title : "") + " " + (summary != null ? summary : "");
+    }
+
+    /**
+     * Заполняет окна отпечатков последними записями и дописывает отпечатки строкам, сохраненным до их появления
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            warmUp(FACTS, fingerprintRepository::findRecentFacts, fingerprintRepository::updateFacts);
+            warmUp(NEWS, fingerprintRepository::findRecentNews, fingerprintRepository::updateNews);
+        } catch (Exception e) {
+            log.error("Не удалось заполнить окно отпечатков", e);
+        }
+    }
+
+    /**
+     * Оставляет элементы без повторов в окне и внутри пачки; каждому элементу проставляется отпечаток
+     * @param stream поток ({@link #FACTS} или {@link #NEWS})
+     * @param items новые элементы
+     * @param text текст элемента для отпечатка
+     * @param fingerprintSetter запись отпечатка в элемент
+     * @return принятые элементы в исходном порядке
+     */
+    public <T> List<T> filterNew(String stream, List<T> items, Function<T, String> text,
+                                 BiConsumer<T, ContentFingerprint> fingerprintSetter) {
+        List<T> accepted = new ArrayList<>(items.size());
+        List<ContentFingerprint> fingerprints = new ArrayList<>(items.size());
+        FingerprintIndex batch = new FingerprintIndex(items.size(), threshold, minTokens);
+
+        for (T item : items) {
+            ContentFingerprint fingerprint = ContentFingerprint.of(text.apply(item));
+            fingerprintSetter.accept(item, fingerprint);
+            if (enabled) {
+                ContentFingerprint match = index(stream).findMatch(fingerprint);
+                if (match == null) {
+                    match = batch.findMatch(fingerprint);
+                }
+                if (match != null) {
+                    countDuplicate(stream, fingerprint, match);
+                    continue;
+                }
+                batch.add(fingerprint);
+            }
+            accepted.add(item);
+            fingerprints.add(fingerprint);
+        }
+
+        if (accepted.size() < items.size()) {
+            log.info("Отклонено повторов ({}): {} из {}", stream, items.size() - accepted.size(), items.size());
+        }
+        registerAfterCommit(stream, fingerprints);
+        return accepted;
+    }
+
+    /**
+     * @return отпечаток ранее сохраненного похожего элемента или null
+     */
+    public ContentFingerprint findDuplicate(String stream, ContentFingerprint fingerprint) {
+        if (!enabled) {
+            return null;
+        }
+        ContentFingerprint match = index(stream).findMatch(fingerprint);
+        if (match != null) {
+            countDuplicate(stream, fingerprint, match);
+        }
+        return match;
+    }
+
+    /**
+     * Добавляет отпечаток сохраненного элемента в окно (после коммита текущей транзакции)
+     */
+    public void register(String stream, ContentFingerprint fingerprint) {
+        registerAfterCommit(stream, List.of(fingerprint));
+    }
+
+    /**
+     * Убирает отпечаток удаленного элемента или прежнего текста измененного элемента из окна
+     * (после коммита текущей транзакции), чтобы он больше не отклонял новые записи
+     */
+    public void remove(String stream, ContentFingerprint fingerprint) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> index(stream).remove(fingerprint));
+    }
+
+    private void warmUp(String stream, BiFunction<Integer, List<Long>, Map<Long, String>> loader,
+                        Consumer<Map<Long, ContentFingerprint>> backfill) {
+        List<Long> missing = new ArrayList<>();
+        Map<Long, String> texts = loader.apply(window, missing);
+        Set<Long> missingIds = new HashSet<>(missing);
+
+        FingerprintIndex index = index(stream);
+        Map<Long, ContentFingerprint> backfilled = new LinkedHashMap<>();
+        texts.forEach((id, text) -> {
+            ContentFingerprint fingerprint = ContentFingerprint.of(text);
+            index.add(fingerprint);
+            if (missingIds.contains(id)) {
+                backfilled.put(id, fingerprint);
+            }
+        });
+        backfill.accept(backfilled);
+        log.info("Окно отпечатков {}: {} записей, дописано отпечатков: {}", stream, index.size(), backfilled.size());
+    }
+
+    private void registerAfterCommit(String stream, List<ContentFingerprint> fingerprints) {
+        if (!enabled || fingerprints.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> fingerprints.forEach(index(stream)::add));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private FingerprintIndex index(String stream) {
+        return indexes.computeIfAbsent(stream, key -> new FingerprintIndex(window, threshold, minTokens));
+    }
+
+    private void countDuplicate(String stream, ContentFingerprint fingerprint, ContentFingerprint match) {
+        String kind = fingerprint.hash().equals(match.hash()) ? "exact" : "near";
+        log.debug("Повтор ({}, {}): {}", stream, kind, fingerprint.hash());
+        meterRegistry.counter("ingest.duplicates", "stream", stream, "match", kind).increment();
+    }
+}
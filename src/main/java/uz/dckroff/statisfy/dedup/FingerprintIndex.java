@@ -0,0 +1,130 @@
+package uz.dckroff.statisfy.dedup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Скользящее окно последних отпечатков одного потока (факты или новости).
+ * <p>
+ * Точные повторы ищутся по хэшу. Для поиска близких SimHash 64 бита делятся на threshold + 1 полос:
+ * если отпечатки отличаются не более чем в threshold битах, хотя бы одна полоса у них совпадает,
+ * поэтому сравнивать по расстоянию Хэмминга нужно только отпечатки с общей полосой.
+ * При переполнении окна вытесняются самые старые отпечатки; удаленные и измененные записи
+ * убираются из окна явно через {@link #remove}.
+ */
+class FingerprintIndex {
+
+    private final int capacity;
+    private final int threshold;
+    private final int minTokens;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+
+    private final ArrayDeque<ContentFingerprint> entries = new ArrayDeque<>();
+    // Один и тот же текст может быть в окне несколько раз, поэтому хэш хранится со счетчиком копий
+    private final Map<String, Integer> hashes = new HashMap<>();
+    private final List<Map<Long, List<ContentFingerprint>>> bands = new ArrayList<>();
+
+    FingerprintIndex(int capacity, int threshold, int minTokens) {
+        this.capacity = capacity;
+        this.threshold = Math.max(0, Math.min(threshold, 63));
+        this.minTokens = minTokens;
+
+        int bandCount = this.threshold + 1;
+        this.bandShifts = new int[bandCount];
+        this.bandMasks = new long[bandCount];
+        int shift = 0;
+        for (int band = 0; band < bandCount; band++) {
+            int width = 64 / bandCount + (band < 64 % bandCount ? 1 : 0);
+            bandShifts[band] = shift;
+            bandMasks[band] = width == 64 ? -1L : (1L << width) - 1;
+            shift += width;
+            bands.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * @return ранее добавленный отпечаток того же или близкого текста, либо null
+     */
+    synchronized ContentFingerprint findMatch(ContentFingerprint fingerprint) {
+        if (hashes.containsKey(fingerprint.hash())) {
+            // Отпечаток однозначно определяется текстом, поэтому сохраненная копия равна искомой
+            return fingerprint;
+        }
+        if (!isNearComparable(fingerprint)) {
+            return null;
+        }
+        for (int band = 0; band < bandShifts.length; band++) {
+            List<ContentFingerprint> candidates = bands.get(band).get(bandKey(fingerprint, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (ContentFingerprint candidate : candidates) {
+                if (Long.bitCount(candidate.simhash() ^ fingerprint.simhash()) <= threshold) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    synchronized void add(ContentFingerprint fingerprint) {
+        if (capacity <= 0) {
+            return;
+        }
+        entries.addLast(fingerprint);
+        hashes.merge(fingerprint.hash(), 1, Integer::sum);
+        if (isNearComparable(fingerprint)) {
+            for (int band = 0; band < bandShifts.length; band++) {
+                bands.get(band).computeIfAbsent(bandKey(fingerprint, band), key -> new ArrayList<>(1)).add(fingerprint);
+            }
+        }
+        while (entries.size() > capacity) {
+            evict(entries.removeFirst());
+        }
+    }
+
+    /**
+     * Убирает из окна одну копию отпечатка (запись удалена или ее текст изменился)
+     * @return false, если отпечатка в окне нет (например, он уже вытеснен)
+     */
+    synchronized boolean remove(ContentFingerprint fingerprint) {
+        if (!entries.removeFirstOccurrence(fingerprint)) {
+            return false;
+        }
+        evict(fingerprint);
+        return true;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evict(ContentFingerprint fingerprint) {
+        hashes.computeIfPresent(fingerprint.hash(), (hash, copies) -> copies > 1 ? copies - 1 : null);
+        if (!isNearComparable(fingerprint)) {
+            return;
+        }
+        for (int band = 0; band < bandShifts.length; band++) {
+            Long key = bandKey(fingerprint, band);
+            List<ContentFingerprint> bucket = bands.get(band).get(key);
+            if (bucket != null) {
+                bucket.remove(fingerprint);
+                if (bucket.isEmpty()) {
+                    bands.get(band).remove(key);
+                }
+            }
+        }
+    }
+
+    private boolean isNearComparable(ContentFingerprint fingerprint) {
+        return fingerprint.tokens() >= minTokens;
+    }
+
+    private long bandKey(ContentFingerprint fingerprint, int band) {
+        return (fingerprint.simhash() >>> bandShifts[band]) & bandMasks[band];
+    }
+}
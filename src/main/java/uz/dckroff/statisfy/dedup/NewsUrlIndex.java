@@ -0,0 +1,192 @@
+package uz.dckroff.statisfy.dedup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.dckroff.statisfy.repository.NewsUrlRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Проверка, сохранена ли уже новость с таким URL, пачкой ссылок за раз.
+ * <p>
+ * URL приводятся к ключу {@link UrlNormalizer} (колонка news.url_key с уникальным индексом). Перед базой стоят
+ * два уровня в памяти: точный набор недавно встреченных ключей (ссылки, которые листинги показывают
+ * из запуска в запуск, отсекаются без запроса) и фильтр Блума по всем сохраненным ключам (новые ссылки
+ * проходят без запроса). В базу одним запросом url_key IN (...) уходят только ключи, которые фильтр
+ * считает возможно сохраненными. Фильтр заполняется при старте; до этого все ключи проверяются в базе.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NewsUrlIndex {
+
+    private final NewsUrlRepository newsUrlRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dedup.urls.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${dedup.urls.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${dedup.urls.recent-size:20000}")
+    private int recentSize;
+
+    private volatile BloomFilter bloomFilter;
+    private Map<String, Boolean> recent;
+
+    @PostConstruct
+    public void init() {
+        // Недавние ключи в порядке обращения; самые давние вытесняются
+        recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentSize;
+            }
+        });
+    }
+
+    /**
+     * Дописывает ключи строкам, сохраненным до появления колонки, и заполняет фильтр
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            int backfilled = backfill();
+            BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+            newsUrlRepository.forEachKey(filter::put);
+            bloomFilter = filter;
+            log.info("Фильтр URL новостей: {} ключей, {} бит, дописано ключей: {}",
+                    filter.size(), filter.bitSize(), backfilled);
+            if (filter.size() > expectedInsertions) {
+                log.warn("URL новостей больше расчетного ({}): увеличьте dedup.urls.expected-insertions", expectedInsertions);
+            }
+        } catch (Exception e) {
+            log.error("Не удалось заполнить фильтр URL новостей; проверка идет через базу", e);
+        }
+    }
+
+    /**
+     * Оставляет элементы, URL которых еще не сохранены; повторы URL внутри пачки отбрасываются
+     * @param items элементы с URL (ссылки листинга, статьи API)
+     * @param url URL элемента
+     * @return новые элементы в исходном порядке
+     */
+    public <T> List<T> filterUnknown(List<T> items, Function<T, String> url) {
+        Map<String, T> candidates = new LinkedHashMap<>();
+        for (T item : items) {
+            String key = UrlNormalizer.normalize(url.apply(item));
+            if (key != null) {
+                candidates.putIfAbsent(key, item);
+            }
+        }
+
+        BloomFilter filter = bloomFilter;
+        List<String> toCheck = new ArrayList<>();
+        Map<String, T> unknown = new LinkedHashMap<>();
+        int cached = 0;
+        for (Map.Entry<String, T> candidate : candidates.entrySet()) {
+            if (recent.containsKey(candidate.getKey())) {
+                cached++;
+            } else {
+                unknown.put(candidate.getKey(), candidate.getValue());
+                if (filter == null || filter.mightContain(candidate.getKey())) {
+                    toCheck.add(candidate.getKey());
+                }
+            }
+        }
+
+        Set<String> stored = toCheck.isEmpty() ? Set.of() : newsUrlRepository.findExisting(toCheck);
+        stored.forEach(key -> {
+            unknown.remove(key);
+            recent.put(key, Boolean.TRUE);
+        });
+
+        count("cache", cached);
+        count("bloom", candidates.size() - cached - toCheck.size());
+        count("db", toCheck.size());
+        log.debug("Проверка URL: {} ссылок, {} из кэша, {} запрошено в базе, новых {}",
+                candidates.size(), cached, toCheck.size(), unknown.size());
+        return new ArrayList<>(unknown.values());
+    }
+
+    /**
+     * Добавляет ключи сохраненных новостей в фильтр после коммита текущей транзакции
+     */
+    public void register(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(keys);
+                }
+            });
+        } else {
+            add(keys);
+        }
+    }
+
+    private void add(Collection<String> keys) {
+        BloomFilter filter = bloomFilter;
+        for (String key : keys) {
+            if (filter != null) {
+                filter.put(key);
+            }
+            recent.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Ключи для строк без url_key; строка, повторяющая уже сохраненный URL, остается без ключа
+     */
+    private int backfill() {
+        int total = 0;
+        long afterId = 0;
+        Map<Long, String> urls;
+        while (!(urls = newsUrlRepository.findWithoutKey(afterId)).isEmpty()) {
+            Map<String, Long> firstByKey = new LinkedHashMap<>();
+            urls.forEach((id, url) -> {
+                String key = UrlNormalizer.normalize(url);
+                if (key != null) {
+                    firstByKey.putIfAbsent(key, id);
+                }
+            });
+            newsUrlRepository.findExisting(firstByKey.keySet()).forEach(firstByKey::remove);
+
+            Map<Long, String> keys = new HashMap<>();
+            firstByKey.forEach((key, id) -> keys.put(id, key));
+            newsUrlRepository.updateKeys(keys);
+            total += keys.size();
+
+            for (Long id : urls.keySet()) {
+                afterId = id;
+            }
+        }
+        return total;
+    }
+
+    private void count(String path, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter("ingest.url_lookups", "path", path).increment(amount);
+        }
+    }
+}
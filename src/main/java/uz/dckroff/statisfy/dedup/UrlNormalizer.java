@@ -0,0 +1,130 @@
+package uz.dckroff.statisfy.dedup;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Приведение URL статьи к ключу, по которому сравниваются новости.
+ * Одна и та же статья, полученная по ссылкам с http/https, www, завершающим слэшем, якорем
+ * или метками рекламных кампаний, дает один ключ. Прочие параметры (в том числе ref, from, id)
+ * сохраняются: на некоторых сайтах они определяют саму страницу.
+ */
+public final class UrlNormalizer {
+
+    /**
+     * Максимальная длина ключа (колонка news.url_key)
+     */
+    public static final int MAX_LENGTH = 500;
+
+    /**
+     * Идентификаторы кликов и рассылок рекламных систем; метки utm_* отбрасываются по префиксу
+     */
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "gbraid", "wbraid", "msclkid", "yclid", "ysclid", "igshid", "mc_cid", "mc_eid");
+
+    // Длина SHA-256 в hex и разделитель перед ним
+    private static final int HASH_SUFFIX_LENGTH = 65;
+
+    private UrlNormalizer() {
+    }
+
+    /**
+     * @param url исходный URL
+     * @return нормализованный URL или null для пустого значения
+     */
+    public static String normalize(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return truncate(trimmed);
+        }
+        if (uri.getHost() == null) {
+            return truncate(trimmed);
+        }
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) {
+            host = host.substring(4);
+        }
+        int port = uri.getPort();
+        boolean defaultPort = port == -1 || port == 80 || port == 443;
+
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        } else if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        StringBuilder key = new StringBuilder("https://").append(host);
+        if (!defaultPort) {
+            key.append(':').append(port);
+        }
+        key.append(path);
+
+        String query = normalizeQuery(uri.getRawQuery());
+        if (!query.isEmpty()) {
+            key.append('?').append(query);
+        }
+        return truncate(key.toString());
+    }
+
+    /**
+     * Убирает метки кампаний и сортирует параметры, чтобы порядок параметров не менял ключ
+     */
+    private static String normalizeQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        List<String> params = new ArrayList<>();
+        for (String param : query.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            String name = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) {
+                continue;
+            }
+            params.add(param);
+        }
+        params.sort(null);
+        return String.join("&", params);
+    }
+
+    /**
+     * Длинный ключ сокращается до {@link #MAX_LENGTH}: начало сохраняется, а не поместившийся хвост заменяется
+     * его SHA-256, чтобы разные URL с общим длинным началом не получали один ключ
+     */
+    private static String truncate(String value) {
+        if (value.length() <= MAX_LENGTH) {
+            return value;
+        }
+        int keep = MAX_LENGTH - HASH_SUFFIX_LENGTH;
+        if (Character.isHighSurrogate(value.charAt(keep - 1))) {
+            keep--;
+        }
+        return value.substring(0, keep) + "#" + sha256(value.substring(keep));
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package uz.dckroff.statisfy.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница ленты с keyset-пагинацией (см. {@link PageCursor}).
+ * nextCursor передается в следующий запрос; totalElements заполняется только по запросу клиента.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 100;
+
+    private List<T> data;
+    private String nextCursor;
+    private boolean hasNext;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    /**
+     * Размер страницы в допустимых пределах
+     */
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * @param rows строки ленты, запрошенные с лимитом pageSize + 1: лишняя строка означает, что есть следующая страница
+     * @param key позиция строки в ленте
+     * @param totalElements общее число записей или null, если его не считали
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int pageSize, Function<E, PageCursor> key,
+                                          Function<E, T> mapper, Long totalElements) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? key.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor, hasNext, totalElements);
+    }
+}
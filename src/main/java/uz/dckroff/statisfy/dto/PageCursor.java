@@ -0,0 +1,45 @@
+package uz.dckroff.statisfy.dto;
+
+import uz.dckroff.statisfy.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в ленте с keyset-пагинацией: время и id последней отданной записи.
+ * <p>
+ * Ленты отсортированы по (время DESC, id DESC), следующая страница начинается сразу после курсора,
+ * поэтому стоимость страницы не зависит от ее глубины. Клиенту курсор передается непрозрачной строкой.
+ */
+public record PageCursor(LocalDateTime time, long id) {
+
+    private static final char SEPARATOR = '_';
+
+    public String encode() {
+        String value = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return курсор или null для первой страницы
+     * @throws BadRequestException если курсор поврежден
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Некорректный курсор: " + cursor);
+            }
+            return new PageCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректный курсор: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package uz.dckroff.statisfy.dto.fact;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Историческое событие, рождение или смерть, случившиеся в этот календарный день
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnThisDayEvent {
+    private OnThisDayType type;
+    private String year;
+    private String text;
+}
@@ -0,0 +1,25 @@
+package uz.dckroff.statisfy.dto.fact;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * События календарного дня из локального хранилища
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnThisDayResponse {
+    private int month;
+    private int day;
+    /**
+     * Загружен ли день в хранилище; пока false, список событий пуст
+     */
+    private boolean available;
+    private List<OnThisDayEvent> events;
+}
@@ -0,0 +1,23 @@
+package uz.dckroff.statisfy.dto.fact;
+
+/**
+ * Вид записи "в этот день"
+ */
+public enum OnThisDayType {
+    EVENT("Events"),
+    BIRTH("Births"),
+    DEATH("Deaths");
+
+    /**
+     * Раздел ответа history.muffinlabs.com
+     */
+    private final String apiSection;
+
+    OnThisDayType(String apiSection) {
+        this.apiSection = apiSection;
+    }
+
+    public String getApiSection() {
+        return apiSection;
+    }
+}
@@ -0,0 +1,15 @@
+package uz.dckroff.statisfy.dto.statistic;
+
+/**
+ * Измерение, по которому агрегируется статистика
+ */
+public enum RollupDimension {
+    /**
+     * По категории (ключ - ID категории)
+     */
+    CATEGORY,
+    /**
+     * По индикатору временных рядов (ключ - код индикатора)
+     */
+    INDICATOR
+}
@@ -0,0 +1,25 @@
+package uz.dckroff.statisfy.dto.statistic;
+
+import java.time.LocalDate;
+
+/**
+ * Период агрегации статистики
+ */
+public enum RollupPeriod {
+    DAY,
+    MONTH;
+
+    /**
+     * @return начало периода, содержащего дату
+     */
+    public LocalDate startOf(LocalDate date) {
+        return this == MONTH ? date.withDayOfMonth(1) : date;
+    }
+
+    /**
+     * @return начало следующего периода
+     */
+    public LocalDate next(LocalDate periodStart) {
+        return this == MONTH ? periodStart.plusMonths(1) : periodStart.plusDays(1);
+    }
+}
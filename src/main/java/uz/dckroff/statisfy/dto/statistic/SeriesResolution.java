@@ -0,0 +1,19 @@
+package uz.dckroff.statisfy.dto.statistic;
+
+/**
+ * Шаг агрегации точек временного ряда
+ */
+public enum SeriesResolution {
+    DAY,
+    WEEK,
+    MONTH,
+    QUARTER,
+    YEAR;
+
+    /**
+     * @return единица для date_trunc в PostgreSQL
+     */
+    public String getTruncUnit() {
+        return name().toLowerCase();
+    }
+}
@@ -32,4 +32,18 @@ public class StatisticRequest {
     
     @NotNull(message = "Date is required")
     private LocalDate date;
+    
+    /**
+     * Код индикатора (например SP.POP.TOTL). Вместе с countryCode относит запись к временному ряду.
+     */
+    @Size(max = 100, message = "Indicator must be at most 100 characters")
+    private String indicator;
+    
+    /**
+     * Код страны ISO 3166-1 alpha-3
+     */
+    @Size(max = 10, message = "Country code must be at most 10 characters")
+    private String countryCode;
+    
+    private String countryName;
 } 
\ No newline at end of file
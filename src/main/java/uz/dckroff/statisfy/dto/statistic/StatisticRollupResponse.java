@@ -0,0 +1,26 @@
+package uz.dckroff.statisfy.dto.statistic;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Агрегат статистики за период
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticRollupResponse {
+    private RollupDimension dimension;
+    private String key;
+    private RollupPeriod period;
+    private LocalDate periodStart;
+    private long count;
+    private Double min;
+    private Double max;
+    private Double average;
+}
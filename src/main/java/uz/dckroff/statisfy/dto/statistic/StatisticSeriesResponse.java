@@ -0,0 +1,47 @@
+package uz.dckroff.statisfy.dto.statistic;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Временной ряд индикатора по одной стране
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticSeriesResponse {
+    private Long id;
+    private String indicator;
+    private String countryCode;
+    private String countryName;
+    private String title;
+    private String unit;
+    private String source;
+    private Long categoryId;
+    private SeriesResolution resolution;
+
+    @Builder.Default
+    private List<Point> points = new ArrayList<>();
+
+    /**
+     * Точка ряда: агрегат значений за период, начинающийся с date
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDate date;
+        private Double value;
+        private Double min;
+        private Double max;
+        private long count;
+    }
+}
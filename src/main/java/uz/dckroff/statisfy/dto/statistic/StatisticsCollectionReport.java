@@ -0,0 +1,100 @@
+package uz.dckroff.statisfy.dto.statistic;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сводный отчет о запуске всех сборщиков статистики
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsCollectionReport {
+
+    /**
+     * Общее количество собранных записей по всем источникам
+     */
+    private int totalCollected;
+
+    /**
+     * Количество источников, завершившихся успешно
+     */
+    private int succeededSources;
+
+    /**
+     * Количество источников, завершившихся ошибкой, таймаутом или отменой
+     */
+    private int failedSources;
+
+    /**
+     * Выполнялся ли сбор параллельно
+     */
+    private boolean concurrent;
+
+    /**
+     * Время начала запуска
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * Общая длительность запуска в миллисекундах
+     */
+    private long durationMs;
+
+    /**
+     * Результаты по каждому источнику
+     */
+    @Builder.Default
+    private List<SourceResult> sources = new ArrayList<>();
+
+    /**
+     * Статус выполнения отдельного источника
+     */
+    public enum SourceStatus {
+        SUCCESS,
+        FAILED,
+        TIMED_OUT,
+        CANCELLED
+    }
+
+    /**
+     * Результат сбора по одному источнику
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SourceResult {
+        /**
+         * Название источника
+         */
+        private String source;
+
+        /**
+         * Количество собранных записей
+         */
+        private int collected;
+
+        /**
+         * Статус выполнения
+         */
+        private SourceStatus status;
+
+        /**
+         * Сообщение об ошибке (если есть)
+         */
+        private String error;
+
+        /**
+         * Длительность сбора в миллисекундах
+         */
+        private long durationMs;
+    }
+}
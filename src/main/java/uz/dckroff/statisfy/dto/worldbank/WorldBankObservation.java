@@ -0,0 +1,56 @@
+package uz.dckroff.statisfy.dto.worldbank;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Одно наблюдение индикатора World Bank по стране за период
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorldBankObservation {
+
+    /**
+     * Код индикатора, например SP.POP.TOTL
+     */
+    private String indicatorId;
+
+    /**
+     * Название индикатора
+     */
+    private String indicatorName;
+
+    /**
+     * Двухбуквенный код страны или агрегата World Bank
+     */
+    private String countryId;
+
+    /**
+     * Название страны
+     */
+    private String countryName;
+
+    /**
+     * Код страны ISO 3166-1 alpha-3 (пустой для агрегатов)
+     */
+    private String countryIso3;
+
+    /**
+     * Период наблюдения (обычно год, например "2022")
+     */
+    private String date;
+
+    /**
+     * Значение индикатора (null, если данных нет)
+     */
+    private Double value;
+
+    /**
+     * Единица измерения, если указана источником
+     */
+    private String unit;
+}
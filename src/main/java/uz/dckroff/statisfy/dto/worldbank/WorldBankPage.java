@@ -0,0 +1,45 @@
+package uz.dckroff.statisfy.dto.worldbank;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница ответа World Bank API: метаданные пагинации и наблюдения
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorldBankPage {
+
+    /**
+     * Номер страницы (с 1)
+     */
+    private int page;
+
+    /**
+     * Общее количество страниц
+     */
+    private int pages;
+
+    /**
+     * Размер страницы
+     */
+    private int perPage;
+
+    /**
+     * Общее количество наблюдений
+     */
+    private int total;
+
+    /**
+     * Наблюдения на странице
+     */
+    @Builder.Default
+    private List<WorldBankObservation> observations = new ArrayList<>();
+}
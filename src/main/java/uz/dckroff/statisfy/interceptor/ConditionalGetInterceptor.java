@@ -0,0 +1,183 @@
+package uz.dckroff.statisfy.interceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import uz.dckroff.statisfy.collector.HttpValidatorCache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Условные GET-запросы к внешним источникам данных.
+ * <p>
+ * Запрос участвует в кэшировании, только если вызывающий код передал заголовок {@link #CACHE_GROUP_HEADER}
+ * с названием группы (например, worldbank:SP.POP.TOTL:2022). Для таких запросов в {@link HttpValidatorCache}
+ * хранятся ETag, Last-Modified и SHA-256 тела последнего ответа; валидаторы отправляются как
+ * If-None-Match/If-Modified-Since.
+ * Если источник ответил 304 или вернул тело с тем же хэшем, вызывающий код получает ответ 304 без тела
+ * и может пропустить разбор и запись в базу.
+ * <p>
+ * Валидаторы нового ответа сохраняются не сразу: они ждут в памяти, пока вызывающий код не подтвердит
+ * запись данных через {@link #confirm(String)}. Если данные не удалось сохранить, группу нужно сбросить
+ * через {@link #evict(String)}; неподтвержденные валидаторы в Redis не попадают, и следующий запуск
+ * загрузит данные полностью.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalGetInterceptor implements ClientHttpRequestInterceptor {
+
+    /**
+     * Заголовок, включающий условный запрос. Во внешний API не отправляется.
+     */
+    public static final String CACHE_GROUP_HEADER = "X-Statisfy-Cache-Group";
+
+    private final HttpValidatorCache validatorCache;
+    private final MeterRegistry meterRegistry;
+
+    // Валидаторы ответов, данные которых еще не сохранены: группа -> URL -> валидаторы
+    private final Map<String, Map<String, HttpValidatorCache.Validators>> pending = new ConcurrentHashMap<>();
+
+    @Value("${http-cache.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String group = request.getHeaders().getFirst(CACHE_GROUP_HEADER);
+        if (group == null) {
+            return execution.execute(request, body);
+        }
+        request.getHeaders().remove(CACHE_GROUP_HEADER);
+
+        if (!enabled || request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String url = request.getURI().toString();
+        HttpValidatorCache.Validators cached = validatorCache.read(group, url);
+
+        if (cached != null) {
+            if (!cached.etag().isEmpty()) {
+                request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+            }
+            if (!cached.lastModified().isEmpty()) {
+                request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+            }
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            log.debug("Источник не изменился (304): {}", group);
+            count("not_modified");
+            return response;
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        HttpStatusCode status = response.getStatusCode();
+        HttpHeaders headers = response.getHeaders();
+        byte[] content;
+        try (response) {
+            content = StreamUtils.copyToByteArray(response.getBody());
+        }
+        String digest = HttpValidatorCache.sha256(content);
+
+        if (cached != null && digest.equals(cached.digest())) {
+            log.debug("Тело ответа не изменилось: {}", group);
+            count("unchanged");
+            return new BufferedResponse(HttpStatus.NOT_MODIFIED, headers, new byte[0]);
+        }
+
+        count("changed");
+        pending.computeIfAbsent(group, key -> new ConcurrentHashMap<>()).put(url, HttpValidatorCache.Validators.of(
+                headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), digest));
+        return new BufferedResponse(status, headers, content);
+    }
+
+    /**
+     * Сохраняет валидаторы ответов группы после успешной записи их данных
+     * @param group название группы из заголовка {@link #CACHE_GROUP_HEADER}
+     */
+    public void confirm(String group) {
+        Map<String, HttpValidatorCache.Validators> validators = pending.remove(group);
+        if (validators != null) {
+            validators.forEach((url, value) -> validatorCache.write(group, url, value));
+        }
+    }
+
+    /**
+     * Сбрасывает сохраненные и неподтвержденные валидаторы группы, чтобы следующий запрос загрузил данные полностью
+     * @param group название группы из заголовка {@link #CACHE_GROUP_HEADER}
+     */
+    public void evict(String group) {
+        pending.remove(group);
+        validatorCache.evict(group);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("http.conditional_get", "result", result).increment();
+    }
+
+    /**
+     * Ответ с уже прочитанным телом
+     */
+    private static class BufferedResponse implements ClientHttpResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(headers);
+            this.body = body;
+            if (body.length == 0) {
+                this.headers.remove(HttpHeaders.CONTENT_TYPE);
+            }
+            this.headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            this.headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() {
+            return status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
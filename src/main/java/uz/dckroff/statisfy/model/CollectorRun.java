@@ -0,0 +1,63 @@
+package uz.dckroff.statisfy.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись журнала запусков сборщиков по одному источнику
+ */
+@Entity
+@Table(name = "collector_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectorRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Сборщик: statistics, facts
+     */
+    @Column(nullable = false)
+    private String collector;
+
+    @Column(nullable = false)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CollectorRunStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "items_saved", nullable = false)
+    private int itemsSaved;
+
+    /**
+     * Последняя сохраненная позиция внутри запуска (страница, смещение) - для журнала.
+     * Продолжение идет с отметки источника ({@link CollectorWatermark}), которая сдвигается вместе с этой позицией
+     */
+    @Column(name = "checkpoint")
+    private String checkpoint;
+
+    /**
+     * Предыдущий незавершенный запуск источника, работу которого продолжает этот запуск
+     */
+    @Column(name = "resumed_from_run_id")
+    private Long resumedFromRunId;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+}
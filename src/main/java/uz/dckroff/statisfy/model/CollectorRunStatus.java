@@ -0,0 +1,19 @@
+package uz.dckroff.statisfy.model;
+
+/**
+ * Статус запуска сборщика
+ */
+public enum CollectorRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    /**
+     * Запуск завершился, но часть данных не загружена; отметка источника на нее не сдвинута,
+     * и следующий запуск запрашивает ее снова
+     */
+    PARTIAL,
+    FAILED,
+    /**
+     * Запуск не завершился (остановка приложения или сбой); следующий запуск продолжает с отметки источника
+     */
+    INTERRUPTED
+}
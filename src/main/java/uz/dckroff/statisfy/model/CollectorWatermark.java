@@ -0,0 +1,57 @@
+package uz.dckroff.statisfy.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отметка о том, что уже загружено из источника. Следующий запуск запрашивает только более новые элементы.
+ */
+@Entity
+@Table(name = "collector_watermarks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CollectorWatermark {
+
+    @Id
+    private String source;
+
+    /**
+     * Наибольший загруженный ID элемента источника
+     */
+    @Column(name = "last_id")
+    private Long lastId;
+
+    /**
+     * Дата публикации последнего загруженного элемента
+     */
+    @Column(name = "last_published_at")
+    private LocalDateTime lastPublishedAt;
+
+    /**
+     * Последняя полностью обработанная страница или смещение
+     */
+    @Column(name = "last_page")
+    private Integer lastPage;
+
+    /**
+     * Произвольный ключ источника (например, дата, за которую загружены события)
+     */
+    @Column(name = "last_key", length = 500)
+    private String lastKey;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -32,6 +32,17 @@ public class Fact {
     
     private String source;
     
+    /**
+     * SHA-256 нормализованного текста (см. DuplicateDetector)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    /**
+     * SimHash текста для поиска близких повторов
+     */
+    private Long simhash;
+    
     @Column(name = "is_published")
     private boolean isPublished;
     
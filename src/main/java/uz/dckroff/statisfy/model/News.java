@@ -1,6 +1,7 @@
 package uz.dckroff.statisfy.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,6 +31,13 @@ public class News {
     @Column(nullable = false)
     private String url;
     
+    /**
+     * Нормализованный URL (см. UrlNormalizer), уникален среди новостей
+     */
+    @JsonIgnore
+    @Column(name = "url_key", length = 500)
+    private String urlKey;
+    
     private String source;
     
     @Column(name = "published_at", nullable = false)
@@ -40,6 +48,19 @@ public class News {
     @JoinColumn(name = "category_id")
     private Category category;
     
+    /**
+     * SHA-256 нормализованного текста (см. DuplicateDetector)
+     */
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
+    /**
+     * SimHash текста для поиска близких повторов
+     */
+    @JsonIgnore
+    private Long simhash;
+    
     @Column(name = "is_relevant")
     private boolean isRelevant;
 } 
\ No newline at end of file
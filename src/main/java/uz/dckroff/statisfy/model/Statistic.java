@@ -13,7 +13,9 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "statistics")
+@Table(name = "statistics", indexes = {
+        @Index(name = "ux_statistics_title_date_source", columnList = "title, date, source", unique = true)
+})
 public class Statistic {
     
     @Id
@@ -32,8 +34,17 @@ public class Statistic {
     @JoinColumn(name = "category_id")
     private Category category;
     
+    // Отсутствующий источник хранится как '': NULL уникальный индекс (title, date, source) не сравнивает
+    @Column(nullable = false)
     private String source;
     
     @Column(nullable = false)
     private LocalDate date;
+    
+    // Ключ временного ряда (statistic_series), к которому относится запись; пуст у записей вне рядов
+    @Column(length = 100)
+    private String indicator;
+    
+    @Column(name = "country_code", length = 10)
+    private String countryCode;
 } 
\ No newline at end of file
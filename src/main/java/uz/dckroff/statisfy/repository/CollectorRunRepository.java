@@ -0,0 +1,22 @@
+package uz.dckroff.statisfy.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.model.CollectorRunStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CollectorRunRepository extends JpaRepository<CollectorRun, Long> {
+
+    Optional<CollectorRun> findFirstBySourceOrderByStartedAtDesc(String source);
+
+    List<CollectorRun> findBySourceAndStatus(String source, CollectorRunStatus status);
+
+    List<CollectorRun> findBySourceOrderByStartedAtDesc(String source, Pageable pageable);
+
+    List<CollectorRun> findAllByOrderByStartedAtDesc(Pageable pageable);
+}
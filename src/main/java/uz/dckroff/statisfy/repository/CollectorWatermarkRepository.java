@@ -0,0 +1,9 @@
+package uz.dckroff.statisfy.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.model.CollectorWatermark;
+
+@Repository
+public interface CollectorWatermarkRepository extends JpaRepository<CollectorWatermark, String> {
+}
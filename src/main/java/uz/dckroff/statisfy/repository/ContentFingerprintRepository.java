@@ -0,0 +1,83 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.dedup.ContentFingerprint;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Отпечатки содержимого фактов и новостей (колонки content_hash и simhash)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContentFingerprintRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String RECENT_FACTS_SQL =
+            "SELECT id, content AS text, content_hash FROM facts ORDER BY id DESC LIMIT ?";
+
+    private static final String RECENT_NEWS_SQL =
+            "SELECT id, title || ' ' || summary AS text, content_hash FROM news ORDER BY id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Последние факты для заполнения окна отпечатков
+     * @return тексты по ID, от старых к новым; отпечатки без сохраненного хэша записываются в missing
+     */
+    public Map<Long, String> findRecentFacts(int limit, List<Long> missing) {
+        return findRecent(RECENT_FACTS_SQL, limit, missing);
+    }
+
+    /**
+     * Последние новости (заголовок и описание) для заполнения окна отпечатков
+     */
+    public Map<Long, String> findRecentNews(int limit, List<Long> missing) {
+        return findRecent(RECENT_NEWS_SQL, limit, missing);
+    }
+
+    /**
+     * Записывает отпечатки строкам, добавленным до появления колонок
+     */
+    public void updateFacts(Map<Long, ContentFingerprint> fingerprints) {
+        update("UPDATE facts SET content_hash = ?, simhash = ? WHERE id = ?", fingerprints);
+    }
+
+    public void updateNews(Map<Long, ContentFingerprint> fingerprints) {
+        update("UPDATE news SET content_hash = ?, simhash = ? WHERE id = ?", fingerprints);
+    }
+
+    private Map<Long, String> findRecent(String sql, int limit, List<Long> missing) {
+        List<Map.Entry<Long, String>> rows = new ArrayList<>();
+        jdbcTemplate.query(sql, rs -> {
+            long id = rs.getLong("id");
+            rows.add(Map.entry(id, rs.getString("text") != null ? rs.getString("text") : ""));
+            if (rs.getString("content_hash") == null) {
+                missing.add(id);
+            }
+        }, limit);
+
+        Map<Long, String> texts = new LinkedHashMap<>();
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            texts.put(rows.get(i).getKey(), rows.get(i).getValue());
+        }
+        return texts;
+    }
+
+    private void update(String sql, Map<Long, ContentFingerprint> fingerprints) {
+        if (fingerprints.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, new ArrayList<>(fingerprints.entrySet()), BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, entry.getValue().hash());
+            ps.setLong(2, entry.getValue().simhash());
+            ps.setLong(3, entry.getKey());
+        });
+    }
+}
@@ -0,0 +1,129 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Очередь обхода веб-скрапера (таблица crawl_frontier)
+ */
+@Repository
+@RequiredArgsConstructor
+public class CrawlFrontierRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO crawl_frontier (site, url, url_key, kind, depth, priority, next_visit_at, title, summary, published_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (url_key) DO NOTHING";
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> {
+        Timestamp publishedAt = rs.getTimestamp("published_at");
+        return new Entry(
+                rs.getLong("id"),
+                rs.getString("site"),
+                rs.getString("url"),
+                rs.getString("url_key"),
+                rs.getString("kind"),
+                rs.getInt("depth"),
+                rs.getInt("priority"),
+                rs.getInt("attempts"),
+                rs.getString("title"),
+                rs.getString("summary"),
+                publishedAt != null ? publishedAt.toLocalDateTime() : null);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Элемент очереди; title, summary и publishedAt - поля статьи из листинга
+     */
+    public record Entry(long id, String site, String url, String urlKey, String kind, int depth, int priority,
+                        int attempts, String title, String summary, LocalDateTime publishedAt) {
+    }
+
+    /**
+     * Добавляет элементы; URL, уже стоящие в очереди, пропускаются
+     * @param nextVisitAt когда элементы можно загружать
+     */
+    public void insertAll(List<Entry> entries, LocalDateTime nextVisitAt) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp visitAt = Timestamp.valueOf(nextVisitAt);
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, entry.site());
+            ps.setString(2, entry.url());
+            ps.setString(3, entry.urlKey());
+            ps.setString(4, entry.kind());
+            ps.setInt(5, entry.depth());
+            ps.setInt(6, entry.priority());
+            ps.setTimestamp(7, visitAt);
+            ps.setString(8, entry.title());
+            ps.setString(9, entry.summary());
+            ps.setTimestamp(10, entry.publishedAt() != null ? Timestamp.valueOf(entry.publishedAt()) : null);
+        });
+    }
+
+    /**
+     * Какие из ключей уже стоят в очереди
+     */
+    public Set<String> findQueued(Collection<String> keys) {
+        Set<String> queued = new HashSet<>();
+        List<String> list = new ArrayList<>(keys);
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            List<String> chunk = list.subList(from, Math.min(from + BATCH_SIZE, list.size()));
+            queued.addAll(namedJdbcTemplate.queryForList("SELECT url_key FROM crawl_frontier WHERE url_key IN (:keys)",
+                    new MapSqlParameterSource("keys", chunk), String.class));
+        }
+        return queued;
+    }
+
+    /**
+     * Берет в обработку элементы сайта, которые пора загрузить, по приоритету и порядку добавления.
+     * Взятым элементам next_visit_at сдвигается на leaseUntil, поэтому параллельный запуск их не получит;
+     * строки, заблокированные другим запуском, пропускаются.
+     * @param leaseUntil до какого момента элементы скрыты, если их не отметят обработанными
+     */
+    public List<Entry> claimDue(String site, LocalDateTime now, int limit, LocalDateTime leaseUntil) {
+        List<Entry> entries = jdbcTemplate.query("UPDATE crawl_frontier SET next_visit_at = ? WHERE id IN (" +
+                        "SELECT id FROM crawl_frontier WHERE site = ? AND next_visit_at <= ? " +
+                        "ORDER BY priority, id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING *",
+                ENTRY_MAPPER, Timestamp.valueOf(leaseUntil), site, Timestamp.valueOf(now), limit);
+        // RETURNING не сохраняет порядок подзапроса
+        List<Entry> ordered = new ArrayList<>(entries);
+        ordered.sort(Comparator.comparingInt(Entry::priority).thenComparingLong(Entry::id));
+        return ordered;
+    }
+
+    /**
+     * Отмечает загрузку и назначает следующий визит
+     * @param failed неудачная попытка увеличивает счетчик попыток, удачная сбрасывает его
+     */
+    public void reschedule(long id, LocalDateTime nextVisitAt, boolean failed) {
+        jdbcTemplate.update("UPDATE crawl_frontier SET next_visit_at = ?, last_visited_at = NOW(), " +
+                        "attempts = CASE WHEN ? THEN attempts + 1 ELSE 0 END WHERE id = ?",
+                Timestamp.valueOf(nextVisitAt), failed, id);
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update("DELETE FROM crawl_frontier WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+}
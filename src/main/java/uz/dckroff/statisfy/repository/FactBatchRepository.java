@@ -0,0 +1,52 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.model.Fact;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Пакетная запись фактов многострочными INSERT через JdbcTemplate
+ */
+@Repository
+@RequiredArgsConstructor
+public class FactBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_INTO =
+            "INSERT INTO facts (title, content, category_id, source, is_published, created_at, content_hash, simhash)";
+
+    private static final int[] COLUMN_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP,
+            Types.VARCHAR, Types.BIGINT};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставляет факты многострочными INSERT по {@value #BATCH_SIZE} строк
+     * @param facts факты с уже разрешенными категориями
+     * @return количество вставленных фактов
+     */
+    public int insertAll(List<Fact> facts) {
+        if (facts.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return MultiRowInsert.execute(jdbcTemplate, INSERT_INTO, "", COLUMN_TYPES, facts, BATCH_SIZE,
+                fact -> new Object[]{
+                        fact.getTitle(),
+                        fact.getContent(),
+                        fact.getCategory() != null ? fact.getCategory().getId() : null,
+                        fact.getSource(),
+                        fact.isPublished(),
+                        fact.getCreatedAt() != null ? Timestamp.valueOf(fact.getCreatedAt()) : now,
+                        fact.getContentHash(),
+                        fact.getSimhash()});
+    }
+}
@@ -2,16 +2,34 @@ package uz.dckroff.statisfy.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.model.Fact;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FactRepository extends JpaRepository<Fact, Long> {
     Page<Fact> findByIsPublishedTrue(Pageable pageable);
     Page<Fact> findByCategoryAndIsPublishedTrue(Category category, Pageable pageable);
     List<Fact> findTop5ByIsPublishedTrueOrderByCreatedAtDesc();
+    long countByIsPublishedTrue();
+
+    // Keyset-пагинация ленты опубликованных фактов: первая страница и страница после курсора (createdAt, id)
+    @EntityGraph(attributePaths = "category")
+    List<Fact> findByIsPublishedTrueOrderByCreatedAtDescIdDesc(Pageable limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT f FROM Fact f WHERE f.isPublished = true " +
+            "AND f.createdAt <= :time AND (f.createdAt < :time OR f.id < :id) " +
+            "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Fact> findPublishedPageAfter(LocalDateTime time, Long id, Pageable limit);
+
+    @EntityGraph(attributePaths = "category")
+    Optional<Fact> findFirstByContentHash(String contentHash);
 } 
\ No newline at end of file
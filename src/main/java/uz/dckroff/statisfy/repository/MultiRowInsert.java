@@ -0,0 +1,48 @@
+package uz.dckroff.statisfy.repository;
+
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Запись пачки строк одним многострочным INSERT ... VALUES (...), (...) на каждые chunkSize строк.
+ * <p>
+ * В отличие от JdbcTemplate.batchUpdate (с reWriteBatchedInserts драйвер PostgreSQL возвращает
+ * SUCCESS_NO_INFO), счетчик такого оператора точный: строки, пропущенные ON CONFLICT DO NOTHING
+ * или условием WHERE в DO UPDATE, в него не входят. Ключ конфликта внутри одного вызова для DO UPDATE
+ * должен быть уникален.
+ */
+final class MultiRowInsert {
+
+    private MultiRowInsert() {
+    }
+
+    /**
+     * @param insertInto начало оператора до VALUES, например "INSERT INTO t (a, b)"
+     * @param onConflict хвост оператора после VALUES (ON CONFLICT ...), может быть пустым
+     * @param columnTypes SQL-типы колонок из java.sql.Types в порядке insertInto
+     * @param values значения колонок строки в том же порядке
+     * @return количество вставленных или измененных строк
+     */
+    static <T> int execute(JdbcOperations jdbcOperations, String insertInto, String onConflict, int[] columnTypes,
+                           List<T> rows, int chunkSize, Function<T, Object[]> values) {
+        String row = "(" + String.join(", ", Collections.nCopies(columnTypes.length, "?")) + ")";
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            String sql = insertInto + " VALUES " + String.join(", ", Collections.nCopies(chunk.size(), row))
+                    + (onConflict.isEmpty() ? "" : " " + onConflict);
+
+            Object[] args = new Object[chunk.size() * columnTypes.length];
+            int[] argTypes = new int[args.length];
+            for (int i = 0; i < chunk.size(); i++) {
+                System.arraycopy(values.apply(chunk.get(i)), 0, args, i * columnTypes.length, columnTypes.length);
+                System.arraycopy(columnTypes, 0, argTypes, i * columnTypes.length, columnTypes.length);
+            }
+            affected += jdbcOperations.update(sql, args, argTypes);
+        }
+        return affected;
+    }
+}
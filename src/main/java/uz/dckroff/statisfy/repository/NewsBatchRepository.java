@@ -0,0 +1,56 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.model.News;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Пакетная запись новостей многострочными INSERT через JdbcTemplate
+ */
+@Repository
+@RequiredArgsConstructor
+public class NewsBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_INTO =
+            "INSERT INTO news (title, summary, url, source, published_at, category_id, is_relevant, content_hash, simhash, url_key)";
+
+    private static final String ON_CONFLICT = "ON CONFLICT (url_key) DO NOTHING";
+
+    private static final int[] COLUMN_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT,
+            Types.BOOLEAN, Types.VARCHAR, Types.BIGINT, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставляет новости многострочными INSERT по {@value #BATCH_SIZE} строк; новости с уже сохраненным url_key
+     * пропускаются и не учитываются
+     * @param news новости с уже разрешенными категориями
+     * @return точное количество вставленных новостей
+     */
+    public int insertAll(List<News> news) {
+        if (news.isEmpty()) {
+            return 0;
+        }
+        return MultiRowInsert.execute(jdbcTemplate, INSERT_INTO, ON_CONFLICT, COLUMN_TYPES, news, BATCH_SIZE,
+                item -> new Object[]{
+                        item.getTitle(),
+                        item.getSummary(),
+                        item.getUrl(),
+                        item.getSource(),
+                        Timestamp.valueOf(item.getPublishedAt() != null ? item.getPublishedAt() : LocalDateTime.now()),
+                        item.getCategory() != null ? item.getCategory().getId() : null,
+                        item.isRelevant(),
+                        item.getContentHash(),
+                        item.getSimhash(),
+                        item.getUrlKey()});
+    }
+}
@@ -2,7 +2,9 @@ package uz.dckroff.statisfy.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.model.News;
@@ -16,5 +18,23 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     Page<News> findByCategory(Category category, Pageable pageable);
     Page<News> findByCategoryAndIsRelevantTrue(Category category, Pageable pageable);
     List<News> findByPublishedAtAfterOrderByPublishedAtDesc(LocalDateTime date);
-    boolean existsByTitleAndUrl(String title, String url);
+    long countByIsRelevantTrue();
+
+    // Keyset-пагинация лент: первая страница и страница после курсора (publishedAt, id)
+    @EntityGraph(attributePaths = "category")
+    List<News> findByOrderByPublishedAtDescIdDesc(Pageable limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT n FROM News n WHERE n.publishedAt <= :time AND (n.publishedAt < :time OR n.id < :id) " +
+            "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<News> findPageAfter(LocalDateTime time, Long id, Pageable limit);
+
+    @EntityGraph(attributePaths = "category")
+    List<News> findByIsRelevantTrueOrderByPublishedAtDescIdDesc(Pageable limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT n FROM News n WHERE n.isRelevant = true " +
+            "AND n.publishedAt <= :time AND (n.publishedAt < :time OR n.id < :id) " +
+            "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<News> findRelevantPageAfter(LocalDateTime time, Long id, Pageable limit);
 } 
\ No newline at end of file
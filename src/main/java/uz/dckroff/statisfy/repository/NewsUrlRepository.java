@@ -0,0 +1,92 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Нормализованные URL новостей (колонка url_key с уникальным индексом)
+ */
+@Repository
+@RequiredArgsConstructor
+public class NewsUrlRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Какие из ключей уже сохранены; один запрос по уникальному индексу на каждые {@value #BATCH_SIZE} ключей
+     * @param keys нормализованные URL
+     * @return найденные ключи
+     */
+    public Set<String> findExisting(Collection<String> keys) {
+        Set<String> existing = new HashSet<>();
+        List<String> list = new ArrayList<>(keys);
+        for (int from = 0; from < list.size(); from += BATCH_SIZE) {
+            List<String> chunk = list.subList(from, Math.min(from + BATCH_SIZE, list.size()));
+            existing.addAll(namedJdbcTemplate.queryForList("SELECT url_key FROM news WHERE url_key IN (:keys)",
+                    new MapSqlParameterSource("keys", chunk), String.class));
+        }
+        return existing;
+    }
+
+    /**
+     * Передает все сохраненные ключи потребителю страницами по ID, не загружая их в память разом
+     */
+    public void forEachKey(Consumer<String> consumer) {
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>(PAGE_SIZE);
+            jdbcTemplate.query("SELECT id, url_key FROM news WHERE url_key IS NOT NULL AND id > ? ORDER BY id LIMIT ?",
+                    rs -> {
+                        ids.add(rs.getLong("id"));
+                        consumer.accept(rs.getString("url_key"));
+                    }, afterId, PAGE_SIZE);
+            if (ids.size() < PAGE_SIZE) {
+                return;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Строки без ключа (сохраненные до появления колонки)
+     * @param afterId ID, после которого продолжается выборка
+     * @return URL по ID в порядке добавления
+     */
+    public Map<Long, String> findWithoutKey(long afterId) {
+        Map<Long, String> urls = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, url FROM news WHERE url_key IS NULL AND id > ? ORDER BY id LIMIT ?", rs -> {
+            urls.put(rs.getLong("id"), rs.getString("url"));
+        }, afterId, PAGE_SIZE);
+        return urls;
+    }
+
+    /**
+     * Записывает ключи строкам
+     */
+    public void updateKeys(Map<Long, String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE news SET url_key = ? WHERE id = ?", new ArrayList<>(keys.entrySet()), BATCH_SIZE,
+                (ps, entry) -> {
+                    ps.setString(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                });
+    }
+}
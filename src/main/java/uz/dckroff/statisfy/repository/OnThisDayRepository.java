@@ -0,0 +1,90 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import uz.dckroff.statisfy.dto.fact.OnThisDayEvent;
+import uz.dckroff.statisfy.dto.fact.OnThisDayType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Хранилище событий "в этот день": on_this_day_events (события по дням) и on_this_day_dates (когда день загружен).
+ * День всегда заменяется целиком, поэтому позиция события в ответе источника служит частью ключа.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OnThisDayRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String DELETE_DAY_SQL = "DELETE FROM on_this_day_events WHERE month = ? AND day = ?";
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO on_this_day_events (month, day, type, position, year, text) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_DATE_SQL =
+            "INSERT INTO on_this_day_dates (month, day, event_count, fetched_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (month, day) DO UPDATE SET event_count = EXCLUDED.event_count, fetched_at = EXCLUDED.fetched_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Заменяет события дня и отмечает время загрузки
+     * @param date календарный день
+     * @param events события в порядке источника
+     */
+    @Transactional
+    public void replaceDay(MonthDay date, List<OnThisDayEvent> events) {
+        jdbcTemplate.update(DELETE_DAY_SQL, date.getMonthValue(), date.getDayOfMonth());
+
+        List<Object[]> rows = new ArrayList<>(events.size());
+        Map<OnThisDayType, Integer> positions = new HashMap<>();
+        for (OnThisDayEvent event : events) {
+            int position = positions.merge(event.getType(), 1, Integer::sum);
+            rows.add(new Object[]{date.getMonthValue(), date.getDayOfMonth(), event.getType().name(), position,
+                    event.getYear(), event.getText()});
+        }
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+
+        jdbcTemplate.update(UPSERT_DATE_SQL, date.getMonthValue(), date.getDayOfMonth(), events.size(),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * @return все события, сгруппированные по дням; внутри дня - в порядке вида и позиции в источнике
+     */
+    public Map<MonthDay, List<OnThisDayEvent>> findAll() {
+        Map<MonthDay, List<OnThisDayEvent>> events = new HashMap<>();
+        jdbcTemplate.query("SELECT month, day, type, year, text FROM on_this_day_events ORDER BY month, day, type, position",
+                rs -> {
+                    events.computeIfAbsent(MonthDay.of(rs.getInt("month"), rs.getInt("day")), date -> new ArrayList<>())
+                            .add(OnThisDayEvent.builder()
+                                    .type(OnThisDayType.valueOf(rs.getString("type")))
+                                    .year(rs.getString("year"))
+                                    .text(rs.getString("text"))
+                                    .build());
+                });
+        return events;
+    }
+
+    /**
+     * @return время последней загрузки по дням
+     */
+    public Map<MonthDay, LocalDateTime> findFetchedDates() {
+        Map<MonthDay, LocalDateTime> dates = new HashMap<>();
+        jdbcTemplate.query("SELECT month, day, fetched_at FROM on_this_day_dates", rs -> {
+            dates.put(MonthDay.of(rs.getInt("month"), rs.getInt("day")), rs.getTimestamp("fetched_at").toLocalDateTime());
+        });
+        return dates;
+    }
+}
@@ -0,0 +1,61 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.model.Statistic;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Пакетная запись статистики многострочными INSERT через JdbcTemplate.
+ * Hibernate не группирует INSERT для сущностей с IDENTITY-ключом, поэтому массовая загрузка идет мимо JPA.
+ * Запись идемпотентна: естественный ключ (title, date, source) защищен уникальным индексом.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_INTO =
+            "INSERT INTO statistics (title, value, unit, category_id, source, date, indicator, country_code)";
+
+    private static final String ON_CONFLICT =
+            "ON CONFLICT (title, date, source) DO UPDATE SET " +
+            "value = EXCLUDED.value, unit = EXCLUDED.unit, category_id = EXCLUDED.category_id, " +
+            "indicator = EXCLUDED.indicator, country_code = EXCLUDED.country_code " +
+            "WHERE statistics.value IS DISTINCT FROM EXCLUDED.value " +
+            "OR statistics.unit IS DISTINCT FROM EXCLUDED.unit " +
+            "OR statistics.category_id IS DISTINCT FROM EXCLUDED.category_id " +
+            "OR (statistics.indicator, statistics.country_code) IS DISTINCT FROM (EXCLUDED.indicator, EXCLUDED.country_code)";
+
+    private static final int[] COLUMN_TYPES = {
+            Types.VARCHAR, Types.DOUBLE, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.DATE, Types.VARCHAR, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставляет или обновляет статистику многострочными INSERT по {@value #BATCH_SIZE} строк.
+     * Неизменившиеся записи не переписываются и не учитываются. Ключи внутри одного вызова должны быть уникальны.
+     * @param statistics записи с уже разрешенными категориями
+     * @return точное количество вставленных или измененных записей
+     */
+    public int upsertAll(List<Statistic> statistics) {
+        if (statistics.isEmpty()) {
+            return 0;
+        }
+        return MultiRowInsert.execute(jdbcTemplate, INSERT_INTO, ON_CONFLICT, COLUMN_TYPES, statistics, BATCH_SIZE,
+                statistic -> new Object[]{
+                        statistic.getTitle(),
+                        statistic.getValue(),
+                        statistic.getUnit(),
+                        statistic.getCategory() != null ? statistic.getCategory().getId() : null,
+                        statistic.getSource(),
+                        Date.valueOf(statistic.getDate()),
+                        statistic.getIndicator(),
+                        statistic.getCountryCode()});
+    }
+}
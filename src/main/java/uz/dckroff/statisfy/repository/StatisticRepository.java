@@ -14,4 +14,5 @@ import java.util.List;
 public interface StatisticRepository extends JpaRepository<Statistic, Long> {
     Page<Statistic> findByCategory(Category category, Pageable pageable);
     List<Statistic> findByDateBetween(LocalDate startDate, LocalDate endDate);
+    boolean existsByTitleAndDateAndSource(String title, LocalDate date, String source);
 } 
\ No newline at end of file
@@ -0,0 +1,142 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.dto.statistic.RollupDimension;
+import uz.dckroff.statisfy.dto.statistic.RollupPeriod;
+import uz.dckroff.statisfy.dto.statistic.StatisticRollupResponse;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Предрассчитанные агрегаты статистики (statistic_rollups).
+ * Обновление инкрементальное: пересчитываются только периоды, затронутые загрузкой, каждый -
+ * одним INSERT ... SELECT ... ON CONFLICT по диапазону дат периода. Пересчет из исходных строк,
+ * а не прибавление дельты, сохраняет корректность при обновлении и удалении записей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticRollupRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_COLUMNS =
+            "INSERT INTO statistic_rollups (dimension, dimension_key, period, period_start, count, sum, min, max, updated_at) ";
+
+    private static final String ON_CONFLICT =
+            " ON CONFLICT (dimension, dimension_key, period, period_start) DO UPDATE SET " +
+            "count = EXCLUDED.count, sum = EXCLUDED.sum, min = EXCLUDED.min, max = EXCLUDED.max, updated_at = NOW() " +
+            "WHERE (statistic_rollups.count, statistic_rollups.sum, statistic_rollups.min, statistic_rollups.max) " +
+            "IS DISTINCT FROM (EXCLUDED.count, EXCLUDED.sum, EXCLUDED.min, EXCLUDED.max)";
+
+    private static final String REFRESH_CATEGORY_SQL = UPSERT_COLUMNS +
+            "SELECT 'CATEGORY', :key, :period, :periodStart, count(*), COALESCE(sum(value), 0), min(value), max(value), NOW() " +
+            "FROM statistics WHERE category_id = CAST(:key AS BIGINT) AND date >= :periodStart AND date < :periodEnd" +
+            ON_CONFLICT;
+
+    private static final String REFRESH_INDICATOR_SQL = UPSERT_COLUMNS +
+            "SELECT 'INDICATOR', :key, :period, :periodStart, count(*), COALESCE(sum(p.value), 0), min(p.value), max(p.value), NOW() " +
+            "FROM statistic_points p JOIN statistic_series s ON s.id = p.series_id " +
+            "WHERE s.indicator = :key AND p.date >= :periodStart AND p.date < :periodEnd" +
+            ON_CONFLICT;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Пересчитывает дневные и месячные агрегаты категорий за указанные даты
+     * @param datesByCategory затронутые даты по ID категории
+     */
+    public void refreshCategories(Map<Long, Set<LocalDate>> datesByCategory) {
+        List<MapSqlParameterSource> params = new ArrayList<>();
+        datesByCategory.forEach((categoryId, dates) -> params.addAll(bucketParams(String.valueOf(categoryId), dates)));
+        executeBatches(REFRESH_CATEGORY_SQL, params);
+    }
+
+    /**
+     * Пересчитывает дневные и месячные агрегаты индикаторов за указанные даты
+     * @param datesByIndicator затронутые даты по коду индикатора
+     */
+    public void refreshIndicators(Map<String, Set<LocalDate>> datesByIndicator) {
+        List<MapSqlParameterSource> params = new ArrayList<>();
+        datesByIndicator.forEach((indicator, dates) -> params.addAll(bucketParams(indicator, dates)));
+        executeBatches(REFRESH_INDICATOR_SQL, params);
+    }
+
+    /**
+     * Агрегаты за период; пустые периоды (все записи удалены) не возвращаются
+     * @param key ключ измерения или null для всех ключей
+     * @param from начало диапазона (включительно) или null
+     * @param to конец диапазона (включительно) или null
+     */
+    public List<StatisticRollupResponse> find(RollupDimension dimension, String key, RollupPeriod period,
+                                              LocalDate from, LocalDate to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("dimension", dimension.name())
+                .addValue("period", period.name());
+        StringBuilder sql = new StringBuilder(
+                "SELECT dimension_key, period_start, count, sum, min, max FROM statistic_rollups " +
+                "WHERE dimension = :dimension AND period = :period AND count > 0");
+        if (key != null) {
+            sql.append(" AND dimension_key = :key");
+            params.addValue("key", key);
+        }
+        if (from != null) {
+            sql.append(" AND period_start >= :from");
+            params.addValue("from", Date.valueOf(period.startOf(from)));
+        }
+        if (to != null) {
+            sql.append(" AND period_start <= :to");
+            params.addValue("to", Date.valueOf(to));
+        }
+        sql.append(" ORDER BY dimension_key, period_start");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            long count = rs.getLong("count");
+            return StatisticRollupResponse.builder()
+                    .dimension(dimension)
+                    .key(rs.getString("dimension_key"))
+                    .period(period)
+                    .periodStart(rs.getDate("period_start").toLocalDate())
+                    .count(count)
+                    .min(rs.getObject("min", Double.class))
+                    .max(rs.getObject("max", Double.class))
+                    .average(rs.getDouble("sum") / count)
+                    .build();
+        });
+    }
+
+    private List<MapSqlParameterSource> bucketParams(String key, Collection<LocalDate> dates) {
+        List<MapSqlParameterSource> params = new ArrayList<>();
+        for (RollupPeriod period : RollupPeriod.values()) {
+            Set<LocalDate> starts = new LinkedHashSet<>();
+            for (LocalDate date : dates) {
+                starts.add(period.startOf(date));
+            }
+            for (LocalDate start : starts) {
+                params.add(new MapSqlParameterSource()
+                        .addValue("key", key)
+                        .addValue("period", period.name())
+                        .addValue("periodStart", Date.valueOf(start))
+                        .addValue("periodEnd", Date.valueOf(period.next(start))));
+            }
+        }
+        return params;
+    }
+
+    private void executeBatches(String sql, List<MapSqlParameterSource> params) {
+        MapSqlParameterSource[] batch = params.toArray(MapSqlParameterSource[]::new);
+        for (int from = 0; from < batch.length; from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, Arrays.copyOfRange(batch, from, Math.min(from + BATCH_SIZE, batch.length)));
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package uz.dckroff.statisfy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uz.dckroff.statisfy.dto.statistic.SeriesResolution;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+import uz.dckroff.statisfy.dto.statistic.StatisticSeriesResponse;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Временные ряды статистики: statistic_series (индикатор + страна) и секционированная по годам statistic_points.
+ * Ряды пишутся через JDBC batch, точки - многострочными INSERT с ON CONFLICT (их счетчик точный),
+ * чтение - агрегирующими запросами по первичному ключу (series_id, date).
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatisticSeriesRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SERIES_SQL =
+            "INSERT INTO statistic_series (indicator, country_code, country_name, title, unit, source, category_id) " +
+            "VALUES (:indicator, :countryCode, :countryName, :title, :unit, :source, :categoryId) " +
+            "ON CONFLICT (indicator, country_code) DO UPDATE SET " +
+            "country_name = COALESCE(EXCLUDED.country_name, statistic_series.country_name), " +
+            "title = EXCLUDED.title, unit = EXCLUDED.unit, source = EXCLUDED.source, " +
+            "category_id = EXCLUDED.category_id, updated_at = NOW() " +
+            "WHERE (statistic_series.title, statistic_series.unit, statistic_series.source, statistic_series.category_id) " +
+            "IS DISTINCT FROM (EXCLUDED.title, EXCLUDED.unit, EXCLUDED.source, EXCLUDED.category_id) " +
+            "OR (EXCLUDED.country_name IS NOT NULL AND statistic_series.country_name IS DISTINCT FROM EXCLUDED.country_name)";
+
+    private static final String SERIES_IDS_SQL =
+            "SELECT id, country_code FROM statistic_series WHERE indicator = :indicator AND country_code IN (:countryCodes)";
+
+    private static final String INSERT_POINTS = "INSERT INTO statistic_points (series_id, date, value)";
+
+    private static final String ON_POINT_CONFLICT =
+            "ON CONFLICT (series_id, date) DO UPDATE SET value = EXCLUDED.value " +
+            "WHERE statistic_points.value IS DISTINCT FROM EXCLUDED.value";
+
+    private static final int[] POINT_COLUMN_TYPES = {Types.BIGINT, Types.DATE, Types.DOUBLE};
+
+    private static final String DELETE_POINT_SQL =
+            "DELETE FROM statistic_points p USING statistic_series s " +
+            "WHERE p.series_id = s.id AND s.indicator = :indicator AND s.country_code = :countryCode AND p.date = :date";
+
+    private static final String SERIES_COLUMNS =
+            "SELECT id, indicator, country_code, country_name, title, unit, source, category_id FROM statistic_series ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Записывает точки рядов. Учитываются только записи с заполненными indicator и countryCode;
+     * ряды создаются при первой точке, при повторе (ряд, дата) остается последнее значение.
+     * @param requests записи статистики
+     * @return точное количество вставленных или измененных точек
+     */
+    public int upsertPoints(List<StatisticRequest> requests) {
+        Map<List<String>, StatisticRequest> series = new LinkedHashMap<>();
+        for (StatisticRequest request : requests) {
+            if (isSeriesPoint(request)) {
+                series.put(Arrays.asList(request.getIndicator(), request.getCountryCode()), request);
+            }
+        }
+        if (series.isEmpty()) {
+            return 0;
+        }
+
+        MapSqlParameterSource[] seriesParams = series.values().stream()
+                .map(request -> new MapSqlParameterSource()
+                        .addValue("indicator", request.getIndicator())
+                        .addValue("countryCode", request.getCountryCode())
+                        .addValue("countryName", request.getCountryName())
+                        .addValue("title", request.getTitle())
+                        .addValue("unit", request.getUnit())
+                        .addValue("source", request.getSource())
+                        .addValue("categoryId", request.getCategoryId(), Types.BIGINT))
+                .toArray(MapSqlParameterSource[]::new);
+        for (int from = 0; from < seriesParams.length; from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPSERT_SERIES_SQL,
+                    Arrays.copyOfRange(seriesParams, from, Math.min(from + BATCH_SIZE, seriesParams.length)));
+        }
+
+        Map<List<String>, Long> seriesIds = findSeriesIds(series.keySet());
+
+        Map<List<Object>, Object[]> points = new LinkedHashMap<>();
+        for (StatisticRequest request : requests) {
+            if (!isSeriesPoint(request)) {
+                continue;
+            }
+            Long seriesId = seriesIds.get(Arrays.asList(request.getIndicator(), request.getCountryCode()));
+            points.put(Arrays.asList(seriesId, request.getDate()),
+                    new Object[]{seriesId, Date.valueOf(request.getDate()), request.getValue()});
+        }
+
+        return MultiRowInsert.execute(jdbcTemplate.getJdbcOperations(), INSERT_POINTS, ON_POINT_CONFLICT,
+                POINT_COLUMN_TYPES, new ArrayList<>(points.values()), BATCH_SIZE, Function.identity());
+    }
+
+    /**
+     * Удаляет точку ряда, к которой относилась запись статистики; запись вне рядов ничего не удаляет
+     * @param request прежние данные записи
+     * @return количество удаленных точек
+     */
+    public int deletePoint(StatisticRequest request) {
+        if (!isSeriesPoint(request)) {
+            return 0;
+        }
+        return jdbcTemplate.update(DELETE_POINT_SQL, new MapSqlParameterSource()
+                .addValue("indicator", request.getIndicator())
+                .addValue("countryCode", request.getCountryCode())
+                .addValue("date", Date.valueOf(request.getDate())));
+    }
+
+    /**
+     * Ряды индикатора; без списка стран возвращаются ряды всех стран
+     */
+    public List<StatisticSeriesResponse> findSeries(String indicator, List<String> countryCodes) {
+        MapSqlParameterSource params = new MapSqlParameterSource("indicator", indicator);
+        String sql = SERIES_COLUMNS + "WHERE indicator = :indicator";
+        if (countryCodes != null && !countryCodes.isEmpty()) {
+            sql += " AND country_code IN (:countryCodes)";
+            params.addValue("countryCodes", countryCodes);
+        }
+        sql += " ORDER BY country_code";
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> StatisticSeriesResponse.builder()
+                .id(rs.getLong("id"))
+                .indicator(rs.getString("indicator"))
+                .countryCode(rs.getString("country_code"))
+                .countryName(rs.getString("country_name"))
+                .title(rs.getString("title"))
+                .unit(rs.getString("unit"))
+                .source(rs.getString("source"))
+                .categoryId(rs.getObject("category_id", Long.class))
+                .points(new ArrayList<>())
+                .build());
+    }
+
+    /**
+     * Точки рядов в диапазоне дат, агрегированные с шагом resolution.
+     * Границы диапазона необязательны; по дате отсекаются лишние секции statistic_points.
+     * @return точки, сгруппированные по ID ряда и упорядоченные по дате
+     */
+    public Map<Long, List<StatisticSeriesResponse.Point>> findPoints(List<Long> seriesIds, LocalDate from, LocalDate to,
+                                                                     SeriesResolution resolution) {
+        if (seriesIds.isEmpty()) {
+            return Map.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("unit", resolution.getTruncUnit())
+                .addValue("seriesIds", seriesIds);
+        StringBuilder sql = new StringBuilder(
+                "SELECT series_id, date_trunc(:unit, date)::date AS bucket, " +
+                "avg(value) AS avg_value, min(value) AS min_value, max(value) AS max_value, count(*) AS points " +
+                "FROM statistic_points WHERE series_id IN (:seriesIds)");
+        if (from != null) {
+            sql.append(" AND date >= :from");
+            params.addValue("from", Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND date <= :to");
+            params.addValue("to", Date.valueOf(to));
+        }
+        sql.append(" GROUP BY series_id, bucket ORDER BY series_id, bucket");
+
+        Map<Long, List<StatisticSeriesResponse.Point>> points = new LinkedHashMap<>();
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            points.computeIfAbsent(rs.getLong("series_id"), id -> new ArrayList<>())
+                    .add(StatisticSeriesResponse.Point.builder()
+                            .date(rs.getDate("bucket").toLocalDate())
+                            .value(rs.getDouble("avg_value"))
+                            .min(rs.getDouble("min_value"))
+                            .max(rs.getDouble("max_value"))
+                            .count(rs.getLong("points"))
+                            .build());
+        });
+        return points;
+    }
+
+    private Map<List<String>, Long> findSeriesIds(Iterable<List<String>> keys) {
+        Map<String, List<String>> codesByIndicator = new LinkedHashMap<>();
+        for (List<String> key : keys) {
+            codesByIndicator.computeIfAbsent(key.get(0), indicator -> new ArrayList<>()).add(key.get(1));
+        }
+
+        Map<List<String>, Long> ids = new LinkedHashMap<>();
+        codesByIndicator.forEach((indicator, codes) -> jdbcTemplate.query(SERIES_IDS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("indicator", indicator)
+                        .addValue("countryCodes", codes),
+                rs -> {
+                    ids.put(Arrays.asList(indicator, rs.getString("country_code")), rs.getLong("id"));
+                }));
+        return ids;
+    }
+
+    private static boolean isSeriesPoint(StatisticRequest request) {
+        return request.getIndicator() != null && !request.getIndicator().isBlank()
+                && request.getCountryCode() != null && !request.getCountryCode().isBlank();
+    }
+}
@@ -2,6 +2,7 @@ package uz.dckroff.statisfy.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -34,4 +35,24 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     
     @Query("SELECT COUNT(DISTINCT ua.user) FROM UserActivity ua WHERE ua.createdAt >= :since")
     Long countActiveUsersSince(LocalDateTime since);
+
+    long countByUser(User user);
+
+    // Keyset-пагинация лент активности: первая страница и страница после курсора (createdAt, id)
+    @EntityGraph(attributePaths = "user")
+    List<UserActivity> findByUserOrderByCreatedAtDescIdDesc(User user, Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT ua FROM UserActivity ua WHERE ua.user = :user " +
+            "AND ua.createdAt <= :time AND (ua.createdAt < :time OR ua.id < :id) " +
+            "ORDER BY ua.createdAt DESC, ua.id DESC")
+    List<UserActivity> findByUserPageAfter(User user, LocalDateTime time, Long id, Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    List<UserActivity> findByOrderByCreatedAtDescIdDesc(Pageable limit);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT ua FROM UserActivity ua WHERE ua.createdAt <= :time AND (ua.createdAt < :time OR ua.id < :id) " +
+            "ORDER BY ua.createdAt DESC, ua.id DESC")
+    List<UserActivity> findPageAfter(LocalDateTime time, Long id, Pageable limit);
 } 
\ No newline at end of file
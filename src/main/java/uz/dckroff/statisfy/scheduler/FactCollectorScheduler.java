@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import uz.dckroff.statisfy.service.FactCollectorService;
+import uz.dckroff.statisfy.service.OnThisDayService;
 
 /**
  * Планировщик для автоматического сбора фактов из внешних источников
@@ -17,6 +18,7 @@ import uz.dckroff.statisfy.service.FactCollectorService;
 public class FactCollectorScheduler {
 
     private final FactCollectorService factCollectorService;
+    private final OnThisDayService onThisDayService;
 
     /**
      * Запуск сбора всех видов фактов каждый день в 02:00
@@ -59,4 +61,22 @@ public class FactCollectorScheduler {
             log.error("Ошибка при запланированном сборе исторических фактов", e);
         }
     }
+    
+    /**
+     * Проверка хранилища "в этот день" через минуту после старта и затем раз в сутки.
+     * Загружаются только отсутствующие и устаревшие дни, поэтому обычно запросов нет.
+     * Первая загрузка занимает несколько минут; пул планировщика (spring.task.scheduling.pool.size)
+     * больше одного потока, поэтому остальные расписания на это время не останавливаются.
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 86400000)
+    public void refreshOnThisDay() {
+        try {
+            int days = onThisDayService.refresh(false);
+            if (days > 0) {
+                log.info("Хранилище \"в этот день\" обновлено. Загружено {} дней", days);
+            }
+        } catch (Exception e) {
+            log.error("Ошибка при обновлении хранилища \"в этот день\"", e);
+        }
+    }
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.dto.statistic.StatisticsCollectionReport;
 import uz.dckroff.statisfy.service.StatisticsCollectorService;
 
 /**
@@ -25,8 +26,13 @@ public class StatisticsCollectorScheduler {
     public void collectAllStatistics() {
         log.info("Запуск запланированного сбора статистики");
         try {
-            int count = statisticsCollectorService.collectAllStatistics();
-            log.info("Запланированный сбор статистики завершен. Собрано {} записей", count);
+            StatisticsCollectionReport report = statisticsCollectorService.collectAllStatisticsWithReport();
+            log.info("Запланированный сбор статистики завершен за {} мс. Собрано {} записей",
+                    report.getDurationMs(), report.getTotalCollected());
+            report.getSources().stream()
+                    .filter(source -> source.getStatus() != StatisticsCollectionReport.SourceStatus.SUCCESS)
+                    .forEach(source -> log.warn("Источник {} завершился со статусом {}: {}",
+                            source.getSource(), source.getStatus(), source.getError()));
         } catch (Exception e) {
             log.error("Ошибка при запланированном сборе статистики", e);
         }
@@ -0,0 +1,141 @@
+package uz.dckroff.statisfy.scraper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.config.ScraperConfig;
+import uz.dckroff.statisfy.dedup.UrlNormalizer;
+import uz.dckroff.statisfy.repository.CrawlFrontierRepository;
+import uz.dckroff.statisfy.repository.CrawlFrontierRepository.Entry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent crawl frontier of the web scraper.
+ * <p>
+ * Each site has a seed entry for the first listing page, revisited every site revisit-interval. Listing pages
+ * are taken before articles and shallower pages before deeper ones, so a run first pages through the listing
+ * down to known content and then spends the rest of the host budget on articles, newest first. Whatever the
+ * budget does not cover stays queued for the next run; failed entries are retried with a growing delay.
+ * <p>
+ * Due entries are claimed: they are hidden from other runs for scraping.frontier.lease, so two overlapping runs
+ * (the schedule and a manual scrape) never fetch the same page. An entry that is never marked visited or failed,
+ * because the run died, becomes due again when the lease ends.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlFrontier {
+
+    public static final String LISTING = "LISTING";
+    public static final String ARTICLE = "ARTICLE";
+
+    // Articles go after every listing page (listing priority is its depth)
+    private static final int ARTICLE_PRIORITY = 100;
+
+    private final CrawlFrontierRepository repository;
+    private final ScraperConfig config;
+
+    /**
+     * Queues the first listing page of the site unless it is already queued
+     */
+    public void seed(ScraperConfig.Site site) {
+        repository.insertAll(List.of(listingEntry(site, site.getUrl(), 0)), LocalDateTime.now());
+    }
+
+    /**
+     * Claims entries of the site that are due, listing pages first. Each claimed entry must be marked
+     * {@link #visited} or {@link #failed}.
+     */
+    public List<Entry> due(ScraperConfig.Site site, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return repository.claimDue(site.getName(), now, limit, now.plus(config.getFrontier().getLease()));
+    }
+
+    /**
+     * Queues the next listing page if it is within scraping.frontier.max-depth
+     * @return true if the page was queued
+     */
+    public boolean enqueueListing(ScraperConfig.Site site, String url, int depth) {
+        if (depth > config.getFrontier().getMaxDepth()) {
+            log.info("{}: listing depth limit {} reached at {}", site.getName(), config.getFrontier().getMaxDepth(), url);
+            return false;
+        }
+        Entry entry = listingEntry(site, url, depth);
+        if (entry.urlKey() == null || !repository.findQueued(List.of(entry.urlKey())).isEmpty()) {
+            return false;
+        }
+        repository.insertAll(List.of(entry), LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Queues articles found on a listing page with their listing fields
+     * @return how many of the articles were already queued
+     */
+    public int enqueueArticles(ScraperConfig.Site site, List<SiteExtractor.ListingItem> items, int depth) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        for (SiteExtractor.ListingItem item : items) {
+            String key = UrlNormalizer.normalize(item.url());
+            if (key != null) {
+                entries.putIfAbsent(key, new Entry(0, site.getName(), item.url(), key, ARTICLE, depth, ARTICLE_PRIORITY,
+                        0, truncate(item.title(), 500), item.summary(), item.publishedAt()));
+            }
+        }
+        Set<String> queued = entries.isEmpty() ? Set.of() : repository.findQueued(entries.keySet());
+        queued.forEach(entries::remove);
+        repository.insertAll(new ArrayList<>(entries.values()), LocalDateTime.now());
+        return items.size() - entries.size();
+    }
+
+    /**
+     * The entry was processed: the seed waits for its next revisit, other entries leave the queue
+     */
+    public void visited(ScraperConfig.Site site, Entry entry) {
+        if (isSeed(entry)) {
+            repository.reschedule(entry.id(), LocalDateTime.now().plus(site.getRevisitInterval()), false);
+        } else {
+            repository.deleteAll(List.of(entry.id()));
+        }
+    }
+
+    public void visited(Collection<Entry> entries) {
+        repository.deleteAll(entries.stream().map(Entry::id).toList());
+    }
+
+    /**
+     * The entry could not be processed: retry later, or drop it after scraping.frontier.max-attempts
+     */
+    public void failed(Entry entry) {
+        ScraperConfig.Frontier settings = config.getFrontier();
+        int attempts = entry.attempts() + 1;
+        if (!isSeed(entry) && attempts >= settings.getMaxAttempts()) {
+            log.warn("Giving up on {} after {} attempts", entry.url(), attempts);
+            repository.deleteAll(List.of(entry.id()));
+            return;
+        }
+        repository.reschedule(entry.id(), LocalDateTime.now().plus(settings.getRetryDelay().multipliedBy(attempts)), true);
+    }
+
+    public static boolean isSeed(Entry entry) {
+        return LISTING.equals(entry.kind()) && entry.depth() == 0;
+    }
+
+    private static Entry listingEntry(ScraperConfig.Site site, String url, int depth) {
+        return new Entry(0, site.getName(), url, UrlNormalizer.normalize(url), LISTING, depth, depth, 0,
+                null, null, null);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
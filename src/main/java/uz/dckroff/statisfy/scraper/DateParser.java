@@ -0,0 +1,93 @@
+package uz.dckroff.statisfy.scraper;
+
+import java.text.ParsePosition;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Multi-pattern date parser for scraped pages.
+ * <p>
+ * Formatters are built once per site, and a text that does not match a pattern costs a failed
+ * {@link DateTimeFormatter#parseUnresolved} instead of a thrown {@code DateTimeParseException}. The pattern that
+ * matched last is tried first, since a site writes all its dates the same way. Patterns without a time give
+ * the start of the day; patterns without a full date never match.
+ */
+final class DateParser {
+
+    private final DateTimeFormatter[] formatters;
+    private volatile int lastMatched;
+
+    private DateParser(DateTimeFormatter[] formatters) {
+        this.formatters = formatters;
+    }
+
+    static DateParser of(List<String> patterns, Locale locale) {
+        return new DateParser(patterns.stream()
+                .map(pattern -> new DateTimeFormatterBuilder()
+                        .parseCaseInsensitive()
+                        .appendPattern(pattern)
+                        .toFormatter(locale))
+                .toArray(DateTimeFormatter[]::new));
+    }
+
+    /**
+     * @return parsed date or null if no pattern matches the whole (trimmed) text
+     */
+    LocalDateTime parse(String text) {
+        if (text == null || formatters.length == 0) {
+            return null;
+        }
+        String value = text.strip();
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        int first = lastMatched;
+        for (int i = 0; i < formatters.length; i++) {
+            int index = (first + i) % formatters.length;
+            LocalDateTime parsed = tryParse(formatters[index], value);
+            if (parsed != null) {
+                if (index != first) {
+                    lastMatched = index;
+                }
+                return parsed;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime tryParse(DateTimeFormatter formatter, String value) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor fields = formatter.parseUnresolved(value, position);
+        if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()) {
+            return null;
+        }
+
+        long year = field(fields, ChronoField.YEAR, field(fields, ChronoField.YEAR_OF_ERA, Long.MIN_VALUE));
+        long month = field(fields, ChronoField.MONTH_OF_YEAR, Long.MIN_VALUE);
+        long day = field(fields, ChronoField.DAY_OF_MONTH, Long.MIN_VALUE);
+        long hour = field(fields, ChronoField.HOUR_OF_DAY, 0);
+        long minute = field(fields, ChronoField.MINUTE_OF_HOUR, 0);
+        long second = field(fields, ChronoField.SECOND_OF_MINUTE, 0);
+
+        if (!ChronoField.YEAR.range().isValidIntValue(year)
+                || !ChronoField.MONTH_OF_YEAR.range().isValidIntValue(month)
+                || day < 1 || day > YearMonth.of((int) year, (int) month).lengthOfMonth()
+                || !ChronoField.HOUR_OF_DAY.range().isValidIntValue(hour)
+                || !ChronoField.MINUTE_OF_HOUR.range().isValidIntValue(minute)
+                || !ChronoField.SECOND_OF_MINUTE.range().isValidIntValue(second)) {
+            return null;
+        }
+        return LocalDateTime.of((int) year, (int) month, (int) day, (int) hour, (int) minute, (int) second);
+    }
+
+    private static long field(TemporalAccessor fields, ChronoField field, long defaultValue) {
+        return fields.isSupported(field) ? fields.getLong(field) : defaultValue;
+    }
+}
@@ -0,0 +1,53 @@
+package uz.dckroff.statisfy.scraper;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+/**
+ * Selector of a scraped field: a precompiled CSS query plus an optional attribute.
+ * "h1" takes the element text, "meta[name=description]@content" the attribute value,
+ * "@abs:href" the attribute of the context element itself and "" its text.
+ */
+record FieldSelector(String query, Evaluator evaluator, String attribute) {
+
+    static FieldSelector parse(String spec) {
+        String css = spec != null ? spec.trim() : "";
+        String attribute = null;
+        int at = css.lastIndexOf('@');
+        if (at >= 0 && css.indexOf(']', at) < 0 && css.indexOf('\'', at) < 0 && css.indexOf('"', at) < 0) {
+            attribute = css.substring(at + 1).trim();
+            css = css.substring(0, at).trim();
+        }
+        return new FieldSelector(css, css.isEmpty() ? null : QueryParser.parse(css), attribute);
+    }
+
+    /**
+     * @return true if the element itself matches the query
+     */
+    boolean matches(Element element) {
+        return evaluator != null && element.is(evaluator);
+    }
+
+    /**
+     * Value taken from the element itself
+     * @return trimmed value or null if blank
+     */
+    String extract(Element element) {
+        String value = attribute != null ? element.attr(attribute) : element.text();
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Value taken from the first descendant matching the query, or from the context element when the query is empty
+     * @return trimmed value or null if nothing matched
+     */
+    String extractFrom(Element context) {
+        if (evaluator == null) {
+            return extract(context);
+        }
+        Element element = context.selectFirst(evaluator);
+        return element != null ? extract(element) : null;
+    }
+}
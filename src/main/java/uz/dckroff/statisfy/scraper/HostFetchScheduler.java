@@ -0,0 +1,386 @@
+package uz.dckroff.statisfy.scraper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.util.Timeout;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.collector.HttpValidatorCache;
+import uz.dckroff.statisfy.collector.RequestRateLimiter;
+import uz.dckroff.statisfy.config.ScraperConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polite page fetching for the web scraper.
+ * <p>
+ * Pages are fetched concurrently on the scraperExecutor pool (scraping.fetch.max-concurrency), but each host gets
+ * at most scraping.fetch.per-host-concurrency requests in flight and request starts are spaced at least
+ * scraping.fetch.per-host-delay apart. The wait for a host slot happens on the submitting thread, before the page
+ * is handed to the pool, so pool threads only download: a slow or rate-limited host never holds workers that
+ * other hosts could use. Different hosts never wait for each other, so scraping several sites takes about as long
+ * as the slowest one.
+ * <p>
+ * Requests go through the shared pooled HttpClient (keep-alive, gzip/deflate/br decoding), and the downloaded
+ * bytes are handed to Jsoup's streaming parser. Listing pages can be fetched conditionally: their validators are
+ * kept in {@link HttpValidatorCache} under scraper:host, and a 304 or an unchanged body means the page is not read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HostFetchScheduler {
+
+    private static final String CACHE_GROUP_PREFIX = "scraper:";
+
+    // Jsoup looks for a meta charset in the same amount of the page
+    private static final int CHARSET_SNIFF_BYTES = 5 * 1024;
+
+    private static final int PENDING = 0;
+    private static final int STARTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final ScraperConfig config;
+    private final RequestRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final CloseableHttpClient httpClient;
+    private final HttpValidatorCache validatorCache;
+    @Qualifier("scraperExecutor")
+    private final AsyncTaskExecutor scraperExecutor;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    /**
+     * Reads a downloaded page
+     */
+    @FunctionalInterface
+    public interface PageReader<T> {
+        /**
+         * @param parser streaming parser over the response body; the rest of the body is not parsed once the reader returns
+         */
+        T read(StreamParser parser) throws IOException;
+    }
+
+    /**
+     * Fetches a page asynchronously and reads it on the fetching thread. Blocks until the host has a free slot,
+     * so one site's batch queues on its own thread instead of occupying the shared pool.
+     * @param url absolute page URL
+     * @param reader page reader; must not touch shared non-thread-safe state
+     * @return reader result; cancelling it before it starts gives the host slot back
+     * @throws InterruptedException if interrupted while waiting for the host
+     */
+    public <T> Future<T> submit(String url, PageReader<T> reader) throws InterruptedException {
+        String host = hostOf(url);
+        Semaphore permits = awaitTurn(host);
+        // Whoever moves the state off PENDING owns the slot: the task releases it when done, cancel() if never started
+        AtomicInteger state = new AtomicInteger(PENDING);
+        FutureTask<T> task = new FutureTask<T>(() -> {
+            if (!state.compareAndSet(PENDING, STARTED)) {
+                return null;
+            }
+            try {
+                return timed(host, () -> download(url, host, reader, false));
+            } finally {
+                permits.release();
+            }
+        }) {
+            @Override
+            protected void done() {
+                if (state.compareAndSet(PENDING, CANCELLED)) {
+                    permits.release();
+                }
+            }
+        };
+        try {
+            scraperExecutor.execute(task);
+        } catch (RuntimeException e) {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    /**
+     * Fetches a page on the calling thread, honouring the host limits.
+     * At most scraping.max-body-size bytes of the page are read.
+     * @param url absolute page URL
+     * @param reader page reader
+     * @return reader result
+     * @throws InterruptedException if interrupted while waiting for the host
+     */
+    public <T> T fetch(String url, PageReader<T> reader) throws IOException, InterruptedException {
+        return execute(url, reader, false);
+    }
+
+    /**
+     * Fetches a page unless it is unchanged since the last time it was read successfully
+     * (scraping.conditional-get). Validators are only stored after the reader returns.
+     * @return reader result or null if the page has not changed
+     */
+    public <T> T fetchIfModified(String url, PageReader<T> reader) throws IOException, InterruptedException {
+        return execute(url, reader, config.isConditionalGet());
+    }
+
+    /**
+     * Drops the stored validators of a page, so the next {@link #fetchIfModified} reads it in full.
+     * Used when the content read from the page could not be processed.
+     */
+    public void forget(String url) {
+        validatorCache.evict(CACHE_GROUP_PREFIX + hostOf(url), url);
+    }
+
+    private <T> T execute(String url, PageReader<T> reader, boolean conditional)
+            throws IOException, InterruptedException {
+        String host = hostOf(url);
+        Semaphore permits = awaitTurn(host);
+        try {
+            return timed(host, () -> download(url, host, reader, conditional));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Takes one of the host's request slots and waits for the host delay
+     * @return the host's permits; the caller must release one when the request is over
+     */
+    private Semaphore awaitTurn(String host) throws InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(host,
+                h -> new Semaphore(Math.max(1, config.getFetch().getConcurrency(h))));
+        permits.acquire();
+        try {
+            long delay = config.getFetch().getDelay(host);
+            rateLimiter.acquire("scraper:" + host, delay > 0 ? 1000.0 / delay : 0);
+            return permits;
+        } catch (InterruptedException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private <T> T timed(String host, Download<T> download) throws IOException {
+        long started = System.nanoTime();
+        try {
+            return download.run();
+        } finally {
+            Timer.builder("scraper.fetch.time")
+                    .description("Time to download and read a scraped page")
+                    .tag("host", host)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Download<T> {
+        T run() throws IOException;
+    }
+
+    private <T> T download(String url, String host, PageReader<T> reader, boolean conditional) throws IOException {
+        String group = CACHE_GROUP_PREFIX + host;
+        HttpValidatorCache.Validators cached = conditional ? validatorCache.read(group, url) : null;
+
+        HttpGet request = new HttpGet(url);
+        request.setConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getTimeout()))
+                .setResponseTimeout(Timeout.ofMilliseconds(config.getTimeout()))
+                .build());
+        request.setHeader(HttpHeaders.USER_AGENT, config.getUserAgent());
+        request.setHeader(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8");
+        if (cached != null) {
+            if (!cached.etag().isEmpty()) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag());
+            }
+            if (!cached.lastModified().isEmpty()) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+            }
+        }
+
+        HttpClientContext context = HttpClientContext.create();
+        byte[] body;
+        Charset charset;
+        String etag;
+        String lastModified;
+        try (ClassicHttpResponse response = httpClient.executeOpen(null, request, context)) {
+            if (response.getCode() == HttpStatus.SC_NOT_MODIFIED) {
+                count(host, "not_modified");
+                return null;
+            }
+            if (response.getCode() < 200 || response.getCode() >= 300) {
+                throw new IOException("HTTP " + response.getCode() + " fetching " + url);
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                throw new IOException("Empty response fetching " + url);
+            }
+            try (InputStream in = entity.getContent()) {
+                body = in.readNBytes(config.getMaxBodySize());
+                if (in.read() != -1) {
+                    // The rest of an oversized page is not downloaded; the connection is dropped instead of pooled
+                    log.debug("Page over {} bytes, truncated: {}", config.getMaxBodySize(), url);
+                    request.cancel();
+                }
+            }
+            charset = charsetOf(entity.getContentType());
+            etag = headerValue(response.getFirstHeader(HttpHeaders.ETAG));
+            lastModified = headerValue(response.getFirstHeader(HttpHeaders.LAST_MODIFIED));
+        }
+
+        String digest = conditional ? HttpValidatorCache.sha256(body) : null;
+        if (cached != null && digest.equals(cached.digest())) {
+            count(host, "unchanged");
+            return null;
+        }
+
+        Decoding decoding = Decoding.of(body, charset);
+        T result;
+        try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(new InputStreamReader(
+                new ByteArrayInputStream(body, decoding.skip(), body.length - decoding.skip()), decoding.charset()),
+                baseUri(url, context))) {
+            result = reader.read(parser);
+        }
+
+        if (conditional) {
+            count(host, "changed");
+            validatorCache.write(group, url, HttpValidatorCache.Validators.of(etag, lastModified, digest));
+        }
+        return result;
+    }
+
+    /**
+     * Final URL after redirects, so relative links resolve against the page that was actually served
+     */
+    private static String baseUri(String url, HttpClientContext context) {
+        if (context.getRedirectLocations() != null) {
+            List<URI> redirects = context.getRedirectLocations().getAll();
+            if (!redirects.isEmpty()) {
+                return redirects.get(redirects.size() - 1).toString();
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Charset from Content-Type, or null if the header names none
+     */
+    private static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            ContentType parsed = ContentType.parseLenient(contentType);
+            return parsed != null ? parsed.getCharset() : null;
+        } catch (UnsupportedCharsetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * How a page body is decoded, following the same order as Jsoup for pages it downloads itself: a byte order
+     * mark wins, then the Content-Type charset, then a meta charset or http-equiv Content-Type in the first
+     * 5 KB; UTF-8 otherwise
+     * @param skip length of the byte order mark, which is not passed to the parser
+     */
+    private record Decoding(Charset charset, int skip) {
+
+        static Decoding of(byte[] body, Charset declared) {
+            if (startsWith(body, 0xEF, 0xBB, 0xBF)) {
+                return new Decoding(StandardCharsets.UTF_8, 3);
+            }
+            if (startsWith(body, 0xFE, 0xFF)) {
+                return new Decoding(StandardCharsets.UTF_16BE, 2);
+            }
+            if (startsWith(body, 0xFF, 0xFE)) {
+                return new Decoding(StandardCharsets.UTF_16LE, 2);
+            }
+            if (declared != null) {
+                return new Decoding(declared, 0);
+            }
+            Document head = Jsoup.parse(new String(body, 0, Math.min(body.length, CHARSET_SNIFF_BYTES),
+                    StandardCharsets.ISO_8859_1));
+            for (Element meta : head.select("meta[http-equiv=content-type], meta[charset]")) {
+                Charset charset = meta.hasAttr("charset")
+                        ? supported(meta.attr("charset"))
+                        : charsetOf(meta.attr("content"));
+                if (charset != null) {
+                    return new Decoding(charset, 0);
+                }
+            }
+            return new Decoding(StandardCharsets.UTF_8, 0);
+        }
+
+        private static boolean startsWith(byte[] body, int... prefix) {
+            if (body.length < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if ((body[i] & 0xff) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Charset supported(String name) {
+            try {
+                return Charset.isSupported(name.trim()) ? Charset.forName(name.trim()) : null;
+            } catch (IllegalCharsetNameException e) {
+                return null;
+            }
+        }
+    }
+
+    private static String headerValue(Header header) {
+        return header != null ? header.getValue() : null;
+    }
+
+    private void count(String host, String result) {
+        meterRegistry.counter("scraper.conditional_get", "host", host, "result", result).increment();
+    }
+
+    /**
+     * Host of a URL as used for the host limits: lower case, without www.
+     */
+    public static String hostOf(String url) {
+        String host = URI.create(url).getHost();
+        if (host == null) {
+            throw new IllegalArgumentException("URL without host: " + url);
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,194 @@
+package uz.dckroff.statisfy.scraper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.springframework.stereotype.Component;
+import uz.dckroff.statisfy.config.ScraperConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts news fields from listing and article pages using the selectors of {@link ScraperConfig.Site}.
+ * <p>
+ * Pages are read with Jsoup's {@link StreamParser}: elements are inspected as soon as they are complete,
+ * listing items are dropped from the tree once extracted, and an article page stops being read as soon as
+ * every field has its preferred match (usually within the header), so the article body is never parsed.
+ * Selectors, link patterns and date formats are compiled once per site.
+ */
+@Component
+@Slf4j
+public class SiteExtractor {
+
+    private final Map<String, CompiledSite> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * An article found on a listing page
+     */
+    public record ListingItem(String url, String title, String summary, LocalDateTime publishedAt) {
+    }
+
+    /**
+     * Articles of a listing page and the link to the next page
+     * @param nextPage absolute URL of the next page, or null if there is none
+     */
+    public record ListingPage(List<ListingItem> items, String nextPage) {
+    }
+
+    /**
+     * Fields found on an article page; missing fields are null
+     */
+    public record ArticleFields(String title, String summary, LocalDateTime publishedAt) {
+    }
+
+    /**
+     * Reads listing items in page order
+     * @param limit maximum number of items; further items are not extracted, only the next page link is looked up
+     */
+    public ListingPage readListing(ScraperConfig.Site site, StreamParser parser, int limit) throws IOException {
+        CompiledSite rules = compile(site);
+        List<ListingItem> items = new ArrayList<>();
+        Element item;
+        while (items.size() < limit && (item = parser.selectNext(rules.item())) != null) {
+            String url = rules.link().extractFrom(item);
+            String title = rules.title().extractFrom(item);
+            if (url != null && title != null && title.length() >= site.getListing().getMinTitleLength()
+                    && (rules.linkPattern() == null || rules.linkPattern().matcher(url).matches())) {
+                items.add(new ListingItem(url, title,
+                        truncate(rules.summary() != null ? rules.summary().extractFrom(item) : null, site.getSummaryMaxLength()),
+                        rules.date() != null ? parseDate(site, rules.date().extractFrom(item)) : null));
+                // The item is no longer needed; keep the partially built tree small.
+                // Rejected elements stay: they may be navigation such as the next page link.
+                item.remove();
+            }
+        }
+
+        // The caller decides whether to page on; the link is read even if the item limit stopped reading early
+        String nextPage = null;
+        if (rules.nextPage() != null) {
+            nextPage = rules.nextPage().extractFrom(parser.complete());
+        }
+        return new ListingPage(items, nextPage);
+    }
+
+    /**
+     * Reads article fields, stopping once every field has its highest-priority match
+     */
+    public ArticleFields readArticle(ScraperConfig.Site site, StreamParser parser) throws IOException {
+        CompiledSite rules = compile(site);
+        List<List<FieldSelector>> fields = List.of(rules.articleTitle(), rules.articleSummary(), rules.articleDate());
+        String[] values = new String[fields.size()];
+        int[] ranks = new int[fields.size()];
+        for (int f = 0; f < fields.size(); f++) {
+            ranks[f] = fields.get(f).size();
+        }
+
+        Iterator<Element> elements = parser.iterator();
+        while (elements.hasNext() && !allPreferred(ranks)) {
+            Element element = elements.next();
+            for (int f = 0; f < fields.size(); f++) {
+                List<FieldSelector> selectors = fields.get(f);
+                for (int rank = 0; rank < ranks[f]; rank++) {
+                    if (selectors.get(rank).matches(element)) {
+                        String value = selectors.get(rank).extract(element);
+                        if (value != null) {
+                            values[f] = value;
+                            ranks[f] = rank;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        return new ArticleFields(values[0], truncate(values[1], site.getSummaryMaxLength()), parseDate(site, values[2]));
+    }
+
+    /**
+     * Category of an article by the first URL path segment listed in the site categories
+     */
+    public String categoryOf(ScraperConfig.Site site, String url) {
+        if (!site.getCategories().isEmpty()) {
+            String path = URI.create(url).getPath();
+            if (path != null) {
+                for (String segment : path.split("/")) {
+                    String category = site.getCategories().get(segment);
+                    if (category != null) {
+                        return category;
+                    }
+                }
+            }
+        }
+        return site.getCategory();
+    }
+
+    /**
+     * Parses a date with the site formats
+     * @return parsed date or null if no format matches
+     */
+    public LocalDateTime parseDate(ScraperConfig.Site site, String text) {
+        LocalDateTime parsed = compile(site).dates().parse(text);
+        if (parsed == null && text != null && !text.isBlank()) {
+            log.debug("Could not parse {} date: {}", site.getName(), text.trim());
+        }
+        return parsed;
+    }
+
+    private static boolean allPreferred(int[] ranks) {
+        for (int rank : ranks) {
+            if (rank > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String truncate(String text, int maxLength) {
+        if (text == null || maxLength <= 0 || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength) + "...";
+    }
+
+    private CompiledSite compile(ScraperConfig.Site site) {
+        return compiled.computeIfAbsent(site.getName(), name -> {
+            ScraperConfig.Listing listing = site.getListing();
+            ScraperConfig.Article article = site.getArticle() != null ? site.getArticle() : new ScraperConfig.Article();
+            return new CompiledSite(
+                    FieldSelector.parse(listing.getItem()).evaluator(),
+                    FieldSelector.parse(listing.getLink()),
+                    FieldSelector.parse(listing.getTitle()),
+                    listing.getSummary() != null ? FieldSelector.parse(listing.getSummary()) : null,
+                    listing.getDate() != null ? FieldSelector.parse(listing.getDate()) : null,
+                    listing.getNextPage() != null ? FieldSelector.parse(listing.getNextPage()) : null,
+                    listing.getLinkPattern() != null ? Pattern.compile(listing.getLinkPattern()) : null,
+                    article.getTitle().stream().map(FieldSelector::parse).toList(),
+                    article.getSummary().stream().map(FieldSelector::parse).toList(),
+                    article.getDate().stream().map(FieldSelector::parse).toList(),
+                    DateParser.of(site.getDateFormats(), Locale.forLanguageTag(site.getLocale())));
+        });
+    }
+
+    private record CompiledSite(Evaluator item,
+                                FieldSelector link,
+                                FieldSelector title,
+                                FieldSelector summary,
+                                FieldSelector date,
+                                FieldSelector nextPage,
+                                Pattern linkPattern,
+                                List<FieldSelector> articleTitle,
+                                List<FieldSelector> articleSummary,
+                                List<FieldSelector> articleDate,
+                                DateParser dates) {
+    }
+}
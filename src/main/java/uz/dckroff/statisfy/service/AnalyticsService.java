@@ -3,6 +3,7 @@ package uz.dckroff.statisfy.service;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import uz.dckroff.statisfy.dto.CursorPage;
 import uz.dckroff.statisfy.dto.analytics.DashboardStatsDTO;
 import uz.dckroff.statisfy.dto.analytics.UserActivityDTO;
 import uz.dckroff.statisfy.model.User;
@@ -43,6 +44,27 @@ public interface AnalyticsService {
      * @return a page of user activities
      */
     Page<UserActivityDTO> getAllActivities(Pageable pageable);
+
+    /**
+     * Gets activities of a user as a feed, newest first, without OFFSET paging
+     *
+     * @param user the user to get activities for
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size page size
+     * @param withTotal whether to count all activities of the user
+     * @return a page of user activities
+     */
+    CursorPage<UserActivityDTO> getUserActivitiesFeed(User user, String cursor, int size, boolean withTotal);
+
+    /**
+     * Gets all user activities as a feed, newest first, without OFFSET paging
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param size page size
+     * @param withTotal whether to count all activities
+     * @return a page of user activities
+     */
+    CursorPage<UserActivityDTO> getActivitiesFeed(String cursor, int size, boolean withTotal);
     
     /**
      * Gets user activities by activity type
@@ -2,6 +2,7 @@ package uz.dckroff.statisfy.service;
 
 import uz.dckroff.statisfy.dto.category.CategoryRequest;
 import uz.dckroff.statisfy.dto.category.CategoryResponse;
+import uz.dckroff.statisfy.model.Category;
 
 import java.util.List;
 
@@ -11,4 +12,16 @@ public interface CategoryService {
     CategoryResponse createCategory(CategoryRequest request);
     CategoryResponse updateCategory(Long id, CategoryRequest request);
     void deleteCategory(Long id);
+
+    /**
+     * Категория по названию из реестра в памяти; отсутствующая создается.
+     * Используется сборщиками, которые раскладывают данные по категориям. Реестр хранит только id,
+     * поэтому из него категория возвращается без описания.
+     */
+    Category getOrCreateCategory(String name, String description);
+
+    /**
+     * Убирает категорию из реестра, например когда запись со ссылкой на нее нарушила внешний ключ
+     */
+    void evictCategory(String name);
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package uz.dckroff.statisfy.service;
+
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.model.CollectorWatermark;
+
+import java.util.List;
+
+/**
+ * Журнал запусков сборщиков и отметки о загруженных данных (watermarks)
+ */
+public interface CollectorJournalService {
+
+    /**
+     * Регистрирует запуск по источнику. Оставшиеся от сбоя незавершенные запуски помечаются как INTERRUPTED;
+     * если предыдущий запуск не завершился успешно, новый запуск ссылается на него (resumedFromRunId).
+     * Сборщики продолжают работу с отметки источника ({@link #getWatermark}), а не с контрольной точки запуска:
+     * отметка сдвигается только после записи данных и потому не опережает сохраненное.
+     * @param collector сборщик (statistics, facts)
+     * @param source название источника
+     * @return новый запуск со статусом RUNNING
+     */
+    CollectorRun startRun(String collector, String source);
+
+    /**
+     * Сохраняет контрольную точку (позицию для журнала) и количество уже сохраненных элементов
+     */
+    void checkpoint(CollectorRun run, String checkpoint, int itemsSaved);
+
+    /**
+     * Завершает запуск успешно
+     */
+    void completeRun(CollectorRun run, int itemsSaved);
+
+    /**
+     * Завершает запуск, часть данных которого не загружена
+     * @param reason что не загружено; сохраняется в поле ошибки запуска
+     */
+    void partialRun(CollectorRun run, int itemsSaved, String reason);
+
+    /**
+     * Завершает запуск с ошибкой; контрольная точка остается в журнале, отметка источника - для продолжения
+     */
+    void failRun(CollectorRun run, Throwable error);
+
+    /**
+     * @return отметка источника или новая пустая отметка, если источник еще не загружался
+     */
+    CollectorWatermark getWatermark(String source);
+
+    void saveWatermark(CollectorWatermark watermark);
+
+    /**
+     * Последние запуски, новые первыми
+     * @param source источник или null для всех источников
+     */
+    List<CollectorRun> getRecentRuns(String source, int limit);
+}
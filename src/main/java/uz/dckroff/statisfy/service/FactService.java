@@ -2,6 +2,7 @@ package uz.dckroff.statisfy.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import uz.dckroff.statisfy.dto.CursorPage;
 import uz.dckroff.statisfy.dto.fact.FactRequest;
 import uz.dckroff.statisfy.dto.fact.FactResponse;
 
@@ -9,9 +10,11 @@ import java.util.List;
 
 public interface FactService {
     Page<FactResponse> getAllFacts(Pageable pageable);
+    CursorPage<FactResponse> getFactsFeed(String cursor, int size, boolean withTotal);
     Page<FactResponse> getFactsByCategory(Long categoryId, Pageable pageable);
     FactResponse getFactById(Long id);
     FactResponse createFact(FactRequest request);
+    int createFacts(List<FactRequest> requests);
     FactResponse updateFact(Long id, FactRequest request);
     void deleteFact(Long id);
     List<FactResponse> getRecentFacts();
@@ -2,7 +2,23 @@ package uz.dckroff.statisfy.service;
 
 import uz.dckroff.statisfy.dto.newsapi.NewsApiResponse;
 
+import java.util.Optional;
+
 public interface NewsApiService {
-    NewsApiResponse fetchTopHeadlines(String category, String country);
+    /**
+     * Conditional fetch of top headlines. The response counts as seen only after {@link #confirmTopHeadlines}
+     * @return the response, or an empty Optional when it has not changed since the last confirmed fetch
+     */
+    Optional<NewsApiResponse> fetchTopHeadlines(String category, String country);
     NewsApiResponse searchNews(String query, String sortBy, int pageSize);
+
+    /**
+     * Stores the validators of the last top headlines response once its articles have been saved
+     */
+    void confirmTopHeadlines(String category, String country);
+
+    /**
+     * Forgets the stored validators so that the next fetch returns the full response
+     */
+    void invalidateTopHeadlines(String category, String country);
 } 
\ No newline at end of file
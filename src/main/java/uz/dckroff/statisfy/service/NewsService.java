@@ -2,8 +2,10 @@ package uz.dckroff.statisfy.service;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import uz.dckroff.statisfy.dto.CursorPage;
 import uz.dckroff.statisfy.dto.PagedResponse;
 import uz.dckroff.statisfy.dto.news.NewsResponse;
+import uz.dckroff.statisfy.model.News;
 
 import java.util.List;
 
@@ -11,7 +13,10 @@ public interface NewsService {
     PagedResponse<NewsResponse> getAllNews(Pageable pageable);
     Page<NewsResponse> getNewsByCategory(Long categoryId, Pageable pageable);
     Page<NewsResponse> getRelevantNews(Pageable pageable);
+    CursorPage<NewsResponse> getNewsFeed(String cursor, int size, boolean withTotal);
+    CursorPage<NewsResponse> getRelevantNewsFeed(String cursor, int size, boolean withTotal);
     NewsResponse getNewsById(Long id);
     void fetchNewsFromExternalApi();
+    int createNews(List<News> news);
     List<NewsResponse> getLatestNews();
 } 
\ No newline at end of file
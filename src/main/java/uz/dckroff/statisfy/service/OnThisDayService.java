@@ -0,0 +1,35 @@
+package uz.dckroff.statisfy.service;
+
+import uz.dckroff.statisfy.dto.fact.OnThisDayEvent;
+import uz.dckroff.statisfy.dto.fact.OnThisDayResponse;
+import uz.dckroff.statisfy.dto.fact.OnThisDayType;
+
+import java.time.MonthDay;
+import java.util.List;
+
+/**
+ * Локальное хранилище событий "в этот день" для всех 366 календарных дней.
+ * Данные загружаются из history.muffinlabs.com редко и целиком, а запросы обслуживаются из индекса в памяти.
+ */
+public interface OnThisDayService {
+
+    /**
+     * Возвращает события дня из памяти, без обращения к базе и внешнему API
+     * @param date календарный день
+     * @param type вид событий или null для всех видов
+     * @param limit максимальное количество событий
+     */
+    OnThisDayResponse getOnThisDay(MonthDay date, OnThisDayType type, int limit);
+
+    /**
+     * Возвращает события дня; если день еще не загружен, загружает его из внешнего API
+     */
+    List<OnThisDayEvent> getOrFetchEvents(MonthDay date);
+
+    /**
+     * Параллельно загружает отсутствующие и устаревшие дни
+     * @param force загрузить все дни, даже свежие
+     * @return количество загруженных дней
+     */
+    int refresh(boolean force);
+}
@@ -0,0 +1,34 @@
+package uz.dckroff.statisfy.service;
+
+import uz.dckroff.statisfy.dto.statistic.RollupDimension;
+import uz.dckroff.statisfy.dto.statistic.RollupPeriod;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+import uz.dckroff.statisfy.dto.statistic.StatisticRollupResponse;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сервис предрассчитанных агрегатов статистики
+ */
+public interface StatisticRollupService {
+
+    /**
+     * Возвращает агрегаты за период без обращения к исходным записям
+     * @param dimension измерение (категория или индикатор)
+     * @param key ID категории или код индикатора; null - все ключи
+     * @param period шаг агрегации
+     * @param from начало диапазона, может быть null
+     * @param to конец диапазона, может быть null
+     */
+    List<StatisticRollupResponse> getRollups(RollupDimension dimension, String key, RollupPeriod period,
+                                             LocalDate from, LocalDate to);
+
+    /**
+     * Пересчитывает агрегаты периодов, затронутых записями, в одной транзакции
+     * (в транзакции вызывающего кода, если она есть): читатели не видят наполовину обновленных агрегатов
+     * @param requests сохраненные записи статистики
+     */
+    void refresh(Collection<StatisticRequest> requests);
+}
@@ -0,0 +1,25 @@
+package uz.dckroff.statisfy.service;
+
+import uz.dckroff.statisfy.dto.statistic.SeriesResolution;
+import uz.dckroff.statisfy.dto.statistic.StatisticSeriesResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Сервис чтения временных рядов статистики
+ */
+public interface StatisticSeriesService {
+
+    /**
+     * Возвращает ряды индикатора с точками в диапазоне дат, агрегированными с шагом resolution
+     * @param indicator код индикатора
+     * @param countryCodes коды стран (ISO alpha-3); пустой список означает все страны
+     * @param from начало диапазона (включительно), может быть null
+     * @param to конец диапазона (включительно), может быть null
+     * @param resolution шаг агрегации
+     * @return ряды, упорядоченные по коду страны
+     */
+    List<StatisticSeriesResponse> getSeries(String indicator, List<String> countryCodes,
+                                            LocalDate from, LocalDate to, SeriesResolution resolution);
+}
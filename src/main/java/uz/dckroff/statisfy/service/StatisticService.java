@@ -13,6 +13,7 @@ public interface StatisticService {
     Page<StatisticResponse> getStatisticsByCategory(Long categoryId, Pageable pageable);
     StatisticResponse getStatisticById(Long id);
     StatisticResponse createStatistic(StatisticRequest request);
+    int upsertStatistics(List<StatisticRequest> requests);
     StatisticResponse updateStatistic(Long id, StatisticRequest request);
     void deleteStatistic(Long id);
     List<StatisticResponse> getStatisticsByDateRange(LocalDate startDate, LocalDate endDate);
@@ -1,5 +1,7 @@
 package uz.dckroff.statisfy.service;
 
+import uz.dckroff.statisfy.dto.statistic.StatisticsCollectionReport;
+
 /**
  * Сервис для автоматического сбора статистических данных из различных внешних источников
  */
@@ -40,4 +42,11 @@ public interface StatisticsCollectorService {
      * @return общее количество собранных статистических записей
      */
     int collectAllStatistics();
+    
+    /**
+     * Запускает сбор данных по всем источникам (параллельно, если это включено в настройках)
+     * с отдельным таймаутом на каждый источник
+     * @return сводный отчет с количеством записей и ошибками по каждому источнику
+     */
+    StatisticsCollectionReport collectAllStatisticsWithReport();
 } 
\ No newline at end of file
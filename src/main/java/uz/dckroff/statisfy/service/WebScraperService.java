@@ -14,6 +14,13 @@ public interface WebScraperService {
      * @return Number of new articles scraped
      */
     int scrapeGazetaUz();
+
+    /**
+     * Scrape news from a site configured in scraping.sites
+     * @param name Site name
+     * @return Number of new articles scraped
+     */
+    int scrapeSite(String name);
     
     /**
      * Run all scrapers
@@ -0,0 +1,59 @@
+package uz.dckroff.statisfy.service;
+
+import uz.dckroff.statisfy.dto.worldbank.WorldBankObservation;
+import uz.dckroff.statisfy.dto.worldbank.WorldBankPage;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Клиент World Bank Indicators API
+ */
+public interface WorldBankApiService {
+
+    /**
+     * Загружает одну страницу индикатора по всем странам
+     * @param indicatorCode код индикатора, например SP.POP.TOTL
+     * @param date период (год или диапазон "2015:2022")
+     * @param page номер страницы, начиная с 1
+     * @return страница с метаданными пагинации
+     */
+    WorldBankPage fetchPage(String indicatorCode, String date, int page);
+
+    /**
+     * Загружает все страницы индикатора: первая страница определяет количество страниц,
+     * остальные загружаются параллельно, не более max-concurrent-pages страниц одновременно.
+     * Наблюдения передаются обработчику постранично в порядке страниц, в вызывающем потоке
+     * @param indicatorCode код индикатора
+     * @param date период
+     * @param pages обработчик наблюдений одной страницы
+     */
+    void fetchIndicator(String indicatorCode, String date, Consumer<List<WorldBankObservation>> pages);
+
+    /**
+     * Условная загрузка индикатора: если набор данных не изменился с прошлой успешной загрузки
+     * (ответ 304 или тот же хэш первой страницы, см. {@link #confirmIndicator}), остальные страницы не запрашиваются.
+     * Иначе страницы передаются обработчику так же, как в {@link #fetchIndicator}
+     * @param indicatorCode код индикатора
+     * @param date период
+     * @param pages обработчик наблюдений одной страницы
+     * @return false, если данные не изменились и обработчик не вызывался
+     */
+    boolean fetchIndicatorIfChanged(String indicatorCode, String date, Consumer<List<WorldBankObservation>> pages);
+
+    /**
+     * Сохраняет валидаторы последней загрузки индикатора после записи всех его страниц.
+     * До подтверждения следующая загрузка остается полной
+     * @param indicatorCode код индикатора
+     * @param date период
+     */
+    void confirmIndicator(String indicatorCode, String date);
+
+    /**
+     * Сбрасывает сохраненные валидаторы индикатора, чтобы следующая загрузка была полной.
+     * Вызывается, если загруженные данные не удалось сохранить.
+     * @param indicatorCode код индикатора
+     * @param date период
+     */
+    void invalidateIndicator(String indicatorCode, String date);
+}
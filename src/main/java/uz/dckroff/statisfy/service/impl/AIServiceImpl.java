@@ -7,6 +7,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import uz.dckroff.statisfy.dedup.ContentFingerprint;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
 import uz.dckroff.statisfy.dto.ai.AIResponse;
 import uz.dckroff.statisfy.dto.category.CategoryResponse;
 import uz.dckroff.statisfy.dto.fact.FactResponse;
@@ -37,6 +39,7 @@ public class AIServiceImpl implements AIService {
     private final FactRepository factRepository;
     private final CategoryRepository categoryRepository;
     private final UserPreferenceRepository userPreferenceRepository;
+    private final DuplicateDetector duplicateDetector;
     
     @Value("${openai.api.model}")
     private String model;
@@ -147,7 +150,23 @@ public class AIServiceImpl implements AIService {
                     .createdAt(LocalDateTime.now())
                     .build();
             
-            Fact savedFact = factRepository.save(fact);
+            // A reworded repeat of a stored fact is merged into the existing fact instead of being saved again
+            ContentFingerprint fingerprint = ContentFingerprint.of(DuplicateDetector.factText(content));
+            ContentFingerprint duplicate = duplicateDetector.findDuplicate(DuplicateDetector.FACTS, fingerprint);
+            Optional<Fact> existing = duplicate != null
+                    ? factRepository.findFirstByContentHash(duplicate.hash())
+                    : Optional.empty();
+            
+            Fact savedFact;
+            if (existing.isPresent()) {
+                log.info("Generated fact duplicates fact {}, returning the existing one", existing.get().getId());
+                savedFact = existing.get();
+            } else {
+                fact.setContentHash(fingerprint.hash());
+                fact.setSimhash(fingerprint.simhash());
+                savedFact = factRepository.save(fact);
+                duplicateDetector.register(DuplicateDetector.FACTS, fingerprint);
+            }
             
             return FactResponse.builder()
                     .id(savedFact.getId())
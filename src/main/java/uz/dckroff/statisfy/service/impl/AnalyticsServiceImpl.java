@@ -4,8 +4,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import uz.dckroff.statisfy.dto.CursorPage;
+import uz.dckroff.statisfy.dto.PageCursor;
 import uz.dckroff.statisfy.dto.analytics.ActivityCountDTO;
 import uz.dckroff.statisfy.dto.analytics.DashboardStatsDTO;
 import uz.dckroff.statisfy.dto.analytics.UserActivityDTO;
@@ -71,6 +74,32 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         return activities.map(this::mapToDTO);
     }
 
+    @Override
+    public CursorPage<UserActivityDTO> getUserActivitiesFeed(User user, String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<UserActivity> rows = after == null
+                ? userActivityRepository.findByUserOrderByCreatedAtDescIdDesc(user, limit)
+                : userActivityRepository.findByUserPageAfter(user, after.time(), after.id(), limit);
+        return CursorPage.of(rows, pageSize, AnalyticsServiceImpl::cursorOf, this::mapToDTO,
+                withTotal ? userActivityRepository.countByUser(user) : null);
+    }
+
+    @Override
+    public CursorPage<UserActivityDTO> getActivitiesFeed(String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<UserActivity> rows = after == null
+                ? userActivityRepository.findByOrderByCreatedAtDescIdDesc(limit)
+                : userActivityRepository.findPageAfter(after.time(), after.id(), limit);
+        return CursorPage.of(rows, pageSize, AnalyticsServiceImpl::cursorOf, this::mapToDTO,
+                withTotal ? userActivityRepository.count() : null);
+    }
+
     @Override
     public Page<UserActivityDTO> getActivitiesByType(String activityType, Pageable pageable) {
         log.info("Getting activities by type: {}", activityType);
@@ -158,6 +187,10 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .collect(Collectors.toList());
     }
     
+    private static PageCursor cursorOf(UserActivity activity) {
+        return new PageCursor(activity.getCreatedAt(), activity.getId());
+    }
+
     private UserActivityDTO mapToDTO(UserActivity activity) {
         return UserActivityDTO.builder()
                 .id(activity.getId())
@@ -0,0 +1,58 @@
+package uz.dckroff.statisfy.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.repository.CategoryRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Категории записей пакетной записи, разрешенные одним запросом.
+ * <p>
+ * Запись без категории или с несуществующей категорией не отклоняет всю пачку: она пропускается,
+ * а ее позиция в пачке и id категории попадают в лог.
+ */
+@Slf4j
+final class BatchCategories {
+
+    private BatchCategories() {
+    }
+
+    /**
+     * @param accepted записи с найденной категорией в исходном порядке
+     * @param categories найденные категории по id
+     */
+    record Resolved<T>(List<T> accepted, Map<Long, Category> categories) {
+    }
+
+    static <T> Resolved<T> resolve(CategoryRepository categoryRepository, String kind, List<T> entries,
+                                   Function<T, Long> categoryId) {
+        Set<Long> ids = entries.stream()
+                .map(categoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Category> categories = ids.isEmpty() ? Map.of() : categoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<T> accepted = new ArrayList<>(entries.size());
+        Map<Long, List<Integer>> rejectedByCategory = new LinkedHashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Long id = categoryId.apply(entries.get(i));
+            if (id != null && categories.containsKey(id)) {
+                accepted.add(entries.get(i));
+            } else {
+                rejectedByCategory.computeIfAbsent(id, key -> new ArrayList<>()).add(i);
+            }
+        }
+        rejectedByCategory.forEach((id, positions) ->
+                log.warn("Пакетная запись ({}): категория {} не найдена, пропущены записи {}", kind, id, positions));
+        return new Resolved<>(accepted, categories);
+    }
+}
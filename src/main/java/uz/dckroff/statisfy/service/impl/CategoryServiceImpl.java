@@ -1,6 +1,8 @@
 package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import uz.dckroff.statisfy.dto.category.CategoryRequest;
 import uz.dckroff.statisfy.dto.category.CategoryResponse;
@@ -10,15 +12,31 @@ import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.repository.CategoryRepository;
 import uz.dckroff.statisfy.service.CategoryService;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
 
+    // Реестр id категорий по названию для сборщиков. Запись живет REGISTRY_TTL: категорию, удаленную
+    // или переименованную другим экземпляром приложения, сборщики перечитают из базы
+    private static final Duration REGISTRY_TTL = Duration.ofMinutes(10);
+
+    private final Map<String, RegistryEntry> registry = new ConcurrentHashMap<>();
+
+    /**
+     * @param expiresAt момент устаревания записи по System.nanoTime()
+     */
+    private record RegistryEntry(Long id, long expiresAt) {
+    }
+
     @Override
     public List<CategoryResponse> getAllCategories() {
         return categoryRepository.findAll().stream()
@@ -58,6 +76,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new CategoryAlreadyExistsException("Category with name '" + request.getName() + "' already exists");
         }
         
+        registry.remove(category.getName());
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         
@@ -71,6 +90,41 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        registry.values().removeIf(entry -> id.equals(entry.id()));
+    }
+
+    @Override
+    public Category getOrCreateCategory(String name, String description) {
+        long now = System.nanoTime();
+        RegistryEntry cached = registry.get(name);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return Category.builder().id(cached.id()).name(name).build();
+        }
+        // Запрос к базе идет вне блокировки карты; два потока могут одновременно загрузить одно название,
+        // и это безвредно
+        Category category = loadOrCreate(name, description);
+        registry.put(name, new RegistryEntry(category.getId(), now + REGISTRY_TTL.toNanos()));
+        return category;
+    }
+
+    @Override
+    public void evictCategory(String name) {
+        registry.remove(name);
+    }
+
+    private Category loadOrCreate(String name, String description) {
+        return categoryRepository.findByName(name).orElseGet(() -> {
+            try {
+                return categoryRepository.save(Category.builder()
+                        .name(name)
+                        .description(description)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // Категорию одновременно создал другой экземпляр приложения
+                log.debug("Категория {} уже создана: {}", name, e.getMessage());
+                return categoryRepository.findByName(name).orElseThrow(() -> e);
+            }
+        });
     }
     
     private CategoryResponse mapToCategoryResponse(Category category) {
@@ -0,0 +1,134 @@
+package uz.dckroff.statisfy.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.model.CollectorRunStatus;
+import uz.dckroff.statisfy.model.CollectorWatermark;
+import uz.dckroff.statisfy.repository.CollectorRunRepository;
+import uz.dckroff.statisfy.repository.CollectorWatermarkRepository;
+import uz.dckroff.statisfy.service.CollectorJournalService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CollectorJournalServiceImpl implements CollectorJournalService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final CollectorRunRepository collectorRunRepository;
+    private final CollectorWatermarkRepository collectorWatermarkRepository;
+
+    // Запуски, которые выполняются в этом экземпляре приложения; остальные RUNNING остались от сбоя
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    // Блокировка вместо synchronized: запросы к базе под монитором закрепили бы виртуальный поток за несущим
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    @Override
+    public CollectorRun startRun(String collector, String source) {
+        startLock.lock();
+        try {
+            return doStartRun(collector, source);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    private CollectorRun doStartRun(String collector, String source) {
+        for (CollectorRun stale : collectorRunRepository.findBySourceAndStatus(source, CollectorRunStatus.RUNNING)) {
+            if (!activeRuns.contains(stale.getId())) {
+                stale.setStatus(CollectorRunStatus.INTERRUPTED);
+                stale.setFinishedAt(LocalDateTime.now());
+                collectorRunRepository.save(stale);
+                log.warn("Запуск {} источника {} не был завершен и помечен как прерванный", stale.getId(), source);
+            }
+        }
+
+        CollectorRun run = CollectorRun.builder()
+                .collector(collector)
+                .source(source)
+                .status(CollectorRunStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+
+        Optional<CollectorRun> previous = collectorRunRepository.findFirstBySourceOrderByStartedAtDesc(source);
+        if (previous.isPresent() && previous.get().getStatus() != CollectorRunStatus.SUCCEEDED) {
+            // Позиция продолжения - отметка источника; контрольная точка нового запуска пишется им самим
+            run.setResumedFromRunId(previous.get().getId());
+            log.info("Источник {} продолжает незавершенный запуск {} (последняя контрольная точка: {})",
+                    source, previous.get().getId(), previous.get().getCheckpoint());
+        }
+
+        CollectorRun saved = collectorRunRepository.save(run);
+        activeRuns.add(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public void checkpoint(CollectorRun run, String checkpoint, int itemsSaved) {
+        run.setCheckpoint(checkpoint);
+        run.setItemsSaved(itemsSaved);
+        collectorRunRepository.save(run);
+    }
+
+    @Override
+    public void completeRun(CollectorRun run, int itemsSaved) {
+        finish(run, CollectorRunStatus.SUCCEEDED, itemsSaved, null);
+    }
+
+    @Override
+    public void partialRun(CollectorRun run, int itemsSaved, String reason) {
+        finish(run, CollectorRunStatus.PARTIAL, itemsSaved, truncate(reason));
+    }
+
+    @Override
+    public void failRun(CollectorRun run, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        finish(run, CollectorRunStatus.FAILED, run.getItemsSaved(), truncate(message));
+    }
+
+    @Override
+    public CollectorWatermark getWatermark(String source) {
+        return collectorWatermarkRepository.findById(source)
+                .orElseGet(() -> CollectorWatermark.builder().source(source).build());
+    }
+
+    @Override
+    public void saveWatermark(CollectorWatermark watermark) {
+        collectorWatermarkRepository.save(watermark);
+    }
+
+    @Override
+    public List<CollectorRun> getRecentRuns(String source, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, 200)));
+        return source == null
+                ? collectorRunRepository.findAllByOrderByStartedAtDesc(page)
+                : collectorRunRepository.findBySourceOrderByStartedAtDesc(source, page);
+    }
+
+    private String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private void finish(CollectorRun run, CollectorRunStatus status, int itemsSaved, String error) {
+        run.setStatus(status);
+        run.setItemsSaved(itemsSaved);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setError(error);
+        try {
+            collectorRunRepository.save(run);
+        } finally {
+            activeRuns.remove(run.getId());
+        }
+    }
+}
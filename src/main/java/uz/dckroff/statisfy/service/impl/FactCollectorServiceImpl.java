@@ -2,22 +2,42 @@ package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import uz.dckroff.statisfy.collector.FactPipeline;
+import uz.dckroff.statisfy.collector.RequestRateLimiter;
 import uz.dckroff.statisfy.config.FactCollectorConfig;
 import uz.dckroff.statisfy.dto.fact.FactRequest;
+import uz.dckroff.statisfy.dto.fact.OnThisDayEvent;
+import uz.dckroff.statisfy.dto.fact.OnThisDayType;
 import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.model.CollectorWatermark;
 import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.service.CollectorJournalService;
 import uz.dckroff.statisfy.service.FactCollectorService;
-import uz.dckroff.statisfy.service.FactService;
+import uz.dckroff.statisfy.service.OnThisDayService;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Реализация сервиса сбора фактов из внешних источников
@@ -29,21 +49,49 @@ public class FactCollectorServiceImpl implements FactCollectorService {
 
     private final RestTemplate restTemplate;
     private final CategoryRepository categoryRepository;
-    private final FactService factService;
+    private final FactPipeline factPipeline;
     private final FactCollectorConfig config;
-    private final Random random = new Random();
+    private final CollectorJournalService journalService;
+    private final RequestRateLimiter rateLimiter;
+    private final OnThisDayService onThisDayService;
+    @Qualifier("factCollectorExecutor")
+    private final AsyncTaskExecutor factExecutor;
 
-    // API для получения случайных фактов из Wikipedia
-    private static final String WIKIPEDIA_API_URL = "https://en.wikipedia.org/api/rest_v1/page/random/summary";
+    // MediaWiki API для пакетного получения случайных статей Wikipedia (generator=random + extracts).
+    // Адреса запросов - шаблоны URI: значения передаются переменными, в тег uri метрик попадает сам шаблон
+    private static final String WIKIPEDIA_QUERY_URL = "https://en.wikipedia.org/w/api.php?action=query&format=json"
+            + "&formatversion=2&generator=random&grnnamespace=0&grnlimit={limit}"
+            + "&prop=extracts&exintro=1&explaintext=1&exlimit={limit}";
+    
+    // REST API для дозапроса краткого описания отдельной статьи
+    private static final String WIKIPEDIA_SUMMARY_URL = "https://en.wikipedia.org/api/rest_v1/page/summary/{title}";
+    
+    // Размер пакета: TextExtracts возвращает вводные абзацы не более чем для 20 статей за запрос
+    private static final int WIKIPEDIA_BATCH_SIZE = 20;
     
     // API для получения фактов о числах
-    private static final String NUMBERS_API_URL = "http://numbersapi.com/";
+    private static final String NUMBERS_API_URL = "http://numbersapi.com/{from}..{to}?json";
     
-    // API для получения исторических фактов
-    private static final String HISTORICAL_FACTS_API_URL = "https://history.muffinlabs.com/date";
+    // Максимальный размер диапазона в одном запросе к Numbers API
+    private static final int NUMBERS_RANGE_SIZE = 100;
     
     // API для получения научных фактов
     private static final String SCIENCE_FACTS_API_URL = "https://api.spaceflightnewsapi.net/v3/articles";
+    
+    // Последние статьи (первый запуск) и статьи после отметки по возрастанию даты публикации
+    private static final String SCIENCE_LATEST_URL = SCIENCE_FACTS_API_URL + "?_limit={limit}&_sort=publishedAt:DESC";
+    private static final String SCIENCE_AFTER_URL =
+            SCIENCE_FACTS_API_URL + "?_limit={limit}&_sort=publishedAt:ASC&publishedAt_gt={after}";
+    
+    // Размер страницы при чтении статей Spaceflight News API
+    private static final int SCIENCE_PAGE_SIZE = 10;
+    
+    // Названия источников в журнале запусков и отметках
+    private static final String JOURNAL_COLLECTOR = "facts";
+    private static final String WIKIPEDIA_SOURCE = "wikipedia";
+    private static final String NUMBERS_SOURCE = "numbers";
+    private static final String HISTORY_SOURCE = "history";
+    private static final String SCIENCE_SOURCE = "spaceflight";
 
     @Override
     public int collectWikipediaFacts() {
@@ -53,68 +101,149 @@ public class FactCollectorServiceImpl implements FactCollectorService {
             return 0;
         }
         
-        AtomicInteger count = new AtomicInteger(0);
-        int maxFacts = Math.min(config.getMaxFactsPerRun(), 10); // Ограничиваем количество запросов к Wikipedia
+        int maxFacts = Math.max(0, config.getWikipediaFactsPerRun());
+        CollectorRun run = journalService.startRun(JOURNAL_COLLECTOR, WIKIPEDIA_SOURCE);
         
         try {
             // Получаем или создаем категорию для фактов
             Category category = getOrCreateCategory("Общие знания", "Общие интересные факты");
             
             // Настраиваем заголовки запроса
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+            HttpEntity<String> entity = new HttpEntity<>(createHeaders());
+            int batches = (maxFacts + WIKIPEDIA_BATCH_SIZE - 1) / WIKIPEDIA_BATCH_SIZE;
             
-            // Выполняем несколько запросов для получения разных фактов
-            for (int i = 0; i < maxFacts; i++) {
+            int count = factPipeline.run(WIKIPEDIA_SOURCE, maxFacts, sink -> {
+                // Каждый запрос к MediaWiki API возвращает пакет случайных статей сразу с вводными абзацами;
+                // пакеты запрашиваются параллельно, частота запросов ограничивается общим лимитером
+                List<Future<List<WikipediaPage>>> batchFutures = new ArrayList<>(batches);
+                List<Future<WikipediaPage>> summaryFutures = new ArrayList<>();
                 try {
-                    // Выполняем запрос к Wikipedia API
-                    ResponseEntity<Map> response = restTemplate.exchange(
-                            WIKIPEDIA_API_URL,
-                            HttpMethod.GET,
-                            entity,
-                            Map.class
-                    );
+                    for (int i = 0; i < batches; i++) {
+                        batchFutures.add(factExecutor.submit(() -> fetchWikipediaBatch(entity)));
+                    }
                     
-                    if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                        Map<String, Object> data = response.getBody();
-                        
-                        // Проверяем наличие необходимых данных
-                        if (data.containsKey("title") && data.containsKey("extract")) {
-                            String title = (String) data.get("title");
-                            String content = (String) data.get("extract");
-                            String source = "Wikipedia";
-                            
-                            // Создаем объект запроса для сохранения факта
-                            FactRequest request = FactRequest.builder()
-                                    .title("Факт: " + title)
-                                    .content(content)
-                                    .categoryId(category.getId())
-                                    .source(source)
-                                    .isPublished(true)
-                                    .build();
-                            
-                            // Сохраняем факт
-                            factService.createFact(request);
-                            count.incrementAndGet();
-                            log.info("Сохранен факт из Wikipedia: {}", title);
-                            
-                            // Делаем небольшую паузу между запросами, чтобы не перегружать API
-                            Thread.sleep(1000);
+                    // Пакеты передаются в разбор по мере получения; для статей без текста во вводной части
+                    // параллельно запрашивается краткое описание
+                    Set<Long> seenPages = new HashSet<>();
+                    for (Future<List<WikipediaPage>> future : batchFutures) {
+                        List<WikipediaPage> pages = await(future, "получении пакета статей Wikipedia");
+                        if (pages == null) {
+                            continue;
+                        }
+                        List<WikipediaPage> withExtract = new ArrayList<>(pages.size());
+                        for (WikipediaPage page : pages) {
+                            if (!seenPages.add(page.id())) {
+                                continue;
+                            }
+                            if (page.extract() == null || page.extract().isBlank()) {
+                                summaryFutures.add(factExecutor.submit(() -> fetchWikipediaSummary(page, entity)));
+                            } else {
+                                withExtract.add(page);
+                            }
                         }
+                        sink.emit(withExtract);
                     }
-                } catch (Exception e) {
-                    log.error("Ошибка при получении факта из Wikipedia", e);
+                    
+                    List<WikipediaPage> summaries = new ArrayList<>(summaryFutures.size());
+                    for (Future<WikipediaPage> future : summaryFutures) {
+                        WikipediaPage page = await(future, "получении описания статьи Wikipedia");
+                        if (page != null) {
+                            summaries.add(page);
+                        }
+                    }
+                    sink.emit(summaries);
+                } finally {
+                    batchFutures.forEach(future -> future.cancel(true));
+                    summaryFutures.forEach(future -> future.cancel(true));
                 }
-            }
+            }, (List<WikipediaPage> pages) -> pages.stream()
+                    .map(page -> FactRequest.builder()
+                            .title("Факт: " + page.title())
+                            .content(page.extract().trim())
+                            .categoryId(category.getId())
+                            .source("Wikipedia")
+                            .isPublished(true)
+                            .build())
+                    .toList());
+            
+            journalService.completeRun(run, count);
             
-            log.info("Завершен сбор фактов из Wikipedia. Добавлено {} фактов", count.get());
-            return count.get();
+            log.info("Завершен сбор фактов из Wikipedia. Добавлено {} фактов ({} запросов пакетов)", count, batches);
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Сбор фактов из Wikipedia прерван");
+            journalService.failRun(run, e);
+            return 0;
         } catch (Exception e) {
             log.error("Непредвиденная ошибка при сборе фактов из Wikipedia", e);
+            journalService.failRun(run, e);
             return 0;
         }
     }
 
+    /**
+     * Запрашивает пакет случайных статей основного пространства имен с вводными абзацами (generator=random + extracts)
+     * @return статьи пакета; у части статей текст может отсутствовать
+     */
+    private List<WikipediaPage> fetchWikipediaBatch(HttpEntity<String> entity) throws InterruptedException {
+        rateLimiter.acquire(WIKIPEDIA_SOURCE, config.getRateLimit(WIKIPEDIA_SOURCE));
+        
+        ResponseEntity<Map> response = restTemplate.exchange(WIKIPEDIA_QUERY_URL, HttpMethod.GET, entity, Map.class,
+                Map.of("limit", WIKIPEDIA_BATCH_SIZE));
+        
+        List<WikipediaPage> pages = new ArrayList<>();
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null
+                || !(response.getBody().get("query") instanceof Map<?, ?> query)
+                || !(query.get("pages") instanceof List<?> items)) {
+            return pages;
+        }
+        
+        for (Object item : items) {
+            if (item instanceof Map<?, ?> page && page.get("pageid") instanceof Number id && page.get("title") != null) {
+                Object extract = page.get("extract");
+                pages.add(new WikipediaPage(id.longValue(), page.get("title").toString(),
+                        extract != null ? extract.toString() : null));
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Дозапрашивает краткое описание статьи через REST API
+     * @return статья с текстом или null, если описание получить не удалось
+     */
+    private WikipediaPage fetchWikipediaSummary(WikipediaPage page, HttpEntity<String> entity) throws InterruptedException {
+        rateLimiter.acquire(WIKIPEDIA_SOURCE, config.getRateLimit(WIKIPEDIA_SOURCE));
+        
+        ResponseEntity<Map> response = restTemplate.exchange(
+                WIKIPEDIA_SUMMARY_URL,
+                HttpMethod.GET,
+                entity,
+                Map.class,
+                page.title().replace(' ', '_')
+        );
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null
+                && response.getBody().get("extract") instanceof String extract && !extract.isBlank()) {
+            return new WikipediaPage(page.id(), page.title(), extract);
+        }
+        return null;
+    }
+
+    /**
+     * Дожидается параллельного запроса. Ошибка отдельного запроса только логируется,
+     * чтобы один сбой не отменял весь запуск.
+     * @return результат запроса или null при ошибке
+     */
+    private <T> T await(Future<T> future, String description) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            log.error("Ошибка при {}", description, e.getCause() != null ? e.getCause() : e);
+            return null;
+        }
+    }
+
     @Override
     public int collectNumbersFacts() {
         log.info("Начало сбора фактов о числах");
@@ -123,65 +252,139 @@ public class FactCollectorServiceImpl implements FactCollectorService {
             return 0;
         }
         
-        AtomicInteger count = new AtomicInteger(0);
-        int maxFacts = Math.min(config.getMaxFactsPerRun(), 20);
+        CollectorRun run = journalService.startRun(JOURNAL_COLLECTOR, NUMBERS_SOURCE);
         
         try {
+            // Отметка хранит наибольшее число, для которого факты уже запрошены: числа обходятся по порядку,
+            // поэтому каждый запуск берет следующий непокрытый диапазон и не запрашивает числа повторно
+            CollectorWatermark watermark = journalService.getWatermark(NUMBERS_SOURCE);
+            long first = (watermark.getLastId() != null ? watermark.getLastId() : 0) + 1;
+            long last = Math.min(first + Math.max(0, config.getNumbersFactsPerRun()) - 1, config.getNumbersMaxNumber());
+            if (first > last) {
+                log.info("Все числа до {} уже покрыты фактами", config.getNumbersMaxNumber());
+                journalService.completeRun(run, 0);
+                return 0;
+            }
+            
             // Получаем или создаем категорию для фактов
             Category category = getOrCreateCategory("Математика", "Факты о числах и математике");
             
             // Настраиваем заголовки запроса
-            HttpHeaders headers = createHeaders();
-            headers.set("Accept", "text/plain");
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+            HttpEntity<String> entity = new HttpEntity<>(createHeaders());
             
-            // Выполняем несколько запросов для получения разных фактов
-            for (int i = 0; i < maxFacts; i++) {
+            // Первый незагруженный диапазон: запуск с ним не считается успешным
+            AtomicReference<String> failedRange = new AtomicReference<>();
+            int count = factPipeline.run(NUMBERS_SOURCE, Integer.MAX_VALUE, sink -> {
+                // Диапазон запрашивается одним запросом вида /1..100; несколько диапазонов - параллельно
+                List<Future<Map<Long, String>>> futures = new ArrayList<>();
                 try {
-                    // Генерируем случайное число от 1 до 1000
-                    int randomNumber = random.nextInt(1000) + 1;
-                    
-                    // Выполняем запрос к Numbers API
-                    ResponseEntity<String> response = restTemplate.exchange(
-                            NUMBERS_API_URL + randomNumber,
-                            HttpMethod.GET,
-                            entity,
-                            String.class
-                    );
+                    for (long from = first; from <= last; from += NUMBERS_RANGE_SIZE) {
+                        long rangeFrom = from;
+                        long rangeTo = Math.min(from + NUMBERS_RANGE_SIZE - 1, last);
+                        futures.add(factExecutor.submit(() -> fetchNumbersRange(rangeFrom, rangeTo, entity)));
+                    }
                     
-                    if (response.getStatusCode() == HttpStatus.OK) {
-                        String content = response.getBody();
-
-                        // Создаем объект запроса для сохранения факта
-                        FactRequest request = FactRequest.builder()
-                                .title("Факт о числе " + randomNumber)
-                                .content(content)
-                                .categoryId(category.getId())
-                                .source("Numbers API")
-                                .isPublished(true)
-                                .build();
-
-                        // Сохраняем факт
-                        factService.createFact(request);
-                        count.incrementAndGet();
-                        log.info("Сохранен факт о числе {}: {}", randomNumber, content);
-
-                        // Делаем небольшую паузу между запросами
-                        Thread.sleep(500);
+                    // Диапазоны передаются по порядку, отметка сдвигается после записи диапазона; на первом неудачном
+                    // диапазоне покрытие останавливается, чтобы его числа были запрошены в следующий раз
+                    long rangeTo = first - 1;
+                    for (Future<Map<Long, String>> future : futures) {
+                        long rangeFrom = rangeTo + 1;
+                        rangeTo = Math.min(rangeTo + NUMBERS_RANGE_SIZE, last);
+                        Map<Long, String> facts = await(future, "получении фактов о числах до " + rangeTo);
+                        if (facts == null) {
+                            failedRange.set(rangeFrom + ".." + rangeTo);
+                            break;
+                        }
+                        long covered = rangeTo;
+                        sink.emit(facts, written -> {
+                            watermark.setLastId(covered);
+                            journalService.saveWatermark(watermark);
+                            journalService.checkpoint(run, "number:" + covered, written);
+                        });
                     }
-                } catch (Exception e) {
-                    log.error("Ошибка при получении факта о числе", e);
+                } finally {
+                    futures.forEach(future -> future.cancel(true));
                 }
+            }, (Map<Long, String> facts) -> {
+                List<FactRequest> batch = new ArrayList<>(facts.size());
+                facts.forEach((number, content) -> batch.add(FactRequest.builder()
+                        .title("Факт о числе " + number)
+                        .content(content)
+                        .categoryId(category.getId())
+                        .source("Numbers API")
+                        .isPublished(true)
+                        .build()));
+                return batch;
+            });
+            
+            if (failedRange.get() != null) {
+                journalService.partialRun(run, count, "Не загружен диапазон чисел " + failedRange.get()
+                        + ", он будет запрошен в следующем запуске");
+                log.warn("Сбор фактов о числах завершен частично: диапазон {} не загружен. "
+                        + "Добавлено {} фактов, покрыты числа до {}", failedRange.get(), count, watermark.getLastId());
+                return count;
             }
+            journalService.completeRun(run, count);
             
-            log.info("Завершен сбор фактов о числах. Добавлено {} фактов", count.get());
-            return count.get();
+            log.info("Завершен сбор фактов о числах. Добавлено {} фактов, покрыты числа до {}", count, watermark.getLastId());
+            return count;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Сбор фактов о числах прерван");
+            journalService.failRun(run, e);
+            return 0;
         } catch (Exception e) {
             log.error("Непредвиденная ошибка при сборе фактов о числах", e);
+            journalService.failRun(run, e);
             return 0;
         }
     }
 
+    /**
+     * Запрашивает факты о числах диапазона одним запросом. С параметром json каждое число возвращается объектом
+     * с признаком found; числа, для которых у API нет факта, пропускаются.
+     * @return факты по числам в порядке возрастания
+     */
+    private Map<Long, String> fetchNumbersRange(long from, long to, HttpEntity<String> entity) throws InterruptedException {
+        rateLimiter.acquire(NUMBERS_SOURCE, config.getRateLimit(NUMBERS_SOURCE));
+        
+        ResponseEntity<Map> response = restTemplate.exchange(
+                NUMBERS_API_URL,
+                HttpMethod.GET,
+                entity,
+                Map.class,
+                from,
+                to
+        );
+        
+        Map<Long, String> facts = new TreeMap<>();
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return facts;
+        }
+        
+        Map<String, Object> data = response.getBody();
+        // Диапазон из одного числа API возвращает как одиночный объект, а не как словарь
+        if (data.containsKey("number")) {
+            data = Map.of(String.valueOf(data.get("number")), data);
+        }
+        data.forEach((key, value) -> {
+            String text = null;
+            if (value instanceof Map<?, ?> fact) {
+                text = Boolean.FALSE.equals(fact.get("found")) || fact.get("text") == null ? null : fact.get("text").toString();
+            } else if (value != null) {
+                text = value.toString();
+            }
+            if (text != null && !text.isBlank()) {
+                try {
+                    facts.put(Long.parseLong(key), text);
+                } catch (NumberFormatException e) {
+                    log.debug("Пропущен элемент ответа Numbers API: {}", key);
+                }
+            }
+        });
+        return facts;
+    }
+
     @Override
     public int collectHistoricalFacts() {
         log.info("Начало сбора исторических фактов");
@@ -190,69 +393,59 @@ public class FactCollectorServiceImpl implements FactCollectorService {
             return 0;
         }
         
-        AtomicInteger count = new AtomicInteger(0);
+        CollectorRun run = journalService.startRun(JOURNAL_COLLECTOR, HISTORY_SOURCE);
         
         try {
             // Получаем или создаем категорию для фактов
             Category category = getOrCreateCategory("История", "Исторические факты и события");
             
-            // Настраиваем заголовки запроса
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            
-            // Выполняем запрос к API исторических фактов
-            // API возвращает события, произошедшие в текущий день в истории
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    HISTORICAL_FACTS_API_URL,
-                    HttpMethod.GET,
-                    entity,
-                    Map.class
-            );
+            // Собираются события текущего дня; отметка хранит день и количество уже загруженных событий,
+            // поэтому каждый запуск в течение дня берет следующую порцию, а не те же первые события
+            String today = LocalDate.now().toString();
+            CollectorWatermark watermark = journalService.getWatermark(HISTORY_SOURCE);
+            int offset = today.equals(watermark.getLastKey()) && watermark.getLastPage() != null
+                    ? watermark.getLastPage()
+                    : 0;
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
+            int count = factPipeline.run(HISTORY_SOURCE, Integer.MAX_VALUE, sink -> {
+                // События дня берутся из локального хранилища; внешний API вызывается, только если день еще не загружен
+                List<OnThisDayEvent> events = onThisDayService.getOrFetchEvents(MonthDay.now()).stream()
+                        .filter(event -> event.getType() == OnThisDayType.EVENT)
+                        .toList();
                 
-                if (data.containsKey("data") && ((Map)data.get("data")).containsKey("Events")) {
-                    Map<String, Object> dataMap = (Map<String, Object>) data.get("data");
-                    java.util.List<Map<String, Object>> events = (java.util.List<Map<String, Object>>) dataMap.get("Events");
-                    
-                    // Ограничиваем количество фактов
-                    int maxFacts = Math.min(config.getMaxFactsPerRun(), events.size());
-                    
-                    // Обрабатываем исторические события
-                    for (int i = 0; i < maxFacts; i++) {
-                        try {
-                            Map<String, Object> event = events.get(i);
-                            String year = event.get("year").toString();
-                            String text = event.get("text").toString();
-                            
-                            // Создаем объект запроса для сохранения факта
-                            FactRequest request = FactRequest.builder()
-                                    .title("Историческое событие " + year + " года")
-                                    .content(text)
-                                    .categoryId(category.getId())
-                                    .source("History API")
-                                    .isPublished(true)
-                                    .build();
-                            
-                            // Сохраняем факт
-                            factService.createFact(request);
-                            count.incrementAndGet();
-                            log.info("Сохранен исторический факт: {} - {}", year, text);
-                        } catch (Exception e) {
-                            log.error("Ошибка при обработке исторического события", e);
-                        }
-                    }
+                // Ограничиваем количество фактов
+                int from = Math.min(offset, events.size());
+                int to = Math.min(from + config.getMaxFactsPerRun(), events.size());
+                if (from == to) {
+                    log.info("Все исторические события за {} уже загружены", today);
                 }
-            }
+                
+                sink.emit(events.subList(from, to), written -> {
+                    watermark.setLastKey(today);
+                    watermark.setLastPage(to);
+                    journalService.saveWatermark(watermark);
+                    journalService.checkpoint(run, "events:" + to, written);
+                });
+            }, (List<OnThisDayEvent> events) -> events.stream()
+                    .map(event -> FactRequest.builder()
+                            .title("Историческое событие " + event.getYear() + " года")
+                            .content(event.getText())
+                            .categoryId(category.getId())
+                            .source("History API")
+                            .isPublished(true)
+                            .build())
+                    .toList());
             
-            log.info("Завершен сбор исторических фактов. Добавлено {} фактов", count.get());
-            return count.get();
+            journalService.completeRun(run, count);
+            log.info("Завершен сбор исторических фактов. Добавлено {} фактов", count);
+            return count;
         } catch (RestClientException e) {
             log.error("Ошибка при получении исторических фактов из API", e);
+            journalService.failRun(run, e);
             return 0;
         } catch (Exception e) {
             log.error("Непредвиденная ошибка при сборе исторических фактов", e);
+            journalService.failRun(run, e);
             return 0;
         }
     }
@@ -265,68 +458,121 @@ public class FactCollectorServiceImpl implements FactCollectorService {
             return 0;
         }
         
-        AtomicInteger count = new AtomicInteger(0);
+        CollectorRun run = journalService.startRun(JOURNAL_COLLECTOR, SCIENCE_SOURCE);
         
         try {
             // Получаем или создаем категорию для фактов
             Category category = getOrCreateCategory("Наука", "Научные факты и открытия");
             
             // Настраиваем заголовки запроса
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+            HttpEntity<String> entity = new HttpEntity<>(createHeaders());
             
-            // Выполняем запрос к API научных новостей
-            ResponseEntity<Map[]> response = restTemplate.exchange(
-                    SCIENCE_FACTS_API_URL + "?_limit=10",
-                    HttpMethod.GET,
-                    entity,
-                    Map[].class
-            );
+            CollectorWatermark watermark = journalService.getWatermark(SCIENCE_SOURCE);
+            boolean initialRun = watermark.getLastPublishedAt() == null;
+            int maxFacts = config.getMaxFactsPerRun();
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map[] articles = response.getBody();
-                
-                // Ограничиваем количество фактов
-                int maxFacts = Math.min(config.getMaxFactsPerRun(), articles.length);
+            int count = factPipeline.run(SCIENCE_SOURCE, maxFacts, sink -> {
+                // Статьи читаются по возрастанию даты публикации после отметки. Курсор загрузки идет впереди отметки:
+                // следующая страница запрашивается, не дожидаясь записи предыдущей, а отметка сдвигается
+                // только после сохранения страницы, поэтому прерванный запуск продолжается с первой несохраненной статьи
+                CollectorWatermark cursor = CollectorWatermark.builder()
+                        .lastPublishedAt(watermark.getLastPublishedAt())
+                        .lastId(watermark.getLastId())
+                        .build();
+                int fetched = 0;
+                int page = 0;
                 
-                // Обрабатываем научные статьи
-                for (int i = 0; i < maxFacts; i++) {
-                    try {
-                        Map<String, Object> article = articles[i];
-                        String title = (String) article.get("title");
-                        String summary = (String) article.get("summary");
-                        String source = article.containsKey("newsSite") ? (String) article.get("newsSite") : "Space News";
-                        
-                        // Создаем объект запроса для сохранения факта
-                        FactRequest request = FactRequest.builder()
-                                .title(title)
-                                .content(summary)
-                                .categoryId(category.getId())
-                                .source(source)
-                                .isPublished(true)
-                                .build();
-                        
-                        // Сохраняем факт
-                        factService.createFact(request);
-                        count.incrementAndGet();
-                        log.info("Сохранен научный факт: {}", title);
-                    } catch (Exception e) {
-                        log.error("Ошибка при обработке научной статьи", e);
+                while (fetched < maxFacts) {
+                    int limit = Math.min(SCIENCE_PAGE_SIZE, maxFacts - fetched);
+                    ResponseEntity<Map[]> response = fetchSciencePage(cursor, limit, entity);
+                    
+                    if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null || response.getBody().length == 0) {
+                        break;
+                    }
+                    
+                    Map[] articles = response.getBody();
+                    LocalDateTime previousCursor = cursor.getLastPublishedAt();
+                    for (Map<String, Object> article : articles) {
+                        try {
+                            advanceScienceWatermark(cursor, article);
+                        } catch (Exception e) {
+                            log.error("Ошибка при обработке научной статьи", e);
+                        }
+                    }
+                    fetched += articles.length;
+                    
+                    int pageNumber = ++page;
+                    LocalDateTime pagePublishedAt = cursor.getLastPublishedAt();
+                    Long pageLastId = cursor.getLastId();
+                    sink.emit(articles, written -> {
+                        watermark.setLastPublishedAt(pagePublishedAt);
+                        watermark.setLastId(pageLastId);
+                        journalService.saveWatermark(watermark);
+                        journalService.checkpoint(run, "page:" + pageNumber, written);
+                    });
+                    
+                    // Первый запуск берет только последние статьи, а не весь архив
+                    if (initialRun || articles.length < limit
+                            || Objects.equals(previousCursor, cursor.getLastPublishedAt())) {
+                        break;
                     }
                 }
-            }
+            }, (Map[] articles) -> {
+                List<FactRequest> batch = new ArrayList<>(articles.length);
+                for (Map<String, Object> article : articles) {
+                    String source = article.containsKey("newsSite") ? (String) article.get("newsSite") : "Space News";
+                    batch.add(FactRequest.builder()
+                            .title((String) article.get("title"))
+                            .content((String) article.get("summary"))
+                            .categoryId(category.getId())
+                            .source(source)
+                            .isPublished(true)
+                            .build());
+                }
+                return batch;
+            });
             
-            log.info("Завершен сбор научных фактов. Добавлено {} фактов", count.get());
-            return count.get();
+            journalService.completeRun(run, count);
+            
+            log.info("Завершен сбор научных фактов. Добавлено {} фактов", count);
+            return count;
         } catch (RestClientException e) {
             log.error("Ошибка при получении научных фактов из API", e);
+            journalService.failRun(run, e);
             return 0;
         } catch (Exception e) {
             log.error("Непредвиденная ошибка при сборе научных фактов", e);
+            journalService.failRun(run, e);
             return 0;
         }
     }
 
+    /**
+     * Запрос статей после отметки по возрастанию даты публикации.
+     * Без отметки (первый запуск) запрашиваются последние статьи.
+     */
+    private ResponseEntity<Map[]> fetchSciencePage(CollectorWatermark watermark, int limit, HttpEntity<String> entity) {
+        if (watermark.getLastPublishedAt() == null) {
+            return restTemplate.exchange(SCIENCE_LATEST_URL, HttpMethod.GET, entity, Map[].class, limit);
+        }
+        return restTemplate.exchange(SCIENCE_AFTER_URL, HttpMethod.GET, entity, Map[].class, limit,
+                watermark.getLastPublishedAt().atOffset(ZoneOffset.UTC).toInstant().toString());
+    }
+
+    private void advanceScienceWatermark(CollectorWatermark watermark, Map<String, Object> article) {
+        Object publishedAt = article.get("publishedAt");
+        if (publishedAt != null) {
+            LocalDateTime published = LocalDateTime.ofInstant(Instant.parse(publishedAt.toString()), ZoneOffset.UTC);
+            if (watermark.getLastPublishedAt() == null || published.isAfter(watermark.getLastPublishedAt())) {
+                watermark.setLastPublishedAt(published);
+            }
+        }
+        if (article.get("id") instanceof Number id
+                && (watermark.getLastId() == null || id.longValue() > watermark.getLastId())) {
+            watermark.setLastId(id.longValue());
+        }
+    }
+
     @Override
     public int collectAllFacts() {
         log.info("Запуск сбора всех категорий фактов");
@@ -376,4 +622,10 @@ public class FactCollectorServiceImpl implements FactCollectorService {
                     return categoryRepository.save(newCategory);
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * Статья Wikipedia: ID страницы, заголовок и вводный текст
+     */
+    private record WikipediaPage(long id, String title, String extract) {
+    }
+}
@@ -2,19 +2,28 @@ package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.dckroff.statisfy.dedup.ContentFingerprint;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dto.CursorPage;
+import uz.dckroff.statisfy.dto.PageCursor;
 import uz.dckroff.statisfy.dto.category.CategoryResponse;
 import uz.dckroff.statisfy.dto.fact.FactRequest;
 import uz.dckroff.statisfy.dto.fact.FactResponse;
+import uz.dckroff.statisfy.exception.BadRequestException;
 import uz.dckroff.statisfy.exception.ResourceNotFoundException;
 import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.model.Fact;
 import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.FactBatchRepository;
 import uz.dckroff.statisfy.repository.FactRepository;
 import uz.dckroff.statisfy.service.FactService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +32,8 @@ public class FactServiceImpl implements FactService {
 
     private final FactRepository factRepository;
     private final CategoryRepository categoryRepository;
+    private final FactBatchRepository factBatchRepository;
+    private final DuplicateDetector duplicateDetector;
 
     @Override
     public Page<FactResponse> getAllFacts(Pageable pageable) {
@@ -30,6 +41,19 @@ public class FactServiceImpl implements FactService {
                 .map(this::mapToFactResponse);
     }
 
+    @Override
+    public CursorPage<FactResponse> getFactsFeed(String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<Fact> rows = after == null
+                ? factRepository.findByIsPublishedTrueOrderByCreatedAtDescIdDesc(limit)
+                : factRepository.findPublishedPageAfter(after.time(), after.id(), limit);
+        return CursorPage.of(rows, pageSize, fact -> new PageCursor(fact.getCreatedAt(), fact.getId()),
+                this::mapToFactResponse, withTotal ? factRepository.countByIsPublishedTrue() : null);
+    }
+
     @Override
     public Page<FactResponse> getFactsByCategory(Long categoryId, Pageable pageable) {
         Category category = categoryRepository.findById(categoryId)
@@ -64,10 +88,43 @@ public class FactServiceImpl implements FactService {
                 .isPublished(request.getIsPublished() != null ? request.getIsPublished() : false)
                 .build();
         
+        ContentFingerprint fingerprint = fingerprint(fact);
+        if (duplicateDetector.findDuplicate(DuplicateDetector.FACTS, fingerprint) != null) {
+            throw new BadRequestException("A similar fact already exists");
+        }
+        
         Fact savedFact = factRepository.save(fact);
+        duplicateDetector.register(DuplicateDetector.FACTS, fingerprint);
         return mapToFactResponse(savedFact);
     }
 
+    @Override
+    @Transactional
+    public int createFacts(List<FactRequest> requests) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+
+        BatchCategories.Resolved<FactRequest> resolved = BatchCategories.resolve(categoryRepository, "facts",
+                requests, FactRequest::getCategoryId);
+        Map<Long, Category> categories = resolved.categories();
+
+        List<Fact> facts = resolved.accepted().stream()
+                .map(request -> Fact.builder()
+                        .title(request.getTitle())
+                        .content(request.getContent())
+                        .category(categories.get(request.getCategoryId()))
+                        .source(request.getSource())
+                        .isPublished(request.getIsPublished() != null ? request.getIsPublished() : false)
+                        .build())
+                .collect(Collectors.toList());
+
+        // Повторы уже сохраненных фактов и повторы внутри пачки отсеиваются до записи
+        List<Fact> newFacts = duplicateDetector.filterNew(DuplicateDetector.FACTS, facts,
+                fact -> DuplicateDetector.factText(fact.getContent()), this::applyFingerprint);
+        return factBatchRepository.insertAll(newFacts);
+    }
+
     @Override
     public FactResponse updateFact(Long id, FactRequest request) {
         Fact fact = factRepository.findById(id)
@@ -76,6 +133,7 @@ public class FactServiceImpl implements FactService {
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + request.getCategoryId()));
         
+        ContentFingerprint previous = ContentFingerprint.of(DuplicateDetector.factText(fact.getContent()));
         fact.setTitle(request.getTitle());
         fact.setContent(request.getContent());
         fact.setCategory(category);
@@ -85,16 +143,21 @@ public class FactServiceImpl implements FactService {
             fact.setPublished(request.getIsPublished());
         }
         
+        ContentFingerprint fingerprint = fingerprint(fact);
         Fact updatedFact = factRepository.save(fact);
+        // Прежний текст больше не хранится: его отпечаток не должен отклонять новые факты
+        duplicateDetector.remove(DuplicateDetector.FACTS, previous);
+        duplicateDetector.register(DuplicateDetector.FACTS, fingerprint);
         return mapToFactResponse(updatedFact);
     }
 
     @Override
     public void deleteFact(Long id) {
-        if (!factRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Fact not found with id: " + id);
-        }
-        factRepository.deleteById(id);
+        Fact fact = factRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Fact not found with id: " + id));
+        factRepository.delete(fact);
+        duplicateDetector.remove(DuplicateDetector.FACTS,
+                ContentFingerprint.of(DuplicateDetector.factText(fact.getContent())));
     }
 
     @Override
@@ -104,6 +167,20 @@ public class FactServiceImpl implements FactService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Вычисляет отпечаток содержания и записывает его в факт
+     */
+    private ContentFingerprint fingerprint(Fact fact) {
+        ContentFingerprint fingerprint = ContentFingerprint.of(DuplicateDetector.factText(fact.getContent()));
+        applyFingerprint(fact, fingerprint);
+        return fingerprint;
+    }
+    
+    private void applyFingerprint(Fact fact, ContentFingerprint fingerprint) {
+        fact.setContentHash(fingerprint.hash());
+        fact.setSimhash(fingerprint.simhash());
+    }
+    
     private FactResponse mapToFactResponse(Fact fact) {
         return FactResponse.builder()
                 .id(fact.getId())
@@ -1,18 +1,34 @@
 package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 import uz.dckroff.statisfy.dto.newsapi.NewsApiResponse;
+import uz.dckroff.statisfy.interceptor.ConditionalGetInterceptor;
 import uz.dckroff.statisfy.service.NewsApiService;
 
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class NewsApiServiceImpl implements NewsApiService {
 
+    private static final String API_KEY_HEADER = "X-Api-Key";
+
+    // URI templates: values are passed as variables, so the uri tag of http.client.requests stays the template
+    private static final String TOP_HEADLINES = "/top-headlines?country={country}&category={category}";
+    private static final String EVERYTHING = "/everything?q={q}&sortBy={sortBy}&pageSize={pageSize}";
+
     private final RestTemplate restTemplate;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
 
     @Value("${newsapi.key}")
     private String apiKey;
@@ -21,27 +37,45 @@ public class NewsApiServiceImpl implements NewsApiService {
     private String baseUrl;
 
     @Override
-    public NewsApiResponse fetchTopHeadlines(String category, String country) {
-        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/top-headlines")
-                .queryParam("apiKey", apiKey)
-                .queryParam("country", country)
-                .queryParam("category", category)
-                .build()
-                .toUriString();
-
-        return restTemplate.getForObject(url, NewsApiResponse.class);
+    public Optional<NewsApiResponse> fetchTopHeadlines(String category, String country) {
+        HttpHeaders headers = apiHeaders();
+        headers.set(ConditionalGetInterceptor.CACHE_GROUP_HEADER, topHeadlinesGroup(category, country));
+
+        ResponseEntity<NewsApiResponse> response = restTemplate.exchange(baseUrl + TOP_HEADLINES, HttpMethod.GET,
+                new HttpEntity<>(headers), NewsApiResponse.class, country, category);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            log.debug("Top headlines for {}/{} have not changed", category, country);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(response.getBody());
     }
 
     @Override
     public NewsApiResponse searchNews(String query, String sortBy, int pageSize) {
-        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/everything")
-                .queryParam("apiKey", apiKey)
-                .queryParam("q", query)
-                .queryParam("sortBy", sortBy)
-                .queryParam("pageSize", pageSize)
-                .build()
-                .toUriString();
-
-        return restTemplate.getForObject(url, NewsApiResponse.class);
+        return restTemplate.exchange(baseUrl + EVERYTHING, HttpMethod.GET, new HttpEntity<>(apiHeaders()),
+                NewsApiResponse.class, query, sortBy, pageSize).getBody();
+    }
+
+    @Override
+    public void confirmTopHeadlines(String category, String country) {
+        conditionalGetInterceptor.confirm(topHeadlinesGroup(category, country));
+    }
+
+    @Override
+    public void invalidateTopHeadlines(String category, String country) {
+        conditionalGetInterceptor.evict(topHeadlinesGroup(category, country));
+    }
+
+    /**
+     * The key goes in a header rather than the query, so it never shows up in URI metric tags or logs
+     */
+    private HttpHeaders apiHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(API_KEY_HEADER, apiKey);
+        return headers;
+    }
+
+    private String topHeadlinesGroup(String category, String country) {
+        return "newsapi:top-headlines:" + category + ":" + country;
     }
 } 
\ No newline at end of file
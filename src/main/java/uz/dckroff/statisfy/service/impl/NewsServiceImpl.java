@@ -2,11 +2,21 @@ package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dedup.NewsUrlIndex;
+import uz.dckroff.statisfy.dedup.UrlNormalizer;
+import uz.dckroff.statisfy.dto.CursorPage;
+import uz.dckroff.statisfy.dto.PageCursor;
 import uz.dckroff.statisfy.dto.PagedResponse;
 import uz.dckroff.statisfy.dto.PaginationDto;
 import uz.dckroff.statisfy.dto.category.CategoryResponse;
@@ -16,15 +26,23 @@ import uz.dckroff.statisfy.exception.ResourceNotFoundException;
 import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.model.News;
 import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.NewsBatchRepository;
 import uz.dckroff.statisfy.repository.NewsRepository;
+import uz.dckroff.statisfy.service.CategoryService;
 import uz.dckroff.statisfy.service.NewsApiService;
 import uz.dckroff.statisfy.service.NewsService;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,10 +51,17 @@ import java.util.stream.Collectors;
 public class NewsServiceImpl implements NewsService {
 
     private final NewsRepository newsRepository;
+    private final NewsBatchRepository newsBatchRepository;
+    private final DuplicateDetector duplicateDetector;
+    private final NewsUrlIndex newsUrlIndex;
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
     private final NewsApiService newsApiService;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier("taskExecutor")
+    private final Executor taskExecutor;
 
-    private static final Map<String, String> CATEGORY_MAPPING = new HashMap<>();
+    private static final Map<String, String> CATEGORY_MAPPING = new LinkedHashMap<>();
 
     static {
         CATEGORY_MAPPING.put("technology", "Technology");
@@ -81,6 +106,32 @@ public class NewsServiceImpl implements NewsService {
                 .map(this::mapToNewsResponse);
     }
 
+    @Override
+    public CursorPage<NewsResponse> getNewsFeed(String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<News> rows = after == null
+                ? newsRepository.findByOrderByPublishedAtDescIdDesc(limit)
+                : newsRepository.findPageAfter(after.time(), after.id(), limit);
+        return CursorPage.of(rows, pageSize, NewsServiceImpl::cursorOf, this::mapToNewsResponse,
+                withTotal ? newsRepository.count() : null);
+    }
+
+    @Override
+    public CursorPage<NewsResponse> getRelevantNewsFeed(String cursor, int size, boolean withTotal) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.pageSize(size);
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<News> rows = after == null
+                ? newsRepository.findByIsRelevantTrueOrderByPublishedAtDescIdDesc(limit)
+                : newsRepository.findRelevantPageAfter(after.time(), after.id(), limit);
+        return CursorPage.of(rows, pageSize, NewsServiceImpl::cursorOf, this::mapToNewsResponse,
+                withTotal ? newsRepository.countByIsRelevantTrue() : null);
+    }
+
     @Override
     @Cacheable(value = "newsCache", key = "'news' + #id")
     public NewsResponse getNewsById(Long id) {
@@ -94,31 +145,25 @@ public class NewsServiceImpl implements NewsService {
     @Scheduled(fixedRate = 1800000) // 30 minutes
     public void fetchNewsFromExternalApi() {
         log.info("Fetching news from external API");
-        
-        for (Map.Entry<String, String> entry : CATEGORY_MAPPING.entrySet()) {
+
+        // Categories are requested concurrently (bounded by the newsapi.org connection limit);
+        // responses are then written one category at a time, so duplicates across categories are caught
+        Map<String, CompletableFuture<Optional<NewsApiResponse>>> responses = new LinkedHashMap<>();
+        CATEGORY_MAPPING.keySet().forEach(apiCategory -> responses.put(apiCategory,
+                CompletableFuture.supplyAsync(() -> newsApiService.fetchTopHeadlines(apiCategory, "ru"), taskExecutor)));
+
+        responses.forEach((apiCategory, future) -> {
+            String localCategory = CATEGORY_MAPPING.get(apiCategory);
             try {
-                String apiCategory = entry.getKey();
-                String localCategory = entry.getValue();
-                
-                // Fetch news from API
-                NewsApiResponse response = newsApiService.fetchTopHeadlines(apiCategory, "ru");
-                
-                if (response != null && "ok".equalsIgnoreCase(response.getStatus())) {
-                    // Find or create category
-                    Category category = categoryRepository.findByName(localCategory)
-                            .orElseGet(() -> {
-                                Category newCategory = Category.builder()
-                                        .name(localCategory)
-                                        .description(localCategory + " news")
-                                        .build();
-                                return categoryRepository.save(newCategory);
-                            });
-                    
-                    // Process articles
-                    response.getArticles().forEach(article -> {
-                        // Check if news already exists
-                        if (!newsRepository.existsByTitleAndUrl(article.getTitle(), article.getUrl())) {
-                            News news = News.builder()
+                Optional<NewsApiResponse> changed = future.join();
+                if (changed.isPresent() && "ok".equalsIgnoreCase(changed.get().getStatus())) {
+                    NewsApiResponse response = changed.get();
+                    Category category = categoryService.getOrCreateCategory(localCategory, localCategory + " news");
+
+                    // Already stored articles are skipped with one batch URL lookup
+                    List<News> batch = new ArrayList<>();
+                    newsUrlIndex.filterUnknown(response.getArticles(), NewsApiResponse.Article::getUrl).forEach(article ->
+                            batch.add(News.builder()
                                     .title(article.getTitle())
                                     .summary(article.getDescription() != null ? article.getDescription() : "No description available")
                                     .url(article.getUrl())
@@ -126,19 +171,57 @@ public class NewsServiceImpl implements NewsService {
                                     .publishedAt(parseDateTime(article.getPublishedAt()))
                                     .category(category)
                                     .isRelevant(true) // Default to true, can be updated later
-                                    .build();
-                            
-                            newsRepository.save(news);
-                        }
-                    });
-                    
-                    log.info("Successfully fetched and saved {} news for category: {}", 
-                            response.getArticles().size(), localCategory);
+                                    .build()));
+
+                    // One batched insert per category; stored URLs are skipped by ON CONFLICT (url_key).
+                    // createNews is called on this bean, so its transaction is opened here: the fingerprints
+                    // and URL keys of the batch are only registered once it commits
+                    Integer saved = transactionTemplate.execute(status -> createNews(batch));
+                    // The response only counts as seen once its articles are committed
+                    newsApiService.confirmTopHeadlines(apiCategory, "ru");
+
+                    log.info("Successfully fetched {} and saved {} news for category: {}",
+                            response.getArticles().size(), saved, localCategory);
                 }
             } catch (Exception e) {
-                log.error("Error fetching news for category: " + entry.getValue(), e);
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Error fetching news for category: " + localCategory, cause);
+                // Nothing was saved, so the next run must not treat this response as unchanged
+                newsApiService.invalidateTopHeadlines(apiCategory, "ru");
             }
+        });
+    }
+
+    @Override
+    @Transactional
+    public int createNews(List<News> news) {
+        // Repeats of stored news (including reworded ones) and repeats within the batch are not written
+        List<News> newNews = duplicateDetector.filterNew(DuplicateDetector.NEWS, news,
+                item -> DuplicateDetector.newsText(item.getTitle(), item.getSummary()),
+                (item, fingerprint) -> {
+                    item.setContentHash(fingerprint.hash());
+                    item.setSimhash(fingerprint.simhash());
+                });
+        List<String> urlKeys = new ArrayList<>(newNews.size());
+        for (News item : newNews) {
+            item.setUrlKey(UrlNormalizer.normalize(item.getUrl()));
+            urlKeys.add(item.getUrlKey());
+        }
+        int inserted;
+        try {
+            inserted = newsBatchRepository.insertAll(newNews);
+        } catch (DataIntegrityViolationException e) {
+            // The category may have been deleted by another instance: the next batch reads it from the database again
+            newNews.stream()
+                    .map(News::getCategory)
+                    .filter(Objects::nonNull)
+                    .map(Category::getName)
+                    .distinct()
+                    .forEach(categoryService::evictCategory);
+            throw e;
         }
+        newsUrlIndex.register(urlKeys);
+        return inserted;
     }
 
     @Override
@@ -150,6 +233,10 @@ public class NewsServiceImpl implements NewsService {
                 .collect(Collectors.toList());
     }
     
+    private static PageCursor cursorOf(News news) {
+        return new PageCursor(news.getPublishedAt(), news.getId());
+    }
+
     private NewsResponse mapToNewsResponse(News news) {
         return NewsResponse.builder()
                 .id(news.getId())
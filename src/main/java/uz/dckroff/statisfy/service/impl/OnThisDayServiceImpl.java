@@ -0,0 +1,219 @@
+package uz.dckroff.statisfy.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import uz.dckroff.statisfy.collector.RequestRateLimiter;
+import uz.dckroff.statisfy.config.FactCollectorConfig;
+import uz.dckroff.statisfy.dto.fact.OnThisDayEvent;
+import uz.dckroff.statisfy.dto.fact.OnThisDayResponse;
+import uz.dckroff.statisfy.dto.fact.OnThisDayType;
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.repository.OnThisDayRepository;
+import uz.dckroff.statisfy.service.CollectorJournalService;
+import uz.dckroff.statisfy.service.OnThisDayService;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Реализация хранилища "в этот день".
+ * Индекс в памяти - неизменяемые списки событий по календарному дню; при загрузке дня список заменяется целиком,
+ * поэтому чтение не блокируется и не видит частично загруженный день.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OnThisDayServiceImpl implements OnThisDayService {
+
+    private static final String HISTORY_API_URL = "https://history.muffinlabs.com/date/{month}/{day}";
+
+    // Источник в журнале запусков и ключ лимита запросов
+    private static final String JOURNAL_COLLECTOR = "facts";
+    private static final String SOURCE = "history";
+
+    private final RestTemplate restTemplate;
+    private final OnThisDayRepository onThisDayRepository;
+    private final FactCollectorConfig config;
+    private final RequestRateLimiter rateLimiter;
+    private final CollectorJournalService journalService;
+    @Qualifier("factCollectorExecutor")
+    private final AsyncTaskExecutor factExecutor;
+
+    private final Map<MonthDay, List<OnThisDayEvent>> index = new ConcurrentHashMap<>();
+    private final Map<MonthDay, LocalDateTime> fetchedAt = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * Загружает индекс из базы при старте приложения
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        try {
+            onThisDayRepository.findAll().forEach((date, events) -> index.put(date, List.copyOf(events)));
+            fetchedAt.putAll(onThisDayRepository.findFetchedDates());
+            log.info("Загружено событий \"в этот день\": {} дней из 366", fetchedAt.size());
+        } catch (Exception e) {
+            log.error("Не удалось загрузить события \"в этот день\" из базы", e);
+        }
+    }
+
+    @Override
+    public OnThisDayResponse getOnThisDay(MonthDay date, OnThisDayType type, int limit) {
+        List<OnThisDayEvent> events = index.getOrDefault(date, List.of()).stream()
+                .filter(event -> type == null || event.getType() == type)
+                .limit(Math.max(0, limit))
+                .toList();
+
+        return OnThisDayResponse.builder()
+                .month(date.getMonthValue())
+                .day(date.getDayOfMonth())
+                .available(fetchedAt.containsKey(date))
+                .events(events)
+                .build();
+    }
+
+    @Override
+    public List<OnThisDayEvent> getOrFetchEvents(MonthDay date) {
+        if (fetchedAt.containsKey(date)) {
+            return index.getOrDefault(date, List.of());
+        }
+        try {
+            return fetchDay(date);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Загрузка событий за " + date + " прервана", e);
+        }
+    }
+
+    @Override
+    public int refresh(boolean force) {
+        if (!config.getOnThisDay().isEnabled()) {
+            return 0;
+        }
+        if (!refreshing.compareAndSet(false, true)) {
+            log.info("Обновление событий \"в этот день\" уже выполняется");
+            return 0;
+        }
+
+        try {
+            LocalDateTime staleBefore = LocalDateTime.now().minusDays(config.getOnThisDay().getRefreshDays());
+            List<MonthDay> dates = new ArrayList<>();
+            for (Month month : Month.values()) {
+                for (int day = 1; day <= month.maxLength(); day++) {
+                    MonthDay date = MonthDay.of(month, day);
+                    LocalDateTime fetched = fetchedAt.get(date);
+                    if (force || fetched == null || fetched.isBefore(staleBefore)) {
+                        dates.add(date);
+                    }
+                }
+            }
+            if (dates.isEmpty()) {
+                return 0;
+            }
+
+            log.info("Загрузка событий \"в этот день\": {} дней", dates.size());
+            CollectorRun run = journalService.startRun(JOURNAL_COLLECTOR, SOURCE + "-store");
+
+            List<Future<List<OnThisDayEvent>>> futures = new ArrayList<>(dates.size());
+            for (MonthDay date : dates) {
+                futures.add(factExecutor.submit(() -> fetchDay(date)));
+            }
+
+            int loaded = 0;
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    try {
+                        futures.get(i).get();
+                        loaded++;
+                    } catch (ExecutionException e) {
+                        log.error("Ошибка при загрузке событий за {}", dates.get(i),
+                                e.getCause() != null ? e.getCause() : e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                journalService.failRun(run, e);
+                return loaded;
+            }
+
+            journalService.completeRun(run, loaded);
+            log.info("Загрузка событий \"в этот день\" завершена: {} из {} дней", loaded, dates.size());
+            return loaded;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Загружает день из внешнего API, сохраняет в базу и заменяет его в индексе
+     */
+    private List<OnThisDayEvent> fetchDay(MonthDay date) throws InterruptedException {
+        rateLimiter.acquire(SOURCE, config.getRateLimit(SOURCE));
+
+        ResponseEntity<Map> response = restTemplate.exchange(
+                HISTORY_API_URL,
+                HttpMethod.GET,
+                new HttpEntity<>(createHeaders()),
+                Map.class,
+                date.getMonthValue(),
+                date.getDayOfMonth()
+        );
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null
+                || !(response.getBody().get("data") instanceof Map<?, ?> data)) {
+            throw new IllegalStateException("Пустой ответ History API за " + date);
+        }
+
+        List<OnThisDayEvent> events = new ArrayList<>();
+        for (OnThisDayType type : OnThisDayType.values()) {
+            if (!(data.get(type.getApiSection()) instanceof List<?> items)) {
+                continue;
+            }
+            for (Object item : items) {
+                if (item instanceof Map<?, ?> event && event.get("text") != null) {
+                    events.add(OnThisDayEvent.builder()
+                            .type(type)
+                            .year(event.get("year") != null ? event.get("year").toString() : "")
+                            .text(event.get("text").toString())
+                            .build());
+                }
+            }
+        }
+
+        onThisDayRepository.replaceDay(date, events);
+        List<OnThisDayEvent> dayEvents = Collections.unmodifiableList(events);
+        index.put(date, dayEvents);
+        fetchedAt.put(date, LocalDateTime.now());
+        log.debug("Загружено {} событий за {}", events.size(), date);
+        return dayEvents;
+    }
+
+    private HttpHeaders createHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+        headers.set("User-Agent", config.getUserAgent());
+        return headers;
+    }
+}
@@ -0,0 +1,56 @@
+package uz.dckroff.statisfy.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uz.dckroff.statisfy.dto.statistic.RollupDimension;
+import uz.dckroff.statisfy.dto.statistic.RollupPeriod;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+import uz.dckroff.statisfy.dto.statistic.StatisticRollupResponse;
+import uz.dckroff.statisfy.exception.BadRequestException;
+import uz.dckroff.statisfy.repository.StatisticRollupRepository;
+import uz.dckroff.statisfy.service.StatisticRollupService;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticRollupServiceImpl implements StatisticRollupService {
+
+    private final StatisticRollupRepository statisticRollupRepository;
+
+    @Override
+    public List<StatisticRollupResponse> getRollups(RollupDimension dimension, String key, RollupPeriod period,
+                                                    LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+        return statisticRollupRepository.find(dimension, key, period, from, to);
+    }
+
+    @Override
+    @Transactional
+    public void refresh(Collection<StatisticRequest> requests) {
+        Map<Long, Set<LocalDate>> datesByCategory = new LinkedHashMap<>();
+        Map<String, Set<LocalDate>> datesByIndicator = new LinkedHashMap<>();
+
+        for (StatisticRequest request : requests) {
+            if (request.getCategoryId() != null) {
+                datesByCategory.computeIfAbsent(request.getCategoryId(), id -> new HashSet<>()).add(request.getDate());
+            }
+            if (request.getIndicator() != null && !request.getIndicator().isBlank()
+                    && request.getCountryCode() != null && !request.getCountryCode().isBlank()) {
+                datesByIndicator.computeIfAbsent(request.getIndicator(), id -> new HashSet<>()).add(request.getDate());
+            }
+        }
+
+        statisticRollupRepository.refreshCategories(datesByCategory);
+        statisticRollupRepository.refreshIndicators(datesByIndicator);
+    }
+}
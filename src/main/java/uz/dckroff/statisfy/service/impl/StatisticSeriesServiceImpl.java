@@ -0,0 +1,52 @@
+package uz.dckroff.statisfy.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import uz.dckroff.statisfy.dto.statistic.SeriesResolution;
+import uz.dckroff.statisfy.dto.statistic.StatisticSeriesResponse;
+import uz.dckroff.statisfy.exception.BadRequestException;
+import uz.dckroff.statisfy.repository.StatisticSeriesRepository;
+import uz.dckroff.statisfy.service.StatisticSeriesService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticSeriesServiceImpl implements StatisticSeriesService {
+
+    private static final int MAX_COUNTRIES = 50;
+
+    private final StatisticSeriesRepository statisticSeriesRepository;
+
+    @Override
+    public List<StatisticSeriesResponse> getSeries(String indicator, List<String> countryCodes,
+                                                   LocalDate from, LocalDate to, SeriesResolution resolution) {
+        if (indicator == null || indicator.isBlank()) {
+            throw new BadRequestException("Indicator is required");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("Start date must not be after end date");
+        }
+        if (countryCodes != null && countryCodes.size() > MAX_COUNTRIES) {
+            throw new BadRequestException("At most " + MAX_COUNTRIES + " countries can be requested at once");
+        }
+
+        List<String> codes = countryCodes == null ? List.of() : countryCodes.stream()
+                .map(code -> code.trim().toUpperCase())
+                .filter(code -> !code.isEmpty())
+                .distinct()
+                .toList();
+
+        List<StatisticSeriesResponse> series = statisticSeriesRepository.findSeries(indicator, codes);
+        Map<Long, List<StatisticSeriesResponse.Point>> points = statisticSeriesRepository.findPoints(
+                series.stream().map(StatisticSeriesResponse::getId).toList(), from, to, resolution);
+
+        for (StatisticSeriesResponse item : series) {
+            item.setResolution(resolution);
+            item.setPoints(points.getOrDefault(item.getId(), List.of()));
+        }
+        return series;
+    }
+}
@@ -4,18 +4,27 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uz.dckroff.statisfy.dto.category.CategoryResponse;
 import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
 import uz.dckroff.statisfy.dto.statistic.StatisticResponse;
+import uz.dckroff.statisfy.exception.BadRequestException;
 import uz.dckroff.statisfy.exception.ResourceNotFoundException;
 import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.model.Statistic;
 import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.StatisticBatchRepository;
 import uz.dckroff.statisfy.repository.StatisticRepository;
+import uz.dckroff.statisfy.repository.StatisticSeriesRepository;
+import uz.dckroff.statisfy.service.StatisticRollupService;
 import uz.dckroff.statisfy.service.StatisticService;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +33,9 @@ public class StatisticServiceImpl implements StatisticService {
 
     private final StatisticRepository statisticRepository;
     private final CategoryRepository categoryRepository;
+    private final StatisticBatchRepository statisticBatchRepository;
+    private final StatisticSeriesRepository statisticSeriesRepository;
+    private final StatisticRollupService statisticRollupService;
 
     @Override
     public List<StatisticResponse> getAllStatistics() {
@@ -52,24 +64,76 @@ public class StatisticServiceImpl implements StatisticService {
     }
 
     @Override
+    @Transactional
     public StatisticResponse createStatistic(StatisticRequest request) {
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + request.getCategoryId()));
         
+        if (statisticRepository.existsByTitleAndDateAndSource(request.getTitle(), request.getDate(), sourceOf(request))) {
+            throw new BadRequestException("Statistic already exists for title '" + request.getTitle()
+                    + "', date " + request.getDate() + " and source '" + request.getSource() + "'");
+        }
+        
         Statistic statistic = Statistic.builder()
                 .title(request.getTitle())
                 .value(request.getValue())
                 .unit(request.getUnit())
                 .category(category)
-                .source(request.getSource())
+                .source(sourceOf(request))
                 .date(request.getDate())
+                .indicator(request.getIndicator())
+                .countryCode(request.getCountryCode())
                 .build();
         
-        Statistic savedStatistic = statisticRepository.save(statistic);
+        // Агрегаты пересчитываются через JDBC, поэтому изменения сущности сбрасываются в базу заранее
+        Statistic savedStatistic = statisticRepository.saveAndFlush(statistic);
+        statisticSeriesRepository.upsertPoints(List.of(request));
+        statisticRollupService.refresh(List.of(request));
         return mapToStatisticResponse(savedStatistic);
     }
 
     @Override
+    @Transactional
+    public int upsertStatistics(List<StatisticRequest> requests) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+
+        BatchCategories.Resolved<StatisticRequest> resolved = BatchCategories.resolve(categoryRepository, "statistics",
+                requests, StatisticRequest::getCategoryId);
+        Map<Long, Category> categories = resolved.categories();
+        List<StatisticRequest> accepted = resolved.accepted();
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+
+        // Внутри одного INSERT ... ON CONFLICT ключ не может повторяться: оставляем последнее значение
+        Map<List<Object>, Statistic> byNaturalKey = new LinkedHashMap<>();
+        for (StatisticRequest request : accepted) {
+            Statistic statistic = Statistic.builder()
+                    .title(request.getTitle())
+                    .value(request.getValue())
+                    .unit(request.getUnit())
+                    .category(categories.get(request.getCategoryId()))
+                    .source(sourceOf(request))
+                    .date(request.getDate())
+                    .indicator(request.getIndicator())
+                    .countryCode(request.getCountryCode())
+                    .build();
+            byNaturalKey.put(Arrays.asList(statistic.getTitle(), statistic.getDate(), statistic.getSource()), statistic);
+        }
+
+        int affected = statisticBatchRepository.upsertAll(new ArrayList<>(byNaturalKey.values()));
+        int affectedPoints = statisticSeriesRepository.upsertPoints(accepted);
+        // Счетчики точные: повторная загрузка тех же значений витрины не пересчитывает
+        if (affected > 0 || affectedPoints > 0) {
+            statisticRollupService.refresh(accepted);
+        }
+        return affected;
+    }
+
+    @Override
+    @Transactional
     public StatisticResponse updateStatistic(Long id, StatisticRequest request) {
         Statistic statistic = statisticRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Statistic not found with id: " + id));
@@ -77,23 +141,37 @@ public class StatisticServiceImpl implements StatisticService {
         Category category = categoryRepository.findById(request.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + request.getCategoryId()));
         
+        StatisticRequest previous = toRequest(statistic);
+        
         statistic.setTitle(request.getTitle());
         statistic.setValue(request.getValue());
         statistic.setUnit(request.getUnit());
         statistic.setCategory(category);
-        statistic.setSource(request.getSource());
+        statistic.setSource(sourceOf(request));
         statistic.setDate(request.getDate());
+        statistic.setIndicator(request.getIndicator());
+        statistic.setCountryCode(request.getCountryCode());
         
-        Statistic updatedStatistic = statisticRepository.save(statistic);
+        Statistic updatedStatistic = statisticRepository.saveAndFlush(statistic);
+        // Точка ряда переезжает вместе с записью: прежняя удаляется, если изменился ряд или дата
+        if (!seriesKey(previous).equals(seriesKey(request))) {
+            statisticSeriesRepository.deletePoint(previous);
+        }
+        statisticSeriesRepository.upsertPoints(List.of(request));
+        statisticRollupService.refresh(List.of(previous, request));
         return mapToStatisticResponse(updatedStatistic);
     }
 
     @Override
+    @Transactional
     public void deleteStatistic(Long id) {
-        if (!statisticRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Statistic not found with id: " + id);
-        }
-        statisticRepository.deleteById(id);
+        Statistic statistic = statisticRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Statistic not found with id: " + id));
+        StatisticRequest previous = toRequest(statistic);
+        statisticRepository.delete(statistic);
+        statisticRepository.flush();
+        statisticSeriesRepository.deletePoint(previous);
+        statisticRollupService.refresh(List.of(previous));
     }
 
     @Override
@@ -103,6 +181,34 @@ public class StatisticServiceImpl implements StatisticService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Данные записи до изменения: по ним удаляется прежняя точка ряда и пересчитываются прежние агрегаты
+     */
+    private static StatisticRequest toRequest(Statistic statistic) {
+        return StatisticRequest.builder()
+                .title(statistic.getTitle())
+                .value(statistic.getValue())
+                .unit(statistic.getUnit())
+                .categoryId(statistic.getCategory() != null ? statistic.getCategory().getId() : null)
+                .source(statistic.getSource())
+                .date(statistic.getDate())
+                .indicator(statistic.getIndicator())
+                .countryCode(statistic.getCountryCode())
+                .build();
+    }
+
+    /**
+     * Источник записи для естественного ключа (title, date, source): отсутствующий хранится как '',
+     * иначе уникальный индекс не считал бы такие записи повторами
+     */
+    private static String sourceOf(StatisticRequest request) {
+        return request.getSource() != null ? request.getSource() : "";
+    }
+
+    private static List<Object> seriesKey(StatisticRequest request) {
+        return Arrays.asList(request.getIndicator(), request.getCountryCode(), request.getDate());
+    }
+    
     private StatisticResponse mapToStatisticResponse(Statistic statistic) {
         return StatisticResponse.builder()
                 .id(statistic.getId())
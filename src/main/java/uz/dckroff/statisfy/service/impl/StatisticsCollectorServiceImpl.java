@@ -2,24 +2,32 @@ package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.*;
 import org.springframework.web.client.RestClientException;
+import uz.dckroff.statisfy.collector.IndicatorCollectorEngine;
 import uz.dckroff.statisfy.config.StatisticsCollectorConfig;
-import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
-import uz.dckroff.statisfy.model.Category;
-import uz.dckroff.statisfy.repository.CategoryRepository;
-import uz.dckroff.statisfy.service.StatisticService;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig.StatisticsSource;
+import uz.dckroff.statisfy.dto.statistic.StatisticsCollectionReport;
+import uz.dckroff.statisfy.dto.statistic.StatisticsCollectionReport.SourceResult;
+import uz.dckroff.statisfy.dto.statistic.StatisticsCollectionReport.SourceStatus;
 import uz.dckroff.statisfy.service.StatisticsCollectorService;
 
-import java.time.LocalDate;
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntSupplier;
 
 /**
  * Реализация сервиса сбора статистики из внешних источников
@@ -29,491 +37,242 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Slf4j
 public class StatisticsCollectorServiceImpl implements StatisticsCollectorService {
 
-    private final RestTemplate restTemplate;
-    private final CategoryRepository categoryRepository;
-    private final StatisticService statisticService;
     private final StatisticsCollectorConfig config;
-
-    // API для получения данных о населении (World Bank API)
-    private static final String POPULATION_API_URL = "http://api.worldbank.org/v2/country/all/indicator/SP.POP.TOTL?format=json&date=2022";
-
-    // API для получения экономических данных (Open Exchange Rates API)
-    private static final String ECONOMIC_API_URL = "https://openexchangerates.org/api/latest.json?app_id=00611bd639904a97957714d3263e8928";
-
-    // API для получения данных о здравоохранении (World Bank API)
-    private static final String HEALTH_API_URL = "http://api.worldbank.org/v2/country/all/indicator/SH.MED.BEDS.ZS?format=json&date=2022";
-
-    // API для получения данных об образовании (World Bank API)
-    private static final String EDUCATION_API_URL = "http://api.worldbank.org/v2/country/all/indicator/SE.XPD.TOTL.GD.ZS?format=json&date=2022";
-
-    // API для получения данных об экологии (World Bank API)
-    private static final String ENVIRONMENT_API_URL = "http://api.worldbank.org/v2/country/all/indicator/EN.ATM.CO2E.PC?format=json&date=2022";
+    private final IndicatorCollectorEngine indicatorEngine;
+    @Qualifier("statisticsCollectorExecutor")
+    private final AsyncTaskExecutor collectorExecutor;
 
     @Override
     public int collectPopulationStatistics() {
         log.info("Начало сбора статистики о населении");
-
-        if (!config.isEnabled()) {
-            log.warn("Сбор статистики отключен в настройках");
-            return 0;
-        }
-
-        int count = 0;
-
-        try {
-            Category category = getOrCreateCategory("Population", "Statistics about population by country");
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Получаем ответ от World Bank API
-            ResponseEntity<List<Object>> response = restTemplate.exchange(
-                    POPULATION_API_URL,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<>() {
-                    }
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                List<Object> responseBody = response.getBody();
-
-                if (responseBody == null || responseBody.size() < 2) {
-                    log.warn("Неполный или пустой ответ от API World Bank: {}", responseBody);
-                    return 0;
-                }
-
-                // Второй элемент — список данных по странам
-                List<Map<String, Object>> countries = (List<Map<String, Object>>) responseBody.get(1);
-
-                for (Map<String, Object> countryData : countries) {
-                    try {
-                        if (countryData.containsKey("country") && countryData.containsKey("value")) {
-                            Object countryObj = countryData.get("country");
-                            String countryName;
-
-                            if (countryObj instanceof Map) {
-                                Map<String, Object> countryMap = (Map<String, Object>) countryObj;
-                                countryName = (String) countryMap.get("value");
-                            } else if (countryObj instanceof String) {
-                                countryName = (String) countryObj;
-                            } else {
-                                log.warn("Unsupported country format: {}", countryObj);
-                                continue;
-                            }
-
-                            double population = parsePopulation(countryData.get("value"));
-
-                            StatisticRequest request = StatisticRequest.builder()
-                                    .title("Population of " + countryName)
-                                    .value(population)
-                                    .unit("people")
-                                    .categoryId(category.getId())
-                                    .source("World Bank")
-                                    .date(LocalDate.now())
-                                    .build();
-
-                            statisticService.createStatistic(request);
-                            count++;
-                            log.info("Сохранена статистика для {}: {} человек", countryName, population);
-                        }
-                    } catch (Exception e) {
-                        log.error("Ошибка обработки данных страны: {}", countryData, e);
-                    }
-                }
-
-                log.info("Завершен сбор статистики. Добавлено {} записей", count);
-                return count;
-
-            } else {
-                log.warn("API вернуло неожиданный статус: {}", response.getStatusCode());
-                return 0;
-            }
-
-        } catch (RestClientException e) {
-            log.error("Ошибка при вызове API", e);
-            return 0;
-        } catch (Exception e) {
-            log.error("Критическая ошибка при сборе статистики", e);
-            return 0;
-        }
-    }
-
-
-    // Вспомогательный метод для конвертации значения населения
-    private double parsePopulation(Object value) {
-        if (value instanceof Number) {
-            return ((Number) value).doubleValue();
-        } else if (value instanceof String) {
-            try {
-                return Double.parseDouble((String) value);
-            } catch (NumberFormatException e) {
-                return 0.0;
-            }
-        }
-        return 0.0;
+        return collectSource("population");
     }
 
     @Override
     public int collectEconomicStatistics() {
         log.info("Начало сбора экономической статистики");
-
-        if (!config.isEnabled()) {
-            log.warn("Сбор статистики отключен в настройках");
-            return 0;
-        }
-
-        AtomicInteger count = new AtomicInteger(0);
-
-        try {
-            // Получаем или создаём категорию для экономических данных
-            Category category = getOrCreateCategory(
-                    "Economy", "Economic statistics such as currency exchange rates"
-            );
-
-            // Заголовки запроса
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Запрос к Open Exchange Rates API
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    ECONOMIC_API_URL,
-                    HttpMethod.GET,
-                    entity,
-                    Map.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> data = response.getBody();
-
-                if (data.containsKey("rates")) {
-                    Map<String, Object> rates = (Map<String, Object>) data.get("rates");
-                    String baseCurrency = (String) data.getOrDefault("base", "USD");
-
-                    for (Map.Entry<String, Object> entry : rates.entrySet()) {
-                        try {
-                            String currency = entry.getKey();
-                            double rate = Double.parseDouble(entry.getValue().toString());
-
-                            StatisticRequest request = StatisticRequest.builder()
-                                    .title("Exchange rate: " + currency + " to " + baseCurrency)
-                                    .value(rate)
-                                    .unit(currency)
-                                    .categoryId(category.getId())
-                                    .source("Open Exchange Rates")
-                                    .date(LocalDate.now())
-                                    .build();
-
-                            statisticService.createStatistic(request);
-                            count.incrementAndGet();
-                            log.info("Сохранён курс: {} = {} {}", currency, rate, baseCurrency);
-                        } catch (Exception e) {
-                            log.error("Ошибка при обработке валюты: {}", entry.getKey(), e);
-                        }
-                    }
-                } else {
-                    log.warn("Ответ API не содержит ключ 'rates': {}", data);
-                }
-            } else {
-                log.warn("API вернул статус: {}", response.getStatusCode());
-            }
-
-            log.info("Сбор экономической статистики завершён. Добавлено записей: {}", count.get());
-            return count.get();
-        } catch (RestClientException e) {
-            log.error("Ошибка при получении экономических данных из API", e);
-            return 0;
-        } catch (Exception e) {
-            log.error("Неожиданная ошибка при сборе экономической статистики", e);
-            return 0;
-        }
+        return collectSource("economic");
     }
 
-
     @Override
     public int collectHealthStatistics() {
         log.info("Начало сбора статистики о здравоохранении");
+        return collectSource("health");
+    }
 
+    @Override
+    public int collectEducationStatistics() {
+        log.info("Начало сбора статистики об образовании");
+        return collectSource("education");
+    }
+
+    @Override
+    public int collectEnvironmentStatistics() {
+        log.info("Начало сбора статистики об экологии");
+        return collectSource("environment");
+    }
+
+    /**
+     * Собирает один настроенный источник по названию
+     *
+     * @param name название источника в statistics-collector.sources
+     * @return количество сохраненных записей, 0 при ошибке или отключенном источнике
+     */
+    private int collectSource(String name) {
         if (!config.isEnabled()) {
             log.warn("Сбор статистики отключен в настройках");
             return 0;
         }
 
-        AtomicInteger count = new AtomicInteger(0);
+        Optional<StatisticsSource> source = indicatorEngine.findSource(name);
+        if (source.isEmpty() || !source.get().isEnabled()) {
+            log.warn("Источник {} не настроен или отключен", name);
+            return 0;
+        }
 
         try {
-            Category category = getOrCreateCategory(
-                    "Health", "Hospital beds per 1,000 people"
-            );
-
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Получаем JSON как список
-            ResponseEntity<List<Object>> response = restTemplate.exchange(
-                    HEALTH_API_URL,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<>() {
-                    }
-            );
-
-            log.warn("Raw of response: {}", response.getStatusCode());
-            log.warn("Raw of response: {}", response.getBody().get(0));
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                List<Object> fullResponse = response.getBody();
-
-                if (fullResponse.size() >= 2) {
-                    List<Map<String, Object>> records = (List<Map<String, Object>>) fullResponse.get(1);
-
-                    for (Map<String, Object> record : records) {
-                        try {
-                            if (record.containsKey("country") && record.containsKey("value") && record.get("value") != null) {
-                                Map<String, Object> countryMap = (Map<String, Object>) record.get("country");
-                                String countryName = (String) countryMap.get("value");
-                                double beds = Double.parseDouble(record.get("value").toString());
-
-                                StatisticRequest request = StatisticRequest.builder()
-                                        .title("Hospital beds in " + countryName)
-                                        .value(beds)
-                                        .unit("per 1,000 people")
-                                        .categoryId(category.getId())
-                                        .source("World Bank")
-                                        .date(LocalDate.now())
-                                        .build();
-
-                                statisticService.createStatistic(request);
-                                count.incrementAndGet();
-                                log.info("Сохранена статистика по стране {}: {} койки на 1000 человек", countryName, beds);
-                            }
-                        } catch (Exception e) {
-                            log.error("Ошибка при обработке данных: {}", record, e);
-                        }
-                    }
-                } else {
-                    log.warn("Ответ от API не содержит данных: {}", fullResponse);
-                }
-            } else {
-                log.info("API вернуло неожиданный статус: {}", response.getStatusCode());
-                log.info("API вернуло неожиданный ответ: {}", response.getBody().get(0));
-            }
-
-            log.info("Завершен сбор статистики о здравоохранении. Добавлено {} записей", count.get());
-            return count.get();
-
+            return indicatorEngine.collect(source.get());
         } catch (RestClientException e) {
-            log.error("Ошибка при получении данных о здравоохранении из API", e);
+            log.error("Ошибка при получении данных источника {} из API", name, e);
             return 0;
         } catch (Exception e) {
-            log.error("Непредвиденная ошибка при сборе статистики о здравоохранении", e);
+            log.error("Непредвиденная ошибка при сборе источника {}", name, e);
             return 0;
         }
     }
 
     @Override
-    public int collectEducationStatistics() {
-        log.info("Начало сбора статистики об образовании");
+    public int collectAllStatistics() {
+        log.info("Запуск сбора всех категорий статистики");
+
         if (!config.isEnabled()) {
             log.warn("Сбор статистики отключен в настройках");
             return 0;
         }
 
-        AtomicInteger count = new AtomicInteger(0);
+        int totalCount = collectAllStatisticsWithReport().getTotalCollected();
 
-        try {
-            Category category = getOrCreateCategory("Образование", "Статистика об образовании");
-
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<List<Object>> response = restTemplate.exchange(
-                    EDUCATION_API_URL,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<>() {}
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null && response.getBody().size() > 1) {
-                Object rawData = response.getBody().get(1);
-                if (rawData instanceof List) {
-                    List<Map<String, Object>> countries = (List<Map<String, Object>>) rawData;
-
-                    for (Map<String, Object> countryData : countries) {
-                        try {
-                            Object valueObj = countryData.get("value");
-                            if (valueObj == null) {
-                                log.warn("Пропущена запись без значения: {}", countryData);
-                                continue;
-                            }
-
-                            if (!countryData.containsKey("country") || !(countryData.get("country") instanceof Map)) {
-                                log.warn("Неверный формат страны: {}", countryData);
-                                continue;
-                            }
-
-                            Map<String, Object> country = (Map<String, Object>) countryData.get("country");
-                            String countryName = (String) country.get("value");
-                            double educationSpending = Double.parseDouble(valueObj.toString());
-
-                            StatisticRequest request = StatisticRequest.builder()
-                                    .title("Education spending in " + countryName)
-                                    .value(educationSpending)
-                                    .unit("% of GDP")
-                                    .categoryId(category.getId())
-                                    .source("World Bank")
-                                    .date(LocalDate.now())
-                                    .build();
-
-                            statisticService.createStatistic(request);
-                            count.incrementAndGet();
-                            log.info("Сохранена статистика об образовании для {}: {}% от ВВП", countryName, educationSpending);
-                        } catch (Exception e) {
-                            log.error("Ошибка при обработке данных об образовании: {}", countryData, e);
-                        }
-                    }
-                }
-            } else {
-                log.error("API вернуло неожиданный ответ: {}", response.getBody());
-            }
+        log.info("Завершен сбор всей статистики. Всего добавлено {} записей", totalCount);
 
-            log.info("Завершен сбор статистики об образовании. Добавлено {} записей", count.get());
-            return count.get();
-        } catch (RestClientException e) {
-            log.error("Ошибка при получении данных об образовании из API", e);
-            return 0;
-        } catch (Exception e) {
-            log.error("Непредвиденная ошибка при сборе статистики об образовании", e);
-            return 0;
-        }
+        return totalCount;
     }
 
-
-
     @Override
-    public int collectEnvironmentStatistics() {
-        log.info("Начало сбора статистики об экологии");
+    public StatisticsCollectionReport collectAllStatisticsWithReport() {
+        boolean concurrent = config.getConcurrency().isEnabled();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
 
         if (!config.isEnabled()) {
             log.warn("Сбор статистики отключен в настройках");
-            return 0;
+            return StatisticsCollectionReport.builder()
+                    .concurrent(concurrent)
+                    .startedAt(startedAt)
+                    .build();
         }
 
-        AtomicInteger count = new AtomicInteger(0);
-
-        try {
-            // Создаём или получаем категорию
-            Category category = getOrCreateCategory("Environment", "CO2 emissions per capita");
-
-            // Заголовки
-            HttpHeaders headers = createHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Получаем JSON как список
-            ResponseEntity<List<Object>> response = restTemplate.exchange(
-                    ENVIRONMENT_API_URL,
-                    HttpMethod.GET,
-                    entity,
-                    new ParameterizedTypeReference<>() {}
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                List<Object> fullResponse = response.getBody();
-
-                if (fullResponse.size() >= 2) {
-                    List<Map<String, Object>> records = (List<Map<String, Object>>) fullResponse.get(1);
-
-                    for (Map<String, Object> record : records) {
-                        try {
-                            if (record.containsKey("country") && record.containsKey("value") && record.get("value") != null) {
-                                Map<String, Object> countryMap = (Map<String, Object>) record.get("country");
-                                String countryName = (String) countryMap.get("value");
-                                double co2Emissions = Double.parseDouble(record.get("value").toString());
-
-                                StatisticRequest request = StatisticRequest.builder()
-                                        .title("CO2 emissions in " + countryName)
-                                        .value(co2Emissions)
-                                        .unit("tons per capita")
-                                        .categoryId(category.getId())
-                                        .source("World Bank")
-                                        .date(LocalDate.now())
-                                        .build();
-
-                                statisticService.createStatistic(request);
-                                count.incrementAndGet();
-                                log.info("Сохранена статистика об экологии для {}: {} тонн CO2 на душу населения", countryName, co2Emissions);
-                            }
-                        } catch (Exception e) {
-                            log.error("Ошибка при обработке данных об экологии для записи: {}", record, e);
-                        }
-                    }
-                } else {
-                    log.warn("Ответ API не содержит ожидаемой структуры: {}", fullResponse);
-                }
-            }
-
-            log.info("Завершен сбор статистики об экологии. Добавлено {} записей", count.get());
-            return count.get();
-
-        } catch (RestClientException e) {
-            log.error("Ошибка при получении данных об экологии из API", e);
-            return 0;
-        } catch (Exception e) {
-            log.error("Непредвиденная ошибка при сборе статистики об экологии", e);
-            return 0;
+        // Ошибки источников не глушатся, а попадают в отчет со статусом FAILED
+        Map<String, IntSupplier> collectors = new LinkedHashMap<>();
+        for (StatisticsSource source : indicatorEngine.getEnabledSources()) {
+            collectors.put(source.getName(), () -> indicatorEngine.collect(source));
         }
+
+        List<SourceResult> results = concurrent
+                ? runConcurrently(collectors)
+                : runSequentially(collectors);
+
+        int total = results.stream().mapToInt(SourceResult::getCollected).sum();
+        int succeeded = (int) results.stream().filter(r -> r.getStatus() == SourceStatus.SUCCESS).count();
+
+        StatisticsCollectionReport report = StatisticsCollectionReport.builder()
+                .totalCollected(total)
+                .succeededSources(succeeded)
+                .failedSources(results.size() - succeeded)
+                .concurrent(concurrent)
+                .startedAt(startedAt)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                .sources(results)
+                .build();
+
+        log.info("Сбор статистики завершен за {} мс: {} записей, успешных источников {}, с ошибками {}",
+                report.getDurationMs(), total, succeeded, report.getFailedSources());
+        return report;
     }
 
+    /**
+     * Последовательно запускает сборщики в текущем потоке
+     */
+    private List<SourceResult> runSequentially(Map<String, IntSupplier> collectors) {
+        List<SourceResult> results = new ArrayList<>();
+        collectors.forEach((name, collector) -> results.add(runSource(name, collector)));
+        return results;
+    }
 
-    @Override
-    public int collectAllStatistics() {
-        log.info("Запуск сбора всех категорий статистики");
+    /**
+     * Запускает сборщики в ограниченном пуле потоков. Каждый источник ждет не дольше
+     * sourceTimeout с момента фактического старта, после чего задача отменяется с прерыванием потока.
+     */
+    private List<SourceResult> runConcurrently(Map<String, IntSupplier> collectors) {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getConcurrency().getSourceTimeout());
+        Map<String, SourceTask> tasks = new LinkedHashMap<>();
+        List<SourceResult> results = new ArrayList<>();
 
-        if (!config.isEnabled()) {
-            log.warn("Сбор статистики отключен в настройках");
-            return 0;
+        for (Map.Entry<String, IntSupplier> entry : collectors.entrySet()) {
+            SourceTask task = new SourceTask();
+            try {
+                task.future = collectorExecutor.submit(() -> {
+                    task.startedNanos = System.nanoTime();
+                    task.started.countDown();
+                    return runSource(entry.getKey(), entry.getValue());
+                });
+                tasks.put(entry.getKey(), task);
+            } catch (TaskRejectedException e) {
+                log.error("Пул сборщиков отклонил источник {}", entry.getKey(), e);
+                results.add(failedResult(entry.getKey(), SourceStatus.FAILED, "Задача отклонена пулом потоков", 0));
+            }
         }
 
-        int populationCount = collectPopulationStatistics();
-        int economicCount = collectEconomicStatistics();
-        int healthCount = collectHealthStatistics();
-        int educationCount = collectEducationStatistics();
-        int environmentCount = collectEnvironmentStatistics();
+        // Задачи в очереди стартуют не позже, чем освободятся потоки после таймаутов предыдущих
+        long startWaitNanos = timeoutNanos * Math.max(1, tasks.size());
+        boolean interrupted = false;
 
-        int totalCount = populationCount + economicCount + healthCount + educationCount + environmentCount;
+        for (Map.Entry<String, SourceTask> entry : tasks.entrySet()) {
+            String name = entry.getKey();
+            SourceTask task = entry.getValue();
 
-        log.info("Завершен сбор всей статистики. Всего добавлено {} записей", totalCount);
+            if (interrupted) {
+                task.future.cancel(true);
+                results.add(failedResult(name, SourceStatus.CANCELLED, "Сбор прерван", 0));
+                continue;
+            }
 
-        return totalCount;
+            try {
+                if (!task.started.await(startWaitNanos, TimeUnit.NANOSECONDS)) {
+                    task.future.cancel(true);
+                    results.add(failedResult(name, SourceStatus.TIMED_OUT, "Источник не был запущен вовремя", 0));
+                    continue;
+                }
+                long remaining = timeoutNanos - (System.nanoTime() - task.startedNanos);
+                results.add(task.future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                task.future.cancel(true);
+                log.warn("Источник {} превысил таймаут {} мс и был отменен", name, config.getConcurrency().getSourceTimeout());
+                results.add(failedResult(name, SourceStatus.TIMED_OUT,
+                        "Превышен таймаут " + config.getConcurrency().getSourceTimeout() + " мс",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.startedNanos)));
+            } catch (CancellationException e) {
+                results.add(failedResult(name, SourceStatus.CANCELLED, "Сбор отменен", 0));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Источник {} завершился с ошибкой", name, cause);
+                results.add(failedResult(name, SourceStatus.FAILED, cause.getMessage(), 0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+                task.future.cancel(true);
+                results.add(failedResult(name, SourceStatus.CANCELLED, "Сбор прерван", 0));
+            }
+        }
+
+        return results;
     }
 
     /**
-     * Создаёт заголовки HTTP для запросов к API
-     *
-     * @return HttpHeaders с настроенными заголовками
+     * Выполняет один сборщик и замеряет его длительность
      */
-    private HttpHeaders createHeaders() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("User-Agent", config.getUserAgent());
-        return headers;
+    private SourceResult runSource(String name, IntSupplier collector) {
+        long started = System.nanoTime();
+        try {
+            int collected = collector.getAsInt();
+            return SourceResult.builder()
+                    .source(name)
+                    .collected(collected)
+                    .status(SourceStatus.SUCCESS)
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .build();
+        } catch (Exception e) {
+            log.error("Ошибка при сборе статистики из источника {}", name, e);
+            return failedResult(name, SourceStatus.FAILED, e.getMessage(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    private SourceResult failedResult(String name, SourceStatus status, String error, long durationMs) {
+        return SourceResult.builder()
+                .source(name)
+                .collected(0)
+                .status(status)
+                .error(error)
+                .durationMs(durationMs)
+                .build();
     }
 
     /**
-     * Получает существующую категорию или создаёт новую
-     *
-     * @param name        Название категории
-     * @param description Описание категории
-     * @return Объект категории
+     * Задача сбора по одному источнику с отметкой фактического старта
      */
-    private Category getOrCreateCategory(String name, String description) {
-        return categoryRepository.findByName(name)
-                .orElseGet(() -> {
-                    Category newCategory = Category.builder()
-                            .name(name)
-                            .description(description)
-                            .build();
-                    return categoryRepository.save(newCategory);
-                });
+    private static class SourceTask {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startedNanos;
+        private Future<SourceResult> future;
     }
-}
\ No newline at end of file
+}
@@ -2,348 +2,416 @@ package uz.dckroff.statisfy.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import uz.dckroff.statisfy.config.ScraperConfig;
+import uz.dckroff.statisfy.dedup.NewsUrlIndex;
+import uz.dckroff.statisfy.dedup.UrlNormalizer;
+import uz.dckroff.statisfy.exception.ResourceNotFoundException;
 import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.CollectorWatermark;
 import uz.dckroff.statisfy.model.News;
-import uz.dckroff.statisfy.repository.CategoryRepository;
-import uz.dckroff.statisfy.repository.NewsRepository;
+import uz.dckroff.statisfy.repository.CrawlFrontierRepository;
+import uz.dckroff.statisfy.scraper.CrawlFrontier;
+import uz.dckroff.statisfy.scraper.HostFetchScheduler;
+import uz.dckroff.statisfy.scraper.SiteExtractor;
+import uz.dckroff.statisfy.service.CategoryService;
+import uz.dckroff.statisfy.service.CollectorJournalService;
+import uz.dckroff.statisfy.service.NewsService;
 import uz.dckroff.statisfy.service.WebScraperService;
 
 import java.io.IOException;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WebScraperServiceImpl implements WebScraperService {
 
-    private final NewsRepository newsRepository;
-    private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
+    private final NewsService newsService;
+    private final NewsUrlIndex newsUrlIndex;
+    private final CollectorJournalService journalService;
+    private final ScraperConfig config;
+    private final HostFetchScheduler fetchScheduler;
+    private final SiteExtractor extractor;
+    private final CrawlFrontier frontier;
+    @Qualifier("taskExecutor")
+    private final Executor taskExecutor;
 
-    private static final String KUN_UZ_URL = "https://kun.uz/news/category/uzbekiston";
-    private static final String GAZETA_UZ_URL = "https://www.gazeta.uz/ru/";
+    private static final String KUN_UZ = "kun.uz";
+    private static final String GAZETA_UZ = "gazeta.uz";
 
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36";
-    private static final int TIMEOUT_MS = 10000;
+    // Watermark sources are "scraper:" + site name: the newest article seen on each site
+    private static final String SOURCE_PREFIX = "scraper:";
+
+    private static final String NO_SUMMARY = "No summary available";
+
+    // Column limits of news.title and news.url: longer titles are cut, articles with longer URLs are skipped
+    private static final int TITLE_MAX_LENGTH = 255;
+    private static final int URL_MAX_LENGTH = 500;
 
     @Override
     public int scrapeKunUz() {
-        log.info("Starting news scraping from kun.uz");
-        AtomicInteger savedNewsCount = new AtomicInteger(0);
+        return scrapeSite(KUN_UZ);
+    }
+
+    @Override
+    public int scrapeGazetaUz() {
+        return scrapeSite(GAZETA_UZ);
+    }
+
+    @Override
+    public int scrapeSite(String name) {
+        ScraperConfig.Site site = config.getSite(name);
+        if (site == null) {
+            throw new ResourceNotFoundException("Scraper site", "name", name);
+        }
+        return scrape(site, new AtomicInteger(config.getBudget(HostFetchScheduler.hostOf(site.getUrl()))));
+    }
+
+    /**
+     * Scrape all enabled sites in parallel. Each site handles its own errors, and the host limits
+     * of HostFetchScheduler keep every site polite while the sites are scraped side by side.
+     * Sites served from the same host draw on one shared budget for the run.
+     */
+    @Override
+    public int scrapeAllSources() {
+        Map<String, AtomicInteger> budgets = new HashMap<>();
+        List<CompletableFuture<Integer>> sites = config.getSites().stream()
+                .filter(ScraperConfig.Site::isEnabled)
+                .map(site -> {
+                    AtomicInteger budget = budgets.computeIfAbsent(HostFetchScheduler.hostOf(site.getUrl()),
+                            host -> new AtomicInteger(config.getBudget(host)));
+                    return CompletableFuture.supplyAsync(() -> scrape(site, budget), taskExecutor);
+                })
+                .toList();
+
+        return sites.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    /**
+     * Scrape one site from its crawl frontier: page through the listing down to known content, then read the
+     * queued article pages concurrently in batches, all within the per-run budget of the host
+     * @param budget pages the site's host may still serve in this run; shared by the sites on that host
+     */
+    private int scrape(ScraperConfig.Site site, AtomicInteger budget) {
+        log.info("Starting news scraping from {}", site.getName());
+        int fetched = 0;
+        int saved = 0;
 
         try {
-            // Create or get default category
-            Category defaultCategory = getOrCreateCategory("Uzbekistan News", "Latest news from Uzbekistan");
-
-            // Connect to main news page
-            Document mainPage = Jsoup.connect("https://kun.uz/en/news/list")
-                    .userAgent(USER_AGENT)
-                    .timeout(TIMEOUT_MS)
-                    .followRedirects(true)
-                    .get();
-
-            // Extract news links from main page
-            Elements newsLinks = mainPage.select("a[href*='/en/news/']");
-            log.info("Found {} potential news links on kun.uz", newsLinks.size());
-
-            // Process each news link (limit to 30 to avoid overwhelming)
-            newsLinks.stream()
-                    .limit(30)
-                    .forEach(linkElement -> {
-                        try {
-                            String relativeUrl = linkElement.attr("href");
-                            if (!relativeUrl.startsWith("/en/news/") || relativeUrl.equals("/en/news/list")) {
-                                return;
-                            }
-
-                            String fullUrl = "https://kun.uz" + relativeUrl;
-                            String linkTitle = linkElement.text().trim();
-
-                            // Skip if title is empty or too short
-                            if (linkTitle.isEmpty() || linkTitle.length() < 15) {
-                                return;
-                            }
-
-                            // Check if news already exists by URL
-                            if (newsRepository.existsByTitleAndUrl(linkTitle, fullUrl)) {
-                                log.debug("News already exists: {}", linkTitle);
-                                return;
-                            }
-
-                            // Add small delay to be respectful
-                            Thread.sleep(500);
-
-                            // Scrape full article details
-                            Document articlePage = Jsoup.connect(fullUrl)
-                                    .userAgent(USER_AGENT)
-                                    .timeout(TIMEOUT_MS)
-                                    .followRedirects(true)
-                                    .get();
-
-                            // Extract article title (try multiple selectors)
-                            String title = linkTitle;
-                            Element titleElement = articlePage.selectFirst("h1.single-header__title");
-                            if (titleElement == null) {
-                                titleElement = articlePage.selectFirst("h1");
-                            }
-                            if (titleElement != null && !titleElement.text().trim().isEmpty()) {
-                                title = titleElement.text().trim();
-                            }
-
-                            // Extract summary/description
-                            String summary = "No summary available";
-                            Element metaDesc = articlePage.selectFirst("meta[name=description]");
-                            if (metaDesc != null && !metaDesc.attr("content").isEmpty()) {
-                                summary = metaDesc.attr("content").trim();
-                            } else {
-                                Element leadElement = articlePage.selectFirst(".single-header__lead");
-                                if (leadElement == null) {
-                                    leadElement = articlePage.selectFirst(".single-content p");
-                                }
-                                if (leadElement != null && !leadElement.text().trim().isEmpty()) {
-                                    String text = leadElement.text().trim();
-                                    summary = text.length() > 300 ? text.substring(0, 300) + "..." : text;
-                                }
-                            }
-
-                            // Extract content
-                            String content = "Content not available";
-                            Element contentElement = articlePage.selectFirst(".single-content");
-                            if (contentElement != null) {
-                                // Remove unwanted elements
-                                contentElement.select("script, style, .advertisement, .ads, .social-share").remove();
-                                String fullContent = contentElement.text().trim();
-                                if (!fullContent.isEmpty()) {
-                                    content = fullContent.length() > 2000 ? fullContent.substring(0, 2000) + "..." : fullContent;
-                                }
-                            }
-
-                            // Extract publish date
-                            LocalDateTime publishedDate = LocalDateTime.now();
-                            Element dateElement = articlePage.selectFirst(".single-header__date");
-                            if (dateElement != null) {
-                                String dateText = dateElement.text().trim();
-                                LocalDateTime parsedDate = parseKunUzDate(dateText);
-                                if (parsedDate != null) {
-                                    publishedDate = parsedDate;
-                                }
-                            }
-
-                            // Determine category from URL
-                            String categoryName = determineCategoryFromUrl(relativeUrl);
-                            Category articleCategory = getOrCreateCategory(categoryName, "News category: " + categoryName);
-
-                            // Create news entity
-                            News news = News.builder()
-                                    .title(title)
-                                    .summary(summary)
-                                    .url(fullUrl)
-                                    .source("kun.uz")
-                                    .publishedAt(publishedDate)
-                                    .category(articleCategory)
-                                    .isRelevant(true)
-                                    .build();
-
-                            // Save news
-                            newsRepository.save(news);
-                            savedNewsCount.incrementAndGet();
-                            log.info("Saved kun.uz news [{}]: {}", savedNewsCount.get(), title);
-
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            log.warn("Scraping interrupted");
-                            return;
-                        } catch (Exception e) {
-                            log.error("Error processing kun.uz news item: {}", e.getMessage());
-                        }
-                    });
-
-            log.info("Completed kun.uz news scraping. Successfully saved {} articles", savedNewsCount.get());
-            return savedNewsCount.get();
-
-        } catch (IOException e) {
-            log.error("Critical error during kun.uz scraping: {}", e.getMessage(), e);
-            return 0;
+            frontier.seed(site);
+            int taken;
+            while ((taken = take(budget, config.getFrontier().getBatchSize())) > 0) {
+                List<CrawlFrontierRepository.Entry> due = frontier.due(site, taken);
+                budget.addAndGet(taken - due.size());
+                if (due.isEmpty()) {
+                    break;
+                }
+                // Every claimed entry is processed: listing pages first, one at a time, since each may queue
+                // the next one; a page it queues is claimed by the next round
+                List<CrawlFrontierRepository.Entry> articles = new ArrayList<>();
+                for (CrawlFrontierRepository.Entry entry : due) {
+                    if (CrawlFrontier.LISTING.equals(entry.kind())) {
+                        saved += crawlListing(site, entry);
+                    } else {
+                        articles.add(entry);
+                    }
+                }
+                if (!articles.isEmpty()) {
+                    saved += crawlArticles(site, articles);
+                }
+                fetched += due.size();
+            }
+            if (budget.get() <= 0) {
+                log.info("{}: host budget used up after {} pages; the rest of the frontier waits for the next run",
+                        site.getName(), fetched);
+            }
+            log.info("Completed {} news scraping. {} pages fetched, successfully saved {} articles",
+                    site.getName(), fetched, saved);
+            return saved;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Scraping interrupted");
+            return saved;
         } catch (Exception e) {
-            log.error("Unexpected error during kun.uz scraping", e);
-            return 0;
+            log.error("Unexpected error during {} scraping", site.getName(), e);
+            return saved;
         }
     }
 
     /**
-     * Parse date from kun.uz format
+     * Read a listing page: queue its unknown articles (or save them directly for listing-only sites) and
+     * queue the next page unless the page already shows known content
+     * @return number of articles saved from the listing itself
      */
-    private LocalDateTime parseKunUzDate(String dateStr) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            return null;
+    private int crawlListing(ScraperConfig.Site site, CrawlFrontierRepository.Entry entry) throws InterruptedException {
+        boolean seed = CrawlFrontier.isSeed(entry);
+        try {
+            // An unchanged first page (304 or the same body) has nothing new to offer
+            HostFetchScheduler.PageReader<SiteExtractor.ListingPage> reader =
+                    parser -> extractor.readListing(site, parser, config.getMaxArticlesPerSource());
+            SiteExtractor.ListingPage page = seed
+                    ? fetchScheduler.fetchIfModified(entry.url(), reader)
+                    : fetchScheduler.fetch(entry.url(), reader);
+            if (page == null) {
+                log.info("Listing of {} has not changed since the last run", site.getName());
+                frontier.visited(site, entry);
+                return 0;
+            }
+            log.info("Found {} news links on {} (page {})", page.items().size(), site.getName(), entry.depth() + 1);
+
+            // The first page is cut at the last seen article; then stored articles are skipped with one batch URL lookup
+            CollectorWatermark watermark = seed ? journalService.getWatermark(SOURCE_PREFIX + site.getName()) : null;
+            List<SiteExtractor.ListingItem> unseen = seed
+                    ? newerThanWatermark(page.items(), SiteExtractor.ListingItem::url, watermark) : page.items();
+            List<SiteExtractor.ListingItem> items = unseen.isEmpty()
+                    ? unseen : newsUrlIndex.filterUnknown(unseen, SiteExtractor.ListingItem::url);
+            boolean reachedKnown = unseen.size() < page.items().size() || items.size() < distinctUrls(unseen);
+            log.debug("{} of {} {} links are new", items.size(), page.items().size(), site.getName());
+            items = storable(site, items);
+
+            int saved = 0;
+            if (site.getArticle() != null) {
+                reachedKnown |= frontier.enqueueArticles(site, items, entry.depth() + 1) > 0;
+            } else {
+                List<News> batch = new ArrayList<>();
+                for (SiteExtractor.ListingItem item : items) {
+                    batch.add(toNews(site, item, null));
+                }
+                // Articles of listing-only sites are not queued: a rejected one is only logged, but if none could
+                // be saved the page fails, so the watermark does not move past them
+                AtomicInteger rejected = new AtomicInteger();
+                saved = saveNews(site, batch, position -> rejected.incrementAndGet());
+                if (!batch.isEmpty() && rejected.get() == batch.size()) {
+                    throw new IllegalStateException("none of " + batch.size() + " articles could be saved");
+                }
+            }
+
+            if (!reachedKnown && page.nextPage() != null) {
+                frontier.enqueueListing(site, page.nextPage(), entry.depth() + 1);
+            }
+            if (seed) {
+                rememberNewest(watermark, page.items());
+            }
+            frontier.visited(site, entry);
+            return saved;
+
+        } catch (IOException | RuntimeException e) {
+            log.error("Error reading {} listing {}: {}", site.getName(), entry.url(), e.getMessage());
+            if (seed) {
+                // The page must be read in full next time even if it does not change
+                fetchScheduler.forget(entry.url());
+            }
+            frontier.failed(entry);
+            return 0;
         }
+    }
 
+    /**
+     * Download and read queued article pages concurrently; reading stops once the header fields are found
+     * @return number of articles saved
+     */
+    private int crawlArticles(ScraperConfig.Site site, List<CrawlFrontierRepository.Entry> entries)
+            throws InterruptedException {
+        List<Future<SiteExtractor.ArticleFields>> futures = new ArrayList<>();
         try {
-            // Common kun.uz date formats
-            String[] patterns = {
-                    "HH:mm / dd.MM.yyyy",
-                    "dd.MM.yyyy HH:mm",
-                    "dd.MM.yyyy",
-                    "yyyy-MM-dd HH:mm:ss",
-                    "yyyy-MM-dd"
-            };
-
-            for (String pattern : patterns) {
+            for (CrawlFrontierRepository.Entry entry : entries) {
+                futures.add(fetchScheduler.submit(entry.url(), parser -> extractor.readArticle(site, parser)));
+            }
+
+            List<News> batch = new ArrayList<>();
+            List<CrawlFrontierRepository.Entry> done = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                CrawlFrontierRepository.Entry entry = entries.get(i);
                 try {
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-                    if (pattern.contains("HH:mm")) {
-                        return LocalDateTime.parse(dateStr, formatter);
-                    } else {
-                        LocalDate date = LocalDate.parse(dateStr, formatter);
-                        return date.atStartOfDay();
-                    }
-                } catch (DateTimeParseException ignored) {
-                    // Try next pattern
+                    SiteExtractor.ArticleFields article = futures.get(i).get();
+                    batch.add(toNews(site, new SiteExtractor.ListingItem(entry.url(), entry.title(), entry.summary(),
+                            entry.publishedAt()), article));
+                    done.add(entry);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.error("Error processing {} news item {}: {}", site.getName(), entry.url(), cause.getMessage());
+                    frontier.failed(entry);
                 }
             }
 
-            // Handle "time / date" format specifically
-            if (dateStr.contains("/")) {
-                String[] parts = dateStr.split("/");
-                if (parts.length == 2) {
-                    String timePart = parts[0].trim();
-                    String datePart = parts[1].trim();
-                    try {
-                        LocalDate date = LocalDate.parse(datePart, DateTimeFormatter.ofPattern("dd.MM.yyyy"));
-                        LocalTime time = LocalTime.parse(timePart, DateTimeFormatter.ofPattern("HH:mm"));
-                        return LocalDateTime.of(date, time);
-                    } catch (DateTimeParseException ignored) {
-                        // If time parsing fails, use just the date
-                        LocalDate date = LocalDate.parse(datePart, DateTimeFormatter.ofPattern("dd.MM.yyyy"));
-                        return date.atStartOfDay();
-                    }
+            // The articles leave the frontier only once saved; an article that cannot be saved fails on its own
+            Set<Integer> rejected = new HashSet<>();
+            int saved = saveNews(site, batch, rejected::add);
+            List<CrawlFrontierRepository.Entry> stored = new ArrayList<>(done.size());
+            for (int i = 0; i < done.size(); i++) {
+                if (rejected.contains(i)) {
+                    frontier.failed(done.get(i));
+                } else {
+                    stored.add(done.get(i));
                 }
             }
+            frontier.visited(stored);
+            return saved;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
 
-        } catch (Exception e) {
-            log.debug("Could not parse kun.uz date: {}", dateStr);
+    /**
+     * Save news in one batch. If the batch is rejected, for example by a single row over a column limit,
+     * save the articles one at a time so that only the bad article fails.
+     * @param rejected receives the position in the batch of each article that could not be saved
+     * @return number of articles saved
+     */
+    private int saveNews(ScraperConfig.Site site, List<News> batch, IntConsumer rejected) {
+        try {
+            return newsService.createNews(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("Error saving {} news {}: {}", site.getName(), batch.get(0).getUrl(), e.getMessage());
+                rejected.accept(0);
+                return 0;
+            }
+            log.warn("Saving {} {} news as one batch failed ({}); saving them one at a time",
+                    batch.size(), site.getName(), e.getMessage());
         }
 
-        return null;
+        int saved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                saved += newsService.createNews(List.of(batch.get(i)));
+            } catch (RuntimeException e) {
+                log.error("Error saving {} news {}: {}", site.getName(), batch.get(i).getUrl(), e.getMessage());
+                rejected.accept(i);
+            }
+        }
+        return saved;
     }
 
     /**
-     * Determine category from URL path
+     * Listing items whose URL fits news.url; the others could never be saved
      */
-    private String determineCategoryFromUrl(String url) {
-        if (url.contains("/society/")) return "Society";
-        if (url.contains("/politics/")) return "Politics";
-        if (url.contains("/economy/")) return "Economy";
-        if (url.contains("/sport/")) return "Sport";
-        if (url.contains("/culture/")) return "Culture";
-        if (url.contains("/world/")) return "World";
-        if (url.contains("/tech/")) return "Technology";
-        if (url.contains("/health/")) return "Health";
-
-        return "General";
+    private static List<SiteExtractor.ListingItem> storable(ScraperConfig.Site site, List<SiteExtractor.ListingItem> items) {
+        if (items.stream().allMatch(item -> item.url().length() <= URL_MAX_LENGTH)) {
+            return items;
+        }
+        return items.stream()
+                .filter(item -> {
+                    if (item.url().length() <= URL_MAX_LENGTH) {
+                        return true;
+                    }
+                    log.warn("{}: skipping article with a URL longer than {} characters: {}...",
+                            site.getName(), URL_MAX_LENGTH, item.url().substring(0, 100));
+                    return false;
+                })
+                .toList();
     }
 
-    @Override
-    public int scrapeGazetaUz() {
-        log.info("Starting scraping from gazeta.uz");
-        AtomicInteger count = new AtomicInteger(0);
-
-        try {
-            // Get or create category
-            Category category = getOrCreateCategory("Gazeta News", "News from gazeta.uz");
+    private News toNews(ScraperConfig.Site site, SiteExtractor.ListingItem item, SiteExtractor.ArticleFields article) {
+        String categoryName = extractor.categoryOf(site, item.url());
+        Category category = categoryService.getOrCreateCategory(categoryName, site.getCategoryDescription() != null
+                ? site.getCategoryDescription() : "News category: " + categoryName);
+
+        return News.builder()
+                .title(cut(firstNonNull(article != null ? article.title() : null, item.title()), TITLE_MAX_LENGTH))
+                .summary(firstNonNull(article != null ? article.summary() : null, item.summary(), NO_SUMMARY))
+                .url(item.url())
+                .source(site.getName())
+                .publishedAt(firstNonNull(article != null ? article.publishedAt() : null, item.publishedAt(),
+                        LocalDateTime.now()))
+                .category(category)
+                .isRelevant(true)
+                .build();
+    }
 
-            // Connect to the website
-            Document doc = Jsoup.connect(GAZETA_UZ_URL)
-                    .userAgent(USER_AGENT)
-                    .timeout(TIMEOUT_MS)
-                    .get();
+    /**
+     * Takes up to wanted pages from the host budget
+     * @return pages taken; 0 once the budget is used up
+     */
+    private static int take(AtomicInteger budget, int wanted) {
+        while (true) {
+            int left = budget.get();
+            int taken = Math.min(left, wanted);
+            if (taken <= 0) {
+                return 0;
+            }
+            if (budget.compareAndSet(left, left - taken)) {
+                return taken;
+            }
+        }
+    }
 
-            // Extract news articles
-            Elements newsElements = doc.select("div.nblock");
+    /**
+     * Cut text to maxLength characters, marking the cut with "..." and never splitting a surrogate pair
+     */
+    private static String cut(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        int end = maxLength - 3;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
 
-            newsElements.forEach(element -> {
-                try {
-                    Element titleElement = element.selectFirst("a.ntitle");
-                    if (titleElement != null) {
-                        String title = titleElement.text();
-                        String url = "https://www.gazeta.uz" + titleElement.attr("href");
-
-                        // Check if news already exists in database
-                        if (!newsRepository.existsByTitleAndUrl(title, url)) {
-                            // Extract summary
-                            Element summaryElement = element.selectFirst("p.ntext");
-                            String summary = summaryElement != null ? summaryElement.text() : "No summary available";
-
-                            // Extract date if available
-                            Element dateElement = element.selectFirst("p.ndate");
-                            LocalDateTime publishDate = LocalDateTime.now();
-                            if (dateElement != null) {
-                                try {
-                                    // Try to parse the date from the website
-                                    // Example format: "15 июня 2023, 14:30"
-                                    String dateStr = dateElement.text().trim();
-                                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d MMMM yyyy, HH:mm", new Locale("ru"));
-                                    publishDate = LocalDateTime.parse(dateStr, formatter);
-                                } catch (DateTimeParseException e) {
-                                    log.warn("Could not parse date from gazeta.uz: {}", dateElement.text(), e);
-                                }
-                            }
-
-                            // Create and save news
-                            News news = News.builder()
-                                    .title(title)
-                                    .summary(summary)
-                                    .url(url)
-                                    .source("gazeta.uz")
-                                    .publishedAt(publishDate)
-                                    .category(category)
-                                    .isRelevant(true)
-                                    .build();
-
-                            newsRepository.save(news);
-                            count.incrementAndGet();
-                            log.info("Saved news: {}", title);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing gazeta.uz news item", e);
-                }
-            });
+    private static int distinctUrls(List<SiteExtractor.ListingItem> items) {
+        return (int) items.stream().map(item -> UrlNormalizer.normalize(item.url())).filter(Objects::nonNull).distinct().count();
+    }
 
-            log.info("Completed scraping from gazeta.uz. Added {} new articles", count.get());
-            return count.get();
-        } catch (IOException e) {
-            log.error("Error scraping gazeta.uz", e);
-            return 0;
+    @SafeVarargs
+    private static <T> T firstNonNull(T... values) {
+        for (T value : values) {
+            if (value != null) {
+                return value;
+            }
         }
+        return null;
     }
 
-    @Override
-    public int scrapeAllSources() {
-        int kunUzCount = scrapeKunUz();
-        int gazetaUzCount = scrapeGazetaUz();
-
-        return kunUzCount + gazetaUzCount;
+    /**
+     * Listing items newer than the last seen article. Listings are ordered newest-first, so the walk stops
+     * at the article remembered by the previous run; a quiet period costs no lookups or article downloads.
+     * If the remembered article is no longer listed, all items are returned and stored ones are skipped by URL.
+     */
+    private <T> List<T> newerThanWatermark(List<T> items, Function<T, String> url, CollectorWatermark watermark) {
+        if (!config.isIncremental() || watermark.getLastKey() == null) {
+            return items;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (watermark.getLastKey().equals(UrlNormalizer.normalize(url.apply(items.get(i))))) {
+                log.debug("{}: {} new listing items before the last seen article", watermark.getSource(), i);
+                return items.subList(0, i);
+            }
+        }
+        return items;
     }
 
-    private Category getOrCreateCategory(String name, String description) {
-        return categoryRepository.findByName(name)
-                .orElseGet(() -> {
-                    Category newCategory = Category.builder()
-                            .name(name)
-                            .description(description)
-                            .build();
-                    return categoryRepository.save(newCategory);
-                });
+    /**
+     * Remember the newest listing item as the last seen article. Its unseen items are queued in the frontier
+     * (or saved) by now, so the next run can stop there.
+     */
+    private void rememberNewest(CollectorWatermark watermark, List<SiteExtractor.ListingItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        String newest = UrlNormalizer.normalize(items.get(0).url());
+        if (newest != null && !newest.equals(watermark.getLastKey())) {
+            watermark.setLastKey(newest);
+            journalService.saveWatermark(watermark);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,277 @@
+package uz.dckroff.statisfy.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig;
+import uz.dckroff.statisfy.dto.worldbank.WorldBankObservation;
+import uz.dckroff.statisfy.dto.worldbank.WorldBankPage;
+import uz.dckroff.statisfy.interceptor.ConditionalGetInterceptor;
+import uz.dckroff.statisfy.service.WorldBankApiService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Клиент World Bank API с полной пагинацией и потоковым разбором JSON.
+ * Ответ читается через JsonParser прямо из тела ответа в типизированные наблюдения,
+ * без промежуточного дерева Map/List.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorldBankApiServiceImpl implements WorldBankApiService {
+
+    // Шаблон URI: значения передаются переменными, в тег uri метрик попадает сам шаблон
+    private static final String INDICATOR_PAGE =
+            "/country/all/indicator/{indicator}?format=json&date={date}&per_page={perPage}&page={page}";
+
+    private final RestTemplate restTemplate;
+    private final StatisticsCollectorConfig config;
+    @Qualifier("worldBankPageExecutor")
+    private final AsyncTaskExecutor pageExecutor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public WorldBankPage fetchPage(String indicatorCode, String date, int page) {
+        WorldBankPage result = requestPage(indicatorCode, date, page, null);
+        if (result == null) {
+            throw new RestClientException("Пустой ответ World Bank API для " + indicatorCode + ", страница " + page);
+        }
+        return result;
+    }
+
+    @Override
+    public void fetchIndicator(String indicatorCode, String date, Consumer<List<WorldBankObservation>> pages) {
+        deliverPages(fetchPage(indicatorCode, date, 1), indicatorCode, date, pages);
+    }
+
+    @Override
+    public boolean fetchIndicatorIfChanged(String indicatorCode, String date,
+                                           Consumer<List<WorldBankObservation>> pages) {
+        // Метаданные первой страницы содержат lastupdated и total, поэтому любое обновление
+        // набора данных меняет и ее тело: неизменная первая страница означает неизменный индикатор
+        WorldBankPage first = requestPage(indicatorCode, date, 1, cacheGroup(indicatorCode, date));
+        if (first == null) {
+            log.info("Индикатор {} за {} не изменился с прошлой загрузки", indicatorCode, date);
+            return false;
+        }
+        deliverPages(first, indicatorCode, date, pages);
+        return true;
+    }
+
+    @Override
+    public void confirmIndicator(String indicatorCode, String date) {
+        conditionalGetInterceptor.confirm(cacheGroup(indicatorCode, date));
+    }
+
+    @Override
+    public void invalidateIndicator(String indicatorCode, String date) {
+        conditionalGetInterceptor.evict(cacheGroup(indicatorCode, date));
+    }
+
+    /**
+     * Загружает страницу; при переданной группе кэша запрос выполняется как условный
+     * @return страница или null, если источник не изменился
+     */
+    private WorldBankPage requestPage(String indicatorCode, String date, int page, String cacheGroup) {
+        return restTemplate.execute(config.getWorldBank().getBaseUrl() + INDICATOR_PAGE, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+                    request.getHeaders().set("User-Agent", config.getUserAgent());
+                    if (cacheGroup != null) {
+                        request.getHeaders().set(ConditionalGetInterceptor.CACHE_GROUP_HEADER, cacheGroup);
+                    }
+                },
+                response -> response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                        ? null
+                        : parsePage(response.getBody()),
+                indicatorCode, date, config.getWorldBank().getPerPage(), page);
+    }
+
+    private String cacheGroup(String indicatorCode, String date) {
+        return "worldbank:" + indicatorCode + ":" + date;
+    }
+
+    /**
+     * Передает обработчику первую страницу и дозагружает остальные параллельно.
+     * Вперед запрашивается не больше max-concurrent-pages страниц, поэтому в памяти одновременно
+     * находится лишь окно страниц, а не весь индикатор
+     */
+    private void deliverPages(WorldBankPage first, String indicatorCode, String date,
+                              Consumer<List<WorldBankObservation>> pages) {
+        pages.accept(first.getObservations());
+        if (first.getPages() <= 1) {
+            return;
+        }
+
+        log.debug("Индикатор {}: {} страниц, {} наблюдений", indicatorCode, first.getPages(), first.getTotal());
+
+        int window = Math.max(1, config.getWorldBank().getMaxConcurrentPages());
+        Deque<Future<WorldBankPage>> inFlight = new ArrayDeque<>(window);
+        int nextPage = 2;
+        try {
+            while (nextPage <= first.getPages() || !inFlight.isEmpty()) {
+                while (nextPage <= first.getPages() && inFlight.size() < window) {
+                    int pageNumber = nextPage++;
+                    inFlight.add(pageExecutor.submit(() -> fetchPage(indicatorCode, date, pageNumber)));
+                }
+                pages.accept(inFlight.poll().get().getObservations());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Загрузка индикатора " + indicatorCode + " прервана", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RestClientException("Ошибка загрузки страницы индикатора " + indicatorCode + ": " + cause.getMessage(), cause);
+        } finally {
+            inFlight.forEach(page -> page.cancel(true));
+        }
+    }
+
+    /**
+     * Разбирает ответ вида [ {метаданные}, [ {наблюдение}, ... ] ].
+     * При ошибке API первый элемент содержит поле message, а второго элемента нет.
+     */
+    private WorldBankPage parsePage(InputStream body) throws IOException {
+        WorldBankPage page = WorldBankPage.builder().build();
+        if (body == null) {
+            return page;
+        }
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Неожиданный формат ответа World Bank API");
+            }
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return page;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "page" -> page.setPage(parser.getValueAsInt());
+                    case "pages" -> page.setPages(parser.getValueAsInt());
+                    case "per_page" -> page.setPerPage(parser.getValueAsInt());
+                    case "total" -> page.setTotal(parser.getValueAsInt());
+                    case "message" -> throw new IOException("World Bank API вернул ошибку: " + readErrorMessage(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return page;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                page.getObservations().add(parseObservation(parser));
+            }
+        }
+        return page;
+    }
+
+    private WorldBankObservation parseObservation(JsonParser parser) throws IOException {
+        WorldBankObservation observation = new WorldBankObservation();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "indicator" -> {
+                    String[] idAndValue = readIdAndValue(parser);
+                    observation.setIndicatorId(idAndValue[0]);
+                    observation.setIndicatorName(idAndValue[1]);
+                }
+                case "country" -> {
+                    String[] idAndValue = readIdAndValue(parser);
+                    observation.setCountryId(idAndValue[0]);
+                    observation.setCountryName(idAndValue[1]);
+                }
+                case "countryiso3code" -> observation.setCountryIso3(parser.getValueAsString());
+                case "date" -> observation.setDate(parser.getValueAsString());
+                case "unit" -> observation.setUnit(parser.getValueAsString());
+                case "value" -> observation.setValue(readDouble(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return observation;
+    }
+
+    /**
+     * Читает вложенный объект вида {"id": "...", "value": "..."}
+     */
+    private String[] readIdAndValue(JsonParser parser) throws IOException {
+        String[] result = new String[2];
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return result;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                result[0] = parser.getValueAsString();
+            } else if ("value".equals(field)) {
+                result[1] = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private Double readDouble(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private String readErrorMessage(JsonParser parser) throws IOException {
+        StringBuilder message = new StringBuilder();
+        if (parser.currentToken() == JsonToken.START_ARRAY) {
+            int depth = 1;
+            while (depth > 0) {
+                JsonToken token = parser.nextToken();
+                if (token == null) {
+                    break;
+                }
+                if (token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT) {
+                    depth++;
+                } else if (token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT) {
+                    depth--;
+                } else if (token == JsonToken.VALUE_STRING && "value".equals(parser.getCurrentName())) {
+                    message.append(parser.getText()).append(' ');
+                }
+            }
+        } else {
+            message.append(parser.getValueAsString());
+        }
+        return message.toString().trim();
+    }
+}
@@ -0,0 +1,26 @@
+-- Journal of collector runs: one row per source per run, with the last saved checkpoint
+CREATE TABLE collector_runs (
+    id BIGSERIAL PRIMARY KEY,
+    collector VARCHAR(50) NOT NULL,
+    source VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    items_saved INTEGER NOT NULL DEFAULT 0,
+    checkpoint VARCHAR(255),
+    resumed_from_run_id BIGINT REFERENCES collector_runs(id) ON DELETE SET NULL,
+    error TEXT
+);
+
+CREATE INDEX idx_collector_runs_source_started ON collector_runs(source, started_at DESC);
+CREATE INDEX idx_collector_runs_status ON collector_runs(status);
+
+-- Per-source ingestion watermarks: what has already been ingested
+CREATE TABLE collector_watermarks (
+    source VARCHAR(100) PRIMARY KEY,
+    last_id BIGINT,
+    last_published_at TIMESTAMP,
+    last_page INTEGER,
+    last_key VARCHAR(255),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
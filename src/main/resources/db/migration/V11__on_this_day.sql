@@ -0,0 +1,19 @@
+-- Local "on this day" store: historical events, births and deaths for every calendar day
+CREATE TABLE on_this_day_events (
+    month SMALLINT NOT NULL,
+    day SMALLINT NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    position INTEGER NOT NULL,
+    year VARCHAR(20) NOT NULL,
+    text TEXT NOT NULL,
+    PRIMARY KEY (month, day, type, position)
+);
+
+-- When each calendar day was last fetched from the upstream API
+CREATE TABLE on_this_day_dates (
+    month SMALLINT NOT NULL,
+    day SMALLINT NOT NULL,
+    event_count INTEGER NOT NULL DEFAULT 0,
+    fetched_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (month, day)
+);
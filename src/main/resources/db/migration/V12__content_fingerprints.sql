@@ -0,0 +1,10 @@
+-- Content fingerprints for near-duplicate detection at ingest:
+-- SHA-256 of the normalized text (exact repeats) and a 64-bit SimHash (reworded repeats)
+ALTER TABLE facts ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE facts ADD COLUMN simhash BIGINT;
+
+ALTER TABLE news ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE news ADD COLUMN simhash BIGINT;
+
+CREATE INDEX idx_facts_content_hash ON facts(content_hash);
+CREATE INDEX idx_news_content_hash ON news(content_hash);
@@ -0,0 +1,5 @@
+-- Normalized article URL (see UrlNormalizer) for batch lookups of already stored news.
+-- Existing rows are backfilled at startup by NewsUrlIndex; rows whose URL repeats an earlier one keep NULL.
+ALTER TABLE news ADD COLUMN url_key VARCHAR(500);
+
+CREATE UNIQUE INDEX ux_news_url_key ON news(url_key);
@@ -0,0 +1,2 @@
+-- Scraper watermarks keep the normalized URL of the newest seen article (up to 500 characters, as news.url_key)
+ALTER TABLE collector_watermarks ALTER COLUMN last_key TYPE VARCHAR(500);
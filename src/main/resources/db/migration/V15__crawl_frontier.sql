@@ -0,0 +1,22 @@
+-- Crawl frontier of the web scraper: listing pages and articles waiting to be fetched.
+-- The first listing page of each site stays as a seed and is revisited on schedule; deeper listing pages
+-- and articles are removed once processed, or retried later with a growing attempt count.
+CREATE TABLE crawl_frontier (
+    id BIGSERIAL PRIMARY KEY,
+    site VARCHAR(100) NOT NULL,
+    url VARCHAR(1000) NOT NULL,
+    url_key VARCHAR(500) NOT NULL,
+    kind VARCHAR(20) NOT NULL,
+    depth INTEGER NOT NULL,
+    priority INTEGER NOT NULL,
+    next_visit_at TIMESTAMP NOT NULL,
+    last_visited_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    title VARCHAR(500),
+    summary TEXT,
+    published_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX ux_crawl_frontier_url_key ON crawl_frontier(url_key);
+CREATE INDEX idx_crawl_frontier_due ON crawl_frontier(site, priority, next_visit_at);
@@ -0,0 +1,10 @@
+-- Keyset pagination of feeds (see PageCursor): pages are read in (time DESC, id DESC) order from the cursor on.
+CREATE INDEX idx_news_published_at_id ON news(published_at DESC, id DESC);
+CREATE INDEX idx_news_relevant_published_at_id ON news(published_at DESC, id DESC) WHERE is_relevant;
+CREATE INDEX idx_facts_published_created_at_id ON facts(created_at DESC, id DESC) WHERE is_published;
+
+-- The composite indexes start with the columns of the old single-column ones, which are dropped.
+CREATE INDEX idx_user_activities_user_created_at_id ON user_activities(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_user_activities_created_at_id ON user_activities(created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_user_activities_user_id;
+DROP INDEX IF EXISTS idx_user_activities_created_at;
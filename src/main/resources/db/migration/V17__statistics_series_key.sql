@@ -0,0 +1,12 @@
+-- Series key of a statistic row: single-row edits and deletes through the API move or remove its series point
+ALTER TABLE statistics ADD COLUMN indicator VARCHAR(100);
+ALTER TABLE statistics ADD COLUMN country_code VARCHAR(10);
+
+-- Rows ingested before this migration are matched to the series point with the same title, source and date
+UPDATE statistics s
+SET indicator = ss.indicator, country_code = ss.country_code
+FROM statistic_series ss
+JOIN statistic_points p ON p.series_id = ss.id
+WHERE s.title = ss.title
+  AND s.source IS NOT DISTINCT FROM ss.source
+  AND s.date = p.date;
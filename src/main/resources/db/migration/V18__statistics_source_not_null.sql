@@ -0,0 +1,15 @@
+-- A unique index treats NULLs as distinct, so rows without a source escaped ON CONFLICT (title, date, source)
+-- and were inserted again on every ingest. A missing source is stored as '' from now on.
+
+-- Remove duplicates that collide once NULL and '' are the same source, keeping the newest row
+DELETE FROM statistics s
+USING statistics d
+WHERE s.title = d.title
+  AND s.date = d.date
+  AND COALESCE(s.source, '') = COALESCE(d.source, '')
+  AND s.id < d.id;
+
+UPDATE statistics SET source = '' WHERE source IS NULL;
+
+ALTER TABLE statistics ALTER COLUMN source SET DEFAULT '';
+ALTER TABLE statistics ALTER COLUMN source SET NOT NULL;
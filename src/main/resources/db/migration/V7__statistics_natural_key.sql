@@ -0,0 +1,10 @@
+-- Remove duplicate statistics, keeping the newest row for every (title, date, source)
+DELETE FROM statistics s
+USING statistics d
+WHERE s.title = d.title
+  AND s.date = d.date
+  AND s.source IS NOT DISTINCT FROM d.source
+  AND s.id < d.id;
+
+-- Natural key for idempotent ingestion (INSERT ... ON CONFLICT)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_statistics_title_date_source ON statistics(title, date, source);
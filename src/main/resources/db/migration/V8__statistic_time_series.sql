@@ -0,0 +1,42 @@
+-- Time series: one row per (indicator, country)
+CREATE TABLE statistic_series (
+    id BIGSERIAL PRIMARY KEY,
+    indicator VARCHAR(100) NOT NULL,
+    country_code VARCHAR(10) NOT NULL,
+    country_name VARCHAR(255),
+    title VARCHAR(255),
+    unit VARCHAR(50),
+    source VARCHAR(255),
+    category_id BIGINT,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    FOREIGN KEY (category_id) REFERENCES categories(id),
+    CONSTRAINT ux_statistic_series_indicator_country UNIQUE (indicator, country_code)
+);
+
+CREATE INDEX idx_statistic_series_country ON statistic_series(country_code);
+
+-- Series points, range-partitioned by year of the observation date.
+-- The primary key serves per-series range scans, the (date, series_id) index serves cross-country slices.
+CREATE TABLE statistic_points (
+    series_id BIGINT NOT NULL REFERENCES statistic_series(id) ON DELETE CASCADE,
+    date DATE NOT NULL,
+    value DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (series_id, date)
+) PARTITION BY RANGE (date);
+
+CREATE INDEX idx_statistic_points_date_series ON statistic_points(date, series_id);
+
+CREATE TABLE statistic_points_before_2000 PARTITION OF statistic_points
+    FOR VALUES FROM (MINVALUE) TO ('2000-01-01');
+
+DO $$
+BEGIN
+    FOR year IN 2000..2040 LOOP
+        EXECUTE format(
+            'CREATE TABLE statistic_points_%s PARTITION OF statistic_points FOR VALUES FROM (%L) TO (%L)',
+            year, make_date(year, 1, 1), make_date(year + 1, 1, 1));
+    END LOOP;
+END $$;
+
+-- Anything beyond the yearly partitions lands here until new partitions are added
+CREATE TABLE statistic_points_default PARTITION OF statistic_points DEFAULT;
@@ -0,0 +1,43 @@
+-- Pre-aggregated statistics per category and per indicator, by day and by month.
+-- Buckets touched by an ingest are recomputed from the source rows (see StatisticRollupRepository).
+CREATE TABLE statistic_rollups (
+    dimension VARCHAR(20) NOT NULL,
+    dimension_key VARCHAR(100) NOT NULL,
+    period VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    count BIGINT NOT NULL,
+    sum DOUBLE PRECISION NOT NULL,
+    min DOUBLE PRECISION,
+    max DOUBLE PRECISION,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (dimension, dimension_key, period, period_start)
+);
+
+CREATE INDEX idx_statistic_rollups_period ON statistic_rollups(dimension, period, period_start);
+
+-- Bucket recomputation reads statistics by category and date range
+CREATE INDEX IF NOT EXISTS idx_statistics_category_date ON statistics(category_id, date);
+
+INSERT INTO statistic_rollups (dimension, dimension_key, period, period_start, count, sum, min, max)
+SELECT 'CATEGORY', category_id::text, 'DAY', date, count(*), sum(value), min(value), max(value)
+FROM statistics
+WHERE category_id IS NOT NULL
+GROUP BY category_id, date;
+
+INSERT INTO statistic_rollups (dimension, dimension_key, period, period_start, count, sum, min, max)
+SELECT 'CATEGORY', category_id::text, 'MONTH', date_trunc('month', date)::date, count(*), sum(value), min(value), max(value)
+FROM statistics
+WHERE category_id IS NOT NULL
+GROUP BY category_id, date_trunc('month', date)::date;
+
+INSERT INTO statistic_rollups (dimension, dimension_key, period, period_start, count, sum, min, max)
+SELECT 'INDICATOR', s.indicator, 'DAY', p.date, count(*), sum(p.value), min(p.value), max(p.value)
+FROM statistic_points p
+JOIN statistic_series s ON s.id = p.series_id
+GROUP BY s.indicator, p.date;
+
+INSERT INTO statistic_rollups (dimension, dimension_key, period, period_start, count, sum, min, max)
+SELECT 'INDICATOR', s.indicator, 'MONTH', date_trunc('month', p.date)::date, count(*), sum(p.value), min(p.value), max(p.value)
+FROM statistic_points p
+JOIN statistic_series s ON s.id = p.series_id
+GROUP BY s.indicator, date_trunc('month', p.date)::date;
@@ -0,0 +1,135 @@
+package uz.dckroff.statisfy.collector;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import uz.dckroff.statisfy.config.FactCollectorConfig;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dto.fact.FactRequest;
+import uz.dckroff.statisfy.service.FactService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FactPipelineTest {
+
+    @Mock
+    private FactService factService;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
+    private FactCollectorConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new FactCollectorConfig();
+        config.getPipeline().setQueueCapacity(2);
+        config.getPipeline().setWriteBatchSize(100);
+    }
+
+    @Test
+    void run_DropsRepeatsAndBlanks_WritesUpToLimit() throws Exception {
+        // Arrange
+        List<String> writtenContents = Collections.synchronizedList(new ArrayList<>());
+        when(factService.createFacts(anyList())).thenAnswer(invocation -> {
+            List<FactRequest> facts = invocation.getArgument(0);
+            facts.forEach(fact -> writtenContents.add(fact.getContent()));
+            return facts.size();
+        });
+        List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+        FactPipeline pipeline = pipeline(stageExecutor(3, new CountDownLatch(3)));
+
+        // Act
+        int saved = pipeline.run("numbers", 3, sink -> {
+            sink.emit(List.of("alpha", " ", "alpha"), progress::add);
+            sink.emit(List.of("beta", "gamma", "delta"), progress::add);
+        }, FactPipelineTest::facts);
+
+        // Assert
+        assertEquals(3, saved);
+        assertEquals(List.of("alpha", "beta", "gamma"), writtenContents);
+        assertEquals(List.of(1, 3), progress);
+    }
+
+    @Test
+    void run_StageRejected_StopsStartedStagesAndThrows() throws Exception {
+        // Arrange
+        CountDownLatch stagesFinished = new CountDownLatch(2);
+        FactPipeline pipeline = pipeline(stageExecutor(2, stagesFinished));
+        AtomicInteger fetched = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(TaskRejectedException.class, () -> pipeline.run("numbers", 10, sink -> {
+            fetched.incrementAndGet();
+            sink.emit(List.of("alpha"));
+        }, FactPipelineTest::facts));
+        assertTrue(stagesFinished.await(5, TimeUnit.SECONDS), "started stages must not wait forever");
+        assertEquals(0, fetched.get());
+        verifyNoInteractions(factService);
+    }
+
+    @Test
+    void run_WriteFails_StopsFetchAndRethrowsWriteError() {
+        // Arrange
+        when(factService.createFacts(anyList())).thenThrow(new IllegalStateException("connection lost"));
+        FactPipeline pipeline = pipeline(stageExecutor(3, new CountDownLatch(3)));
+
+        // Act
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> pipeline.run("numbers", 10_000,
+                sink -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sink.emit(List.of("fact " + i), count -> { });
+                    }
+                }, FactPipelineTest::facts));
+
+        // Assert
+        assertEquals("connection lost", error.getMessage());
+        verify(factService, times(1)).createFacts(anyList());
+    }
+
+    private FactPipeline pipeline(AsyncTaskExecutor executor) {
+        return new FactPipeline(factService, duplicateDetector, config, new SimpleMeterRegistry(), executor);
+    }
+
+    /**
+     * Executor that starts a thread for each of the first {@code accepted} tasks and rejects the rest
+     */
+    private static AsyncTaskExecutor stageExecutor(int accepted, CountDownLatch finished) {
+        AtomicInteger submitted = new AtomicInteger();
+        return new TaskExecutorAdapter(task -> {
+            if (submitted.incrementAndGet() > accepted) {
+                throw new RejectedExecutionException("no free pipeline threads");
+            }
+            new Thread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    finished.countDown();
+                }
+            }).start();
+        });
+    }
+
+    private static List<FactRequest> facts(List<String> contents) {
+        return contents.stream()
+                .map(content -> FactRequest.builder().title("Fact").content(content).categoryId(1L).build())
+                .toList();
+    }
+}
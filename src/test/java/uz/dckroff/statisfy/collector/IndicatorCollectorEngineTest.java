@@ -0,0 +1,63 @@
+package uz.dckroff.statisfy.collector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig;
+import uz.dckroff.statisfy.config.StatisticsCollectorConfig.StatisticsSource;
+import uz.dckroff.statisfy.interceptor.ConditionalGetInterceptor;
+import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.service.CollectorJournalService;
+import uz.dckroff.statisfy.service.StatisticService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndicatorCollectorEngineTest {
+
+    @Mock
+    private StatisticService statisticService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CollectorJournalService journalService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Test
+    void constructor_SourceWithoutApiKey_SkipsSourceInsteadOfFailing() {
+        // Arrange
+        StatisticsCollectorConfig config = new StatisticsCollectorConfig();
+        StatisticsSource economic = source("economic", ExchangeRatesSourceHandler.TYPE);
+        economic.setApiKey("");
+        StatisticsSource population = source("population", "worldbank");
+        config.setSources(List.of(economic, population));
+        ExchangeRatesSourceHandler handler = new ExchangeRatesSourceHandler(restTemplate, config, conditionalGetInterceptor);
+
+        // Act
+        IndicatorCollectorEngine engine = new IndicatorCollectorEngine(config, statisticService, categoryRepository,
+                journalService, List.of(handler));
+
+        // Assert
+        assertEquals(List.of(population), engine.getEnabledSources());
+        assertTrue(engine.findSource("economic").isEmpty());
+        assertTrue(engine.findSource("population").isPresent());
+    }
+
+    private static StatisticsSource source(String name, String type) {
+        StatisticsSource source = new StatisticsSource();
+        source.setName(name);
+        source.setType(type);
+        return source;
+    }
+}
@@ -0,0 +1,56 @@
+package uz.dckroff.statisfy.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    void mightContain_AddedValues_AlwaysTrue() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("https://kun.uz/news/" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(filter.mightContain("https://kun.uz/news/" + i));
+        }
+        assertTrue(filter.size() > 990 && filter.size() <= 1_000);
+    }
+
+    @Test
+    void mightContain_OtherValues_FalsePositivesNearConfiguredRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("https://kun.uz/news/" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("https://gazeta.uz/news/" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_EmptyFilter_IsFalse() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        // Act & Assert
+        assertFalse(filter.mightContain("https://kun.uz/news/1"));
+        assertEquals(0, filter.size());
+        assertTrue(filter.bitSize() >= 959);
+    }
+}
@@ -0,0 +1,50 @@
+package uz.dckroff.statisfy.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentFingerprintTest {
+
+    static final String COTTON = "Uzbekistan exported 1.2 million tonnes of cotton fibre in 2023, most of it to China"
+            + " and Bangladesh, according to the national statistics agency. Textile producers now process almost"
+            + " all of the harvest inside the country instead of shipping raw fibre abroad.";
+    static final String COTTON_EDITED = COTTON.replace("abroad.", "abroad as before.");
+    static final String METRO = "The Tashkent metro carried 150 million passengers last year after three new stations"
+            + " opened on the circle line in the south of the city.";
+
+    @Test
+    void of_CaseAndPunctuation_GiveSameFingerprint() {
+        // Act
+        ContentFingerprint original = ContentFingerprint.of(COTTON);
+        ContentFingerprint reformatted = ContentFingerprint.of(COTTON.toUpperCase().replace(",", " --"));
+
+        // Assert
+        assertEquals(original, reformatted);
+        assertEquals(42, original.tokens());
+    }
+
+    @Test
+    void of_SmallEdit_ChangesHashButKeepsSimhashClose() {
+        // Act
+        ContentFingerprint original = ContentFingerprint.of(COTTON);
+        ContentFingerprint edited = ContentFingerprint.of(COTTON_EDITED);
+        ContentFingerprint unrelated = ContentFingerprint.of(METRO);
+
+        // Assert
+        assertNotEquals(original.hash(), edited.hash());
+        assertTrue(Long.bitCount(original.simhash() ^ edited.simhash()) <= 6);
+        assertTrue(Long.bitCount(original.simhash() ^ unrelated.simhash()) > 6);
+    }
+
+    @Test
+    void of_NullText_IsEmptyText() {
+        // Act
+        ContentFingerprint fingerprint = ContentFingerprint.of(null);
+
+        // Assert
+        assertEquals(ContentFingerprint.of(" ... "), fingerprint);
+        assertEquals(0, fingerprint.tokens());
+        assertEquals(0L, fingerprint.simhash());
+    }
+}
@@ -0,0 +1,114 @@
+package uz.dckroff.statisfy.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uz.dckroff.statisfy.repository.ContentFingerprintRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static uz.dckroff.statisfy.dedup.ContentFingerprintTest.COTTON;
+import static uz.dckroff.statisfy.dedup.ContentFingerprintTest.COTTON_EDITED;
+import static uz.dckroff.statisfy.dedup.ContentFingerprintTest.METRO;
+
+@ExtendWith(MockitoExtension.class)
+public class DuplicateDetectorTest {
+
+    @Mock
+    private ContentFingerprintRepository fingerprintRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        detector = new DuplicateDetector(fingerprintRepository, meterRegistry);
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "window", 100);
+        ReflectionTestUtils.setField(detector, "threshold", 6);
+        ReflectionTestUtils.setField(detector, "minTokens", 8);
+    }
+
+    @Test
+    void filterNew_RepeatsOfWindowAndBatch_AreDropped() {
+        // Arrange
+        detector.register(DuplicateDetector.FACTS, ContentFingerprint.of(COTTON));
+        List<String> fingerprinted = new ArrayList<>();
+
+        // Act
+        List<String> accepted = detector.filterNew(DuplicateDetector.FACTS, List.of(COTTON_EDITED, METRO, METRO + "!"),
+                text -> text, (text, fingerprint) -> fingerprinted.add(text));
+
+        // Assert
+        assertEquals(List.of(METRO), accepted);
+        assertEquals(3, fingerprinted.size());
+        assertEquals(1.0, meterRegistry.counter("ingest.duplicates", "stream", "facts", "match", "near").count());
+        assertEquals(1.0, meterRegistry.counter("ingest.duplicates", "stream", "facts", "match", "exact").count());
+        assertNotNull(detector.findDuplicate(DuplicateDetector.FACTS, ContentFingerprint.of(METRO)));
+        assertNull(detector.findDuplicate(DuplicateDetector.NEWS, ContentFingerprint.of(METRO)));
+    }
+
+    @Test
+    void filterNew_InsideTransaction_RegistersOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            detector.filterNew(DuplicateDetector.FACTS, List.of(COTTON), text -> text, (text, fingerprint) -> { });
+
+            // Assert
+            assertNull(detector.findDuplicate(DuplicateDetector.FACTS, ContentFingerprint.of(COTTON)));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNotNull(detector.findDuplicate(DuplicateDetector.FACTS, ContentFingerprint.of(COTTON)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void remove_DeletedText_NoLongerRejectsNewWrites() {
+        // Arrange
+        ContentFingerprint fingerprint = ContentFingerprint.of(COTTON);
+        detector.register(DuplicateDetector.FACTS, fingerprint);
+
+        // Act
+        detector.remove(DuplicateDetector.FACTS, fingerprint);
+
+        // Assert
+        assertNull(detector.findDuplicate(DuplicateDetector.FACTS, ContentFingerprint.of(COTTON)));
+        assertNull(detector.findDuplicate(DuplicateDetector.FACTS, ContentFingerprint.of(COTTON_EDITED)));
+    }
+
+    @Test
+    void warmUp_LoadsWindowAndBackfillsMissingFingerprints() {
+        // Arrange
+        when(fingerprintRepository.findRecentFacts(eq(100), anyList())).thenAnswer(invocation -> {
+            List<Long> missing = invocation.getArgument(1);
+            missing.add(2L);
+            return Map.of(1L, COTTON, 2L, METRO);
+        });
+        when(fingerprintRepository.findRecentNews(eq(100), anyList())).thenReturn(Map.of());
+
+        // Act
+        detector.warmUp();
+
+        // Assert
+        assertNotNull(detector.findDuplicate(DuplicateDetector.FACTS, ContentFingerprint.of(COTTON_EDITED)));
+        verify(fingerprintRepository, times(1)).updateFacts(Map.of(2L, ContentFingerprint.of(METRO)));
+        verify(fingerprintRepository, times(1)).updateNews(anyMap());
+    }
+}
@@ -0,0 +1,72 @@
+package uz.dckroff.statisfy.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uz.dckroff.statisfy.dedup.ContentFingerprintTest.COTTON;
+import static uz.dckroff.statisfy.dedup.ContentFingerprintTest.COTTON_EDITED;
+import static uz.dckroff.statisfy.dedup.ContentFingerprintTest.METRO;
+
+public class FingerprintIndexTest {
+
+    private final FingerprintIndex index = new FingerprintIndex(10, 6, 8);
+
+    @Test
+    void findMatch_SameOrSlightlyEditedText_ReturnsStoredFingerprint() {
+        // Arrange
+        ContentFingerprint stored = ContentFingerprint.of(COTTON);
+        index.add(stored);
+
+        // Act & Assert
+        assertEquals(stored, index.findMatch(ContentFingerprint.of(COTTON)));
+        assertEquals(stored, index.findMatch(ContentFingerprint.of(COTTON_EDITED)));
+        assertNull(index.findMatch(ContentFingerprint.of(METRO)));
+    }
+
+    @Test
+    void findMatch_ShortText_ComparesOnlyHash() {
+        // Arrange
+        index.add(ContentFingerprint.of("Cotton exports grew"));
+
+        // Act & Assert
+        assertNotNull(index.findMatch(ContentFingerprint.of("cotton exports grew!")));
+        assertNull(index.findMatch(ContentFingerprint.of("Cotton exports fell")));
+    }
+
+    @Test
+    void add_OverCapacity_EvictsOldest() {
+        // Arrange
+        FingerprintIndex small = new FingerprintIndex(2, 6, 8);
+        small.add(ContentFingerprint.of(COTTON));
+        small.add(ContentFingerprint.of(METRO));
+
+        // Act
+        small.add(ContentFingerprint.of("Cotton exports grew"));
+
+        // Assert
+        assertEquals(2, small.size());
+        assertNull(small.findMatch(ContentFingerprint.of(COTTON)));
+        assertNull(small.findMatch(ContentFingerprint.of(COTTON_EDITED)));
+        assertNotNull(small.findMatch(ContentFingerprint.of(METRO)));
+    }
+
+    @Test
+    void remove_DropsOneCopyAtATime() {
+        // Arrange
+        ContentFingerprint fingerprint = ContentFingerprint.of(COTTON);
+        index.add(fingerprint);
+        index.add(fingerprint);
+
+        // Act & Assert
+        assertTrue(index.remove(fingerprint));
+        assertEquals(1, index.size());
+        assertNotNull(index.findMatch(ContentFingerprint.of(COTTON_EDITED)));
+
+        assertTrue(index.remove(fingerprint));
+        assertEquals(0, index.size());
+        assertNull(index.findMatch(fingerprint));
+        assertNull(index.findMatch(ContentFingerprint.of(COTTON_EDITED)));
+
+        assertFalse(index.remove(fingerprint));
+    }
+}
@@ -0,0 +1,116 @@
+package uz.dckroff.statisfy.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.dckroff.statisfy.repository.NewsUrlRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsUrlIndexTest {
+
+    private static final String METRO = "https://kun.uz/news/2024/06/15/metro";
+    private static final String BUDGET = "https://kun.uz/news/2024/06/15/budget";
+
+    @Mock
+    private NewsUrlRepository newsUrlRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NewsUrlIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new NewsUrlIndex(newsUrlRepository, meterRegistry);
+        ReflectionTestUtils.setField(index, "expectedInsertions", 1_000L);
+        ReflectionTestUtils.setField(index, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(index, "recentSize", 100);
+        index.init();
+    }
+
+    @Test
+    void filterUnknown_BeforeWarmUp_ChecksDatabaseOnceAndCachesStoredKeys() {
+        // Arrange
+        when(newsUrlRepository.findExisting(List.of(METRO, BUDGET))).thenReturn(Set.of(METRO));
+
+        // Act
+        List<String> first = index.filterUnknown(List.of(METRO + "?utm_source=telegram", "http://www.kun.uz/news/2024/06/15/metro/",
+                BUDGET), Function.identity());
+        List<String> second = index.filterUnknown(List.of(METRO), Function.identity());
+
+        // Assert
+        assertEquals(List.of(BUDGET), first);
+        assertEquals(List.of(), second);
+        verify(newsUrlRepository, times(1)).findExisting(anyCollection());
+        assertEquals(1.0, meterRegistry.counter("ingest.url_lookups", "path", "cache").count());
+    }
+
+    @Test
+    void filterUnknown_AfterWarmUp_NewUrlsSkipDatabase() {
+        // Arrange
+        when(newsUrlRepository.findWithoutKey(0L)).thenReturn(Map.of());
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept(METRO);
+            return null;
+        }).when(newsUrlRepository).forEachKey(any());
+        when(newsUrlRepository.findExisting(List.of(METRO))).thenReturn(Set.of(METRO));
+        index.warmUp();
+
+        // Act
+        List<String> unknown = index.filterUnknown(List.of(METRO, BUDGET), Function.identity());
+
+        // Assert
+        assertEquals(List.of(BUDGET), unknown);
+        assertEquals(1.0, meterRegistry.counter("ingest.url_lookups", "path", "bloom").count());
+        assertEquals(1.0, meterRegistry.counter("ingest.url_lookups", "path", "db").count());
+    }
+
+    @Test
+    void register_SavedKeys_AreKnownWithoutDatabase() {
+        // Arrange
+        when(newsUrlRepository.findWithoutKey(0L)).thenReturn(Map.of());
+        index.warmUp();
+
+        // Act
+        index.register(List.of(BUDGET));
+
+        // Assert
+        assertEquals(List.of(), index.filterUnknown(List.of(BUDGET + "#top"), Function.identity()));
+        verify(newsUrlRepository, never()).findExisting(anyCollection());
+    }
+
+    @Test
+    void warmUp_RowsWithoutKey_GetKeyUnlessUrlAlreadyStored() {
+        // Arrange
+        Map<Long, String> withoutKey = new LinkedHashMap<>();
+        withoutKey.put(1L, "https://www.kun.uz/news/2024/06/15/metro/");
+        withoutKey.put(2L, METRO + "?utm_source=telegram");
+        withoutKey.put(3L, BUDGET);
+        when(newsUrlRepository.findWithoutKey(anyLong())).thenReturn(withoutKey, Map.of());
+        when(newsUrlRepository.findExisting(anyCollection())).thenReturn(Set.of(BUDGET));
+
+        // Act
+        index.warmUp();
+
+        // Assert
+        verify(newsUrlRepository, times(1)).updateKeys(Map.of(1L, METRO));
+        verify(newsUrlRepository, times(1)).findWithoutKey(3L);
+    }
+}
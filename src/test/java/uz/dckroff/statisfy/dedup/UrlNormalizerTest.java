@@ -0,0 +1,56 @@
+package uz.dckroff.statisfy.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UrlNormalizerTest {
+
+    private static final String METRO = "https://kun.uz/news/2024/06/15/metro";
+
+    @Test
+    void normalize_SameArticleLinks_GiveOneKey() {
+        assertEquals(METRO, UrlNormalizer.normalize("http://www.Kun.uz/news/2024/06/15/metro/?utm_source=telegram#comments"));
+        assertEquals(METRO, UrlNormalizer.normalize(" https://kun.uz:443/news/2024/06/15/metro?fbclid=IwAR0&gclid=x1 "));
+        assertEquals(METRO, UrlNormalizer.normalize("https://kun.uz/news/2024/06/15/metro?UTM_Campaign=june&yclid=42"));
+    }
+
+    @Test
+    void normalize_PageParameters_AreKeptAndSorted() {
+        // Act
+        String key = UrlNormalizer.normalize("https://www.gazeta.uz/ru/list/news/?page=3&from=main&ref=top");
+
+        // Assert
+        assertEquals("https://gazeta.uz/ru/list/news?from=main&page=3&ref=top", key);
+        assertNotEquals(UrlNormalizer.normalize("https://kun.uz/news?id=1&ref=a"),
+                UrlNormalizer.normalize("https://kun.uz/news?id=1&ref=b"));
+    }
+
+    @Test
+    void normalize_NonDefaultPort_IsKept() {
+        assertEquals("https://kun.uz:8443/a?a=1&b=2", UrlNormalizer.normalize("https://kun.uz:8443/a?b=2&a=1"));
+    }
+
+    @Test
+    void normalize_Blank_ReturnsNull() {
+        assertNull(UrlNormalizer.normalize(null));
+        assertNull(UrlNormalizer.normalize("  "));
+    }
+
+    @Test
+    void normalize_LongUrls_WithCommonStart_KeepDistinctKeys() {
+        // Arrange
+        String start = "https://kun.uz/" + "a".repeat(600);
+
+        // Act
+        String first = UrlNormalizer.normalize(start + "/1");
+        String second = UrlNormalizer.normalize(start + "/2");
+
+        // Assert
+        assertEquals(UrlNormalizer.MAX_LENGTH, first.length());
+        assertEquals(UrlNormalizer.MAX_LENGTH, second.length());
+        assertTrue(first.startsWith("https://kun.uz/aaaa"));
+        assertNotEquals(first, second);
+        assertEquals(first, UrlNormalizer.normalize(start + "/1/"));
+    }
+}
@@ -0,0 +1,68 @@
+package uz.dckroff.statisfy.dto;
+
+import org.junit.jupiter.api.Test;
+import uz.dckroff.statisfy.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorPageTest {
+
+    private record Row(LocalDateTime time, long id) {
+    }
+
+    @Test
+    void pageCursor_RoundTrip() {
+        // Arrange
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 6, 15, 10, 30, 0, 123_456_000), 42);
+
+        // Act
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void pageCursor_BlankIsFirstPage() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(" "));
+    }
+
+    @Test
+    void pageCursor_Malformed_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> PageCursor.decode("MjAyNC0wNi0xNQ"));
+    }
+
+    @Test
+    void of_ExtraRow_GivesCursorOfLastReturnedRow() {
+        // Arrange
+        LocalDateTime time = LocalDateTime.of(2024, 6, 15, 10, 0);
+        List<Row> rows = List.of(new Row(time, 3), new Row(time, 2), new Row(time.minusHours(1), 7));
+
+        // Act
+        CursorPage<Long> page = CursorPage.of(rows, 2, row -> new PageCursor(row.time(), row.id()), Row::id, null);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), page.getData());
+        assertTrue(page.isHasNext());
+        assertEquals(new PageCursor(time, 2), PageCursor.decode(page.getNextCursor()));
+        assertNull(page.getTotalElements());
+    }
+
+    @Test
+    void of_LastPage_HasNoCursor() {
+        // Act
+        CursorPage<Long> page = CursorPage.of(List.of(new Row(LocalDateTime.now(), 1)), 2,
+                row -> new PageCursor(row.time(), row.id()), Row::id, 1L);
+
+        // Assert
+        assertEquals(List.of(1L), page.getData());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(1L, page.getTotalElements());
+    }
+}
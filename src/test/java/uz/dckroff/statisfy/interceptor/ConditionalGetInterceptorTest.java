@@ -0,0 +1,84 @@
+package uz.dckroff.statisfy.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import uz.dckroff.statisfy.collector.HttpValidatorCache;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConditionalGetInterceptorTest {
+
+    private static final String GROUP = "worldbank:SP.POP.TOTL:2022";
+    private static final String URL = "https://api.worldbank.org/v2/country/all/indicator/SP.POP.TOTL?page=1";
+
+    @Mock
+    private HttpValidatorCache validatorCache;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        interceptor = new ConditionalGetInterceptor(validatorCache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        when(execution.execute(any(), any())).thenAnswer(invocation -> {
+            MockClientHttpResponse response =
+                    new MockClientHttpResponse("[{\"page\":1}]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setETag("\"v1\"");
+            return response;
+        });
+    }
+
+    @Test
+    void intercept_ChangedResponse_StoresValidatorsOnlyAfterConfirm() throws Exception {
+        // Act
+        ClientHttpResponse response = interceptor.intercept(request(), new byte[0], execution);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(validatorCache, never()).write(anyString(), anyString(), any());
+
+        interceptor.confirm(GROUP);
+        verify(validatorCache, times(1)).write(eq(GROUP), eq(URL),
+                argThat(validators -> validators.etag().equals("\"v1\"")));
+    }
+
+    @Test
+    void intercept_EvictedBeforeConfirm_NeverStoresValidators() throws Exception {
+        // Act
+        interceptor.intercept(request(), new byte[0], execution);
+        interceptor.evict(GROUP);
+        interceptor.confirm(GROUP);
+
+        // Assert
+        verify(validatorCache, never()).write(anyString(), anyString(), any());
+        verify(validatorCache, times(1)).evict(GROUP);
+    }
+
+    private static MockClientHttpRequest request() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(URL));
+        request.getHeaders().set(ConditionalGetInterceptor.CACHE_GROUP_HEADER, GROUP);
+        return request;
+    }
+}
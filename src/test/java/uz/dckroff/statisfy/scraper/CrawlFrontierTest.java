@@ -0,0 +1,140 @@
+package uz.dckroff.statisfy.scraper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.dckroff.statisfy.config.ScraperConfig;
+import uz.dckroff.statisfy.repository.CrawlFrontierRepository;
+import uz.dckroff.statisfy.repository.CrawlFrontierRepository.Entry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CrawlFrontierTest {
+
+    private static final String METRO = "https://kun.uz/en/news/2024/06/15/metro";
+    private static final String BUDGET = "https://kun.uz/en/news/2024/06/15/budget";
+
+    @Mock
+    private CrawlFrontierRepository repository;
+
+    private ScraperConfig config;
+    private ScraperConfig.Site site;
+    private CrawlFrontier frontier;
+
+    @BeforeEach
+    void setUp() {
+        config = ScraperFixtures.config();
+        site = config.getSite("kun.uz");
+        frontier = new CrawlFrontier(repository, config);
+    }
+
+    @Test
+    void due_ClaimsEntriesForTheLease() {
+        // Arrange
+        List<Entry> claimed = List.of(listing(1, site.getUrl(), 0));
+        when(repository.claimDue(eq("kun.uz"), any(), eq(5), any())).thenReturn(claimed);
+
+        // Act
+        List<Entry> due = frontier.due(site, 5);
+
+        // Assert
+        assertEquals(claimed, due);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).claimDue(eq("kun.uz"), now.capture(), eq(5), leaseUntil.capture());
+        assertEquals(config.getFrontier().getLease(), Duration.between(now.getValue(), leaseUntil.getValue()));
+    }
+
+    @Test
+    void due_NoBudgetLeft_ClaimsNothing() {
+        // Act & Assert
+        assertEquals(List.of(), frontier.due(site, 0));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void enqueueArticles_QueuedAndRepeatedUrls_AreNotInsertedAgain() {
+        // Arrange
+        List<SiteExtractor.ListingItem> items = List.of(
+                new SiteExtractor.ListingItem(METRO, "Metro", null, null),
+                new SiteExtractor.ListingItem(METRO + "?utm_source=telegram", "Metro", null, null),
+                new SiteExtractor.ListingItem(BUDGET, "Budget", null, null));
+        when(repository.findQueued(anyCollection())).thenReturn(Set.of(BUDGET));
+
+        // Act
+        int alreadyQueued = frontier.enqueueArticles(site, items, 1);
+
+        // Assert
+        assertEquals(2, alreadyQueued);
+        verify(repository).insertAll(argThat(entries -> entries.size() == 1
+                && entries.get(0).urlKey().equals(METRO)
+                && entries.get(0).kind().equals(CrawlFrontier.ARTICLE)
+                && entries.get(0).depth() == 1), any());
+    }
+
+    @Test
+    void enqueueListing_BeyondMaxDepthOrQueued_IsSkipped() {
+        // Arrange
+        String next = "https://kun.uz/en/news/list?page=2";
+        when(repository.findQueued(List.of(next))).thenReturn(Set.of(next));
+
+        // Act & Assert
+        assertFalse(frontier.enqueueListing(site, next, config.getFrontier().getMaxDepth() + 1));
+        assertFalse(frontier.enqueueListing(site, next, 1));
+        verify(repository, never()).insertAll(anyList(), any());
+    }
+
+    @Test
+    void visited_SeedIsRescheduled_OtherEntriesLeave() {
+        // Arrange
+        Entry seed = listing(1, site.getUrl(), 0);
+        Entry second = listing(2, "https://kun.uz/en/news/list?page=2", 1);
+
+        // Act
+        frontier.visited(site, seed);
+        frontier.visited(site, second);
+
+        // Assert
+        verify(repository).reschedule(eq(1L), any(), eq(false));
+        verify(repository).deleteAll(List.of(2L));
+    }
+
+    @Test
+    void failed_ArticleRetriesUntilMaxAttempts() {
+        // Arrange
+        int maxAttempts = config.getFrontier().getMaxAttempts();
+        Entry retried = article(7, METRO, 0);
+        Entry exhausted = article(8, BUDGET, maxAttempts - 1);
+
+        // Act
+        frontier.failed(retried);
+        frontier.failed(exhausted);
+
+        // Assert
+        verify(repository).reschedule(eq(7L), any(), eq(true));
+        verify(repository, never()).reschedule(eq(8L), any(), anyBoolean());
+        verify(repository).deleteAll(List.of(8L));
+    }
+
+    private Entry listing(long id, String url, int depth) {
+        return new Entry(id, site.getName(), url, url, CrawlFrontier.LISTING, depth, depth, 0, null, null, null);
+    }
+
+    private Entry article(long id, String url, int attempts) {
+        return new Entry(id, site.getName(), url, url, CrawlFrontier.ARTICLE, 1, 100, attempts, "Title", null, null);
+    }
+}
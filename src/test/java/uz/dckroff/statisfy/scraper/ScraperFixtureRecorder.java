@@ -0,0 +1,71 @@
+package uz.dckroff.statisfy.scraper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.parser.StreamParser;
+import uz.dckroff.statisfy.config.ScraperConfig;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Saves the live listing page and its first article of every enabled site as fixtures/scraper/recorded/site/
+ * list.html and article.html, unchanged, for {@code ScraperExtractBenchmark}. Run with ./gradlew recordScraperFixtures
+ */
+@Slf4j
+public final class ScraperFixtureRecorder {
+
+    private ScraperFixtureRecorder() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path target = Path.of(args.length > 0 ? args[0] : "src/test/resources/fixtures/scraper/recorded");
+        ScraperConfig config = ScraperFixtures.config();
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(config.getTimeout()))
+                .build();
+        SiteExtractor extractor = new SiteExtractor();
+
+        for (ScraperConfig.Site site : config.getSites()) {
+            if (!site.isEnabled()) {
+                continue;
+            }
+            Path dir = Files.createDirectories(target.resolve(site.getName()));
+            byte[] listing = download(client, config, site.getUrl());
+            Files.write(dir.resolve(ScraperFixtures.LIST_PAGE), listing);
+
+            List<SiteExtractor.ListingItem> items;
+            try (StreamParser parser = ScraperFixtures.parser(new String(listing, StandardCharsets.UTF_8), site.getUrl())) {
+                items = extractor.readListing(site, parser, 1).items();
+            }
+            if (items.isEmpty()) {
+                log.warn("{}: no articles found on {}", site.getName(), site.getUrl());
+                continue;
+            }
+            Files.write(dir.resolve(ScraperFixtures.ARTICLE_PAGE), download(client, config, items.get(0).url()));
+            log.info("{}: recorded {} and {}", site.getName(), site.getUrl(), items.get(0).url());
+        }
+    }
+
+    private static byte[] download(HttpClient client, ScraperConfig config, String url)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("User-Agent", config.getUserAgent())
+                        .header("Accept", "text/html,application/xhtml+xml;q=0.9,*/*;q=0.8")
+                        .timeout(Duration.ofMillis(config.getTimeout()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + " fetching " + url);
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,113 @@
+package uz.dckroff.statisfy.scraper;
+
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+import uz.dckroff.statisfy.config.ScraperConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Saved pages of the scraped sites (src/test/resources/fixtures/scraper) and the site definitions
+ * from application.yml, so extraction can be checked and measured without the network.
+ * <p>
+ * The top-level pages are synthetic: reduced to the structure the selectors rely on, so tests can assert on them.
+ * Pages under recorded/ are stored exactly as served ({@link ScraperFixtureRecorder}); the benchmark measures
+ * either set and labels its results with the one it used.
+ */
+public final class ScraperFixtures {
+
+    public static final String KUN_UZ_LIST = "kun.uz/list.html";
+    public static final String KUN_UZ_ARTICLE = "kun.uz/article.html";
+    public static final String GAZETA_UZ_INDEX = "gazeta.uz/index.html";
+
+    public static final String LIST_PAGE = "list.html";
+    public static final String ARTICLE_PAGE = "article.html";
+
+    private static final String RECORDED = "recorded/";
+
+    private ScraperFixtures() {
+    }
+
+    /**
+     * Scraper settings bound from the scraping section of application.yml
+     */
+    public static ScraperConfig config() {
+        try {
+            return new Binder(ConfigurationPropertySources.from(new YamlPropertySourceLoader()
+                    .load("application", new ClassPathResource("application.yml"))))
+                    .bind("scraping", ScraperConfig.class)
+                    .orElseThrow(() -> new IllegalStateException("No scraping section in application.yml"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param name fixture path relative to fixtures/scraper
+     */
+    public static String page(String name) {
+        return new String(bytes(name), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Page of a site as served, saved by {@link ScraperFixtureRecorder}
+     * @param page {@link #LIST_PAGE} or {@link #ARTICLE_PAGE}
+     * @throws IllegalStateException if the page has not been recorded
+     */
+    public static byte[] recorded(String site, String page) {
+        String name = RECORDED + site + "/" + page;
+        if (!new ClassPathResource("fixtures/scraper/" + name).exists()) {
+            throw new IllegalStateException("No recorded page fixtures/scraper/" + name
+                    + ": record the sites with ./gradlew recordScraperFixtures");
+        }
+        return bytes(name);
+    }
+
+    /**
+     * Raw bytes of a reduced fixture page
+     * @param name fixture path relative to fixtures/scraper
+     */
+    public static byte[] reduced(String name) {
+        return bytes(name);
+    }
+
+    /**
+     * Body as HostFetchScheduler reads it: at most scraping.max-body-size bytes
+     */
+    public static byte[] limit(byte[] body, int maxBodySize) {
+        return body.length > maxBodySize ? Arrays.copyOf(body, maxBodySize) : body;
+    }
+
+    private static byte[] bytes(String name) {
+        try (InputStream in = new ClassPathResource("fixtures/scraper/" + name).getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streaming parser over a fixture page, as HostFetchScheduler hands it to the readers
+     */
+    public static StreamParser parser(String html, String baseUri) {
+        return new StreamParser(Parser.htmlParser()).parse(html, baseUri);
+    }
+
+    /**
+     * Streaming parser over downloaded bytes, read through a Reader as HostFetchScheduler does
+     */
+    public static StreamParser parser(byte[] body, String baseUri) {
+        return new StreamParser(Parser.htmlParser())
+                .parse(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8), baseUri);
+    }
+}
@@ -0,0 +1,114 @@
+package uz.dckroff.statisfy.scraper;
+
+import org.jsoup.parser.StreamParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uz.dckroff.statisfy.config.ScraperConfig;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SiteExtractorTest {
+
+    private final SiteExtractor extractor = new SiteExtractor();
+
+    private ScraperConfig.Site kunUz;
+    private ScraperConfig.Site gazetaUz;
+
+    @BeforeEach
+    void setUp() {
+        ScraperConfig config = ScraperFixtures.config();
+        kunUz = config.getSite("kun.uz");
+        gazetaUz = config.getSite("gazeta.uz");
+    }
+
+    @Test
+    void readListing_KunUz_SkipsNavigationAndShortLinks() throws IOException {
+        // Act
+        SiteExtractor.ListingPage page;
+        try (StreamParser parser = ScraperFixtures.parser(ScraperFixtures.page(ScraperFixtures.KUN_UZ_LIST), kunUz.getUrl())) {
+            page = extractor.readListing(kunUz, parser, 30);
+        }
+        List<SiteExtractor.ListingItem> items = page.items();
+
+        // Assert
+        assertEquals(12, items.size());
+        assertEquals("https://kun.uz/en/news/list?page=2", page.nextPage());
+        assertEquals("https://kun.uz/en/news/2024/06/15/tashkent-metro-to-open-three-new-stations-on-the-circle-line",
+                items.get(0).url());
+        assertEquals("Tashkent metro to open three new stations on the Circle Line this autumn", items.get(0).title());
+        assertTrue(items.stream().allMatch(item -> item.url().startsWith("https://kun.uz/en/news/20")));
+    }
+
+    @Test
+    void readListing_Limit_StopsItemsButKeepsNextPage() throws IOException {
+        // Act
+        SiteExtractor.ListingPage page;
+        try (StreamParser parser = ScraperFixtures.parser(ScraperFixtures.page(ScraperFixtures.KUN_UZ_LIST), kunUz.getUrl())) {
+            page = extractor.readListing(kunUz, parser, 5);
+        }
+
+        // Assert
+        assertEquals(5, page.items().size());
+        assertEquals("https://kun.uz/en/news/list?page=2", page.nextPage());
+    }
+
+    @Test
+    void readArticle_KunUz_ReturnsPreferredFields() throws IOException {
+        // Act
+        SiteExtractor.ArticleFields fields;
+        try (StreamParser parser = ScraperFixtures.parser(ScraperFixtures.page(ScraperFixtures.KUN_UZ_ARTICLE),
+                "https://kun.uz/en/news/2024/06/15/tashkent-metro")) {
+            fields = extractor.readArticle(kunUz, parser);
+        }
+
+        // Assert
+        assertEquals("Tashkent metro to open three new stations on the Circle Line this autumn", fields.title());
+        assertEquals("Three new stations of the Circle Line will be put into operation in September, "
+                + "completing the northern section of the ring.", fields.summary());
+        assertEquals(LocalDateTime.of(2024, 6, 15, 18, 0), fields.publishedAt());
+    }
+
+    @Test
+    void readListing_GazetaUz_ReadsListingFields() throws IOException {
+        // Act
+        SiteExtractor.ListingPage page;
+        try (StreamParser parser = ScraperFixtures.parser(ScraperFixtures.page(ScraperFixtures.GAZETA_UZ_INDEX), gazetaUz.getUrl())) {
+            page = extractor.readListing(gazetaUz, parser, 30);
+        }
+        List<SiteExtractor.ListingItem> items = page.items();
+
+        // Assert
+        assertEquals(10, items.size());
+        assertEquals("https://www.gazeta.uz/ru/list/news/?page=2", page.nextPage());
+        assertEquals("https://www.gazeta.uz/ru/2024/06/15/news-1/", items.get(0).url());
+        assertEquals("Мирзиёев подписал указ о реформе системы местного самоуправления", items.get(0).title());
+        assertNotNull(items.get(0).summary());
+        assertEquals(LocalDateTime.of(2024, 6, 15, 18, 0), items.get(0).publishedAt());
+    }
+
+    @Test
+    void parseDate_SiteFormats_ParsesAllPatterns() {
+        // Act & Assert
+        assertEquals(LocalDateTime.of(2024, 6, 15, 9, 5), extractor.parseDate(kunUz, "09:05 / 15.06.2024"));
+        assertEquals(LocalDateTime.of(2024, 6, 15, 9, 5), extractor.parseDate(kunUz, "15.06.2024 09:05"));
+        assertEquals(LocalDateTime.of(2024, 6, 15, 0, 0), extractor.parseDate(kunUz, "15.06.2024"));
+        assertEquals(LocalDateTime.of(2024, 6, 15, 9, 5, 30), extractor.parseDate(kunUz, "2024-06-15 09:05:30"));
+        assertEquals(LocalDateTime.of(2024, 6, 15, 0, 0), extractor.parseDate(kunUz, " 2024-06-15 "));
+        assertEquals(LocalDateTime.of(2023, 6, 5, 14, 30), extractor.parseDate(gazetaUz, "5 июня 2023, 14:30"));
+    }
+
+    @Test
+    void parseDate_InvalidText_ReturnsNull() {
+        // Act & Assert
+        assertNull(extractor.parseDate(kunUz, null));
+        assertNull(extractor.parseDate(kunUz, ""));
+        assertNull(extractor.parseDate(kunUz, "yesterday"));
+        assertNull(extractor.parseDate(kunUz, "31.02.2024"));
+        assertNull(extractor.parseDate(kunUz, "15.06.2024 25:00"));
+        assertNull(extractor.parseDate(gazetaUz, "15 June 2023, 14:30"));
+    }
+}
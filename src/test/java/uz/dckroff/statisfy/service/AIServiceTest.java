@@ -12,15 +12,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
-import uz.dckroff.statisfy.dto.AIFactRequest;
-import uz.dckroff.statisfy.dto.AINewsAnalysisRequest;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dto.ai.AIResponse;
+import uz.dckroff.statisfy.dto.fact.FactResponse;
 import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.Fact;
+import uz.dckroff.statisfy.model.News;
+import uz.dckroff.statisfy.model.User;
 import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.FactRepository;
+import uz.dckroff.statisfy.repository.NewsRepository;
+import uz.dckroff.statisfy.repository.UserPreferenceRepository;
 import uz.dckroff.statisfy.service.impl.AIServiceImpl;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,9 +38,21 @@ public class AIServiceTest {
     @Mock
     private OpenAiService openAiService;
 
+    @Mock
+    private NewsRepository newsRepository;
+
+    @Mock
+    private FactRepository factRepository;
+
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private UserPreferenceRepository userPreferenceRepository;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
     @InjectMocks
     private AIServiceImpl aiService;
 
@@ -43,123 +61,100 @@ public class AIServiceTest {
     @BeforeEach
     void setUp() {
         testCategory = Category.builder()
-                .id(UUID.randomUUID())
+                .id(1L)
                 .name("Science")
                 .description("Scientific facts")
                 .build();
 
-        ReflectionTestUtils.setField(aiService, "aiEnabled", true);
         ReflectionTestUtils.setField(aiService, "model", "gpt-3.5-turbo");
     }
 
     @Test
     void generateFact_ValidRequest_ReturnsGeneratedFact() {
         // Arrange
-        AIFactRequest request = new AIFactRequest();
-        request.setCategoryId(testCategory.getId());
-        request.setPrompt("Generate a fact about space");
-
-        when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
-
-        ChatMessage responseMessage = new ChatMessage();
-        responseMessage.setContent("The Sun is so large that approximately 1.3 million Earths could fit inside it.");
-
-        ChatCompletionChoice choice = new ChatCompletionChoice();
-        choice.setMessage(responseMessage);
-
-        ChatCompletionResult result = new ChatCompletionResult();
-        result.setChoices(List.of(choice));
-
-        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(result);
+        String content = "The Sun is so large that approximately 1.3 million Earths could fit inside it.";
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(completion(content));
 
         // Act
-        String generatedFact = aiService.generateFact(request);
+        AIResponse response = aiService.generateFact("space", "English");
 
         // Assert
-        assertNotNull(generatedFact);
-        assertEquals("The Sun is so large that approximately 1.3 million Earths could fit inside it.", generatedFact);
-        verify(categoryRepository, times(1)).findById(testCategory.getId());
+        assertTrue(response.isSuccess());
+        assertEquals(content, response.getContent());
         verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
     }
 
     @Test
-    void analyzeNewsRelevance_ValidRequest_ReturnsAnalysisResult() {
+    void analyzeNewsRelevance_ValidRequest_MarksNewsRelevant() {
         // Arrange
-        AINewsAnalysisRequest request = new AINewsAnalysisRequest();
-        request.setTitle("New Breakthrough in Quantum Computing");
-        request.setSummary("Scientists have achieved a major breakthrough in quantum computing technology.");
-        request.setCategory("Technology");
-
-        ChatMessage responseMessage = new ChatMessage();
-        responseMessage.setContent("0.85");
-
-        ChatCompletionChoice choice = new ChatCompletionChoice();
-        choice.setMessage(responseMessage);
-
-        ChatCompletionResult result = new ChatCompletionResult();
-        result.setChoices(List.of(choice));
-
-        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(result);
+        News news = News.builder()
+                .id(5L)
+                .title("New Breakthrough in Quantum Computing")
+                .summary("Scientists have achieved a major breakthrough in quantum computing technology.")
+                .category(testCategory)
+                .build();
+        when(newsRepository.findById(5L)).thenReturn(Optional.of(news));
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+                .thenReturn(completion("Yes, this news is relevant for technology readers."));
 
         // Act
-        double relevanceScore = aiService.analyzeNewsRelevance(request);
+        AIResponse response = aiService.analyzeNewsRelevance(5L, "Technology");
 
         // Assert
-        assertEquals(0.85, relevanceScore, 0.01);
-        verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
+        assertTrue(response.isSuccess());
+        assertTrue(news.isRelevant());
+        verify(newsRepository, times(1)).save(news);
     }
 
     @Test
-    void generateDailyFact_ValidCategory_ReturnsGeneratedFact() {
+    void generateDailyFact_NoPreferences_SavesGeneratedFact() {
         // Arrange
-        String category = "Science";
-
-        ChatMessage responseMessage = new ChatMessage();
-        responseMessage.setContent("The human brain has about 86 billion neurons.");
-
-        ChatCompletionChoice choice = new ChatCompletionChoice();
-        choice.setMessage(responseMessage);
-
-        ChatCompletionResult result = new ChatCompletionResult();
-        result.setChoices(List.of(choice));
-
-        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class))).thenReturn(result);
+        User user = User.builder().id(1L).username("testuser").build();
+        when(userPreferenceRepository.findByUser(user)).thenReturn(Optional.empty());
+        when(categoryRepository.findAll()).thenReturn(List.of(testCategory));
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+                .thenReturn(completion("Title: Neurons\nContent: The human brain has about 86 billion neurons."));
+        when(factRepository.save(any(Fact.class))).thenAnswer(invocation -> {
+            Fact fact = invocation.getArgument(0);
+            fact.setId(10L);
+            return fact;
+        });
 
         // Act
-        String dailyFact = aiService.generateDailyFact(category);
+        FactResponse dailyFact = aiService.generateDailyFact(user);
 
         // Assert
-        assertNotNull(dailyFact);
-        assertEquals("The human brain has about 86 billion neurons.", dailyFact);
-        verify(openAiService, times(1)).createChatCompletion(any(ChatCompletionRequest.class));
+        assertEquals(10L, dailyFact.getId());
+        assertEquals("Neurons", dailyFact.getTitle());
+        assertEquals("The human brain has about 86 billion neurons.", dailyFact.getContent());
+        assertEquals("Science", dailyFact.getCategory().getName());
+        verify(duplicateDetector, times(1)).register(eq(DuplicateDetector.FACTS), any());
     }
 
     @Test
-    void aiDisabled_ReturnsDefaultResponses() {
+    void generateFact_OpenAiFailure_ReturnsUnsuccessfulResponse() {
         // Arrange
-        ReflectionTestUtils.setField(aiService, "aiEnabled", false);
-        
-        AIFactRequest factRequest = new AIFactRequest();
-        factRequest.setCategoryId(testCategory.getId());
-        factRequest.setPrompt("Generate a fact about space");
-        
-        AINewsAnalysisRequest newsRequest = new AINewsAnalysisRequest();
-        newsRequest.setTitle("New Breakthrough in Quantum Computing");
-        newsRequest.setSummary("Scientists have achieved a major breakthrough in quantum computing technology.");
-        newsRequest.setCategory("Technology");
-
-        when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+        when(openAiService.createChatCompletion(any(ChatCompletionRequest.class)))
+                .thenThrow(new RuntimeException("quota exceeded"));
 
         // Act
-        String generatedFact = aiService.generateFact(factRequest);
-        double relevanceScore = aiService.analyzeNewsRelevance(newsRequest);
-        String dailyFact = aiService.generateDailyFact("Science");
+        AIResponse response = aiService.generateFact("space", null);
 
         // Assert
-        assertEquals("AI generation is currently disabled. Please try again later.", generatedFact);
-        assertEquals(0.5, relevanceScore, 0.01);
-        assertEquals("AI generation is currently disabled. Please try again later.", dailyFact);
-        
-        verify(openAiService, never()).createChatCompletion(any(ChatCompletionRequest.class));
+        assertFalse(response.isSuccess());
+        assertNull(response.getContent());
+        assertTrue(response.getMessage().contains("quota exceeded"));
+    }
+
+    private static ChatCompletionResult completion(String content) {
+        ChatMessage responseMessage = new ChatMessage();
+        responseMessage.setContent(content);
+
+        ChatCompletionChoice choice = new ChatCompletionChoice();
+        choice.setMessage(responseMessage);
+
+        ChatCompletionResult result = new ChatCompletionResult();
+        result.setChoices(List.of(choice));
+        return result;
     }
-} 
\ No newline at end of file
+}
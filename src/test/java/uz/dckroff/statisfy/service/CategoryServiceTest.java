@@ -0,0 +1,120 @@
+package uz.dckroff.statisfy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.service.impl.CategoryServiceImpl;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryServiceTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private CategoryServiceImpl categoryService;
+
+    private Category technology;
+
+    @BeforeEach
+    void setUp() {
+        technology = Category.builder()
+                .id(1L)
+                .name("Technology")
+                .description("Technology news")
+                .build();
+    }
+
+    @Test
+    void getOrCreateCategory_SecondCall_ServedFromRegistry() {
+        // Arrange
+        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(technology));
+
+        // Act
+        Category first = categoryService.getOrCreateCategory("Technology", "Technology news");
+        Category second = categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Assert
+        assertSame(technology, first);
+        assertEquals(1L, second.getId());
+        assertEquals("Technology", second.getName());
+        verify(categoryRepository, times(1)).findByName("Technology");
+    }
+
+    @Test
+    void getOrCreateCategory_MissingCategory_CreatesIt() {
+        // Arrange
+        when(categoryRepository.findByName("Technology")).thenReturn(Optional.empty());
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            category.setId(7L);
+            return category;
+        });
+
+        // Act
+        Category category = categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Assert
+        assertEquals(7L, category.getId());
+        assertEquals("Technology news", category.getDescription());
+    }
+
+    @Test
+    void getOrCreateCategory_CreatedConcurrently_ReadsExistingCategory() {
+        // Arrange
+        when(categoryRepository.findByName("Technology")).thenReturn(Optional.empty(), Optional.of(technology));
+        when(categoryRepository.save(any(Category.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // Act
+        Category category = categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Assert
+        assertSame(technology, category);
+        verify(categoryRepository, times(2)).findByName("Technology");
+    }
+
+    @Test
+    void evictCategory_NextCallReloadsCategory() {
+        // Arrange
+        Category recreated = Category.builder().id(2L).name("Technology").build();
+        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(technology), Optional.of(recreated));
+        categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Act
+        categoryService.evictCategory("Technology");
+        Category category = categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Assert
+        assertEquals(2L, category.getId());
+        verify(categoryRepository, times(2)).findByName("Technology");
+    }
+
+    @Test
+    void deleteCategory_RemovesItFromRegistry() {
+        // Arrange
+        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(technology));
+        when(categoryRepository.existsById(1L)).thenReturn(true);
+        categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Act
+        categoryService.deleteCategory(1L);
+        categoryService.getOrCreateCategory("Technology", "Technology news");
+
+        // Assert
+        verify(categoryRepository, times(1)).deleteById(1L);
+        verify(categoryRepository, times(2)).findByName("Technology");
+    }
+}
@@ -0,0 +1,91 @@
+package uz.dckroff.statisfy.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.dckroff.statisfy.model.CollectorRun;
+import uz.dckroff.statisfy.model.CollectorRunStatus;
+import uz.dckroff.statisfy.repository.CollectorRunRepository;
+import uz.dckroff.statisfy.repository.CollectorWatermarkRepository;
+import uz.dckroff.statisfy.service.impl.CollectorJournalServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CollectorJournalServiceTest {
+
+    @Mock
+    private CollectorRunRepository collectorRunRepository;
+
+    @Mock
+    private CollectorWatermarkRepository collectorWatermarkRepository;
+
+    @InjectMocks
+    private CollectorJournalServiceImpl journalService;
+
+    @Test
+    void startRun_AfterFailedRun_LinksPreviousRunWithoutCopyingCheckpoint() {
+        // Arrange
+        CollectorRun failed = CollectorRun.builder()
+                .id(3L)
+                .collector("facts")
+                .source("numbers")
+                .status(CollectorRunStatus.FAILED)
+                .startedAt(LocalDateTime.now().minusHours(1))
+                .checkpoint("number:200")
+                .build();
+        when(collectorRunRepository.findBySourceAndStatus("numbers", CollectorRunStatus.RUNNING)).thenReturn(List.of());
+        when(collectorRunRepository.findFirstBySourceOrderByStartedAtDesc("numbers")).thenReturn(Optional.of(failed));
+        when(collectorRunRepository.save(any(CollectorRun.class))).thenAnswer(invocation -> {
+            CollectorRun run = invocation.getArgument(0);
+            run.setId(4L);
+            return run;
+        });
+
+        // Act
+        CollectorRun run = journalService.startRun("facts", "numbers");
+
+        // Assert
+        assertEquals(CollectorRunStatus.RUNNING, run.getStatus());
+        assertEquals(3L, run.getResumedFromRunId());
+        assertNull(run.getCheckpoint());
+    }
+
+    @Test
+    void startRun_StaleRunningRun_MarkedInterrupted() {
+        // Arrange
+        CollectorRun stale = CollectorRun.builder()
+                .id(5L)
+                .collector("statistics")
+                .source("population")
+                .status(CollectorRunStatus.RUNNING)
+                .startedAt(LocalDateTime.now().minusDays(1))
+                .build();
+        when(collectorRunRepository.findBySourceAndStatus("population", CollectorRunStatus.RUNNING))
+                .thenReturn(List.of(stale));
+        when(collectorRunRepository.findFirstBySourceOrderByStartedAtDesc("population")).thenReturn(Optional.of(stale));
+        when(collectorRunRepository.save(any(CollectorRun.class))).thenAnswer(invocation -> {
+            CollectorRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(6L);
+            }
+            return run;
+        });
+
+        // Act
+        CollectorRun run = journalService.startRun("statistics", "population");
+
+        // Assert
+        assertEquals(CollectorRunStatus.INTERRUPTED, stale.getStatus());
+        assertNotNull(stale.getFinishedAt());
+        assertEquals(5L, run.getResumedFromRunId());
+    }
+}
@@ -10,21 +10,25 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import uz.dckroff.statisfy.dto.FactDTO;
+import uz.dckroff.statisfy.dedup.ContentFingerprint;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dto.fact.FactRequest;
+import uz.dckroff.statisfy.dto.fact.FactResponse;
 import uz.dckroff.statisfy.exception.ResourceNotFoundException;
 import uz.dckroff.statisfy.model.Category;
 import uz.dckroff.statisfy.model.Fact;
 import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.FactBatchRepository;
 import uz.dckroff.statisfy.repository.FactRepository;
 import uz.dckroff.statisfy.service.impl.FactServiceImpl;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,23 +40,29 @@ public class FactServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private FactBatchRepository factBatchRepository;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
     @InjectMocks
     private FactServiceImpl factService;
 
     private Fact testFact;
-    private FactDTO testFactDTO;
+    private FactRequest testFactRequest;
     private Category testCategory;
 
     @BeforeEach
     void setUp() {
         testCategory = Category.builder()
-                .id(UUID.randomUUID())
+                .id(1L)
                 .name("Science")
                 .description("Scientific facts")
                 .build();
 
         testFact = Fact.builder()
-                .id(UUID.randomUUID())
+                .id(1L)
                 .title("Test Fact")
                 .content("This is a test fact content")
                 .category(testCategory)
@@ -61,7 +71,7 @@ public class FactServiceTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        testFactDTO = FactDTO.builder()
+        testFactRequest = FactRequest.builder()
                 .title("Test Fact")
                 .content("This is a test fact content")
                 .categoryId(testCategory.getId())
@@ -75,26 +85,26 @@ public class FactServiceTest {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
         Page<Fact> factsPage = new PageImpl<>(List.of(testFact), pageable, 1);
-        when(factRepository.findAll(pageable)).thenReturn(factsPage);
+        when(factRepository.findByIsPublishedTrue(pageable)).thenReturn(factsPage);
 
         // Act
-        Page<Fact> result = factService.getAllFacts(pageable);
+        Page<FactResponse> result = factService.getAllFacts(pageable);
 
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(testFact.getId(), result.getContent().get(0).getId());
-        verify(factRepository, times(1)).findAll(pageable);
+        verify(factRepository, times(1)).findByIsPublishedTrue(pageable);
     }
 
     @Test
     void getFactById_ExistingFact_ReturnsFact() {
         // Arrange
-        UUID factId = testFact.getId();
+        Long factId = testFact.getId();
         when(factRepository.findById(factId)).thenReturn(Optional.of(testFact));
 
         // Act
-        Fact result = factService.getFactById(factId);
+        FactResponse result = factService.getFactById(factId);
 
         // Assert
         assertNotNull(result);
@@ -106,7 +116,7 @@ public class FactServiceTest {
     @Test
     void getFactById_NonExistingFact_ThrowsException() {
         // Arrange
-        UUID factId = UUID.randomUUID();
+        Long factId = 99L;
         when(factRepository.findById(factId)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -120,19 +130,19 @@ public class FactServiceTest {
         when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
         when(factRepository.save(any(Fact.class))).thenAnswer(invocation -> {
             Fact fact = invocation.getArgument(0);
-            fact.setId(UUID.randomUUID());
+            fact.setId(2L);
             return fact;
         });
 
         // Act
-        Fact result = factService.createFact(testFactDTO);
+        FactResponse result = factService.createFact(testFactRequest);
 
         // Assert
         assertNotNull(result);
         assertNotNull(result.getId());
-        assertEquals(testFactDTO.getTitle(), result.getTitle());
-        assertEquals(testFactDTO.getContent(), result.getContent());
-        assertEquals(testCategory, result.getCategory());
+        assertEquals(testFactRequest.getTitle(), result.getTitle());
+        assertEquals(testFactRequest.getContent(), result.getContent());
+        assertEquals(testCategory.getName(), result.getCategory().getName());
         verify(categoryRepository, times(1)).findById(testCategory.getId());
         verify(factRepository, times(1)).save(any(Fact.class));
     }
@@ -140,12 +150,12 @@ public class FactServiceTest {
     @Test
     void updateFact_ValidData_ReturnsUpdatedFact() {
         // Arrange
-        UUID factId = testFact.getId();
+        Long factId = testFact.getId();
         when(factRepository.findById(factId)).thenReturn(Optional.of(testFact));
         when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
         when(factRepository.save(any(Fact.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        FactDTO updateDTO = FactDTO.builder()
+        FactRequest updateRequest = FactRequest.builder()
                 .title("Updated Fact")
                 .content("Updated content")
                 .categoryId(testCategory.getId())
@@ -154,30 +164,100 @@ public class FactServiceTest {
                 .build();
 
         // Act
-        Fact result = factService.updateFact(factId, updateDTO);
+        FactResponse result = factService.updateFact(factId, updateRequest);
 
         // Assert
         assertNotNull(result);
         assertEquals(factId, result.getId());
-        assertEquals(updateDTO.getTitle(), result.getTitle());
-        assertEquals(updateDTO.getContent(), result.getContent());
+        assertEquals(updateRequest.getTitle(), result.getTitle());
+        assertEquals(updateRequest.getContent(), result.getContent());
         verify(factRepository, times(1)).findById(factId);
         verify(categoryRepository, times(1)).findById(testCategory.getId());
         verify(factRepository, times(1)).save(any(Fact.class));
+        verify(duplicateDetector, times(1)).remove(DuplicateDetector.FACTS,
+                ContentFingerprint.of("This is a test fact content"));
+        verify(duplicateDetector, times(1)).register(DuplicateDetector.FACTS,
+                ContentFingerprint.of("Updated content"));
     }
 
     @Test
     void deleteFact_ExistingFact_DeletesSuccessfully() {
         // Arrange
-        UUID factId = testFact.getId();
+        Long factId = testFact.getId();
         when(factRepository.findById(factId)).thenReturn(Optional.of(testFact));
-        doNothing().when(factRepository).delete(testFact);
 
         // Act
         factService.deleteFact(factId);
 
         // Assert
-        verify(factRepository, times(1)).findById(factId);
         verify(factRepository, times(1)).delete(testFact);
+        verify(duplicateDetector, times(1)).remove(DuplicateDetector.FACTS,
+                ContentFingerprint.of(testFact.getContent()));
+    }
+
+    @Test
+    void deleteFact_NonExistingFact_ThrowsException() {
+        // Arrange
+        when(factRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> factService.deleteFact(99L));
+        verify(factRepository, never()).delete(any(Fact.class));
+        verifyNoInteractions(duplicateDetector);
+    }
+
+    @Test
+    void createFacts_UnknownCategory_SkipsOnlyThoseEntries() {
+        // Arrange
+        FactRequest unknownCategory = FactRequest.builder()
+                .title("Orphan Fact")
+                .content("A fact whose category has been deleted")
+                .categoryId(42L)
+                .build();
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(testCategory));
+        when(duplicateDetector.filterNew(eq(DuplicateDetector.FACTS), anyList(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(factBatchRepository.insertAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        int saved = factService.createFacts(List.of(testFactRequest, unknownCategory));
+
+        // Assert
+        assertEquals(1, saved);
+        verify(factBatchRepository, times(1)).insertAll(argThat((List<Fact> facts) -> facts.size() == 1
+                && facts.get(0).getTitle().equals(testFactRequest.getTitle())
+                && facts.get(0).getCategory() == testCategory));
+    }
+
+    @Test
+    void createFacts_Duplicates_WritesOnlyNewFacts() {
+        // Arrange
+        FactRequest second = FactRequest.builder()
+                .title("Second Fact")
+                .content("Another test fact content")
+                .categoryId(testCategory.getId())
+                .build();
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(testCategory));
+        when(duplicateDetector.filterNew(eq(DuplicateDetector.FACTS), anyList(), any(), any()))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(1)).subList(1, 2));
+        when(factBatchRepository.insertAll(anyList())).thenReturn(1);
+
+        // Act
+        int saved = factService.createFacts(List.of(testFactRequest, second));
+
+        // Assert
+        assertEquals(1, saved);
+        verify(factBatchRepository, times(1)).insertAll(argThat((List<Fact> facts) -> facts.size() == 1
+                && facts.get(0).getTitle().equals("Second Fact")));
+    }
+
+    @Test
+    void createFacts_EmptyBatch_WritesNothing() {
+        // Act
+        int saved = factService.createFacts(List.of());
+
+        // Assert
+        assertEquals(0, saved);
+        verifyNoInteractions(categoryRepository, factBatchRepository);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package uz.dckroff.statisfy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import uz.dckroff.statisfy.dedup.DuplicateDetector;
+import uz.dckroff.statisfy.dedup.NewsUrlIndex;
+import uz.dckroff.statisfy.dto.newsapi.NewsApiResponse;
+import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.News;
+import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.NewsBatchRepository;
+import uz.dckroff.statisfy.repository.NewsRepository;
+import uz.dckroff.statisfy.service.impl.NewsServiceImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NewsServiceTest {
+
+    @Mock
+    private NewsRepository newsRepository;
+
+    @Mock
+    private NewsBatchRepository newsBatchRepository;
+
+    @Mock
+    private DuplicateDetector duplicateDetector;
+
+    @Mock
+    private NewsUrlIndex newsUrlIndex;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private NewsApiService newsApiService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Executor taskExecutor;
+
+    @InjectMocks
+    private NewsServiceImpl newsService;
+
+    private Category technology;
+
+    @BeforeEach
+    void setUp() {
+        technology = Category.builder()
+                .id(1L)
+                .name("Technology")
+                .description("Technology news")
+                .build();
+    }
+
+    @Test
+    void createNews_SetsUrlKeysAndRegistersThem() {
+        // Arrange
+        News news = News.builder()
+                .title("Tashkent metro opens three new stations")
+                .summary("The circle line gets three new stations")
+                .url("https://Kun.uz/en/news/2024/06/15/metro?utm_source=telegram")
+                .category(technology)
+                .build();
+        when(duplicateDetector.filterNew(eq(DuplicateDetector.NEWS), anyList(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(newsBatchRepository.insertAll(anyList())).thenReturn(1);
+
+        // Act
+        int saved = newsService.createNews(List.of(news));
+
+        // Assert
+        assertEquals(1, saved);
+        assertEquals("https://kun.uz/en/news/2024/06/15/metro", news.getUrlKey());
+        verify(newsUrlIndex, times(1)).register(List.of("https://kun.uz/en/news/2024/06/15/metro"));
+    }
+
+    @Test
+    void createNews_ForeignKeyViolation_EvictsCategories() {
+        // Arrange
+        News news = News.builder()
+                .title("Tashkent metro opens three new stations")
+                .summary("The circle line gets three new stations")
+                .url("https://kun.uz/en/news/2024/06/15/metro")
+                .category(technology)
+                .build();
+        when(duplicateDetector.filterNew(eq(DuplicateDetector.NEWS), anyList(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(newsBatchRepository.insertAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("violates foreign key constraint"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> newsService.createNews(List.of(news)));
+        verify(categoryService, times(1)).evictCategory("Technology");
+        verify(newsUrlIndex, never()).register(anyList());
+    }
+
+    @Test
+    void fetchNewsFromExternalApi_WritesEachCategoryInTransaction() {
+        // Arrange
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        when(newsApiService.fetchTopHeadlines(anyString(), eq("ru"))).thenReturn(Optional.empty());
+        when(newsApiService.fetchTopHeadlines("technology", "ru")).thenReturn(Optional.of(headlines(
+                "https://kun.uz/en/news/2024/06/15/metro", "https://kun.uz/en/news/2024/06/15/budget")));
+        when(categoryService.getOrCreateCategory("Technology", "Technology news")).thenReturn(technology);
+        when(newsUrlIndex.filterUnknown(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(duplicateDetector.filterNew(eq(DuplicateDetector.NEWS), anyList(), any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(newsBatchRepository.insertAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        // Act
+        newsService.fetchNewsFromExternalApi();
+
+        // Assert
+        verify(transactionTemplate, times(1)).execute(any());
+        verify(newsBatchRepository, times(1)).insertAll(argThat((List<News> news) -> news.size() == 2
+                && news.stream().allMatch(item -> item.getCategory() == technology && item.getUrlKey() != null)));
+        verify(newsApiService, times(1)).confirmTopHeadlines("technology", "ru");
+        verify(newsApiService, never()).invalidateTopHeadlines(anyString(), anyString());
+    }
+
+    @Test
+    void fetchNewsFromExternalApi_FailedWrite_InvalidatesInsteadOfConfirming() {
+        // Arrange
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        when(newsApiService.fetchTopHeadlines(anyString(), eq("ru"))).thenReturn(Optional.empty());
+        when(newsApiService.fetchTopHeadlines("technology", "ru")).thenReturn(Optional.of(headlines(
+                "https://kun.uz/en/news/2024/06/15/metro")));
+        when(categoryService.getOrCreateCategory("Technology", "Technology news")).thenReturn(technology);
+        when(newsUrlIndex.filterUnknown(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act
+        newsService.fetchNewsFromExternalApi();
+
+        // Assert
+        verify(newsApiService, never()).confirmTopHeadlines(anyString(), anyString());
+        verify(newsApiService, times(1)).invalidateTopHeadlines("technology", "ru");
+    }
+
+    private static NewsApiResponse headlines(String... urls) {
+        List<NewsApiResponse.Article> articles = Arrays.stream(urls)
+                .map(url -> new NewsApiResponse.Article(new NewsApiResponse.Source(null, "Kun.uz"), null,
+                        "Title of " + url, "Description of " + url, url, null, "2024-06-15T10:00:00Z", null))
+                .toList();
+        return new NewsApiResponse("ok", articles.size(), articles);
+    }
+}
@@ -0,0 +1,305 @@
+package uz.dckroff.statisfy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.dckroff.statisfy.dto.statistic.StatisticRequest;
+import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.Statistic;
+import uz.dckroff.statisfy.repository.CategoryRepository;
+import uz.dckroff.statisfy.repository.StatisticBatchRepository;
+import uz.dckroff.statisfy.repository.StatisticRepository;
+import uz.dckroff.statisfy.repository.StatisticSeriesRepository;
+import uz.dckroff.statisfy.service.impl.StatisticServiceImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticServiceTest {
+
+    @Mock
+    private StatisticRepository statisticRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private StatisticBatchRepository statisticBatchRepository;
+
+    @Mock
+    private StatisticSeriesRepository statisticSeriesRepository;
+
+    @Mock
+    private StatisticRollupService statisticRollupService;
+
+    @InjectMocks
+    private StatisticServiceImpl statisticService;
+
+    private Category economy;
+
+    @BeforeEach
+    void setUp() {
+        economy = Category.builder()
+                .id(1L)
+                .name("Economy")
+                .description("Economic statistics")
+                .build();
+    }
+
+    @Test
+    void upsertStatistics_RepeatedNaturalKey_KeepsLastValue() {
+        // Arrange
+        LocalDate date = LocalDate.of(2023, 1, 1);
+        List<StatisticRequest> requests = List.of(
+                request("GDP (current US$) - Uzbekistan", 1.0, 1L, date),
+                request("GDP (current US$) - Uzbekistan", 2.0, 1L, date),
+                request("Population, total - Uzbekistan", 3.0, 1L, date));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(economy));
+        when(statisticBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        int affected = statisticService.upsertStatistics(requests);
+
+        // Assert
+        assertEquals(2, affected);
+        verify(statisticBatchRepository, times(1)).upsertAll(argThat((List<Statistic> statistics) ->
+                statistics.size() == 2 && statistics.get(0).getValue() == 2.0 && statistics.get(1).getValue() == 3.0));
+        verify(statisticSeriesRepository, times(1)).upsertPoints(requests);
+    }
+
+    @Test
+    void upsertStatistics_NoSource_StoresEmptySourceForNaturalKey() {
+        // Arrange
+        LocalDate date = LocalDate.of(2023, 1, 1);
+        StatisticRequest first = request("Inflation - Uzbekistan", 10.0, 1L, date);
+        first.setSource(null);
+        StatisticRequest second = request("Inflation - Uzbekistan", 11.0, 1L, date);
+        second.setSource("");
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(economy));
+        when(statisticBatchRepository.upsertAll(anyList())).thenReturn(1);
+
+        // Act
+        statisticService.upsertStatistics(List.of(first, second));
+
+        // Assert
+        verify(statisticBatchRepository, times(1)).upsertAll(argThat((List<Statistic> statistics) ->
+                statistics.size() == 1 && "".equals(statistics.get(0).getSource()) && statistics.get(0).getValue() == 11.0));
+    }
+
+    @Test
+    void upsertStatistics_UnknownCategory_SkipsOnlyThoseEntries() {
+        // Arrange
+        LocalDate date = LocalDate.of(2023, 1, 1);
+        StatisticRequest known = request("GDP (current US$) - Uzbekistan", 1.0, 1L, date);
+        StatisticRequest unknown = request("Inflation - Uzbekistan", 10.0, 42L, date);
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(economy));
+        when(statisticBatchRepository.upsertAll(anyList())).thenReturn(1);
+
+        // Act
+        int affected = statisticService.upsertStatistics(List.of(known, unknown));
+
+        // Assert
+        assertEquals(1, affected);
+        verify(statisticBatchRepository, times(1)).upsertAll(argThat((List<Statistic> statistics) ->
+                statistics.size() == 1 && statistics.get(0).getCategory() == economy));
+        verify(statisticSeriesRepository, times(1)).upsertPoints(List.of(known));
+    }
+
+    @Test
+    void upsertStatistics_NothingChanged_SkipsRollupRefresh() {
+        // Arrange
+        List<StatisticRequest> requests = List.of(
+                request("GDP (current US$) - Uzbekistan", 1.0, 1L, LocalDate.of(2023, 1, 1)));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(economy));
+        when(statisticBatchRepository.upsertAll(anyList())).thenReturn(0);
+        when(statisticSeriesRepository.upsertPoints(requests)).thenReturn(0);
+
+        // Act
+        int affected = statisticService.upsertStatistics(requests);
+
+        // Assert
+        assertEquals(0, affected);
+        verifyNoInteractions(statisticRollupService);
+    }
+
+    @Test
+    void upsertStatistics_ChangedValue_RefreshesRollups() {
+        // Arrange
+        List<StatisticRequest> requests = List.of(
+                request("GDP (current US$) - Uzbekistan", 1.0, 1L, LocalDate.of(2023, 1, 1)));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(economy));
+        when(statisticBatchRepository.upsertAll(anyList())).thenReturn(1);
+
+        // Act
+        statisticService.upsertStatistics(requests);
+
+        // Assert
+        verify(statisticRollupService, times(1)).refresh(requests);
+    }
+
+    @Test
+    void updateStatistic_ChangedCategory_FlushesBeforeRefreshingBothCategories() {
+        // Arrange
+        Category health = Category.builder().id(2L).name("Health").build();
+        Statistic statistic = Statistic.builder()
+                .id(7L)
+                .title("GDP (current US$) - Uzbekistan")
+                .value(1.0)
+                .category(economy)
+                .source("World Bank")
+                .date(LocalDate.of(2022, 1, 1))
+                .build();
+        StatisticRequest request = request("Hospital beds - Uzbekistan", 4.0, 2L, LocalDate.of(2023, 1, 1));
+        when(statisticRepository.findById(7L)).thenReturn(Optional.of(statistic));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(health));
+        when(statisticRepository.saveAndFlush(statistic)).thenReturn(statistic);
+
+        // Act
+        statisticService.updateStatistic(7L, request);
+
+        // Assert
+        InOrder inOrder = inOrder(statisticRepository, statisticRollupService);
+        inOrder.verify(statisticRepository).saveAndFlush(statistic);
+        inOrder.verify(statisticRollupService).refresh(argThat((List<StatisticRequest> requests) -> requests.size() == 2
+                && requests.get(0).getCategoryId() == 1L
+                && requests.get(0).getDate().equals(LocalDate.of(2022, 1, 1))
+                && requests.get(1) == request));
+    }
+
+    @Test
+    void createStatistic_SeriesPoint_WritesPointAndRefreshesRollups() {
+        // Arrange
+        StatisticRequest request = seriesRequest("SP.POP.TOTL", "UZB", LocalDate.of(2022, 1, 1));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(economy));
+        when(statisticRepository.saveAndFlush(any(Statistic.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        statisticService.createStatistic(request);
+
+        // Assert
+        verify(statisticRepository, times(1)).saveAndFlush(argThat(statistic ->
+                "SP.POP.TOTL".equals(statistic.getIndicator()) && "UZB".equals(statistic.getCountryCode())));
+        verify(statisticSeriesRepository, times(1)).upsertPoints(List.of(request));
+        verify(statisticRollupService, times(1)).refresh(List.of(request));
+    }
+
+    @Test
+    void updateStatistic_MovedToAnotherDate_DeletesOldPoint() {
+        // Arrange
+        Statistic statistic = Statistic.builder()
+                .id(7L)
+                .title("Population of Uzbekistan")
+                .value(36_000_000.0)
+                .category(economy)
+                .source("World Bank")
+                .date(LocalDate.of(2022, 1, 1))
+                .indicator("SP.POP.TOTL")
+                .countryCode("UZB")
+                .build();
+        StatisticRequest request = seriesRequest("SP.POP.TOTL", "UZB", LocalDate.of(2023, 1, 1));
+        when(statisticRepository.findById(7L)).thenReturn(Optional.of(statistic));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(economy));
+        when(statisticRepository.saveAndFlush(statistic)).thenReturn(statistic);
+
+        // Act
+        statisticService.updateStatistic(7L, request);
+
+        // Assert
+        verify(statisticSeriesRepository, times(1)).deletePoint(argThat(previous ->
+                "UZB".equals(previous.getCountryCode()) && previous.getDate().equals(LocalDate.of(2022, 1, 1))));
+        verify(statisticSeriesRepository, times(1)).upsertPoints(List.of(request));
+    }
+
+    @Test
+    void updateStatistic_SamePoint_KeepsPoint() {
+        // Arrange
+        Statistic statistic = Statistic.builder()
+                .id(7L)
+                .title("Population of Uzbekistan")
+                .value(36_000_000.0)
+                .category(economy)
+                .date(LocalDate.of(2022, 1, 1))
+                .indicator("SP.POP.TOTL")
+                .countryCode("UZB")
+                .build();
+        StatisticRequest request = seriesRequest("SP.POP.TOTL", "UZB", LocalDate.of(2022, 1, 1));
+        when(statisticRepository.findById(7L)).thenReturn(Optional.of(statistic));
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(economy));
+        when(statisticRepository.saveAndFlush(statistic)).thenReturn(statistic);
+
+        // Act
+        statisticService.updateStatistic(7L, request);
+
+        // Assert
+        verify(statisticSeriesRepository, never()).deletePoint(any());
+        verify(statisticSeriesRepository, times(1)).upsertPoints(List.of(request));
+    }
+
+    @Test
+    void deleteStatistic_SeriesPoint_DeletesPointAndRefreshesRollups() {
+        // Arrange
+        Statistic statistic = Statistic.builder()
+                .id(7L)
+                .title("Population of Uzbekistan")
+                .value(36_000_000.0)
+                .category(economy)
+                .date(LocalDate.of(2022, 1, 1))
+                .indicator("SP.POP.TOTL")
+                .countryCode("UZB")
+                .build();
+        when(statisticRepository.findById(7L)).thenReturn(Optional.of(statistic));
+
+        // Act
+        statisticService.deleteStatistic(7L);
+
+        // Assert
+        InOrder inOrder = inOrder(statisticRepository, statisticSeriesRepository, statisticRollupService);
+        inOrder.verify(statisticRepository).flush();
+        inOrder.verify(statisticSeriesRepository).deletePoint(argThat(previous ->
+                "SP.POP.TOTL".equals(previous.getIndicator()) && "UZB".equals(previous.getCountryCode())));
+        inOrder.verify(statisticRollupService).refresh(argThat((List<StatisticRequest> requests) ->
+                requests.size() == 1 && "SP.POP.TOTL".equals(requests.get(0).getIndicator())));
+    }
+
+    @Test
+    void upsertStatistics_NoKnownCategory_WritesNothing() {
+        // Arrange
+        when(categoryRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act
+        int affected = statisticService.upsertStatistics(List.of(request("Inflation", 10.0, 42L, LocalDate.now())));
+
+        // Assert
+        assertEquals(0, affected);
+        verifyNoInteractions(statisticBatchRepository, statisticSeriesRepository, statisticRollupService);
+    }
+
+    private static StatisticRequest seriesRequest(String indicator, String countryCode, LocalDate date) {
+        StatisticRequest request = request("Population of Uzbekistan", 36_500_000.0, 1L, date);
+        request.setIndicator(indicator);
+        request.setCountryCode(countryCode);
+        return request;
+    }
+
+    private static StatisticRequest request(String title, double value, Long categoryId, LocalDate date) {
+        return StatisticRequest.builder()
+                .title(title)
+                .value(value)
+                .unit("USD")
+                .categoryId(categoryId)
+                .source("World Bank")
+                .date(date)
+                .build();
+    }
+}
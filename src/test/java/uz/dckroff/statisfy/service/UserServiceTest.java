@@ -1,22 +1,32 @@
 package uz.dckroff.statisfy.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import uz.dckroff.statisfy.dto.UserDTO;
+import uz.dckroff.statisfy.dto.auth.AuthResponse;
+import uz.dckroff.statisfy.dto.auth.LoginRequest;
+import uz.dckroff.statisfy.dto.auth.RegisterRequest;
+import uz.dckroff.statisfy.dto.user.UpdateProfileRequest;
+import uz.dckroff.statisfy.dto.user.UserProfileResponse;
 import uz.dckroff.statisfy.exception.ResourceNotFoundException;
+import uz.dckroff.statisfy.exception.UserAlreadyExistsException;
+import uz.dckroff.statisfy.model.Role;
 import uz.dckroff.statisfy.model.User;
-import uz.dckroff.statisfy.model.enums.Role;
 import uz.dckroff.statisfy.repository.UserRepository;
+import uz.dckroff.statisfy.security.JwtService;
 import uz.dckroff.statisfy.service.impl.UserServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,103 +41,146 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
     @InjectMocks
     private UserServiceImpl userService;
 
     private User testUser;
-    private UserDTO testUserDTO;
     private final String TEST_USERNAME = "testuser";
     private final String TEST_EMAIL = "test@example.com";
 
     @BeforeEach
     void setUp() {
         testUser = User.builder()
-                .id(UUID.randomUUID())
+                .id(1L)
                 .username(TEST_USERNAME)
                 .email(TEST_EMAIL)
                 .password("encoded_password")
                 .role(Role.USER)
                 .createdAt(LocalDateTime.now())
                 .build();
+    }
 
-        testUserDTO = UserDTO.builder()
-                .username(TEST_USERNAME)
-                .email(TEST_EMAIL)
-                .build();
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
-    void getUserById_ExistingUser_ReturnsUser() {
+    void register_NewUser_ReturnsToken() {
         // Arrange
-        UUID userId = testUser.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
+        RegisterRequest request = RegisterRequest.builder()
+                .username(TEST_USERNAME)
+                .email(TEST_EMAIL)
+                .password("secret123")
+                .build();
+        when(userRepository.existsByUsername(TEST_USERNAME)).thenReturn(false);
+        when(userRepository.existsByEmail(TEST_EMAIL)).thenReturn(false);
+        when(passwordEncoder.encode("secret123")).thenReturn("encoded_password");
+        when(jwtService.generateToken(any(User.class))).thenReturn("jwt-token");
 
         // Act
-        User result = userService.getUserById(userId);
+        AuthResponse result = userService.register(request);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(testUser.getId(), result.getId());
-        assertEquals(testUser.getUsername(), result.getUsername());
-        verify(userRepository, times(1)).findById(userId);
+        assertEquals("jwt-token", result.getToken());
+        assertEquals(TEST_USERNAME, result.getUsername());
+        verify(userRepository, times(1)).save(argThat(user ->
+                "encoded_password".equals(user.getPassword()) && user.getRole() == Role.USER));
     }
 
     @Test
-    void getUserById_NonExistingUser_ThrowsException() {
+    void register_ExistingUsername_ThrowsException() {
         // Arrange
-        UUID userId = UUID.randomUUID();
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        RegisterRequest request = RegisterRequest.builder()
+                .username(TEST_USERNAME)
+                .email(TEST_EMAIL)
+                .password("secret123")
+                .build();
+        when(userRepository.existsByUsername(TEST_USERNAME)).thenReturn(true);
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(userId));
-        verify(userRepository, times(1)).findById(userId);
+        assertThrows(UserAlreadyExistsException.class, () -> userService.register(request));
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void login_ValidCredentials_ReturnsToken() {
+        // Arrange
+        LoginRequest request = LoginRequest.builder()
+                .username(TEST_USERNAME)
+                .password("secret123")
+                .build();
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(jwtService.generateToken(testUser)).thenReturn("jwt-token");
+
+        // Act
+        AuthResponse result = userService.login(request);
+
+        // Assert
+        assertEquals("jwt-token", result.getToken());
+        assertEquals(TEST_EMAIL, result.getEmail());
+        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
 
     @Test
-    void getUserByUsername_ExistingUser_ReturnsUser() {
+    void getCurrentUserProfile_ExistingUser_ReturnsProfile() {
         // Arrange
+        authenticateAs(TEST_USERNAME);
         when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
 
         // Act
-        User result = userService.getUserByUsername(TEST_USERNAME);
+        UserProfileResponse result = userService.getCurrentUserProfile();
 
         // Assert
         assertNotNull(result);
+        assertEquals(testUser.getId(), result.getId());
         assertEquals(TEST_USERNAME, result.getUsername());
         verify(userRepository, times(1)).findByUsername(TEST_USERNAME);
     }
 
     @Test
-    void getUserByUsername_NonExistingUser_ThrowsException() {
+    void getCurrentUserProfile_NonExistingUser_ThrowsException() {
         // Arrange
-        String nonExistingUsername = "nonexistent";
-        when(userRepository.findByUsername(nonExistingUsername)).thenReturn(Optional.empty());
+        authenticateAs("nonexistent");
+        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByUsername(nonExistingUsername));
-        verify(userRepository, times(1)).findByUsername(nonExistingUsername);
+        assertThrows(ResourceNotFoundException.class, () -> userService.getCurrentUserProfile());
+        verify(userRepository, times(1)).findByUsername("nonexistent");
     }
 
     @Test
-    void updateUser_ValidData_ReturnsUpdatedUser() {
+    void updateProfile_ValidData_ReturnsUpdatedProfile() {
         // Arrange
-        UUID userId = testUser.getId();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        authenticateAs(TEST_USERNAME);
+        when(userRepository.findByUsername(TEST_USERNAME)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByUsername("updated_username")).thenReturn(false);
+        when(userRepository.existsByEmail("updated@example.com")).thenReturn(false);
 
-        UserDTO updateDTO = UserDTO.builder()
+        UpdateProfileRequest request = UpdateProfileRequest.builder()
                 .username("updated_username")
                 .email("updated@example.com")
                 .build();
 
         // Act
-        User result = userService.updateUser(userId, updateDTO);
+        UserProfileResponse result = userService.updateProfile(request);
 
         // Assert
         assertNotNull(result);
-        assertEquals(updateDTO.getUsername(), result.getUsername());
-        assertEquals(updateDTO.getEmail(), result.getEmail());
-        verify(userRepository, times(1)).findById(userId);
-        verify(userRepository, times(1)).save(any(User.class));
+        assertEquals(request.getUsername(), result.getUsername());
+        assertEquals(request.getEmail(), result.getEmail());
+        verify(userRepository, times(1)).save(testUser);
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    private void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
     }
-} 
\ No newline at end of file
+}
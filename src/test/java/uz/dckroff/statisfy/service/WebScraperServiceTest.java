@@ -0,0 +1,221 @@
+package uz.dckroff.statisfy.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uz.dckroff.statisfy.config.ScraperConfig;
+import uz.dckroff.statisfy.dedup.NewsUrlIndex;
+import uz.dckroff.statisfy.model.Category;
+import uz.dckroff.statisfy.model.CollectorWatermark;
+import uz.dckroff.statisfy.model.News;
+import uz.dckroff.statisfy.repository.CrawlFrontierRepository.Entry;
+import uz.dckroff.statisfy.scraper.CrawlFrontier;
+import uz.dckroff.statisfy.scraper.HostFetchScheduler;
+import uz.dckroff.statisfy.scraper.ScraperFixtures;
+import uz.dckroff.statisfy.scraper.SiteExtractor;
+import uz.dckroff.statisfy.service.impl.WebScraperServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebScraperServiceTest {
+
+    private static final String NEXT_PAGE = "https://kun.uz/en/news/list?page=2";
+    private static final String METRO = "https://kun.uz/en/news/2024/06/15/metro";
+    private static final String BUDGET = "https://kun.uz/en/news/2024/06/15/budget";
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private NewsService newsService;
+
+    @Mock
+    private NewsUrlIndex newsUrlIndex;
+
+    @Mock
+    private CollectorJournalService journalService;
+
+    @Mock
+    private HostFetchScheduler fetchScheduler;
+
+    @Mock
+    private SiteExtractor extractor;
+
+    @Mock
+    private CrawlFrontier frontier;
+
+    @Mock
+    private Executor taskExecutor;
+
+    private ScraperConfig config;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        config = ScraperFixtures.config();
+        category = Category.builder().id(1L).name("News").build();
+    }
+
+    @Test
+    void scrapeSite_ListingWithoutKnownContent_QueuesNextPageAndReadsArticles() throws Exception {
+        // Arrange
+        ScraperConfig.Site site = config.getSite("kun.uz");
+        Entry seed = new Entry(1, "kun.uz", site.getUrl(), site.getUrl(), CrawlFrontier.LISTING, 0, 0, 0, null, null, null);
+        Entry metro = article(2, METRO);
+        Entry budget = article(3, BUDGET);
+        List<SiteExtractor.ListingItem> items = List.of(
+                new SiteExtractor.ListingItem(METRO, "Metro", null, null),
+                new SiteExtractor.ListingItem(BUDGET, "Budget", null, null));
+        when(frontier.due(eq(site), anyInt())).thenReturn(List.of(seed), List.of(metro, budget), List.of());
+        when(fetchScheduler.fetchIfModified(eq(site.getUrl()), any()))
+                .thenReturn(new SiteExtractor.ListingPage(items, NEXT_PAGE));
+        when(journalService.getWatermark("scraper:kun.uz"))
+                .thenReturn(CollectorWatermark.builder().source("scraper:kun.uz").build());
+        when(newsUrlIndex.filterUnknown(anyList(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(frontier.enqueueArticles(site, items, 1)).thenReturn(0);
+        when(fetchScheduler.<SiteExtractor.ArticleFields>submit(anyString(), any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(new SiteExtractor.ArticleFields("Title of " + invocation.getArgument(0),
+                        "Summary", LocalDateTime.of(2024, 6, 15, 10, 0))));
+        when(extractor.categoryOf(eq(site), anyString())).thenReturn("News");
+        when(categoryService.getOrCreateCategory(eq("News"), anyString())).thenReturn(category);
+        when(newsService.createNews(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        int saved = service().scrapeSite("kun.uz");
+
+        // Assert
+        assertEquals(2, saved);
+        verify(frontier).enqueueListing(site, NEXT_PAGE, 1);
+        verify(frontier).visited(site, seed);
+        verify(journalService).saveWatermark(argThat(watermark -> METRO.equals(watermark.getLastKey())));
+        verify(newsService).createNews(argThat((List<News> news) -> news.size() == 2
+                && news.get(0).getTitle().equals("Title of " + METRO) && news.get(0).getCategory() == category));
+        verify(frontier).visited(List.of(metro, budget));
+    }
+
+    @Test
+    void scrapeSite_ListingReachesQueuedArticle_StopsPaging() throws Exception {
+        // Arrange
+        ScraperConfig.Site site = config.getSite("kun.uz");
+        Entry seed = new Entry(1, "kun.uz", site.getUrl(), site.getUrl(), CrawlFrontier.LISTING, 0, 0, 0, null, null, null);
+        List<SiteExtractor.ListingItem> items = List.of(new SiteExtractor.ListingItem(METRO, "Metro", null, null));
+        when(frontier.due(eq(site), anyInt())).thenReturn(List.of(seed), List.of());
+        when(fetchScheduler.fetchIfModified(eq(site.getUrl()), any()))
+                .thenReturn(new SiteExtractor.ListingPage(items, NEXT_PAGE));
+        when(journalService.getWatermark("scraper:kun.uz"))
+                .thenReturn(CollectorWatermark.builder().source("scraper:kun.uz").lastKey(METRO).build());
+
+        // Act
+        service().scrapeSite("kun.uz");
+
+        // Assert
+        verify(frontier, never()).enqueueListing(any(), anyString(), anyInt());
+        verify(frontier).visited(site, seed);
+        verifyNoInteractions(newsUrlIndex, newsService);
+    }
+
+    @Test
+    void scrapeSite_BatchRejected_SavesArticlesOneByOne() throws Exception {
+        // Arrange
+        ScraperConfig.Site site = config.getSite("kun.uz");
+        Entry metro = article(2, METRO);
+        Entry budget = article(3, BUDGET);
+        String longTitle = "Budget ".repeat(50);
+        when(frontier.due(eq(site), anyInt())).thenReturn(List.of(metro, budget), List.of());
+        when(fetchScheduler.<SiteExtractor.ArticleFields>submit(eq(METRO), any())).thenReturn(
+                CompletableFuture.completedFuture(new SiteExtractor.ArticleFields("Metro", "Summary", null)));
+        when(fetchScheduler.<SiteExtractor.ArticleFields>submit(eq(BUDGET), any())).thenReturn(
+                CompletableFuture.completedFuture(new SiteExtractor.ArticleFields(longTitle, "Summary", null)));
+        when(extractor.categoryOf(eq(site), anyString())).thenReturn("News");
+        when(categoryService.getOrCreateCategory(eq("News"), anyString())).thenReturn(category);
+        when(newsService.createNews(anyList())).thenAnswer(invocation -> {
+            List<News> news = invocation.getArgument(0);
+            if (news.size() > 1 || news.get(0).getUrl().equals(BUDGET)) {
+                throw new IllegalStateException("value too long for type character varying(255)");
+            }
+            return 1;
+        });
+
+        // Act
+        int saved = service().scrapeSite("kun.uz");
+
+        // Assert
+        assertEquals(1, saved);
+        verify(newsService).createNews(argThat((List<News> news) -> news.size() == 2
+                && news.get(1).getTitle().length() == 255 && news.get(1).getTitle().endsWith("...")));
+        verify(frontier).visited(List.of(metro));
+        verify(frontier).failed(budget);
+        verify(frontier, never()).failed(metro);
+    }
+
+    @Test
+    void scrapeAllSources_SitesOnOneHost_ShareTheHostBudget() throws Exception {
+        // Arrange
+        config.getFrontier().setHostBudget(3);
+        config.getFrontier().setBatchSize(2);
+        ScraperConfig.Site english = site("kun.uz-en", "https://kun.uz/en/news/list");
+        ScraperConfig.Site russian = site("kun.uz-ru", "https://www.kun.uz/ru/news/list");
+        config.setSites(List.of(english, russian));
+
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+        AtomicLong ids = new AtomicLong();
+        when(frontier.due(any(), anyInt())).thenAnswer(invocation -> {
+            List<Entry> entries = new ArrayList<>();
+            for (int i = 0; i < (int) invocation.getArgument(1); i++) {
+                long id = ids.incrementAndGet();
+                entries.add(article(id, "https://kun.uz/en/news/2024/06/15/article-" + id));
+            }
+            return entries;
+        });
+        when(fetchScheduler.<SiteExtractor.ArticleFields>submit(anyString(), any())).thenReturn(
+                CompletableFuture.completedFuture(new SiteExtractor.ArticleFields("Title", "Summary", null)));
+        when(extractor.categoryOf(any(), anyString())).thenReturn("News");
+        when(categoryService.getOrCreateCategory(eq("News"), anyString())).thenReturn(category);
+        when(newsService.createNews(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        int saved = service().scrapeAllSources();
+
+        // Assert
+        assertEquals(3, saved);
+        verify(fetchScheduler, times(3)).submit(anyString(), any());
+        verify(frontier).due(english, 2);
+        verify(frontier).due(english, 1);
+        verify(frontier, never()).due(eq(russian), anyInt());
+    }
+
+    private WebScraperServiceImpl service() {
+        return new WebScraperServiceImpl(categoryService, newsService, newsUrlIndex, journalService, config,
+                fetchScheduler, extractor, frontier, taskExecutor);
+    }
+
+    private static ScraperConfig.Site site(String name, String url) {
+        ScraperConfig.Site site = new ScraperConfig.Site();
+        site.setName(name);
+        site.setUrl(url);
+        return site;
+    }
+
+    private static Entry article(long id, String url) {
+        return new Entry(id, "kun.uz", url, url, CrawlFrontier.ARTICLE, 1, 100, 0, "Listing title", null, null);
+    }
+}